@@ -51,6 +51,8 @@ import org.eclipse.che.api.ssh.server.SshServiceClient;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
+import org.eclipse.che.git.impl.jgit.JGitRepositoryCache;
+import org.eclipse.che.git.impl.jgit.JGitStatusCache;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.java.server.rest.WsAgentURLProvider;
 import org.eclipse.che.security.oauth.RemoteOAuthTokenProvider;
@@ -84,6 +86,8 @@ public class WsAgentModule extends AbstractModule {
 
         bind(GitUserResolver.class).to(LocalGitUserResolver.class);
         bind(GitConnectionFactory.class).to(JGitConnectionFactory.class);
+        bind(JGitRepositoryCache.class);
+        bind(JGitStatusCache.class);
 
         bind(URI.class).annotatedWith(Names.named("api.endpoint")).toProvider(UriApiEndpointProvider.class);
         bind(String.class).annotatedWith(Names.named("user.token")).toProvider(UserTokenProvider.class);
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound traffic of a single WEB SOCKET channel: number of sent messages, messages which
+ * failed to be sent and number of messages waiting in the queue until session is opened again.
+ * <p/>
+ * Rate of the messages is not calculated here, it is derived from the counter of sent messages
+ * by the monitoring system which pulls the metrics.
+ *
+ * @see MetricsRegistry#getChannelMetrics(String)
+ */
+public final class ChannelMetrics {
+    private final String    name;
+    private final LongAdder sent;
+    private final LongAdder failed;
+    private final LongAdder pending;
+
+    ChannelMetrics(String name) {
+        this.name = name;
+        this.sent = new LongAdder();
+        this.failed = new LongAdder();
+        this.pending = new LongAdder();
+    }
+
+    /** Returns name of the channel. */
+    public String getName() {
+        return name;
+    }
+
+    /** Registers message sent to the channel. */
+    public void sent() {
+        sent.increment();
+    }
+
+    /** Registers message which is failed to be sent to the channel. */
+    public void failed() {
+        failed.increment();
+    }
+
+    /** Registers message which is added to the queue of pending messages. */
+    public void enqueued() {
+        pending.increment();
+    }
+
+    /** Registers message which is removed from the queue of pending messages, either sent or dropped. */
+    public void dequeued() {
+        pending.decrement();
+    }
+
+    /** Returns number of messages sent to the channel. */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /** Returns number of messages which failed to be sent to the channel. */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Returns number of messages waiting in the queue of pending messages. */
+    public long getPending() {
+        return pending.sum();
+    }
+}
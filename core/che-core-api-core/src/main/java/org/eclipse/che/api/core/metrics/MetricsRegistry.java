@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps metrics of REST resource methods and WEB SOCKET channels and writes them in
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">text exposition format</a>.
+ * <p/>
+ * Metrics are collected only if configuration property {@code che.metrics.enabled} is {@code true},
+ * callers must check {@link #isEnabled()} before they get metrics, so nothing but a check of
+ * a final field is done on hot paths when metrics are disabled.
+ *
+ * @see ResourceMethodMetrics
+ * @see ChannelMetrics
+ */
+@Singleton
+public class MetricsRegistry {
+    /** Content type of the text exposition format. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    /**
+     * Names of channels may contain identifiers of workspaces, machines or projects, so the number
+     * of channels measured separately is limited, the messages of other channels are measured together.
+     */
+    static final int    MAX_CHANNELS  = 1000;
+    static final String OTHER_CHANNEL = "other";
+
+    private final boolean                                      enabled;
+    private final ConcurrentMap<Method, ResourceMethodMetrics> methods;
+    private final ConcurrentMap<String, ResourceMethodMetrics> methodsByName;
+    private final ConcurrentMap<String, ChannelMetrics>        channels;
+
+    @Inject
+    public MetricsRegistry(@Named("che.metrics.enabled") boolean enabled) {
+        this.enabled = enabled;
+        this.methods = new ConcurrentHashMap<>();
+        this.methodsByName = new ConcurrentSkipListMap<>();
+        this.channels = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns metrics of given resource method. Overloaded methods of the same class share metrics.
+     *
+     * @param method
+     *         java method of REST resource
+     */
+    public ResourceMethodMetrics getResourceMethodMetrics(Method method) {
+        final ResourceMethodMetrics metrics = methods.get(method);
+        if (metrics != null) {
+            return metrics;
+        }
+        return methods.computeIfAbsent(method, m -> methodsByName.computeIfAbsent(m.getDeclaringClass().getName() + '#' + m.getName(),
+                                                                                  ResourceMethodMetrics::new));
+    }
+
+    /**
+     * Returns metrics of given WEB SOCKET channel, or metrics shared by all the channels
+     * which are not measured separately when there are {@value #MAX_CHANNELS} channels already.
+     *
+     * @param channel
+     *         name of channel, e.g. channel of broadcast message or method of JSON RPC request
+     */
+    public ChannelMetrics getChannelMetrics(String channel) {
+        final ChannelMetrics metrics = channels.get(channel);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (channels.size() >= MAX_CHANNELS) {
+            return channels.computeIfAbsent(OTHER_CHANNEL, ChannelMetrics::new);
+        }
+        return channels.computeIfAbsent(channel, ChannelMetrics::new);
+    }
+
+    /**
+     * Writes all collected metrics in text exposition format.
+     *
+     * @throws IOException
+     *         if any i/o error occurs
+     */
+    public void write(Writer writer) throws IOException {
+        writeHeader(writer, "che_rest_request_duration_seconds", "histogram", "Time spent in REST resource methods.");
+        for (ResourceMethodMetrics metrics : methodsByName.values()) {
+            final String resource = label("resource", metrics.getName());
+            final long[] counts = metrics.getBucketCounts();
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                count += counts[i];
+                final String bound = i < ResourceMethodMetrics.BUCKETS.length ? Double.toString(toSeconds(ResourceMethodMetrics.BUCKETS[i]))
+                                                                             : "+Inf";
+                writeSample(writer, "che_rest_request_duration_seconds_bucket", resource + ',' + label("le", bound), Long.toString(count));
+            }
+            writeSample(writer, "che_rest_request_duration_seconds_sum", resource, Double.toString(toSeconds(metrics.getTotalTime())));
+            writeSample(writer, "che_rest_request_duration_seconds_count", resource, Long.toString(count));
+        }
+
+        writeHeader(writer, "che_rest_request_errors_total", "counter",
+                    "Invocations of REST resource methods which threw exception or returned error response.");
+        for (ResourceMethodMetrics metrics : methodsByName.values()) {
+            writeSample(writer, "che_rest_request_errors_total", label("resource", metrics.getName()), Long.toString(metrics.getErrors()));
+        }
+
+        writeHeader(writer, "che_rest_requests_in_flight", "gauge", "Invocations of REST resource methods which are in progress.");
+        for (ResourceMethodMetrics metrics : methodsByName.values()) {
+            writeSample(writer, "che_rest_requests_in_flight", label("resource", metrics.getName()), Long.toString(metrics.getInFlight()));
+        }
+
+        final Map<String, ChannelMetrics> sortedChannels = new TreeMap<>(channels);
+        writeHeader(writer, "che_websocket_messages_sent_total", "counter", "Messages sent to WEB SOCKET channels.");
+        for (ChannelMetrics metrics : sortedChannels.values()) {
+            writeSample(writer, "che_websocket_messages_sent_total", label("channel", metrics.getName()), Long.toString(metrics.getSent()));
+        }
+
+        writeHeader(writer, "che_websocket_messages_failed_total", "counter", "Messages which failed to be sent to WEB SOCKET channels.");
+        for (ChannelMetrics metrics : sortedChannels.values()) {
+            writeSample(writer, "che_websocket_messages_failed_total", label("channel", metrics.getName()),
+                        Long.toString(metrics.getFailed()));
+        }
+
+        writeHeader(writer, "che_websocket_messages_pending", "gauge", "Messages waiting until WEB SOCKET session is opened.");
+        for (ChannelMetrics metrics : sortedChannels.values()) {
+            writeSample(writer, "che_websocket_messages_pending", label("channel", metrics.getName()), Long.toString(metrics.getPending()));
+        }
+        writer.flush();
+    }
+
+    private static void writeHeader(Writer writer, String name, String type, String help) throws IOException {
+        writer.write("# HELP " + name + ' ' + help + '\n');
+        writer.write("# TYPE " + name + ' ' + type + '\n');
+    }
+
+    private static void writeSample(Writer writer, String name, String labels, String value) throws IOException {
+        writer.write(name + '{' + labels + "} " + value + '\n');
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"';
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Exposes metrics collected by {@link MetricsRegistry} to be pulled by a monitoring system.
+ *
+ * @see MetricsRegistry#write(java.io.Writer)
+ */
+@Path("/metrics")
+@Singleton
+public class MetricsService {
+    private final MetricsRegistry registry;
+
+    @Inject
+    public MetricsService(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @GET
+    @Produces(MetricsRegistry.CONTENT_TYPE)
+    public String getMetrics() throws NotFoundException, ServerException {
+        if (!registry.isEnabled()) {
+            throw new NotFoundException("Metrics are disabled");
+        }
+        final StringWriter writer = new StringWriter();
+        try {
+            registry.write(writer);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram, error counter and in-flight gauge of a single REST resource method.
+ * <p/>
+ * Counters are based on {@link LongAdder}, so concurrent invocations of the same method
+ * don't contend on a single memory location.
+ *
+ * @see MetricsRegistry#getResourceMethodMetrics(java.lang.reflect.Method)
+ */
+public final class ResourceMethodMetrics {
+    /** Upper bounds of the latency buckets in nanoseconds, the last bucket is unbounded. */
+    static final long[] BUCKETS = {TimeUnit.MILLISECONDS.toNanos(5),
+                                   TimeUnit.MILLISECONDS.toNanos(10),
+                                   TimeUnit.MILLISECONDS.toNanos(25),
+                                   TimeUnit.MILLISECONDS.toNanos(50),
+                                   TimeUnit.MILLISECONDS.toNanos(100),
+                                   TimeUnit.MILLISECONDS.toNanos(250),
+                                   TimeUnit.MILLISECONDS.toNanos(500),
+                                   TimeUnit.SECONDS.toNanos(1),
+                                   TimeUnit.MILLISECONDS.toNanos(2500),
+                                   TimeUnit.SECONDS.toNanos(5),
+                                   TimeUnit.SECONDS.toNanos(10)};
+
+    private final String      name;
+    private final LongAdder[] buckets;
+    private final LongAdder   totalTime;
+    private final LongAdder   errors;
+    private final LongAdder   inFlight;
+
+    ResourceMethodMetrics(String name) {
+        this.name = name;
+        this.buckets = new LongAdder[BUCKETS.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.totalTime = new LongAdder();
+        this.errors = new LongAdder();
+        this.inFlight = new LongAdder();
+    }
+
+    /** Returns name of the method in format <i>fully qualified class name#method name</i>. */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registers start of invocation of the method.
+     * Returned invocation must be {@link Invocation#complete(boolean) completed} when the method returns.
+     */
+    public Invocation start() {
+        inFlight.increment();
+        return new Invocation(System.nanoTime());
+    }
+
+    /** Records invocation of the method which took given number of nanoseconds. */
+    void record(long nanos, boolean failed) {
+        int bucket = 0;
+        while (bucket < BUCKETS.length && nanos > BUCKETS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalTime.add(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /** Returns number of invocations per bucket, values are not cumulative. */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[buckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /** Returns total time of all completed invocations in nanoseconds. */
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    /** Returns number of invocations which failed. */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /** Returns number of invocations which are started but not completed yet. */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /** Single invocation of resource method. */
+    public final class Invocation {
+        private final long startTime;
+
+        private Invocation(long startTime) {
+            this.startTime = startTime;
+        }
+
+        /**
+         * Completes invocation and records its latency.
+         *
+         * @param failed
+         *         {@code true} if method threw exception or returned an error response
+         */
+        public void complete(boolean failed) {
+            record(System.nanoTime() - startTime, failed);
+            inFlight.decrement();
+        }
+    }
+}
@@ -10,7 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,7 +74,7 @@ public final class WSocketEventBusServer {
     protected void propagate(Object event) {
         if (policy.shouldPropagated(event)) {
             try {
-                WSConnectionContext.sendMessage(Messages.broadcastMessage(resolveChannelName(event), event));
+                ChannelBroadcaster.sendMessage(Messages.broadcastMessage(resolveChannelName(event), event));
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
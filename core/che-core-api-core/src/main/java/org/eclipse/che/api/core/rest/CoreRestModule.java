@@ -14,6 +14,10 @@ import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 
+import org.eclipse.che.api.core.metrics.MetricsService;
+import org.eclipse.che.everrest.ChannelBroadcaster;
+import org.eclipse.che.everrest.MetricsMethodInvokerFilter;
+
 /**
  * @author andrew00x
  */
@@ -23,6 +27,9 @@ public class CoreRestModule extends AbstractModule {
         bind(CheJsonProvider.class);
         bind(ApiExceptionMapper.class);
         bind(RuntimeExceptionMapper.class);
+        bind(MetricsService.class);
+        bind(MetricsMethodInvokerFilter.class);
+        requestStaticInjection(ChannelBroadcaster.class);
         Multibinder.newSetBinder(binder(), Class.class, Names.named("che.json.ignored_classes"));
     }
 }
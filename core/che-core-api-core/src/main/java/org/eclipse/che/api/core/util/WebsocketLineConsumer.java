@@ -10,7 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util;
 
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 
@@ -37,7 +37,7 @@ public class WebsocketLineConsumer implements LineConsumer {
         bm.setChannel(channel);
         bm.setBody(line);
         try {
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error("A problem occurred while sending websocket message", e);
         }
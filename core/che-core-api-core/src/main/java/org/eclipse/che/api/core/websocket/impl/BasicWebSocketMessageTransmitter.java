@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.metrics.ChannelMetrics;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.slf4j.Logger;
@@ -20,6 +22,7 @@ import javax.websocket.Session;
 import java.io.IOException;
 import java.util.Optional;
 
+import static org.eclipse.che.api.core.websocket.impl.TransmissionChannels.channelOf;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -37,20 +40,24 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     private final WebSocketSessionRegistry       registry;
     private final PendingMessagesReSender        resender;
     private final WebSocketTransmissionValidator validator;
+    private final MetricsRegistry                metrics;
 
     @Inject
     public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
                                             PendingMessagesReSender resender,
-                                            WebSocketTransmissionValidator validator) {
+                                            WebSocketTransmissionValidator validator,
+                                            MetricsRegistry metrics) {
         this.registry = registry;
         this.resender = resender;
         this.validator = validator;
+        this.metrics = metrics;
     }
 
     @Override
     public synchronized void transmit(String protocol, String message, Integer endpointId) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
+        final ChannelMetrics channelMetrics = metrics.isEnabled() ? metrics.getChannelMetrics(channelOf(transmission)) : null;
 
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
@@ -63,8 +70,14 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
             try {
                 sessionOptional.get().getBasicRemote().sendText(transmission.toString());
+                if (channelMetrics != null) {
+                    channelMetrics.sent();
+                }
             } catch (IOException e) {
                 LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+                if (channelMetrics != null) {
+                    channelMetrics.failed();
+                }
             }
         }
     }
@@ -73,6 +86,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     public synchronized void transmit(String protocol, String message) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
+        final ChannelMetrics channelMetrics = metrics.isEnabled() ? metrics.getChannelMetrics(channelOf(transmission)) : null;
 
         LOG.debug("Broadcasting a web socket transmission: ", transmission.toString());
 
@@ -83,8 +97,14 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
                 .forEach(it -> {
                     try {
                         it.sendText(transmission.toString());
+                        if (channelMetrics != null) {
+                            channelMetrics.sent();
+                        }
                     } catch (IOException e) {
                         LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+                        if (channelMetrics != null) {
+                            channelMetrics.failed();
+                        }
                     }
                 });
     }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.metrics.ChannelMetrics;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 
 import javax.inject.Inject;
@@ -22,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.eclipse.che.api.core.websocket.impl.TransmissionChannels.channelOf;
+
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
@@ -34,12 +38,14 @@ public class PendingMessagesReSender {
     private static final int MAX_MESSAGES = 100;
 
     private final WebSocketSessionRegistry registry;
+    private final MetricsRegistry          metrics;
 
     private final Map<Integer, List<WebSocketTransmission>> messagesMap = new HashMap<>();
 
     @Inject
-    public PendingMessagesReSender(WebSocketSessionRegistry registry) {
+    public PendingMessagesReSender(WebSocketSessionRegistry registry, MetricsRegistry metrics) {
         this.registry = registry;
+        this.metrics = metrics;
     }
 
     public void add(Integer endpointId, WebSocketTransmission message) {
@@ -52,6 +58,9 @@ public class PendingMessagesReSender {
 
         if (messages.size() <= MAX_MESSAGES) {
             messages.add(message);
+            if (metrics.isEnabled()) {
+                metrics.getChannelMetrics(channelOf(message)).enqueued();
+            }
         }
     }
 
@@ -65,6 +74,9 @@ public class PendingMessagesReSender {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
         if (!sessionOptional.isPresent()) {
+            if (metrics.isEnabled()) {
+                messages.forEach(message -> metrics.getChannelMetrics(channelOf(message)).dequeued());
+            }
             return;
         }
 
@@ -77,6 +89,11 @@ public class PendingMessagesReSender {
 
             if (session.isOpen()) {
                 session.getAsyncRemote().sendText(message.toString());
+                if (metrics.isEnabled()) {
+                    final ChannelMetrics channelMetrics = metrics.getChannelMetrics(channelOf(message));
+                    channelMetrics.dequeued();
+                    channelMetrics.sent();
+                }
             } else {
                 messages.add(message);
             }
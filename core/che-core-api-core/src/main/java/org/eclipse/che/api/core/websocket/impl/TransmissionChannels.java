@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcObject;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Resolves names of channels WEB SOCKET transmissions are measured by.
+ * <p/>
+ * All the JSON RPC objects are transmitted with the same protocol, so JSON RPC requests
+ * are measured by their methods and JSON RPC responses, which don't have methods, are measured
+ * together, other transmissions are measured by their protocols.
+ *
+ * @see org.eclipse.che.api.core.metrics.MetricsRegistry#getChannelMetrics(String)
+ */
+final class TransmissionChannels {
+    static final String JSON_RPC_PROTOCOL = "jsonrpc-2.0";
+
+    /** Returns name of the channel of the given transmission, must be called only if metrics are enabled. */
+    static String channelOf(WebSocketTransmission transmission) {
+        final String protocol = transmission.getProtocol();
+        if (!JSON_RPC_PROTOCOL.equals(protocol)) {
+            return protocol;
+        }
+        try {
+            final DtoFactory dtoFactory = DtoFactory.getInstance();
+            final JsonRpcObject jsonRpcObject = dtoFactory.createDtoFromJson(transmission.getMessage(), JsonRpcObject.class);
+            if ("request".equals(jsonRpcObject.getType())) {
+                final String method = dtoFactory.createDtoFromJson(jsonRpcObject.getMessage(), JsonRpcRequest.class).getMethod();
+                if (method != null) {
+                    return method;
+                }
+            }
+            return jsonRpcObject.getType() == null ? protocol : protocol + ':' + jsonRpcObject.getType();
+        } catch (RuntimeException x) {
+            return protocol;
+        }
+    }
+
+    private TransmissionChannels() {
+    }
+}
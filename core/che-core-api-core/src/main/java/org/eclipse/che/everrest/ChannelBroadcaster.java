@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.metrics.ChannelMetrics;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+
+import javax.inject.Inject;
+import javax.websocket.EncodeException;
+import java.io.IOException;
+
+/**
+ * Broadcasts messages to WEB SOCKET channels through {@link WSConnectionContext} and,
+ * when metrics are enabled, counts them in metrics of the channel the message is sent to.
+ * Each broadcast is counted once regardless of the number of subscribed connections.
+ *
+ * @see MetricsRegistry#getChannelMetrics(String)
+ */
+public final class ChannelBroadcaster {
+    @Inject
+    private static MetricsRegistry metrics;
+
+    /**
+     * Sends the message to all the connections subscribed to its channel.
+     *
+     * @see WSConnectionContext#sendMessage(ChannelBroadcastMessage)
+     */
+    public static void sendMessage(ChannelBroadcastMessage message) throws EncodeException, IOException {
+        final MetricsRegistry registry = metrics;
+        if (registry == null || !registry.isEnabled()) {
+            WSConnectionContext.sendMessage(message);
+            return;
+        }
+        final ChannelMetrics channelMetrics = registry.getChannelMetrics(message.getChannel());
+        try {
+            WSConnectionContext.sendMessage(message);
+        } catch (EncodeException | IOException | RuntimeException x) {
+            channelMetrics.failed();
+            throw x;
+        }
+        channelMetrics.sent();
+    }
+
+    private ChannelBroadcaster() {
+    }
+}
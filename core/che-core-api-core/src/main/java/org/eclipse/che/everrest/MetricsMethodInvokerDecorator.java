@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.metrics.ResourceMethodMetrics;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.method.MethodInvokerDecorator;
+import org.everrest.core.method.MethodInvoker;
+import org.everrest.core.resource.GenericResourceMethod;
+
+import javax.ws.rs.core.Response;
+
+import static org.eclipse.che.everrest.MetricsMethodInvokerFilter.INVOCATION_ATTRIBUTE;
+
+/**
+ * Completes invocation of resource method started by {@link MetricsMethodInvokerFilter}.
+ * Invocation is failed if method throws exception or returns response with error status.
+ *
+ * @see MetricsMethodInvokerDecoratorFactory
+ */
+class MetricsMethodInvokerDecorator extends MethodInvokerDecorator {
+    MetricsMethodInvokerDecorator(MethodInvoker decoratedInvoker) {
+        super(decoratedInvoker);
+    }
+
+    @Override
+    public Object invokeMethod(Object resource, GenericResourceMethod genericMethodResource, ApplicationContext context) {
+        boolean failed = true;
+        try {
+            final Object result = super.invokeMethod(resource, genericMethodResource, context);
+            failed = result instanceof Response && ((Response)result).getStatus() >= 400;
+            return result;
+        } finally {
+            final ResourceMethodMetrics.Invocation invocation =
+                    (ResourceMethodMetrics.Invocation)context.getAttributes().remove(INVOCATION_ATTRIBUTE);
+            if (invocation != null) {
+                invocation.complete(failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.everrest.core.impl.method.MethodInvokerDecorator;
+import org.everrest.core.impl.method.MethodInvokerDecoratorFactory;
+import org.everrest.core.method.MethodInvoker;
+
+/**
+ * Create new instance of MetricsMethodInvokerDecorator for requests received through HTTP.
+ * Configured with servlet context parameter {@code org.everrest.core.impl.method.MethodInvokerDecoratorFactory}.
+ *
+ * @see MetricsMethodInvokerDecorator
+ * @see WebSocketMethodInvokerDecoratorFactory
+ */
+public class MetricsMethodInvokerDecoratorFactory implements MethodInvokerDecoratorFactory {
+    @Override
+    public MethodInvokerDecorator makeDecorator(MethodInvoker invoker) {
+        return new MetricsMethodInvokerDecorator(invoker);
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.Filter;
+import org.everrest.core.resource.GenericResourceMethod;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Starts measuring of invocation of resource method when metrics are enabled.
+ * <p/>
+ * Filter can't see result of the method, so the started invocation is stored in attributes of
+ * {@link ApplicationContext} and is completed by {@link MetricsMethodInvokerDecorator} which
+ * wraps invocation of filters and the method itself.
+ *
+ * @see MetricsRegistry
+ */
+@Filter
+@Singleton
+public class MetricsMethodInvokerFilter extends CheMethodInvokerFilter {
+    static final String INVOCATION_ATTRIBUTE = MetricsMethodInvokerFilter.class.getName() + ".invocation";
+
+    private final MetricsRegistry registry;
+
+    @Inject
+    public MetricsMethodInvokerFilter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void filter(GenericResourceMethod genericMethodResource, Object[] arguments) {
+        if (registry.isEnabled()) {
+            ApplicationContext.getCurrent()
+                              .getAttributes()
+                              .put(INVOCATION_ATTRIBUTE, registry.getResourceMethodMetrics(genericMethodResource.getMethod()).start());
+        }
+    }
+}
@@ -15,14 +15,16 @@ import org.everrest.core.impl.method.MethodInvokerDecoratorFactory;
 import org.everrest.core.method.MethodInvoker;
 
 /**
- * Create new instance of WebSocketMethodInvokerDecorator.
+ * Create new instance of WebSocketMethodInvokerDecorator. Invocations are measured with
+ * {@link MetricsMethodInvokerDecorator} as well as invocations received through HTTP.
  *
  * @author andrew00x
  * @see WebSocketMethodInvokerDecorator
+ * @see MetricsMethodInvokerDecorator
  */
 public class WebSocketMethodInvokerDecoratorFactory implements MethodInvokerDecoratorFactory {
     @Override
     public MethodInvokerDecorator makeDecorator(MethodInvoker invoker) {
-        return new WebSocketMethodInvokerDecorator(invoker);
+        return new WebSocketMethodInvokerDecorator(new MetricsMethodInvokerDecorator(invoker));
     }
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+
+import static java.lang.Integer.parseInt;
+
+/**
+ * Measures cost of the metrics on the hot paths: measuring of invocation of resource method,
+ * as it is done by {@link org.eclipse.che.everrest.MetricsMethodInvokerFilter}, and counting
+ * of message sent to WEB SOCKET channel. Both are measured with enabled and disabled metrics.
+ * Measuring of resource method reads clock twice, so cost of the clock is measured separately.
+ * <p>
+ * It is not executed as a part of the build, run it manually:
+ * <pre>
+ * java -cp ... org.eclipse.che.api.core.metrics.MetricsBenchmark [threads] [iterations]
+ * </pre>
+ * By default 10000000 iterations are done in 1 thread, each measurement is repeated 5 times
+ * and the first runs are used to warm up JIT compiler.
+ */
+public class MetricsBenchmark {
+
+    private static final int RUNS = 5;
+
+    /** Sink for results of operations, so JIT compiler can't eliminate them. */
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? parseInt(args[0]) : 1;
+        final int iterations = args.length > 1 ? parseInt(args[1]) : 10_000_000;
+        final Method method = MetricsBenchmark.class.getMethod("main", String[].class);
+
+        for (int run = 1; run <= RUNS; run++) {
+            final double clock = measure(threads, iterations, () -> blackhole = System.nanoTime() - System.nanoTime());
+            System.out.printf("two calls of System.nanoTime() run %d: %6.1f ns/op%n", run, clock);
+        }
+        for (boolean enabled : new boolean[] {false, true}) {
+            final MetricsRegistry registry = new MetricsRegistry(enabled);
+            for (int run = 1; run <= RUNS; run++) {
+                final double invocation = measure(threads, iterations, () -> {
+                    if (registry.isEnabled()) {
+                        registry.getResourceMethodMetrics(method).start().complete(false);
+                    }
+                });
+                final double message = measure(threads, iterations, () -> {
+                    if (registry.isEnabled()) {
+                        registry.getChannelMetrics("jsonrpc-2.0").sent();
+                    }
+                });
+                System.out.printf("metrics %-8s run %d: resource method %6.1f ns/op, websocket message %6.1f ns/op%n",
+                                  enabled ? "enabled" : "disabled", run, invocation, message);
+            }
+        }
+    }
+
+    /** Returns average time of operation in nanoseconds, operation is executed concurrently by given number of threads. */
+    private static double measure(int threads, int iterations, Runnable operation) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long counter = 0;
+                for (int j = 0; j < iterations; j++) {
+                    operation.run();
+                    counter++;
+                }
+                blackhole += counter;
+            });
+            workers[i].start();
+        }
+        final long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double)(System.nanoTime() - startTime) / iterations;
+    }
+}
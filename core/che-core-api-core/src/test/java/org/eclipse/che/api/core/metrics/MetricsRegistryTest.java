@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetricsRegistry}.
+ */
+public class MetricsRegistryTest {
+    private static final String RESOURCE = "resource=\"org.eclipse.che.api.core.metrics.MetricsRegistryTest$TestService#get\"";
+
+    private MetricsRegistry registry;
+    private Method          method;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        registry = new MetricsRegistry(true);
+        method = TestService.class.getMethod("get");
+    }
+
+    @Test
+    public void shouldShareMetricsOfOverloadedMethods() throws Exception {
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(method);
+
+        assertSame(registry.getResourceMethodMetrics(method), metrics);
+        assertSame(registry.getResourceMethodMetrics(TestService.class.getMethod("get", String.class)), metrics);
+        assertEquals(metrics.getName(), "org.eclipse.che.api.core.metrics.MetricsRegistryTest$TestService#get");
+    }
+
+    @Test
+    public void shouldCountInvocationsInFlight() throws Exception {
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(method);
+
+        final ResourceMethodMetrics.Invocation invocation = metrics.start();
+        assertEquals(metrics.getInFlight(), 1);
+
+        invocation.complete(true);
+        assertEquals(metrics.getInFlight(), 0);
+        assertEquals(metrics.getErrors(), 1);
+        assertEquals(sum(metrics.getBucketCounts()), 1);
+    }
+
+    @Test
+    public void shouldWriteResourceMethodMetrics() throws Exception {
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(method);
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(3), false);
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(20), true);
+        metrics.record(TimeUnit.SECONDS.toNanos(20), false);
+        metrics.start();
+
+        final String output = write();
+
+        assertTrue(output.contains("# TYPE che_rest_request_duration_seconds histogram\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_bucket{" + RESOURCE + ",le=\"0.005\"} 1\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_bucket{" + RESOURCE + ",le=\"0.01\"} 1\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_bucket{" + RESOURCE + ",le=\"0.025\"} 2\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_bucket{" + RESOURCE + ",le=\"10.0\"} 2\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_bucket{" + RESOURCE + ",le=\"+Inf\"} 3\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_sum{" + RESOURCE + "} 20.023\n"));
+        assertTrue(output.contains("che_rest_request_duration_seconds_count{" + RESOURCE + "} 3\n"));
+        assertTrue(output.contains("che_rest_request_errors_total{" + RESOURCE + "} 1\n"));
+        assertTrue(output.contains("che_rest_requests_in_flight{" + RESOURCE + "} 1\n"));
+    }
+
+    @Test
+    public void shouldWriteChannelMetrics() throws Exception {
+        final ChannelMetrics metrics = registry.getChannelMetrics("jsonrpc-2.0");
+        metrics.sent();
+        metrics.sent();
+        metrics.failed();
+        metrics.enqueued();
+        metrics.enqueued();
+        metrics.dequeued();
+
+        final String output = write();
+
+        assertTrue(output.contains("che_websocket_messages_sent_total{channel=\"jsonrpc-2.0\"} 2\n"));
+        assertTrue(output.contains("che_websocket_messages_failed_total{channel=\"jsonrpc-2.0\"} 1\n"));
+        assertTrue(output.contains("che_websocket_messages_pending{channel=\"jsonrpc-2.0\"} 1\n"));
+    }
+
+    @Test
+    public void shouldMeasureChannelsTogetherWhenThereAreTooManyChannels() throws Exception {
+        for (int i = 0; i < MetricsRegistry.MAX_CHANNELS; i++) {
+            registry.getChannelMetrics("workspace:" + i);
+        }
+
+        final ChannelMetrics metrics = registry.getChannelMetrics("workspace:new");
+
+        assertEquals(metrics.getName(), MetricsRegistry.OTHER_CHANNEL);
+        assertSame(registry.getChannelMetrics("workspace:other-new"), metrics);
+        assertEquals(registry.getChannelMetrics("workspace:0").getName(), "workspace:0");
+    }
+
+    @Test
+    public void shouldEscapeLabelValues() throws Exception {
+        registry.getChannelMetrics("a\"b\\c\nd").sent();
+
+        assertTrue(write().contains("che_websocket_messages_sent_total{channel=\"a\\\"b\\\\c\\nd\"} 1\n"));
+    }
+
+    private String write() throws Exception {
+        final StringWriter writer = new StringWriter();
+        registry.write(writer);
+        return writer.toString();
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static class TestService {
+        public void get() {
+        }
+
+        public void get(String id) {
+        }
+    }
+}
@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcObject;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcResponse;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.InjectMocks;
@@ -27,9 +31,11 @@ import java.util.Optional;
 import static java.util.Collections.emptySet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -48,6 +54,8 @@ public class BasicWebSocketTransmissionTransmitterTest {
     private PendingMessagesReSender          reSender;
     @Mock
     private WebSocketTransmissionValidator   validator;
+    @Mock
+    private MetricsRegistry                  metrics;
     @InjectMocks
     private BasicWebSocketMessageTransmitter transmitter;
 
@@ -114,4 +122,58 @@ public class BasicWebSocketTransmissionTransmitterTest {
         verify(remote, never()).sendText(transmission.toString());
         verify(reSender).add(eq(ENDPOINT_ID), any(WebSocketTransmission.class));
     }
+
+    @Test
+    public void shouldCountMessagesSentToChannel() throws IOException {
+        final MetricsRegistry enabledMetrics = new MetricsRegistry(true);
+        final BasicWebSocketMessageTransmitter measuredTransmitter =
+                new BasicWebSocketMessageTransmitter(registry, reSender, validator, enabledMetrics);
+
+        measuredTransmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+
+        assertEquals(enabledMetrics.getChannelMetrics(PROTOCOL).getSent(), 1);
+    }
+
+    @Test
+    public void shouldCountMessagesFailedToBeSentToChannel() throws IOException {
+        final MetricsRegistry enabledMetrics = new MetricsRegistry(true);
+        final BasicWebSocketMessageTransmitter measuredTransmitter =
+                new BasicWebSocketMessageTransmitter(registry, reSender, validator, enabledMetrics);
+        doThrow(new IOException("Connection closed")).when(remote).sendText(transmission.toString());
+
+        measuredTransmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+
+        assertEquals(enabledMetrics.getChannelMetrics(PROTOCOL).getSent(), 0);
+        assertEquals(enabledMetrics.getChannelMetrics(PROTOCOL).getFailed(), 1);
+    }
+
+    @Test
+    public void shouldCountJsonRpcRequestsByMethod() throws IOException {
+        final MetricsRegistry enabledMetrics = new MetricsRegistry(true);
+        final BasicWebSocketMessageTransmitter measuredTransmitter =
+                new BasicWebSocketMessageTransmitter(registry, reSender, validator, enabledMetrics);
+        final JsonRpcRequest request = DtoFactory.newDto(JsonRpcRequest.class)
+                                                 .withJsonrpc("2.0")
+                                                 .withMethod("event:file-changed")
+                                                 .withParams("{}");
+        final JsonRpcObject jsonRpcObject = DtoFactory.newDto(JsonRpcObject.class).withType("request").withMessage(request.toString());
+
+        measuredTransmitter.transmit("jsonrpc-2.0", jsonRpcObject.toString(), ENDPOINT_ID);
+
+        assertEquals(enabledMetrics.getChannelMetrics("event:file-changed").getSent(), 1);
+        assertEquals(enabledMetrics.getChannelMetrics("jsonrpc-2.0").getSent(), 0);
+    }
+
+    @Test
+    public void shouldCountJsonRpcResponsesTogether() throws IOException {
+        final MetricsRegistry enabledMetrics = new MetricsRegistry(true);
+        final BasicWebSocketMessageTransmitter measuredTransmitter =
+                new BasicWebSocketMessageTransmitter(registry, reSender, validator, enabledMetrics);
+        final JsonRpcResponse response = DtoFactory.newDto(JsonRpcResponse.class).withJsonrpc("2.0").withId(1).withResult("{}");
+        final JsonRpcObject jsonRpcObject = DtoFactory.newDto(JsonRpcObject.class).withType("response").withMessage(response.toString());
+
+        measuredTransmitter.transmit("jsonrpc-2.0", jsonRpcObject.toString(), ENDPOINT_ID);
+
+        assertEquals(enabledMetrics.getChannelMetrics("jsonrpc-2.0:response").getSent(), 1);
+    }
 }
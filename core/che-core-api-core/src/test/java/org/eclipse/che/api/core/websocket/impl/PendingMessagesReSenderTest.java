@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.metrics.ChannelMetrics;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -28,6 +30,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link PendingMessagesReSender}
@@ -37,6 +40,7 @@ import static org.mockito.Mockito.when;
 @Listeners(MockitoTestNGListener.class)
 public class PendingMessagesReSenderTest {
     private static final String MESSAGE     = "message";
+    private static final String PROTOCOL    = "protocol";
     private static final int    ENDPOINT_ID = 0;
 
     @Mock
@@ -61,7 +65,7 @@ public class PendingMessagesReSenderTest {
 
     @BeforeMethod
     public void before() {
-        resender = new PendingMessagesReSender(sessionRegistry);
+        resender = new PendingMessagesReSender(sessionRegistry, new MetricsRegistry(false));
     }
 
     @Test
@@ -155,4 +159,37 @@ public class PendingMessagesReSenderTest {
         verify(session, times(2)).getAsyncRemote();
         verify(endpoint, times(2)).sendText(eq(MESSAGE));
     }
+
+    @Test
+    public void shouldCountPendingMessagesOfChannel() {
+        final MetricsRegistry metrics = new MetricsRegistry(true);
+        resender = new PendingMessagesReSender(sessionRegistry, metrics);
+        when(transmission.getProtocol()).thenReturn(PROTOCOL);
+
+        resender.add(ENDPOINT_ID, transmission);
+        resender.add(ENDPOINT_ID, transmission);
+
+        final ChannelMetrics channelMetrics = metrics.getChannelMetrics(PROTOCOL);
+        assertEquals(channelMetrics.getPending(), 2);
+
+        resender.resend(ENDPOINT_ID);
+
+        assertEquals(channelMetrics.getPending(), 0);
+        assertEquals(channelMetrics.getSent(), 2);
+    }
+
+    @Test
+    public void shouldNotCountDroppedMessagesAsPending() {
+        final MetricsRegistry metrics = new MetricsRegistry(true);
+        resender = new PendingMessagesReSender(sessionRegistry, metrics);
+        when(transmission.getProtocol()).thenReturn(PROTOCOL);
+        when(sessionRegistry.get(any(Integer.class))).thenReturn(Optional.empty());
+
+        resender.add(ENDPOINT_ID, transmission);
+        resender.resend(ENDPOINT_ID);
+
+        final ChannelMetrics channelMetrics = metrics.getChannelMetrics(PROTOCOL);
+        assertEquals(channelMetrics.getPending(), 0);
+        assertEquals(channelMetrics.getSent(), 0);
+    }
 }
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.inject.Guice;
+
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link ChannelBroadcaster}.
+ */
+public class ChannelBroadcasterTest {
+
+    @AfterMethod
+    public void tearDown() {
+        injectMetrics(new MetricsRegistry(false));
+    }
+
+    @Test
+    public void shouldCountMessagesBroadcastToChannel() throws Exception {
+        final MetricsRegistry metrics = new MetricsRegistry(true);
+        injectMetrics(metrics);
+
+        ChannelBroadcaster.sendMessage(message("workspace:123"));
+        ChannelBroadcaster.sendMessage(message("workspace:123"));
+        ChannelBroadcaster.sendMessage(message("importProject:output"));
+
+        assertEquals(metrics.getChannelMetrics("workspace:123").getSent(), 2);
+        assertEquals(metrics.getChannelMetrics("importProject:output").getSent(), 1);
+    }
+
+    @Test
+    public void shouldNotCountMessagesWhenMetricsAreDisabled() throws Exception {
+        final MetricsRegistry metrics = new MetricsRegistry(false);
+        injectMetrics(metrics);
+
+        ChannelBroadcaster.sendMessage(message("workspace:123"));
+
+        assertEquals(metrics.getChannelMetrics("workspace:123").getSent(), 0);
+    }
+
+    private static void injectMetrics(MetricsRegistry metrics) {
+        Guice.createInjector(binder -> {
+            binder.bind(MetricsRegistry.class).toInstance(metrics);
+            binder.requestStaticInjection(ChannelBroadcaster.class);
+        });
+    }
+
+    private static ChannelBroadcastMessage message(String channel) {
+        final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+        message.setChannel(channel);
+        message.setBody("{}");
+        return message;
+    }
+}
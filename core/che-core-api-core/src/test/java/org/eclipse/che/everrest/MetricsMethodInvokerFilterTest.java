@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.ResourceMethodMetrics;
+import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.ApplicationProviderBinder;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+
+import static org.everrest.core.ApplicationContext.anApplicationContext;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link MetricsMethodInvokerFilter} and {@link MetricsMethodInvokerDecorator}.
+ */
+public class MetricsMethodInvokerFilterTest {
+    private static final String BASE_URI     = "http://localhost/service";
+    private static final String SERVICE_PATH = BASE_URI + "/myservice";
+
+    @Path("/myservice")
+    public static class MyJaxRSService {
+        @GET
+        @Path("/ok")
+        public String ok() {
+            return "hello";
+        }
+
+        @GET
+        @Path("/not-found")
+        public String notFound() throws NotFoundException {
+            throw new NotFoundException("Not found");
+        }
+
+        @GET
+        @Path("/conflict")
+        public Response conflict() {
+            return Response.status(Response.Status.CONFLICT).build();
+        }
+    }
+
+    @Test
+    public void shouldMeasureSuccessfulInvocation() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry(true);
+
+        final ContainerResponse response = get(registry, "/ok");
+
+        assertEquals(response.getStatus(), 200);
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(MyJaxRSService.class.getMethod("ok"));
+        assertEquals(count(metrics), 1);
+        assertEquals(metrics.getErrors(), 0);
+        assertEquals(metrics.getInFlight(), 0);
+    }
+
+    @Test
+    public void shouldCountErrorIfMethodThrowsException() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry(true);
+
+        final ContainerResponse response = get(registry, "/not-found");
+
+        assertEquals(response.getStatus(), 404);
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(MyJaxRSService.class.getMethod("notFound"));
+        assertEquals(count(metrics), 1);
+        assertEquals(metrics.getErrors(), 1);
+        assertEquals(metrics.getInFlight(), 0);
+    }
+
+    @Test
+    public void shouldCountErrorIfMethodReturnsErrorResponse() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry(true);
+
+        final ContainerResponse response = get(registry, "/conflict");
+
+        assertEquals(response.getStatus(), 409);
+        final ResourceMethodMetrics metrics = registry.getResourceMethodMetrics(MyJaxRSService.class.getMethod("conflict"));
+        assertEquals(count(metrics), 1);
+        assertEquals(metrics.getErrors(), 1);
+    }
+
+    @Test
+    public void shouldNotMeasureInvocationIfMetricsAreDisabled() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry(false);
+
+        final ContainerResponse response = get(registry, "/ok");
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(count(registry.getResourceMethodMetrics(MyJaxRSService.class.getMethod("ok"))), 0);
+    }
+
+    private ContainerResponse get(MetricsRegistry registry, String path) throws Exception {
+        return createLauncher(registry).service(HttpMethod.GET, SERVICE_PATH + path, BASE_URI, null, null, null);
+    }
+
+    private ResourceLauncher createLauncher(MetricsRegistry registry) throws Exception {
+        final ResourceBinderImpl resources = new ResourceBinderImpl();
+        resources.addResource(MyJaxRSService.class, null);
+        final DependencySupplierImpl dependencies = new DependencySupplierImpl();
+        final ApplicationProviderBinder providers = new ApplicationProviderBinder();
+        providers.addExceptionMapper(ApiExceptionMapper.class);
+        providers.addMethodInvokerFilter(new MetricsMethodInvokerFilter(registry));
+        final URI uri = new URI(BASE_URI);
+        final ContainerRequest req = new ContainerRequest(null, uri, uri, null, null, null);
+        final ApplicationContext contextImpl = anApplicationContext().withRequest(req).withProviders(providers).build();
+        contextImpl.setDependencySupplier(dependencies);
+        ApplicationContext.setCurrent(contextImpl);
+        final EverrestConfiguration configuration = new EverrestConfiguration();
+        configuration.setProperty(EverrestConfiguration.METHOD_INVOKER_DECORATOR_FACTORY,
+                                  MetricsMethodInvokerDecoratorFactory.class.getName());
+        final EverrestProcessor processor = new EverrestProcessor(configuration,
+                                                                  dependencies,
+                                                                  new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+                                                                  null);
+        return new ResourceLauncher(processor);
+    }
+
+    private static long count(ResourceMethodMetrics metrics) {
+        long count = 0;
+        for (long bucket : metrics.getBucketCounts()) {
+            count += bucket;
+        }
+        return count;
+    }
+}
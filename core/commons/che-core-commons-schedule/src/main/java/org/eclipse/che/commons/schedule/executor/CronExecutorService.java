@@ -17,11 +17,43 @@ import java.util.concurrent.ScheduledExecutorService;
  * Executor service that schedules a task for execution via a cron expression.
  */
 public interface CronExecutorService extends ScheduledExecutorService {
+
+    /** What to do when a task is due while its previous execution is still running. */
+    enum OverlapPolicy {
+        /** The execution is skipped, the task is executed at the next valid time. */
+        SKIP,
+        /** The task is executed concurrently with its previous execution. */
+        CONCURRENT
+    }
+
+    /**
+     * What to do when a task starts later than its misfire threshold,
+     * e.g. because all the threads of the pool were busy or the system was suspended.
+     * Either way all the valid times missed meanwhile are coalesced into a single one.
+     */
+    enum MisfirePolicy {
+        /** The task is executed once, as soon as possible. */
+        FIRE_ONCE,
+        /** The execution is skipped, the task is executed at the next valid time. */
+        SKIP
+    }
+
     /**
      * Schedules the specified task to execute according to the specified cron expression.
+     * Overlapping executions are skipped and misfired execution is fired once.
      *
      * @param task       the Runnable task to schedule
      * @param expression a cron expression
      */
     Future<?> schedule(Runnable task, CronExpression expression);
+
+    /**
+     * Schedules the specified task to execute according to the specified cron expression.
+     *
+     * @param task          the Runnable task to schedule
+     * @param expression    a cron expression
+     * @param overlapPolicy what to do when the task is due while it is still running
+     * @param misfirePolicy what to do when the task starts too late
+     */
+    Future<?> schedule(Runnable task, CronExpression expression, OverlapPolicy overlapPolicy, MisfirePolicy misfirePolicy);
 }
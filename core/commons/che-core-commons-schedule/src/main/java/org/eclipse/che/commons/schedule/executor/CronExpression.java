@@ -19,10 +19,12 @@ package org.eclipse.che.commons.schedule.executor;
 
 import java.io.Serializable;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
@@ -333,7 +335,26 @@ public final class CronExpression implements Serializable, Cloneable {
     public Date getNextValidTimeAfter(Date date) {
         return getTimeAfter(date);
     }
-    
+
+    /**
+     * Returns the next <code>count</code> date/times <I>after</I> the given
+     * date/time which satisfy the cron expression, in ascending order. Fewer
+     * date/times are returned when the expression has no more of them.
+     *
+     * @param date the date/time at which to begin the search for the next valid
+     *             date/times
+     * @param count the maximum number of date/times to return
+     * @return the next valid date/times, never null
+     */
+    public List<Date> getNextValidTimesAfter(Date date, int count) {
+        List<Date> times = new ArrayList<Date>(count);
+        Date time = date;
+        while (times.size() < count && (time = getTimeAfter(time)) != null) {
+            times.add(time);
+        }
+        return times;
+    }
+
     /**
      * Returns the next date/time <I>after</I> the given date/time which does
      * <I>not</I> satisfy the expression
@@ -13,27 +13,55 @@ package org.eclipse.che.commons.schedule.executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Scheduled thread-pool executor implementation that leverages a CronExpression
  * to calculate future execution times for scheduled tasks.
+ *
+ * <p>Each cron task is a chain of one-shot delayed tasks: every execution schedules the next one,
+ * so cron tasks occupy pool threads only while they are executed and any number of them share the pool.
+ * Valid times of cron expressions are computed in batches, not on each execution.
+ *
+ * <p>The executor counts executions which start later than the late start threshold
+ * as well as skipped overlapping and misfired executions.
  */
 public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implements CronExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CronThreadPoolExecutor.class);
 
-    private final List<CountDownLatch> cronJobWatchDogs;
+    private static final int PRECOMPUTED_TIMES = 16;
+
+    private final Set<CronTask> cronTasks          = ConcurrentHashMap.newKeySet();
+    private final AtomicLong    cronStarts         = new AtomicLong();
+    private final AtomicLong    lateCronStarts     = new AtomicLong();
+    private final AtomicLong    maxCronStartDelay  = new AtomicLong();
+    private final AtomicLong    misfiredCronRuns   = new AtomicLong();
+    private final AtomicLong    overlappedCronRuns = new AtomicLong();
+
+    private volatile long lateStartThresholdMs = SECONDS.toMillis(1);
+    private volatile long misfireThresholdMs   = SECONDS.toMillis(60);
 
     /**
      * Constructs a new CronThreadPoolExecutor.
@@ -43,7 +71,6 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize) {
         super(corePoolSize);
-        this.cronJobWatchDogs = new ArrayList<>();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -57,7 +84,6 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory) {
         super(corePoolSize, threadFactory);
-        this.cronJobWatchDogs = new ArrayList<>();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -71,7 +97,6 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, RejectedExecutionHandler handler) {
         super(corePoolSize, handler);
-        this.cronJobWatchDogs = new ArrayList<>();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -87,53 +112,76 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
         super(corePoolSize, threadFactory, handler);
-        this.cronJobWatchDogs = new ArrayList<>();
+        this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
     @Override
-    public Future<?> schedule(final Runnable task, final CronExpression expression) {
-        if (task == null) {
+    public Future<?> schedule(Runnable task, CronExpression expression) {
+        return schedule(task, expression, OverlapPolicy.SKIP, MisfirePolicy.FIRE_ONCE);
+    }
+
+    @Override
+    public Future<?> schedule(Runnable task, CronExpression expression, OverlapPolicy overlapPolicy, MisfirePolicy misfirePolicy) {
+        if (task == null || expression == null || overlapPolicy == null || misfirePolicy == null) {
             throw new NullPointerException();
         }
-        setCorePoolSize(getCorePoolSize() + 1);
-        Runnable scheduleTask = new Runnable() {
-            @Override
-            public void run() {
-                CountDownLatch countDownLatch = new CountDownLatch(1);
-                cronJobWatchDogs.add(countDownLatch);
-                Date now = new Date();
-                Date time = expression.getNextValidTimeAfter(now);
-                try {
-                    while (time != null) {
-                        CronThreadPoolExecutor.this
-                                .schedule(task, time.getTime() - now.getTime(), TimeUnit.MILLISECONDS);
-                        while (now.before(time)) {
-                            LOG.debug("Cron watch dog wait {} ", time.getTime() - now.getTime());
-                            if (countDownLatch.await(time.getTime() - now.getTime(), TimeUnit.MILLISECONDS)) {
-                                LOG.debug("Stopping cron watch dog.");
-                                return;
-                            }
-                            now = new Date();
-                        }
-                        time = expression.getNextValidTimeAfter(now);
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                } catch (RejectedExecutionException | CancellationException e) {
-                    LOG.error(e.getMessage(), e);
-                }
-            }
-        };
-        return this.submit(scheduleTask);
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        final CronTask cronTask = new CronTask(task, expression, overlapPolicy, misfirePolicy);
+        cronTasks.add(cronTask);
+        cronTask.scheduleAfter(new Date());
+        return cronTask;
+    }
+
+    /**
+     * Sets the delay after which the start of a cron task execution is counted as late and logged.
+     */
+    public void setLateStartThreshold(long threshold, TimeUnit unit) {
+        this.lateStartThresholdMs = unit.toMillis(threshold);
+    }
+
+    /**
+     * Sets the delay after which the start of a cron task execution is a misfire,
+     * which is handled according to the {@link MisfirePolicy} of the task.
+     */
+    public void setMisfireThreshold(long threshold, TimeUnit unit) {
+        this.misfireThresholdMs = unit.toMillis(threshold);
+    }
+
+    /** Returns the number of scheduled cron tasks which are neither cancelled nor completed. */
+    public int getCronTaskCount() {
+        return cronTasks.size();
+    }
+
+    /** Returns the number of started executions of cron tasks. */
+    public long getCronStartCount() {
+        return cronStarts.get();
+    }
+
+    /** Returns the number of executions of cron tasks which started later than the late start threshold. */
+    public long getLateCronStartCount() {
+        return lateCronStarts.get();
+    }
+
+    /** Returns the maximum delay of cron task execution start, in milliseconds. */
+    public long getMaxCronStartDelay() {
+        return maxCronStartDelay.get();
+    }
+
+    /** Returns the number of misfired executions of cron tasks, including the fired ones. */
+    public long getMisfiredCronCount() {
+        return misfiredCronRuns.get();
+    }
+
+    /** Returns the number of executions of cron tasks skipped because the previous execution was still running. */
+    public long getSkippedOverlappingCronCount() {
+        return overlappedCronRuns.get();
     }
 
     @Override
     public void shutdown() {
-
-        for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-            cronJobWatchDog.countDown();
-        }
-        cronJobWatchDogs.clear();
+        cancelCronTasks();
         super.shutdown();
         LOG.debug("Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
                   getActiveCount(),
@@ -148,10 +196,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
 
     @Override
     public List<Runnable> shutdownNow() {
-        for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-            cronJobWatchDog.countDown();
-        }
-        cronJobWatchDogs.clear();
+        cancelCronTasks();
         LOG.debug("Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
                   getActiveCount(),
                   getPoolSize(),
@@ -162,4 +207,148 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
                  );
         return super.shutdownNow();
     }
+
+    private void cancelCronTasks() {
+        for (CronTask cronTask : cronTasks) {
+            cronTask.cancel(false);
+        }
+    }
+
+    /**
+     * Cron task which executions are scheduled one by one, the next execution is scheduled
+     * right before the task is executed, so long executions don't delay the following ones.
+     */
+    private class CronTask implements Future<Object> {
+        private final Runnable       task;
+        private final CronExpression expression;
+        private final OverlapPolicy  overlapPolicy;
+        private final MisfirePolicy  misfirePolicy;
+        private final AtomicBoolean  running = new AtomicBoolean();
+        private final CountDownLatch done    = new CountDownLatch(1);
+
+        // guarded by this
+        private final Deque<Date>        validTimes = new ArrayDeque<>();
+        private       ScheduledFuture<?> next;
+        private       boolean            cancelled;
+
+        CronTask(Runnable task, CronExpression expression, OverlapPolicy overlapPolicy, MisfirePolicy misfirePolicy) {
+            this.task = task;
+            this.expression = expression;
+            this.overlapPolicy = overlapPolicy;
+            this.misfirePolicy = misfirePolicy;
+        }
+
+        /** Schedules the execution at the first valid time after the given one. */
+        synchronized void scheduleAfter(Date after) {
+            if (isDone()) {
+                return;
+            }
+            while (!validTimes.isEmpty() && !validTimes.peekFirst().after(after)) {
+                validTimes.pollFirst();
+            }
+            if (validTimes.isEmpty()) {
+                validTimes.addAll(expression.getNextValidTimesAfter(after, PRECOMPUTED_TIMES));
+            }
+            final Date time = validTimes.pollFirst();
+            if (time == null) {
+                LOG.debug("Cron expression {} has no more valid times, task {} is completed", expression.getCronExpression(), task);
+                complete();
+                return;
+            }
+            try {
+                next = CronThreadPoolExecutor.this.schedule(() -> execute(time),
+                                                            time.getTime() - System.currentTimeMillis(),
+                                                            MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Cron task {} is not scheduled, executor is shut down", task);
+                complete();
+            }
+        }
+
+        void execute(Date time) {
+            final long now = System.currentTimeMillis();
+            final long startDelay = Math.max(0, now - time.getTime());
+            // missed valid times are coalesced into this execution
+            scheduleAfter(new Date(Math.max(now, time.getTime())));
+
+            if (startDelay > misfireThresholdMs) {
+                misfiredCronRuns.incrementAndGet();
+                if (misfirePolicy == MisfirePolicy.SKIP) {
+                    LOG.warn("Execution of cron task {} due at {} is misfired by {} ms and skipped", task, time, startDelay);
+                    return;
+                }
+            }
+            if (overlapPolicy == OverlapPolicy.SKIP && !running.compareAndSet(false, true)) {
+                overlappedCronRuns.incrementAndGet();
+                LOG.warn("Execution of cron task {} due at {} is skipped, the previous execution is still running", task, time);
+                return;
+            }
+            cronStarts.incrementAndGet();
+            maxCronStartDelay.accumulateAndGet(startDelay, Math::max);
+            if (startDelay > lateStartThresholdMs) {
+                lateCronStarts.incrementAndGet();
+                LOG.warn("Execution of cron task {} due at {} started {} ms late", task, time, startDelay);
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            } finally {
+                if (overlapPolicy == OverlapPolicy.SKIP) {
+                    running.set(false);
+                }
+            }
+        }
+
+        // must be called holding the lock of this task
+        private void complete() {
+            cronTasks.remove(this);
+            done.countDown();
+        }
+
+        /** Cancels further executions, running execution is never interrupted. */
+        @Override
+        public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            if (next != null) {
+                next.cancel(false);
+            }
+            complete();
+            return true;
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            done.await();
+            return result();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return result();
+        }
+
+        private Object result() {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.io.ObjectOutputStream;
 import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 import static org.testng.Assert.*;
@@ -292,6 +293,21 @@ public class CronExpressionTest {
         assertEquals(nonDefault, copyCronExpression.getTimeZone());
     }
 
+    @Test
+    public void testGetNextValidTimesAfter() throws ParseException {
+        CronExpression cronExpression = new CronExpression("0 15 10 L * ? 2005");
+        Date after = new Date(0);
+
+        List<Date> times = cronExpression.getNextValidTimesAfter(after, 20);
+
+        // the expression has a time in each month of 2005 only
+        assertEquals(times.size(), 12);
+        for (Date time : times) {
+            assertEquals(time, cronExpression.getNextValidTimeAfter(after));
+            after = time;
+        }
+    }
+
 //    // execute with version number to generate a new version's serialized form
 //    public static void main(String[] args) throws Exception {
 //        new CronExpressionTest().writeJobDataFile("1.5.2");
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+import org.eclipse.che.commons.schedule.executor.CronExecutorService.MisfirePolicy;
+import org.eclipse.che.commons.schedule.executor.CronExecutorService.OverlapPolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CronThreadPoolExecutor}.
+ */
+public class CronThreadPoolExecutorTest {
+
+    private static final String EACH_SECOND = "* * * * * ?";
+
+    private CronThreadPoolExecutor executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = new CronThreadPoolExecutor(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteMoreCronTasksThanPoolThreads() throws Exception {
+        final CountDownLatch executed = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            final AtomicInteger executions = new AtomicInteger();
+            executor.schedule(() -> {
+                if (executions.getAndIncrement() == 0) {
+                    executed.countDown();
+                }
+            }, new CronExpression(EACH_SECOND));
+        }
+
+        assertTrue(executed.await(3, SECONDS));
+        assertEquals(executor.getPoolSize(), 1);
+        assertEquals(executor.getCronTaskCount(), 10);
+    }
+
+    @Test
+    public void shouldSkipExecutionWhenPreviousOneIsStillRunning() throws Exception {
+        executor.setCorePoolSize(2);
+        final ConcurrencyMeter meter = new ConcurrencyMeter(2500);
+        executor.schedule(meter, new CronExpression(EACH_SECOND), OverlapPolicy.SKIP, MisfirePolicy.FIRE_ONCE);
+
+        Thread.sleep(3500);
+
+        assertEquals(meter.maxConcurrency.get(), 1);
+        assertTrue(executor.getSkippedOverlappingCronCount() > 0);
+    }
+
+    @Test
+    public void shouldExecuteConcurrentlyWhenOverlappingIsAllowed() throws Exception {
+        executor.setCorePoolSize(2);
+        final ConcurrencyMeter meter = new ConcurrencyMeter(2500);
+        executor.schedule(meter, new CronExpression(EACH_SECOND), OverlapPolicy.CONCURRENT, MisfirePolicy.FIRE_ONCE);
+
+        Thread.sleep(3500);
+
+        assertEquals(meter.maxConcurrency.get(), 2);
+        assertEquals(executor.getSkippedOverlappingCronCount(), 0);
+    }
+
+    @Test
+    public void shouldSkipMisfiredExecution() throws Exception {
+        executor.setMisfireThreshold(100, MILLISECONDS);
+        final AtomicInteger executions = new AtomicInteger();
+        // start right after a second, so the task is due in a second
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+        executor.schedule(executions::incrementAndGet, new CronExpression(EACH_SECOND), OverlapPolicy.SKIP, MisfirePolicy.SKIP);
+        // the only thread of the pool is busy when the cron task is due
+        executor.execute(() -> sleep(1500));
+
+        Thread.sleep(1800);
+
+        assertEquals(executor.getMisfiredCronCount(), 1);
+        assertEquals(executions.get(), 0);
+    }
+
+    @Test
+    public void shouldCountLateStartOfMisfiredExecution() throws Exception {
+        executor.setMisfireThreshold(100, MILLISECONDS);
+        executor.setLateStartThreshold(100, MILLISECONDS);
+        final CountDownLatch executed = new CountDownLatch(1);
+        executor.schedule(executed::countDown, new CronExpression(EACH_SECOND), OverlapPolicy.SKIP, MisfirePolicy.FIRE_ONCE);
+        executor.execute(() -> sleep(1500));
+
+        assertTrue(executed.await(3, SECONDS));
+        assertTrue(executor.getMisfiredCronCount() > 0);
+        assertTrue(executor.getLateCronStartCount() > 0);
+        assertTrue(executor.getMaxCronStartDelay() > 100);
+    }
+
+    @Test
+    public void shouldNotExecuteCancelledCronTask() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        final Future<?> future = executor.schedule(executions::incrementAndGet, new CronExpression(EACH_SECOND));
+
+        assertTrue(future.cancel(false));
+        Thread.sleep(1500);
+
+        assertTrue(future.isCancelled());
+        assertEquals(executions.get(), 0);
+        assertEquals(executor.getCronTaskCount(), 0);
+    }
+
+    @Test
+    public void shouldStopCronTasksOnShutdown() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(executor.schedule(() -> {}, new CronExpression(EACH_SECOND)));
+        }
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(1, SECONDS));
+        for (Future<?> future : futures) {
+            assertTrue(future.isDone());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Task which measures the number of its concurrent executions. */
+    private static class ConcurrencyMeter implements Runnable {
+        final AtomicInteger concurrency    = new AtomicInteger();
+        final AtomicInteger maxConcurrency = new AtomicInteger();
+        final long          durationMs;
+
+        ConcurrencyMeter(long durationMs) {
+            this.durationMs = durationMs;
+        }
+
+        @Override
+        public void run() {
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            sleep(durationMs);
+            concurrency.decrementAndGet();
+        }
+    }
+}
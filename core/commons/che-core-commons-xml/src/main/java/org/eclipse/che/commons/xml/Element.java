@@ -390,7 +390,7 @@ public final class Element {
      *         when newText parameter is {@code null}
      */
     public Element setText(String newText) {
-        checkNotRemoved();
+        checkModifiable();
         requireNonNull(newText, "Required not null new text");
         if (!newText.equals(getText())) {
             removeTextNodes();
@@ -468,7 +468,7 @@ public final class Element {
      *         when this element has been removed from xml tree
      */
     public Element removeChild(String name) {
-        checkNotRemoved();
+        checkModifiable();
         final Element child = getSingleChild(name);
         if (child != null) {
             child.remove();
@@ -484,7 +484,7 @@ public final class Element {
      *         or this element is root element
      */
     public void remove() {
-        checkNotRemoved();
+        checkModifiable();
         notPermittedOnRootElement();
         if (hasChildren()) {
             for (Element element : getChildren()) {
@@ -510,7 +510,7 @@ public final class Element {
      *         when this element has been removed from xml tree
      */
     public Element removeChildren(String name) {
-        checkNotRemoved();
+        checkModifiable();
         final List<Node> matched = new LinkedList<>();
         final NodeList nodes = delegate.getChildNodes();
         for (int i = 0; i < nodes.getLength(); i++) {
@@ -553,7 +553,7 @@ public final class Element {
      *         when this element has been removed from xml tree
      */
     public Element setAttribute(NewAttribute newAttribute) {
-        checkNotRemoved();
+        checkModifiable();
         requireNonNull(newAttribute, "Required not null new attribute");
         //if tree already contains element replace value
         if (hasAttribute(newAttribute.getName())) {
@@ -586,7 +586,7 @@ public final class Element {
      *         when name parameter is {@code null}
      */
     public Element removeAttribute(String name) {
-        checkNotRemoved();
+        checkModifiable();
         final Attribute attribute = getAttribute(name);
         if (attribute != null) {
             xmlTree.removeAttribute(attribute);
@@ -613,8 +613,14 @@ public final class Element {
     /**
      * Returns {@code true} if element doesn't have closing tag
      * i.e {@literal <element attr="value"/>}, otherwise {@code false}
+     *
+     * @throws XMLTreeException
+     *         when the tree of this element is read-only
      */
     public boolean isVoid() {
+        if (start == null) {
+            throw new XMLTreeException("Operation not permitted for element of read-only XMLTree");
+        }
         return start.equals(end);
     }
 
@@ -652,7 +658,7 @@ public final class Element {
      *         when newElement parameter is {@code null}
      */
     public Element replaceWith(NewElement newElement) {
-        checkNotRemoved();
+        checkModifiable();
         notPermittedOnRootElement();
         requireNonNull(newElement, "Required not null new element");
         insertAfter(newElement);
@@ -673,7 +679,7 @@ public final class Element {
      *         when newElement parameter is {@code null}
      */
     public Element appendChild(NewElement newElement) {
-        checkNotRemoved();
+        checkModifiable();
         requireNonNull(newElement, "Required not null new element");
         if (isVoid()) {
             throw new XMLTreeException("Append child is not permitted on void elements");
@@ -700,7 +706,7 @@ public final class Element {
      *         when newElement parameter is {@code null}
      */
     public Element insertAfter(NewElement newElement) {
-        checkNotRemoved();
+        checkModifiable();
         notPermittedOnRootElement();
         requireNonNull(newElement, "Required not null new element");
         final Node newNode = createNode(newElement);
@@ -731,7 +737,7 @@ public final class Element {
      *         when newElement parameter is {@code null}
      */
     public Element insertBefore(NewElement newElement) {
-        checkNotRemoved();
+        checkModifiable();
         notPermittedOnRootElement();
         requireNonNull(newElement, "Required not null new element");
         //if element has previous sibling insert new element after it
@@ -764,7 +770,7 @@ public final class Element {
     }
 
     void setAttributeValue(Attribute attribute) {
-        checkNotRemoved();
+        checkModifiable();
         final Node attributeNode = getAttributeNode(attribute.getName());
         xmlTree.updateAttributeValue(attribute, attributeNode.getNodeValue());
         getAttributeNode(attribute.getName()).setNodeValue(attribute.getValue());
@@ -847,6 +853,11 @@ public final class Element {
         }
     }
 
+    private void checkModifiable() {
+        checkNotRemoved();
+        xmlTree.checkModifiable();
+    }
+
     private Element createElement(Node node) {
         final Element element = new Element(xmlTree);
         element.delegate = (org.w3c.dom.Element)node;
@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.commons.xml;
 
+import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
@@ -21,7 +23,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -34,6 +36,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -62,8 +65,10 @@ import static com.google.common.io.ByteStreams.toByteArray;
 import static java.nio.file.Files.readAllBytes;
 import static java.util.Objects.requireNonNull;
 import static javax.xml.XMLConstants.XML_NS_URI;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
 import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
 import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.DTD;
 import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
 import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
 import static javax.xml.stream.XMLStreamConstants.SPACE;
@@ -72,6 +77,7 @@ import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import static javax.xml.xpath.XPathConstants.NODESET;
 import static javax.xml.xpath.XPathConstants.STRING;
 import static org.w3c.dom.Node.CDATA_SECTION_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
 import static org.w3c.dom.Node.TEXT_NODE;
 
 /**
@@ -98,6 +104,8 @@ import static org.w3c.dom.Node.TEXT_NODE;
  * is xpath query. You will be able to select/update
  * content provided with XMLTree elements or attributes
  * without working with xpath directly.
+ * Absolute paths of element names such as <i>/project/build/plugins/plugin</i>,
+ * which are the most of queries, are evaluated without xpath engine.
  * <p>
  * XMLTree provides methods which do the same
  * as model methods but sometimes they are more convenient,
@@ -169,11 +177,51 @@ public final class XMLTree {
         return from(String.format(ROOT_TEMPLATE, rootName, rootName));
     }
 
+    /**
+     * Creates read-only XMLTree from input stream.
+     * Doesn't close the stream
+     *
+     * @see #isReadOnly()
+     */
+    public static XMLTree readOnly(InputStream is) throws IOException {
+        return new XMLTree(toByteArray(is), true);
+    }
+
+    /**
+     * Creates read-only XMLTree from path
+     *
+     * @see #isReadOnly()
+     */
+    public static XMLTree readOnly(Path path) throws IOException {
+        return new XMLTree(readAllBytes(path), true);
+    }
+
+    /**
+     * Creates read-only XMLTree from string
+     *
+     * @see #isReadOnly()
+     */
+    public static XMLTree readOnly(String xml) {
+        return new XMLTree(xml.getBytes(UTF_8), true);
+    }
+
     private static final XMLInputFactory        XML_INPUT_FACTORY        = XMLInputFactory.newFactory();
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    XPATH_CACHE_SIZE         = 256;
+
+    /**
+     * Compiled xpath expressions, compiled expressions are not thread-safe so each thread has its own cache.
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > XPATH_CACHE_SIZE;
+                }
+            });
 
     /** Factories configuration. */
     static {
@@ -199,23 +247,46 @@ public final class XMLTree {
         }
     }
 
+    private final boolean       readOnly;
     private Document            document;
     private Map<String, String> namespaces;
     private List<Element>       elements;
     private byte[]              xml;
 
     private XMLTree(byte[] xml) {
+        this(xml, false);
+    }
+
+    private XMLTree(byte[] xml, boolean readOnly) {
         if (xml.length == 0) {
             throw new XMLTreeException("Source content is empty");
         }
+        this.readOnly = readOnly;
         elements = new LinkedList<>();
         namespaces = newHashMapWithExpectedSize(EXPECTED_NAMESPACES_SIZE);
         this.xml = normalizeLineEndings(xml);
         //reason: parser is going to replace all '\r\n' sequences with single '\n'
         //which will affect elements position in source xml and produce incorrect XMLTree behaviour
         //it comes from spec http://www.w3.org/TR/2004/REC-xml11-20040204/
-        document = parseQuietly(this.xml);
-        constructTreeQuietly();
+        if (readOnly) {
+            buildReadOnlyTreeQuietly();
+        } else {
+            document = parseQuietly(this.xml);
+            constructTreeQuietly();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this tree was created with one of {@code readOnly} methods.
+     * <p>
+     * Read-only tree is built within a single pass of {@link XMLStreamReader}
+     * and doesn't index positions of elements in the source bytes,
+     * so it is cheaper to create but any attempt to modify it
+     * or to check whether element {@link Element#isVoid() is void}
+     * ends with {@link XMLTreeException}.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
     /**
@@ -229,6 +300,10 @@ public final class XMLTree {
      * @see Element#getText()
      */
     public String getSingleText(String expression) {
+        final List<Node> nodes = selectChildPath(expression);
+        if (nodes != null) {
+            return nodes.isEmpty() ? "" : nodes.get(0).getTextContent();
+        }
         return (String)evaluateXPath(expression, STRING);
     }
 
@@ -258,11 +333,27 @@ public final class XMLTree {
      * @return list of found elements or empty list if elements were not found
      */
     public List<Element> getElements(String expression) {
+        final List<Node> selected = selectChildPath(expression);
+        if (selected != null) {
+            final List<Element> elements = new ArrayList<>(selected.size());
+            for (Node node : selected) {
+                elements.add(asElement(node));
+            }
+            return elements;
+        }
         final NodeList nodes = (NodeList)evaluateXPath(expression, NODESET);
         return asElements(nodes);
     }
 
     public <R> List<R> getElements(String expression, ElementMapper<? extends R> mapper) {
+        final List<Node> selected = selectChildPath(expression);
+        if (selected != null) {
+            final List<R> elements = new ArrayList<>(selected.size());
+            for (Node node : selected) {
+                elements.add(mapper.map(asElement(node)));
+            }
+            return elements;
+        }
         final NodeList nodes = (NodeList)evaluateXPath(expression, NODESET);
         return asElements(nodes, mapper);
     }
@@ -410,18 +501,92 @@ public final class XMLTree {
 
     /**
      * Evaluates xpath expression with given return type.
+     * Expressions are compiled once per thread.
      * Rethrows all exceptions as {@link XMLTreeException}
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
         try {
-            return xpath.evaluate(expression, document, returnType);
+            final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+            XPathExpression compiled = cache.get(expression);
+            if (compiled == null) {
+                compiled = XPATH_FACTORY.newXPath().compile(expression);
+                cache.put(expression, compiled);
+            }
+            return compiled.evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Selects nodes matched by the path of element names like <i>/project/build/plugins/plugin</i>
+     * walking the document without xpath engine, the nodes are in document order as xpath returns them.
+     * Returns {@code null} when expression is not such a path or when it matches prefixed elements,
+     * so the expression should be evaluated by xpath engine.
+     */
+    private List<Node> selectChildPath(String expression) {
+        if (!isChildPath(expression)) {
+            return null;
+        }
+        List<Node> selected = new ArrayList<>(1);
+        selected.add(document);
+        int nameStart = 1;
+        while (nameStart < expression.length() && !selected.isEmpty()) {
+            int nameEnd = expression.indexOf('/', nameStart);
+            if (nameEnd == -1) {
+                nameEnd = expression.length();
+            }
+            final String name = expression.substring(nameStart, nameEnd);
+            final List<Node> children = new ArrayList<>();
+            for (Node parent : selected) {
+                for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if (child.getNodeType() == ELEMENT_NODE) {
+                        final String childName = child.getNodeName();
+                        if (childName.indexOf(':') != -1) {
+                            return null;
+                        }
+                        if (childName.equals(name)) {
+                            children.add(child);
+                        }
+                    }
+                }
+            }
+            selected = children;
+            nameStart = nameEnd + 1;
+        }
+        return selected;
+    }
+
+    /**
+     * Returns {@code true} if expression is an absolute path of not prefixed element names
+     * without predicates, axes and functions, e.g. <i>/project/dependencies/dependency</i>.
+     */
+    private static boolean isChildPath(String expression) {
+        final int length = expression.length();
+        if (length < 2 || expression.charAt(0) != '/') {
+            return false;
+        }
+        boolean nameStart = true;
+        for (int i = 1; i < length; i++) {
+            final char c = expression.charAt(i);
+            if (c == '/') {
+                if (nameStart) {
+                    return false;
+                }
+                nameStart = true;
+            } else if (nameStart) {
+                if (!Character.isLetter(c) && c != '_') {
+                    return false;
+                }
+                nameStart = false;
+            } else if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return !nameStart;
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
@@ -440,6 +605,14 @@ public final class XMLTree {
      * using {@link Node#getTextContent()} method
      */
     private List<String> retrieveText(String expression) {
+        final List<Node> selected = selectChildPath(expression);
+        if (selected != null) {
+            final List<String> elementsText = new ArrayList<>(selected.size());
+            for (Node node : selected) {
+                elementsText.add(node.getTextContent());
+            }
+            return elementsText;
+        }
         final NodeList nodeList = (NodeList)evaluateXPath(expression, NODESET);
         final List<String> elementsText = new ArrayList<>(nodeList.getLength());
         for (int i = 0; i < nodeList.getLength(); i++) {
@@ -608,6 +781,93 @@ public final class XMLTree {
         return deepNext(node.getParentNode(), false);
     }
 
+    /**
+     * Builds document and elements of read-only tree within a single pass of {@link XMLStreamReader}.
+     * The document is the same as not namespace aware {@link DocumentBuilder} produces,
+     * elements are not bound to positions in the source bytes.
+     */
+    private void buildReadOnlyTree() throws XMLStreamException, ParserConfigurationException {
+        document = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
+        final XMLStreamReader reader = newXMLStreamReader();
+        Node parent = document;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    final org.w3c.dom.Element node = document.createElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        final String prefix = reader.getNamespacePrefix(i);
+                        node.setAttribute(prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix, reader.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        node.setAttribute(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                                          reader.getAttributeValue(i));
+                    }
+                    final Element element = new Element(this);
+                    element.delegate = node;
+                    node.setUserData("element", element, null);
+                    elements.add(element);
+                    putNamespaces(reader);
+                    parent.appendChild(node);
+                    parent = node;
+                    break;
+                case END_ELEMENT:
+                    parent = parent.getParentNode();
+                    break;
+                case CHARACTERS:
+                case SPACE:
+                    //reader may split the text into several events
+                    //while parser creates a single text node for it
+                    if (parent != document) {
+                        final Node last = parent.getLastChild();
+                        if (last != null && last.getNodeType() == TEXT_NODE) {
+                            ((Text)last).appendData(reader.getText());
+                        } else {
+                            parent.appendChild(document.createTextNode(reader.getText()));
+                        }
+                    }
+                    break;
+                case CDATA:
+                    parent.appendChild(document.createCDATASection(reader.getText()));
+                    break;
+                case COMMENT:
+                    parent.appendChild(document.createComment(reader.getText()));
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    parent.appendChild(document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                    break;
+                case DTD:
+                    throw new XMLTreeException("DOCTYPE is disallowed");
+                default:
+                    //DO NOTHING
+            }
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    /**
+     * Same as {@link #buildReadOnlyTree()}, only difference
+     * that it wraps all exceptions to {@link XMLTreeException}
+     */
+    private void buildReadOnlyTreeQuietly() {
+        try {
+            buildReadOnlyTree();
+        } catch (XMLStreamException | ParserConfigurationException | DOMException ex) {
+            throw XMLTreeException.wrap(ex);
+        }
+    }
+
+    /**
+     * Throws {@link XMLTreeException} if the tree is read-only.
+     */
+    void checkModifiable() {
+        if (readOnly) {
+            throw new XMLTreeException("Operation not permitted for read-only XMLTree");
+        }
+    }
+
     /**
      * Same as {@link #constructTree()}, only difference
      * that it wraps {@link XMLStreamException} to {@link XMLTreeException}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Callable;
+
+import static java.lang.Integer.parseInt;
+
+/**
+ * Measures the cost of parsing poms and of the queries pom models make,
+ * comparing the modifiable and the read-only tree, child path queries and
+ * the same queries evaluated by xpath engine.
+ * <p>
+ * It is not executed as a part of the build, run it manually:
+ * <pre>
+ * java -cp ... org.eclipse.che.commons.xml.XMLTreeBenchmark [pom] [iterations]
+ * </pre>
+ * By default the largest pom of the test resources is used.
+ */
+public class XMLTreeBenchmark {
+
+    private static final String[] QUERIES = {"/project/groupId",
+                                             "/project/artifactId",
+                                             "/project/version",
+                                             "/project/packaging",
+                                             "/project/parent/artifactId",
+                                             "/project/dependencies/dependency",
+                                             "/project/dependencyManagement/dependencies/dependency",
+                                             "/project/build/plugins/plugin",
+                                             "/project/modules/module",
+                                             "/project/properties"};
+
+    public static void main(String[] args) throws Exception {
+        final Path pom = args.length > 0 ? Paths.get(args[0]) : Paths.get(Thread.currentThread()
+                                                                                 .getContextClassLoader()
+                                                                                 .getResource("test-xml-files/nuxeo-pom.xml")
+                                                                                 .toURI());
+        final int iterations = args.length > 1 ? parseInt(args[1]) : 200;
+        final byte[] content = Files.readAllBytes(pom);
+        final XMLTree tree = XMLTree.from(content);
+
+        final Callable<?> parse = () -> XMLTree.from(content);
+        final Callable<?> parseReadOnly = () -> XMLTree.readOnly(new ByteArrayInputStream(content));
+        // the predicate keeps the expressions away from child path evaluation
+        final Callable<?> queryXPath = () -> {
+            for (String query : QUERIES) {
+                tree.getElements(query + "[true()]");
+            }
+            return null;
+        };
+        final Callable<?> queryChildPath = () -> {
+            for (String query : QUERIES) {
+                tree.getElements(query);
+            }
+            return null;
+        };
+
+        // warm up JIT
+        for (Callable<?> task : new Callable<?>[] {parse, parseReadOnly, queryXPath, queryChildPath}) {
+            run(iterations / 4, task);
+        }
+
+        System.out.printf("pom: %s, %d bytes, %d iterations%n", pom, content.length, iterations);
+        System.out.printf("parse modifiable tree:          %8.3f ms/iteration%n", run(iterations, parse) / 1e6 / iterations);
+        System.out.printf("parse read-only tree:           %8.3f ms/iteration%n", run(iterations, parseReadOnly) / 1e6 / iterations);
+        System.out.printf("%d queries, xpath engine:    %8.3f ms/iteration%n",
+                          QUERIES.length, run(iterations, queryXPath) / 1e6 / iterations);
+        System.out.printf("%d queries, child path:      %8.3f ms/iteration%n",
+                          QUERIES.length, run(iterations, queryChildPath) / 1e6 / iterations);
+    }
+
+    private static long run(int iterations, Callable<?> task) throws Exception {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.call();
+        }
+        return System.nanoTime() - start;
+    }
+}
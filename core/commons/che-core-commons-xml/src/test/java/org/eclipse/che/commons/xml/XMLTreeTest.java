@@ -1702,6 +1702,76 @@ public class XMLTreeTest {
         assertEquals(tree.toString(), "<parent \r\n\r\n\r\n attr1=\"v\"><child>new text</child></parent>");
     }
 
+    @Test
+    public void shouldSelectSameNodesByChildPathAsXPathDoes() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+
+        // the predicate makes the expression to be evaluated by xpath engine
+        assertEquals(tree.getText("/project/dependencies/dependency/artifactId"),
+                     tree.getText("/project/dependencies/dependency/artifactId[true()]"));
+        assertEquals(tree.getText("/project/dependencies/dependency/artifactId"), asList("guava", "testng", "mockito-core"));
+        assertEquals(tree.getSingleText("/project/dependencies/dependency/version"), "18.0");
+        assertEquals(tree.getSingleText("/project/missing/version"), "");
+        assertTrue(tree.getElements("/project/dependency").isEmpty());
+        assertEquals(tree.getElements("/project/configuration/items/item").size(), 3);
+    }
+
+    @Test
+    public void shouldEvaluatePathOfPrefixedElementsWithXPath() {
+        final XMLTree tree = XMLTree.from("<root><p:child xmlns:p=\"urn:p\">text</p:child><child>other</child></root>");
+
+        assertEquals(tree.getText("/root/child"), tree.getText("/root/child[true()]"));
+    }
+
+    @Test
+    public void shouldReadSameContentWithReadOnlyTree() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+        final XMLTree readOnly = XMLTree.readOnly(XML_CONTENT);
+
+        assertTrue(readOnly.isReadOnly());
+        assertFalse(tree.isReadOnly());
+        assertEquals(readOnly.getText("//*[not(*)]"), tree.getText("//*[not(*)]"));
+        assertEquals(readOnly.getSingleText("/project/dependencies/dependency[groupId='org.testng']/version"), "6.8");
+        final Element items = readOnly.getSingleElement("/project/configuration/items");
+        assertEquals(items.getAttribute("combine.children").getValue(), "append");
+        assertEquals(items.getChildren().size(), 3);
+        assertEquals(items.getParent().getName(), "configuration");
+        assertEquals(readOnly.getRoot().getAttribute("xmlns:xsi").getValue(), "http://www.w3.org/2001/XMLSchema-instance");
+        assertEquals(readOnly.toString(), tree.toString());
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotUpdateReadOnlyTree() {
+        final XMLTree tree = XMLTree.readOnly(XML_CONTENT);
+
+        try {
+            tree.updateText("/project/name", "new name");
+        } finally {
+            assertEquals(tree.getSingleText("/project/name"), "Test");
+        }
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotAppendChildToReadOnlyTree() {
+        XMLTree.readOnly(XML_CONTENT).getRoot().appendChild(NewElement.createElement("description", "text"));
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldThrowExceptionWhenReadOnlyContentContainsDoctypeDeclaration() {
+        XMLTree.readOnly("<?xml version=\"1.0\"?>\n" +
+                         "<!DOCTYPE root [<!ENTITY e \"e\">]>\n" +
+                         "<root>&e;</root>");
+    }
+
+    @Test(dataProvider = "custom-xml-files")
+    public void shouldReadCustomXMLWithReadOnlyTree(File xml) throws IOException {
+        final XMLTree tree = XMLTree.from(xml);
+        final XMLTree readOnly = XMLTree.readOnly(xml.toPath());
+
+        assertEquals(readOnly.getText("//*"), tree.getText("//*"));
+        assertEquals(readOnly.getText("//@*"), tree.getText("//@*"));
+    }
+
     @Test(dataProvider = "custom-xml-files")
     public void shouldBeAbleToCreateTreeFromCustomXML(File xml) throws IOException {
         //should be able to parse file
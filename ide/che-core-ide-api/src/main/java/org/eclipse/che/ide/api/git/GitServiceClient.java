@@ -981,6 +981,25 @@ public interface GitServiceClient {
      */
     Promise<LogResponse> log(DevMachine devMachine, Path project, Path[] fileFilter, boolean plainText);
 
+    /**
+     * Get a page of the log of commits. The result is the list of {@link Revision}, which is returned by callback in
+     * <code>onSuccess(Revision result)</code>.
+     *
+     * @param devMachine
+     *         current machine
+     * @param project
+     *         project (root of GIT repository)
+     * @param fileFilter
+     *         range of files to filter revisions list
+     * @param skip
+     *         number of commits to skip from the beginning of the log
+     * @param maxCount
+     *         maximum number of commits to return, <code>0</code> means no limit
+     * @param plainText
+     *         if <code>true</code> the loq response will be in text format
+     */
+    Promise<LogResponse> log(DevMachine devMachine, Path project, Path[] fileFilter, int skip, int maxCount, boolean plainText);
+
     /**
      * Merge the pointed commit with current HEAD.
      *
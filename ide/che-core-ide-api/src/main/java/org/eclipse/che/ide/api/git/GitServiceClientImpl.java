@@ -694,6 +694,11 @@ public class GitServiceClientImpl implements GitServiceClient {
 
     @Override
     public Promise<LogResponse> log(DevMachine devMachine, Path project, Path[] fileFilter, boolean plainText) {
+        return log(devMachine, project, fileFilter, 0, 0, plainText);
+    }
+
+    @Override
+    public Promise<LogResponse> log(DevMachine devMachine, Path project, Path[] fileFilter, int skip, int maxCount, boolean plainText) {
 
         List<String> paths = null;
 
@@ -706,7 +711,9 @@ public class GitServiceClientImpl implements GitServiceClient {
         }
 
         LogRequest logRequest = dtoFactory.createDto(LogRequest.class)
-                                          .withFileFilter(paths);
+                                          .withFileFilter(paths)
+                                          .withSkip(skip)
+                                          .withMaxCount(maxCount);
         String url = devMachine.getWsAgentBaseUrl() + LOG + "?projectPath=" + project;
         if (plainText) {
             return asyncRequestFactory.createPostRequest(url, logRequest)
@@ -25,6 +25,9 @@ public class GitUtil {
 
     public static final String VCS_ATTRIBUTE = "vcs.provider.name";
 
+    /** Number of commits requested at once by the views which display the log, the next page is requested on scrolling. */
+    public static final int LOG_PAGE_SIZE = 50;
+
     public static boolean isUnderGit(Project project) {
         return isUnderGit((ProjectConfig)project);
     }
@@ -225,7 +225,7 @@ public class CommitPresenter implements CommitView.ActionDelegate {
     /** {@inheritDoc} */
     @Override
     public void setAmendCommitMessage() {
-        service.log(appContext.getDevMachine(), project.getLocation(), null, false)
+        service.log(appContext.getDevMachine(), project.getLocation(), null, 0, 1, false)
                .then(new Operation<LogResponse>() {
                    @Override
                    public void apply(LogResponse log) throws OperationException {
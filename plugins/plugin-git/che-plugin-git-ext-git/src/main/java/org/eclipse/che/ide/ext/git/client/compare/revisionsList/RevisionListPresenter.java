@@ -31,12 +31,15 @@ import org.eclipse.che.ide.api.dialogs.DialogFactory;
 import org.eclipse.che.ide.resource.Path;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.git.shared.DiffRequest.DiffType.NAME_STATUS;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.NOT_EMERGE_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
+import static org.eclipse.che.ide.ext.git.client.GitUtil.LOG_PAGE_SIZE;
 import static org.eclipse.che.ide.ext.git.client.compare.FileStatus.defineStatus;
 import static org.eclipse.che.ide.util.ExceptionUtils.getErrorCode;
 
@@ -56,9 +59,13 @@ public class RevisionListPresenter implements RevisionListView.ActionDelegate {
     private final AppContext              appContext;
     private final NotificationManager     notificationManager;
 
-    private Revision selectedRevision;
-    private Project  project;
-    private Path     selectedFilePath;
+    private Revision       selectedRevision;
+    private Project        project;
+    private Path           selectedFilePath;
+    private List<Revision> revisions;
+    /** If <code>true</code> then the last requested page of the log was full and the next one may be requested. */
+    private boolean        hasMoreRevisions;
+    private boolean        revisionsLoading;
 
     @Inject
     public RevisionListPresenter(RevisionListView view,
@@ -88,6 +95,7 @@ public class RevisionListPresenter implements RevisionListView.ActionDelegate {
         selectedFilePath = selectedFile.getLocation()
                                        .removeFirstSegments(project.getLocation().segmentCount())
                                        .removeTrailingSeparator();
+        revisions = new ArrayList<>();
         getRevisions();
     }
 
@@ -125,18 +133,41 @@ public class RevisionListPresenter implements RevisionListView.ActionDelegate {
         compare();
     }
 
-    /** Get list of revisions. */
+    /** {@inheritDoc} */
+    @Override
+    public void onScrolledToBottom() {
+        if (hasMoreRevisions && !revisionsLoading) {
+            getRevisions();
+        }
+    }
+
+    /** Get the next page of revisions, the dialog is shown when the first page is received. */
     private void getRevisions() {
-        service.log(appContext.getDevMachine(), project.getLocation(), new Path[]{selectedFilePath}, false)
+        final List<Revision> loaded = revisions;
+        final int skip = loaded.size();
+        revisionsLoading = true;
+        service.log(appContext.getDevMachine(), project.getLocation(), new Path[]{selectedFilePath}, skip, LOG_PAGE_SIZE, false)
                .then(new Operation<LogResponse>() {
                    @Override
                    public void apply(LogResponse log) throws OperationException {
-                       view.setRevisions(log.getCommits());
-                       view.showDialog();
+                       revisionsLoading = false;
+                       if (loaded != revisions) {
+                           // revisions of another file were requested meanwhile
+                           return;
+                       }
+                       final List<Revision> page = log.getCommits();
+                       revisions.addAll(page);
+                       hasMoreRevisions = page.size() == LOG_PAGE_SIZE;
+                       view.setRevisions(revisions);
+                       if (skip == 0) {
+                           view.showDialog();
+                       }
                    }
                }).catchError(new Operation<PromiseError>() {
             @Override
             public void apply(PromiseError error) throws OperationException {
+                revisionsLoading = false;
+                hasMoreRevisions = false;
                 if (getErrorCode(error.getCause()) == ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED) {
                     dialogFactory.createMessageDialog(locale.compareWithRevisionTitle(),
                                                       locale.initCommitWasNotPerformed(),
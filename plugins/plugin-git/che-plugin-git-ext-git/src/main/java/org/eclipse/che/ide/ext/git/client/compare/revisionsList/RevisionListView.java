@@ -44,6 +44,9 @@ public interface RevisionListView extends View<RevisionListView.ActionDelegate>
 
         /** Performs any action in response to the user do not have any selected revision. */
         void onRevisionUnselected();
+
+        /** Performs any action in response to the user having scrolled the list of revisions to the bottom. */
+        void onScrolledToBottom();
     }
 
     /**
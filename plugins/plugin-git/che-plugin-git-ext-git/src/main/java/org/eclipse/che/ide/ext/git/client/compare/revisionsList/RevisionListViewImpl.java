@@ -16,6 +16,8 @@ import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.DoubleClickEvent;
 import com.google.gwt.event.dom.client.DoubleClickHandler;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.cellview.client.CellTable;
@@ -189,6 +191,14 @@ public class RevisionListViewImpl extends Window implements RevisionListView {
         }, DoubleClickEvent.getType());
 
         this.revisionsPanel.add(revisions);
+        this.revisionsPanel.addScrollHandler(new ScrollHandler() {
+            @Override
+            public void onScroll(ScrollEvent event) {
+                if (revisionsPanel.getVerticalScrollPosition() >= revisionsPanel.getMaximumVerticalScrollPosition()) {
+                    delegate.onScrolledToBottom();
+                }
+            }
+        });
     }
 
     private void createButtons() {
@@ -42,11 +42,13 @@ import org.eclipse.che.ide.resource.Path;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.git.shared.DiffRequest.DiffType.RAW;
+import static org.eclipse.che.ide.ext.git.client.GitUtil.LOG_PAGE_SIZE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
 import static org.eclipse.che.ide.util.ExceptionUtils.getErrorCode;
@@ -81,6 +83,9 @@ public class HistoryPresenter extends BasePresenter implements HistoryView.Actio
     private List<Revision>      revisions;
     private Revision            selectedRevision;
     private NotificationManager notificationManager;
+    /** If <code>true</code> then the last requested page of the log was full and the next one may be requested. */
+    private boolean             hasMoreRevisions;
+    private boolean             revisionsLoading;
 
     private Project project;
 
@@ -113,7 +118,8 @@ public class HistoryPresenter extends BasePresenter implements HistoryView.Actio
 
     public void showDialog(Project project) {
         this.project = project;
-        getCommitsLog();
+        this.revisions = new ArrayList<>();
+        getCommitsLog(0, LOG_PAGE_SIZE);
         selectedRevision = null;
 
         view.selectProjectChangesButton(true);
@@ -138,17 +144,43 @@ public class HistoryPresenter extends BasePresenter implements HistoryView.Actio
         }
     }
 
-    /** Get the log of the commits. If successfully received, then display in revision grid, otherwise - show error in output panel. */
-    private void getCommitsLog() {
-        service.log(appContext.getDevMachine(), project.getLocation(), null, false).then(new Operation<LogResponse>() {
+    /** Reloads the commits which are already displayed, but not less than one page. */
+    private void reloadCommitsLog() {
+        getCommitsLog(0, Math.max(revisions.size(), LOG_PAGE_SIZE));
+    }
+
+    /**
+     * Get a page of the log of the commits. If successfully received, then display in revision grid,
+     * otherwise - show error in output panel.
+     *
+     * @param skip
+     *         number of commits to skip, the page replaces displayed commits if it is <code>0</code> and is appended to them otherwise
+     * @param maxCount
+     *         maximum number of commits to get
+     */
+    private void getCommitsLog(final int skip, final int maxCount) {
+        revisionsLoading = true;
+        service.log(appContext.getDevMachine(), project.getLocation(), null, skip, maxCount, false).then(new Operation<LogResponse>() {
             @Override
             public void apply(LogResponse log) throws OperationException {
-                revisions = log.getCommits();
+                revisionsLoading = false;
+                if (skip != 0 && skip != revisions.size()) {
+                    // displayed commits were reloaded while the page was requested
+                    return;
+                }
+                final List<Revision> page = log.getCommits();
+                if (skip == 0) {
+                    revisions = new ArrayList<>();
+                }
+                revisions.addAll(page);
+                hasMoreRevisions = page.size() == maxCount;
                 view.setRevisions(revisions);
             }
         }).catchError(new Operation<PromiseError>() {
             @Override
             public void apply(PromiseError error) throws OperationException {
+                revisionsLoading = false;
+                hasMoreRevisions = false;
                 if (getErrorCode(error.getCause()) == ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED) {
                     dialogFactory.createMessageDialog(constant.historyTitle(), constant.initCommitWasNotPerformed(), null).show();
                 } else {
@@ -215,7 +247,15 @@ public class HistoryPresenter extends BasePresenter implements HistoryView.Actio
     /** {@inheritDoc} */
     @Override
     public void onRefreshClicked() {
-        getCommitsLog();
+        reloadCommitsLog();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onScrolledToBottom() {
+        if (hasMoreRevisions && !revisionsLoading) {
+            getCommitsLog(revisions.size(), LOG_PAGE_SIZE);
+        }
     }
 
     /** {@inheritDoc} */
@@ -291,7 +331,7 @@ public class HistoryPresenter extends BasePresenter implements HistoryView.Actio
     /** Update content. */
     private void update() {
         getDiff();
-        getCommitsLog();
+        reloadCommitsLog();
     }
 
     /** Get the changes between revisions. On success - display diff in text format, otherwise - show the error message in output panel. */
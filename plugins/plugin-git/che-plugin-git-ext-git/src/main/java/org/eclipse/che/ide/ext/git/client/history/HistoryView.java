@@ -28,6 +28,9 @@ public interface HistoryView extends View<HistoryView.ActionDelegate> {
         /** Performs any actions appropriate in response to the user having pressed the Refresh button. */
         void onRefreshClicked();
 
+        /** Performs any actions appropriate in response to the user having scrolled the revisions list to the bottom. */
+        void onScrolledToBottom();
+
         /** Performs any actions appropriate in response to the user having pressed the ProjectChanges button. */
         void onProjectChangesClicked();
 
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.ext.git.client.history;
 import com.google.gwt.cell.client.Cell;
 import com.google.gwt.cell.client.TextCell;
 import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.i18n.client.DateTimeFormat;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.uibinder.client.UiBinder;
@@ -23,6 +24,7 @@ import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.client.ui.Button;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.TextArea;
 import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.UIObject;
@@ -76,6 +78,8 @@ public class HistoryViewImpl extends BaseView<HistoryView.ActionDelegate> implem
     @UiField(provided = true)
     CellTable<Revision> commits;
     @UiField
+    ScrollPanel         commitsPanel;
+    @UiField
     Button              btnRefresh;
     @UiField
     Button              btnProjectChanges;
@@ -281,6 +285,13 @@ public class HistoryViewImpl extends BaseView<HistoryView.ActionDelegate> implem
         delegate.onRefreshClicked();
     }
 
+    @UiHandler("commitsPanel")
+    public void onCommitsScrolled(ScrollEvent event) {
+        if (commitsPanel.getVerticalScrollPosition() >= commitsPanel.getMaximumVerticalScrollPosition()) {
+            delegate.onScrolledToBottom();
+        }
+    }
+
     @UiHandler("btnProjectChanges")
     public void onProjectChangesClick(ClickEvent event) {
         delegate.onProjectChangesClicked();
@@ -31,9 +31,12 @@ import org.eclipse.che.ide.ext.git.client.outputconsole.GitOutputConsoleFactory;
 import org.eclipse.che.ide.extension.machine.client.processes.panel.ProcessesPanelPresenter;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
+import static org.eclipse.che.ide.ext.git.client.GitUtil.LOG_PAGE_SIZE;
 import static org.eclipse.che.ide.ext.git.client.history.HistoryPresenter.LOG_COMMAND_NAME;
 import static org.eclipse.che.ide.util.ExceptionUtils.getErrorCode;
 
@@ -56,8 +59,12 @@ public class ResetToCommitPresenter implements ResetToCommitView.ActionDelegate
     private final GitLocalizationConstant constant;
     private final NotificationManager     notificationManager;
 
-    private Revision selectedRevision;
-    private Project  project;
+    private Revision       selectedRevision;
+    private Project        project;
+    private List<Revision> revisions;
+    /** If <code>true</code> then the last requested page of the log was full and the next one may be requested. */
+    private boolean        hasMoreRevisions;
+    private boolean        revisionsLoading;
 
     @Inject
     public ResetToCommitPresenter(ResetToCommitView view,
@@ -81,11 +88,16 @@ public class ResetToCommitPresenter implements ResetToCommitView.ActionDelegate
 
     public void showDialog(final Project project) {
         this.project = project;
+        this.revisions = new ArrayList<>();
+        this.revisionsLoading = true;
 
-        service.log(appContext.getDevMachine(), project.getLocation(), null, false).then(new Operation<LogResponse>() {
+        service.log(appContext.getDevMachine(), project.getLocation(), null, 0, LOG_PAGE_SIZE, false).then(new Operation<LogResponse>() {
             @Override
             public void apply(LogResponse log) throws OperationException {
-                view.setRevisions(log.getCommits());
+                revisionsLoading = false;
+                revisions.addAll(log.getCommits());
+                hasMoreRevisions = revisions.size() == LOG_PAGE_SIZE;
+                view.setRevisions(revisions);
                 view.setMixMode(true);
                 view.setEnableResetButton(selectedRevision != null);
                 view.showDialog();
@@ -95,6 +107,8 @@ public class ResetToCommitPresenter implements ResetToCommitView.ActionDelegate
         }).catchError(new Operation<PromiseError>() {
             @Override
             public void apply(PromiseError error) throws OperationException {
+                revisionsLoading = false;
+                hasMoreRevisions = false;
                 if (getErrorCode(error.getCause()) == ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED) {
                     dialogFactory.createMessageDialog(constant.resetCommitViewTitle(),
                                                       constant.initCommitWasNotPerformed(),
@@ -127,6 +141,41 @@ public class ResetToCommitPresenter implements ResetToCommitView.ActionDelegate
         view.close();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onScrolledToBottom() {
+        if (!hasMoreRevisions || revisionsLoading) {
+            return;
+        }
+        revisionsLoading = true;
+        final List<Revision> loaded = revisions;
+        service.log(appContext.getDevMachine(), project.getLocation(), null, loaded.size(), LOG_PAGE_SIZE, false)
+               .then(new Operation<LogResponse>() {
+                   @Override
+                   public void apply(LogResponse log) throws OperationException {
+                       revisionsLoading = false;
+                       if (loaded != revisions) {
+                           // dialog was reopened while the page was requested
+                           return;
+                       }
+                       final List<Revision> page = log.getCommits();
+                       revisions.addAll(page);
+                       hasMoreRevisions = page.size() == LOG_PAGE_SIZE;
+                       view.setRevisions(revisions);
+                   }
+               })
+               .catchError(new Operation<PromiseError>() {
+                   @Override
+                   public void apply(PromiseError error) throws OperationException {
+                       revisionsLoading = false;
+                       hasMoreRevisions = false;
+                       notificationManager.notify(constant.logFailed(), FAIL, FLOAT_MODE);
+                   }
+               });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -30,6 +30,9 @@ public interface ResetToCommitView extends View<ResetToCommitView.ActionDelegate
         /** Performs any actions appropriate in response to the user having pressed the Cancel button. */
         void onCancelClicked();
 
+        /** Performs any actions appropriate in response to the user having scrolled the revisions list to the bottom. */
+        void onScrolledToBottom();
+
         /**
          * Performs any action in response to the user having select revision.
          *
@@ -22,6 +22,8 @@ import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.i18n.client.DateTimeFormat;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.uibinder.client.UiBinder;
@@ -67,6 +69,8 @@ public class ResetToCommitViewImpl extends Window implements ResetToCommitView {
     Button btnCancel;
     @UiField(provided = true)
     CellTable<Revision> commits;
+    @UiField
+    ScrollPanel         commitsPanel;
     @UiField(provided = true)
     final   GitResources            res;
     @UiField(provided = true)
@@ -94,6 +98,15 @@ public class ResetToCommitViewImpl extends Window implements ResetToCommitView {
 
         prepareRadioButtons();
 
+        commitsPanel.addScrollHandler(new ScrollHandler() {
+            @Override
+            public void onScroll(ScrollEvent event) {
+                if (commitsPanel.getVerticalScrollPosition() >= commitsPanel.getMaximumVerticalScrollPosition()) {
+                    delegate.onScrolledToBottom();
+                }
+            }
+        });
+
         btnCancel = createButton(locale.buttonCancel(), "git-reset-cancel", new ClickHandler() {
 
             @Override
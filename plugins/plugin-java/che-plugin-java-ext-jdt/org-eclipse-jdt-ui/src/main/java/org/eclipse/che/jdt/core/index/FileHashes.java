@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.core.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SHA-1 hashes of contents of files, such as libraries, used to address data derived from them
+ * regardless of their location. A hash is remembered by the path of the file and computed again
+ * only when the length or the modification time of the file changes.
+ */
+public class FileHashes {
+    private final byte[] salt;
+
+    /** Content hashes of files, by path. */
+    private final ConcurrentMap<String, Fingerprint> fingerprints;
+
+    public FileHashes() {
+        this(new byte[0]);
+    }
+
+    /**
+     * @param salt
+     *         bytes digested before the content of each file, e.g. the version of the format of derived data
+     */
+    public FileHashes(byte[] salt) {
+        this.salt = salt.clone();
+        this.fingerprints = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns hex encoded hash of the content of the file.
+     *
+     * @throws IOException
+     *         if the file can't be read
+     */
+    public String hash(File file) throws IOException {
+        final String key = file.getAbsolutePath();
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+        final Fingerprint fingerprint = fingerprints.get(key);
+        if (fingerprint != null && fingerprint.length == length && fingerprint.lastModified == lastModified) {
+            return fingerprint.hash;
+        }
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        digest.update(salt);
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        final StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        fingerprints.put(key, new Fingerprint(length, lastModified, hash.toString()));
+        return hash.toString();
+    }
+
+    private static class Fingerprint {
+        final long   length;
+        final long   lastModified;
+        final String hash;
+
+        Fingerprint(long length, long lastModified, String hash) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.core.index;
+
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Store of search indexes of libraries shared by all workspaces of a node.
+ * <p>
+ * Indexes are addressed by the content of the library and the version of the index format,
+ * so the same jar gets the same index regardless of its location in a workspace.
+ * Indexes in the store are never modified: a workspace gets a link to (or a copy of) the index
+ * and a new index is copied to a temporary file first and then atomically moved to its place,
+ * so any number of workspaces may use and populate the store concurrently.
+ * <p>
+ * The total size of the store is limited, least recently used indexes are removed when it is exceeded.
+ * Removing an index doesn't affect workspaces using it, as they have their own links or copies.
+ */
+public class SharedIndexStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexStore.class);
+
+    private static final String INDEX_SUFFIX   = ".index";
+    private static final String TMP_SUFFIX     = ".tmp";
+    private static final long   TMP_EXPIRATION = 60 * 60 * 1000;
+
+    private final File dir;
+    private final long maxSize;
+
+    /** Content hashes of libraries, indexes of different format versions must not be mixed up. */
+    private final FileHashes hashes;
+
+    /**
+     * @param dir
+     *         directory of the store, shared by workspaces
+     * @param maxSize
+     *         maximal total size of indexes in the store, in bytes
+     */
+    public SharedIndexStore(File dir, long maxSize) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+        this.hashes = new FileHashes(DiskIndex.SIGNATURE.getBytes(UTF_8));
+    }
+
+    /**
+     * Links or copies the index of the library from the store to the given file.
+     *
+     * @param library
+     *         library file
+     * @param target
+     *         file to place the index to, replaced if exists
+     * @return {@code true} if the store contains the index of the library and it is placed to the target file,
+     * {@code false} otherwise
+     */
+    public boolean restore(File library, File target) {
+        try {
+            final Path index = indexPath(library);
+            if (!Files.exists(index)) {
+                return false;
+            }
+            // the modification time of an index is the time of its last use
+            Files.setLastModifiedTime(index, FileTime.fromMillis(System.currentTimeMillis()));
+            final Path targetPath = target.toPath();
+            Files.createDirectories(targetPath.getParent());
+            Files.deleteIfExists(targetPath);
+            try {
+                Files.createLink(targetPath, index);
+            } catch (IOException | UnsupportedOperationException e) {
+                // e.g. the store is on another file system
+                final Path tmp = tmpPath(targetPath);
+                Files.copy(index, tmp);
+                Files.move(tmp, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            // removed by another workspace in the meantime
+            return false;
+        } catch (IOException e) {
+            LOG.warn("Can't restore index of " + library + " from shared store: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds the index of the library to the store, unless the store already has it.
+     *
+     * @param library
+     *         library file
+     * @param indexFile
+     *         complete index of the library
+     */
+    public void publish(File library, File indexFile) {
+        try {
+            final Path index = indexPath(library);
+            if (Files.exists(index)) {
+                Files.setLastModifiedTime(index, FileTime.fromMillis(System.currentTimeMillis()));
+                return;
+            }
+            Files.createDirectories(dir.toPath());
+            final Path tmp = tmpPath(index);
+            try {
+                Files.copy(indexFile.toPath(), tmp);
+                Files.move(tmp, index, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            evict();
+        } catch (FileAlreadyExistsException e) {
+            // published by another workspace in the meantime
+        } catch (IOException e) {
+            LOG.warn("Can't add index of " + library + " to shared store: " + e.getMessage());
+        }
+    }
+
+    /** Removes least recently used indexes while the total size of the store exceeds the limit. */
+    private synchronized void evict() throws IOException {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final List<File> indexes = new ArrayList<>();
+        long size = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(INDEX_SUFFIX)) {
+                indexes.add(file);
+                size += file.length();
+            } else if (file.getName().endsWith(TMP_SUFFIX) && now - file.lastModified() > TMP_EXPIRATION) {
+                // left by a crashed workspace
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        indexes.sort(comparingLong(File::lastModified));
+        for (File index : indexes) {
+            if (size <= maxSize) {
+                break;
+            }
+            final long length = index.length();
+            if (Files.deleteIfExists(index.toPath())) {
+                size -= length;
+            }
+        }
+    }
+
+    private Path indexPath(File library) throws IOException {
+        return new File(dir, hashes.hash(library) + INDEX_SUFFIX).toPath();
+    }
+
+    private static Path tmpPath(Path path) {
+        return path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + TMP_SUFFIX);
+    }
+}
@@ -19,92 +19,149 @@ import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Reconciles compilation units opened in editors.
+ * <p>
+ * A working copy is kept for each opened editor until the editor is closed, see {@link #closeSession(IJavaProject, String)},
+ * or it is not used for {@link #SESSION_IDLE_TIMEOUT_MS}. On each reconcile only the changed region of the file
+ * is applied to the buffer of the working copy, and the result of the last reconcile is reused
+ * if neither the file nor the java model changed since then.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
+    static final long SESSION_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    static final int  MAX_SESSIONS            = 32;
+
+    private final Map<String, Session> sessions;
+    /** Incremented on each change of the java model, results of previous reconciles may be stale after it. */
+    private final AtomicLong           modelStamp;
 
     private SemanticHighlightingReconciler semanticHighlighting;
 
     @Inject
     public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting) {
         this.semanticHighlighting = semanticHighlighting;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+        this.modelStamp = new AtomicLong();
+        JavaCore.addElementChangedListener(event -> modelStamp.incrementAndGet(), ElementChangedEvent.POST_CHANGE);
     }
 
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
-
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
-        ICompilationUnit compilationUnit = null;
-        try {
+        final String key = sessionKey(javaProject, fqn);
+        final List<Session> released = new ArrayList<>();
+        Session session;
+        synchronized (sessions) {
+            removeIdleSessions(released);
+            session = sessions.get(key);
+        }
+        releaseAll(released);
+        if (session == null) {
             IType type = javaProject.findType(fqn);
             if (type == null) {
                 return null;
             }
             if (type.isBinary()) {
                 throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
             }
-            requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
-            positions = semanticHighlighting.reconcileSemanticHighlight(unit);
-            if (compilationUnit instanceof ClassFileWorkingCopy) {
-                //we don't wont to show any errors from ".class" files
-                requestor.reset();
+            final Session created = new Session(type.getCompilationUnit());
+            synchronized (sessions) {
+                session = sessions.putIfAbsent(key, created);
+                if (session == null) {
+                    session = created;
+                }
+                while (sessions.size() > MAX_SESSIONS) {
+                    final Iterator<Session> eldest = sessions.values().iterator();
+                    released.add(eldest.next());
+                    eldest.remove();
+                }
             }
+            releaseAll(released);
+        }
 
+        try {
+            return session.reconcile();
         } catch (JavaModelException e) {
             LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
+            synchronized (sessions) {
+                sessions.remove(key, session);
+            }
+            session.release();
             throw e;
-        } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
-                try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
-                }
+        }
+    }
+
+    /**
+     * Releases the working copy kept for the compilation unit, should be called when the editor of it is closed.
+     *
+     * @param javaProject
+     *         project of the compilation unit
+     * @param fqn
+     *         fully qualified name of the primary type of the compilation unit
+     */
+    public void closeSession(IJavaProject javaProject, String fqn) {
+        final Session session;
+        synchronized (sessions) {
+            session = sessions.remove(sessionKey(javaProject, fqn));
+        }
+        if (session != null) {
+            session.release();
+        }
+    }
+
+    private void removeIdleSessions(List<Session> removed) {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            final Session session = it.next();
+            if (now - session.lastUsed > SESSION_IDLE_TIMEOUT_MS) {
+                it.remove();
+                removed.add(session);
             }
         }
+    }
 
-        ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
-        result.setHighlightedPositions(positions);
-        return result;
+    private static void releaseAll(List<Session> toRelease) {
+        for (Session session : toRelease) {
+            session.release();
+        }
+        toRelease.clear();
+    }
+
+    private static String sessionKey(IJavaProject javaProject, String fqn) {
+        return javaProject.getPath().toString() + ':' + fqn;
     }
 
     private List<Problem> convertProblems(List<IProblem> problems) {
@@ -131,6 +188,141 @@ public class JavaReconciler {
         return result;
     }
 
+    /**
+     * Working copy of a compilation unit opened in an editor, with the result of its last reconcile.
+     */
+    private class Session {
+        private final ICompilationUnit primary;
+        private final ProblemRequestor requestor;
+        private final WorkingCopyOwner wcOwner;
+
+        private ICompilationUnit workingCopy;
+        private ReconcileResult  lastResult;
+        private long             lastModelStamp;
+        private boolean          released;
+        private volatile long    lastUsed;
+
+        Session(ICompilationUnit primary) {
+            this.primary = primary;
+            this.requestor = new ProblemRequestor();
+            this.wcOwner = new WorkingCopyOwner() {
+                public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                    return requestor;
+                }
+
+                @Override
+                public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                    return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+                }
+            };
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        synchronized ReconcileResult reconcile() throws JavaModelException {
+            try {
+                return doReconcile();
+            } finally {
+                if (released) {
+                    // the session was released while waiting for the previous reconcile, don't keep the working copy
+                    discard();
+                }
+            }
+        }
+
+        private ReconcileResult doReconcile() throws JavaModelException {
+            lastUsed = System.currentTimeMillis();
+            final long stamp = modelStamp.get();
+            final boolean fileChanged = syncWithFile();
+            if (!fileChanged && lastResult != null && stamp == lastModelStamp) {
+                return lastResult;
+            }
+
+            requestor.reset();
+            CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+            final List<HighlightedPosition> positions = unit == null ? new ArrayList<>()
+                                                                     : semanticHighlighting.reconcileSemanticHighlight(unit);
+
+            final ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
+            result.setProblems(convertProblems(requestor.problems));
+            result.setHighlightedPositions(positions);
+            lastResult = result;
+            lastModelStamp = stamp;
+            return result;
+        }
+
+        /**
+         * Opens the working copy or applies changes of the file which were made since the last reconcile
+         * to the buffer of it. Editors save the content before reconciling it, but the file may be changed
+         * by others as well (e.g. by git checkout), so the file is the source of truth.
+         * Its modification time is not reliable enough to detect changes, so the file is compared with the buffer.
+         *
+         * @return {@code true} if the content of the working copy is changed
+         */
+        private boolean syncWithFile() throws JavaModelException {
+            if (workingCopy == null) {
+                workingCopy = primary.getWorkingCopy(wcOwner, null);
+                return true;
+            }
+            final String content;
+            try {
+                content = new String(Files.readAllBytes(primary.getResource().getLocation().toFile().toPath()), getCharset());
+            } catch (IOException e) {
+                throw new JavaModelException(e, IJavaModelStatusConstants.IO_EXCEPTION);
+            }
+            return applyChange(workingCopy.getBuffer(), content);
+        }
+
+        private Charset getCharset() {
+            try {
+                return Charset.forName(((IFile)primary.getResource()).getCharset());
+            } catch (CoreException | RuntimeException e) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+
+        synchronized void release() {
+            released = true;
+            discard();
+        }
+
+        private void discard() {
+            if (workingCopy != null) {
+                try {
+                    workingCopy.getBuffer().close();
+                    workingCopy.discardWorkingCopy();
+                } catch (JavaModelException e) {
+                    //ignore
+                }
+                workingCopy = null;
+            }
+            lastResult = null;
+        }
+    }
+
+    /**
+     * Replaces the region of the buffer which differs from the given content.
+     *
+     * @return {@code true} if the buffer is changed
+     */
+    private static boolean applyChange(IBuffer buffer, String content) {
+        final String old = buffer.getContents();
+        final int max = Math.min(old.length(), content.length());
+        int prefix = 0;
+        while (prefix < max && old.charAt(prefix) == content.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == old.length() && prefix == content.length()) {
+            return false;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+               && old.charAt(old.length() - 1 - suffix) == content.charAt(content.length() - 1 - suffix)) {
+            suffix++;
+        }
+        buffer.replace(prefix, old.length() - prefix - suffix, content.substring(prefix, content.length() - suffix));
+        return true;
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
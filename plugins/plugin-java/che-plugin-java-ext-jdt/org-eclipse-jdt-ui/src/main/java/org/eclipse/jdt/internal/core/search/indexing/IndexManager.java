@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.search.indexing;
 
+import org.eclipse.che.jdt.core.index.SharedIndexStore;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -91,6 +92,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    // indexes of libraries shared with other workspaces, null if there is no shared store
+    private volatile SharedIndexStore sharedIndexStore;
 
     public IndexManager(String indexLocation) {
         this.indexLocation = indexLocation;
@@ -591,6 +594,10 @@ public class IndexManager extends JobManager implements IIndexConstants {
             request(request);
     }
 
+    public void setSharedIndexStore(SharedIndexStore sharedIndexStore) {
+        this.sharedIndexStore = sharedIndexStore;
+    }
+
     public void indexLibrary(IPath path, IProject requestingProject, URL indexURL) {
         this.indexLibrary(path, requestingProject, indexURL, false);
     }
@@ -608,6 +615,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
             } else {
                 indexFile = IndexLocation.createIndexLocation(indexURL);
             }
+        } else {
+            // an index restored from the shared store is used as is, there is nothing to index
+            indexFile = restoreSharedIndex(path);
+            if (indexFile != null) {
+                if (addIndex(path, indexFile))
+                    return;
+                indexFile = null;
+            }
         }
 //        if (JavaCore.getPlugin() == null) return;
         IndexRequest request = null;
@@ -726,7 +741,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
         } else if (target instanceof IFile) {
             request = new AddJarFileToIndex((IFile)target, null, this);
         } else if (target instanceof File) {
-            request = new AddJarFileToIndex(containerPath, null, this);
+            request = new AddJarFileToIndex(containerPath, restoreSharedIndex(containerPath), this);
         }
         if (request != null)
             request(request);
@@ -948,6 +963,45 @@ public class IndexManager extends JobManager implements IIndexConstants {
             IndexLocation indexLocation = computeIndexLocation(containerPath);
             updateIndexState(indexLocation, SAVED_STATE);
         }
+        publishSharedIndex(index);
+    }
+
+    /**
+     * Places the index of the library from the shared store to the index directory of this workspace.
+     *
+     * @return location of the restored index or null if the shared store doesn't have it
+     */
+    private IndexLocation restoreSharedIndex(IPath containerPath) {
+        SharedIndexStore store = this.sharedIndexStore;
+        File library = containerPath.toFile();
+        if (store == null || !isLibraryFile(library)) return null;
+        // reading the states for the first time removes unknown index files, the restored one must not be removed
+        synchronized (this) {
+            getIndexStates();
+        }
+
+        CRC32 checksumCalculator = new CRC32();
+        checksumCalculator.update(containerPath.toOSString().getBytes());
+        File indexFile = new File(getSavedIndexesDirectory(), "shared-" + checksumCalculator.getValue() + ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (!store.restore(library, indexFile)) return null;
+
+        if (JobManager.VERBOSE)
+            Util.verbose("-> restored shared index for " + containerPath + " to " + indexFile); //$NON-NLS-1$ //$NON-NLS-2$
+        return new FileIndexLocation(indexFile);
+    }
+
+    private void publishSharedIndex(Index index) {
+        SharedIndexStore store = this.sharedIndexStore;
+        File library = new File(index.containerPath);
+        if (store == null || !isLibraryFile(library)) return;
+        File indexFile = index.getIndexFile();
+        if (indexFile != null && indexFile.isFile() && !indexFile.getName().startsWith("shared-")) //$NON-NLS-1$
+            store.publish(library, indexFile);
+    }
+
+    private static boolean isLibraryFile(File file) {
+        String name = file.getName().toLowerCase(Locale.ENGLISH);
+        return (name.endsWith(".jar") || name.endsWith(".zip")) && file.isFile(); //$NON-NLS-1$ //$NON-NLS-2$
     }
 
     /**
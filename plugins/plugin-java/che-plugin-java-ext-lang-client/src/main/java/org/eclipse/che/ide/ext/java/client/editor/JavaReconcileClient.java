@@ -20,6 +20,8 @@ import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.loging.Log;
 
+import static com.google.gwt.http.client.RequestBuilder.DELETE;
+
 /**
  * @author Evgen Vidolob
  */
@@ -55,6 +57,14 @@ public class JavaReconcileClient {
                            });
     }
 
+    /**
+     * Notifies the server that the editor of the compilation unit is closed, so it may release resources kept for reconciling it.
+     */
+    public void close(String projectPath, String fqn) {
+        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
+        asyncRequestFactory.createRequest(DELETE, url, null, false).send();
+    }
+
     public interface ReconcileCallback {
         void onReconcile(ReconcileResult result);
     }
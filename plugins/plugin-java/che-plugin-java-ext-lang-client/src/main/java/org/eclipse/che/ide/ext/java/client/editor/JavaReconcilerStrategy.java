@@ -202,6 +202,12 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
         if (resolvingProjectStateHolder != null) {
             resolvingProjectStateHolder.removeResolvingProjectStateListener(this);
         }
+        if (getFile() instanceof Resource) {
+            final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
+            if (project.isPresent()) {
+                client.close(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()));
+            }
+        }
     }
 
     @Override
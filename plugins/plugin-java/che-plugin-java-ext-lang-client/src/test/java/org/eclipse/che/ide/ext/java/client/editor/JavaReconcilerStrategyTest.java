@@ -155,4 +155,12 @@ public class JavaReconcilerStrategyTest {
         verify(codeAssistProcessor, never()).disableCodeAssistant(anyString());
         verify(highlighter).reconcile(eq(positions));
     }
+
+    @Test
+    public void shouldReleaseServerResourcesWhenReconcilerIsClosed() throws Exception {
+        javaReconcilerStrategy.closeReconciler();
+
+        verify(resolvingProjectStateHolder).removeResolvingProjectStateListener(javaReconcilerStrategy);
+        verify(client).close(eq("some/path/to/project"), anyString());
+    }
 }
@@ -80,17 +80,28 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Computes and applies code completion and quick assist proposals.
+ * <p>
+ * The last completion session of each file is kept. A completion request made after the user typed
+ * an identifier part at the offset of the previous request, without other changes of the file,
+ * is answered by filtering proposals of the previous session instead of running the completion engine again.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class CodeAssist {
     private static final Logger LOG = LoggerFactory.getLogger(CodeAssist.class);
     private final Cache<String, CodeAssistContext> cache;
+    /** Identifier of the last completion session, by file. */
+    private final ConcurrentMap<String, String>    lastCompletions;
 
     public CodeAssist() {
+        lastCompletions = new ConcurrentHashMap<>();
         //todo configure expire time
         cache = CacheBuilder.newBuilder().expireAfterWrite(15, TimeUnit.MINUTES).removalListener(
                 new RemovalListener<String, CodeAssistContext>() {
@@ -99,11 +110,24 @@ public class CodeAssist {
                         if (notification.getValue() != null) {
                             notification.getValue().clean();
                         }
+                        lastCompletions.values().remove(notification.getKey());
                     }
                 }).build();
     }
 
     public Proposals computeProposals(IJavaProject project, String fqn, int offset, final String content) throws JavaModelException {
+        final String fileKey = project.getPath().toString() + ':' + fqn;
+        final String lastSessionId = lastCompletions.get(fileKey);
+        final CodeAssistContext lastContext = lastSessionId == null ? null : cache.getIfPresent(lastSessionId);
+        if (lastContext != null) {
+            final CodeAssistContext refined = lastContext.refine(offset, content);
+            if (refined != null) {
+                cache.invalidate(lastSessionId);
+                return convertProposals(fileKey, refined);
+            }
+            // the file was changed otherwise, the previous session is useless
+            cache.invalidate(lastSessionId);
+        }
 
         WorkingCopyOwner copyOwner = new WorkingCopyOwner() {
             @Override
@@ -140,11 +164,16 @@ public class CodeAssist {
 
         Collections.sort(proposals, new RelevanceSorter());
 
-        return convertProposals(offset, compilationUnit, viewer, proposals);
+        return convertProposals(fileKey, new CodeAssistContext(viewer, offset, proposals, compilationUnit, content));
     }
 
     private Proposals convertProposals(int offset, ICompilationUnit compilationUnit, TextViewer viewer,
                                        List<ICompletionProposal> proposals) {
+        return convertProposals(null, new CodeAssistContext(viewer, offset, proposals, compilationUnit, null));
+    }
+
+    private Proposals convertProposals(String fileKey, CodeAssistContext context) {
+        List<ICompletionProposal> proposals = context.proposals;
         Proposals result = DtoFactory.getInstance().createDto(Proposals.class);
         String sessionId = UUID.randomUUID().toString();
         result.setSessionId(sessionId);
@@ -169,7 +198,10 @@ public class CodeAssist {
             presentations.add(presentation);
         }
         result.setProposals(presentations);
-        cache.put(sessionId, new CodeAssistContext(viewer, offset, proposals, compilationUnit));
+        cache.put(sessionId, context);
+        if (fileKey != null) {
+            lastCompletions.put(fileKey, sessionId);
+        }
         return result;
     }
 
@@ -314,16 +346,90 @@ public class CodeAssist {
         private int                       offset;
         private List<ICompletionProposal> proposals;
         private ICompilationUnit          cUnit;
+        /** Content of the document the proposals were computed for, null if proposals can't be refined. */
+        private String                    content;
 
         public CodeAssistContext(TextViewer viewer, int offset,
-                                 List<ICompletionProposal> proposals, ICompilationUnit cUnit) {
+                                 List<ICompletionProposal> proposals, ICompilationUnit cUnit, String content) {
             this.viewer = viewer;
             this.offset = offset;
             this.proposals = proposals;
             this.cUnit = cUnit;
+            this.content = content;
+        }
+
+        /**
+         * Returns the context with proposals of this context which are still valid after the user typed
+         * more characters of an identifier, or null if the content was changed otherwise.
+         * The returned context takes over the working copy of this one.
+         */
+        public synchronized CodeAssistContext refine(int newOffset, String newContent) {
+            if (content == null || cUnit == null) {
+                return null;
+            }
+            final int typedLength = newOffset - offset;
+            if (typedLength <= 0
+                || newContent.length() - content.length() != typedLength
+                || !newContent.regionMatches(0, content, 0, offset)
+                || !newContent.regionMatches(newOffset, content, offset, content.length() - offset)) {
+                return null;
+            }
+            final String typed = newContent.substring(offset, newOffset);
+            for (int i = 0; i < typed.length(); i++) {
+                if (!Character.isJavaIdentifierPart(typed.charAt(i))) {
+                    return null;
+                }
+            }
+            for (ICompletionProposal proposal : proposals) {
+                if (!(proposal instanceof ICompletionProposalExtension2) && !(proposal instanceof ICompletionProposalExtension)) {
+                    return null;
+                }
+            }
+
+            final IDocument document = viewer.getDocument();
+            final DocumentEvent event = new DocumentEvent(document, offset, 0, typed);
+            try {
+                document.replace(offset, 0, typed);
+            } catch (BadLocationException e) {
+                return null;
+            }
+            final List<ICompletionProposal> exactPrefix = new ArrayList<>();
+            final List<ICompletionProposal> otherValid = new ArrayList<>();
+            final String prefix = identifierBefore(newContent, newOffset);
+            for (ICompletionProposal proposal : proposals) {
+                final boolean valid = proposal instanceof ICompletionProposalExtension2
+                                      ? ((ICompletionProposalExtension2)proposal).validate(document, newOffset, event)
+                                      : ((ICompletionProposalExtension)proposal).isValidFor(document, newOffset);
+                if (valid) {
+                    // the relevance computed by the engine is kept, proposals matching the prefix case come first
+                    if (proposal.getDisplayString().startsWith(prefix)) {
+                        exactPrefix.add(proposal);
+                    } else {
+                        otherValid.add(proposal);
+                    }
+                }
+            }
+            exactPrefix.addAll(otherValid);
+
+            final CodeAssistContext refined = new CodeAssistContext(new TextViewer(document, new Point(newOffset, 0)),
+                                                                    newOffset,
+                                                                    exactPrefix,
+                                                                    cUnit,
+                                                                    newContent);
+            cUnit = null;
+            content = null;
+            return refined;
+        }
+
+        private String identifierBefore(String text, int end) {
+            int start = end;
+            while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+                start--;
+            }
+            return text.substring(start, end);
         }
 
-        public void clean() {
+        public synchronized void clean() {
             if (cUnit != null) {
                 try {
                     cUnit.discardWorkingCopy();
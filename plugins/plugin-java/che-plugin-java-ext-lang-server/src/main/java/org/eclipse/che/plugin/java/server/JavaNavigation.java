@@ -132,10 +132,12 @@ public class JavaNavigation {
     private              Gson                 gson          = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
     private              boolean              fFoldPackages = true;
     private SourcesFromBytecodeGenerator sourcesGenerator;
+    private LibrarySourcesCache          sourcesCache;
 
     @Inject
-    public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator) {
+    public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator, LibrarySourcesCache sourcesCache) {
         this.sourcesGenerator = sourcesGenerator;
+        this.sourcesCache = sourcesCache;
     }
 
     /**
@@ -267,6 +269,19 @@ public class JavaNavigation {
                                                     String fqn,
                                                     boolean isShowingInheritedMembers) throws JavaModelException {
         IType type = javaProject.findType(fqn);
+        String library = null;
+        IPackageFragmentRoot root = null;
+        if (type.isBinary() && !isShowingInheritedMembers) {
+            // super types of a library class may come from other libraries, only its own members are cached
+            root = (IPackageFragmentRoot)type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            library = sourcesCache.getLibraryKey(root);
+            if (library != null) {
+                CompilationUnit cached = sourcesCache.getOutline(library, fqn, root.getHandleIdentifier(), root.hashCode());
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
         CompilationUnit compilationUnit = DtoFactory.newDto(CompilationUnit.class);
         ITypeRoot unit;
         if (type.isBinary()) {
@@ -291,6 +306,9 @@ public class JavaNavigation {
         if (isShowingInheritedMembers) {
             compilationUnit.setSuperTypes(calculateSuperTypes(type));
         }
+        if (library != null) {
+            sourcesCache.putOutline(library, fqn, root.getHandleIdentifier(), compilationUnit);
+        }
 
         return compilationUnit;
     }
@@ -727,13 +745,24 @@ public class JavaNavigation {
         IType type = project.findType(path);
         if (type != null) {
             if (type.isBinary()) {
+                String library = sourcesCache.getLibraryKey((IPackageFragmentRoot)type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT));
+                if (library != null) {
+                    ClassContent cached = sourcesCache.getContent(library, path);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+                ClassContent content;
                 IClassFile classFile = type.getClassFile();
                 if (classFile.getSourceRange() != null) {
-                    return createContent(classFile.getSource(), false);
+                    content = createContent(classFile.getSource(), false);
                 } else {
-
-                    return createContent(sourcesGenerator.generateSource(classFile.getType()), true);
+                    content = createContent(sourcesGenerator.generateSource(classFile.getType()), true);
+                }
+                if (library != null) {
+                    sourcesCache.putContent(library, path, content);
                 }
+                return content;
             } else {
                 return createContent(type.getCompilationUnit().getSource(), false);
             }
@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.ClassContent;
+import org.eclipse.che.ide.ext.java.shared.dto.model.CompilationUnit;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Field;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Initializer;
+import org.eclipse.che.ide.ext.java.shared.dto.model.JavaElement;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Member;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Method;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Type;
+import org.eclipse.che.jdt.core.index.FileHashes;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
+import org.eclipse.jdt.internal.core.JavaModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Disk cache of sources of library classes shown to the user, either attached or generated from bytecode,
+ * and of their outlines.
+ * <p>
+ * Entries are addressed by the content of the library and of its source attachment plus the class name,
+ * so all projects using the same library share them and they survive restarts of the agent.
+ * Outlines are stored without the parts which depend on the project and on the location of the library
+ * in it (the library part of handle identifiers and library ids), these are restored when an outline
+ * is read for a project.
+ * <p>
+ * The total size of the cache is limited, least recently used entries are removed when it is exceeded.
+ * Visits of classes are counted, entries of the most visited classes are loaded to memory on start.
+ */
+@Singleton
+public class LibrarySourcesCache {
+    private static final Logger LOG = LoggerFactory.getLogger(LibrarySourcesCache.class);
+
+    private static final String CONTENT_SUFFIX     = ".content";
+    private static final String OUTLINE_SUFFIX     = ".outline";
+    private static final String TMP_SUFFIX         = ".tmp";
+    private static final String VISITS_FILE        = "visits";
+    private static final long   MEMORY_LIMIT_CHARS = 16 * 1024 * 1024;
+
+    private final File dir;
+    private final long maxSize;
+    private final int  prewarmCount;
+
+    /** Content hashes of libraries and source attachments. */
+    private final FileHashes                           hashes;
+    /** Number of visits, by entry name. */
+    private final ConcurrentMap<String, AtomicInteger> visits;
+    /** Recently used entries, by entry name. */
+    private final Cache<String, String>                memory;
+    private final AtomicLong                           size;
+
+    /**
+     * @param dir
+     *         directory of the cache, the cache is disabled if it is not set
+     * @param maxSizeMb
+     *         maximal total size of the cache on disk
+     * @param prewarmCount
+     *         number of the most visited classes loaded to memory on start
+     */
+    @Inject
+    public LibrarySourcesCache(@Nullable @Named("che.jdt.library_sources.cache.dir") String dir,
+                               @Named("che.jdt.library_sources.cache.max_size_mb") long maxSizeMb,
+                               @Named("che.jdt.library_sources.cache.prewarm_count") int prewarmCount) {
+        this(dir == null ? null : new File(dir), maxSizeMb * 1024 * 1024, prewarmCount);
+        if (this.dir != null) {
+            final Thread prewarm = new Thread(this::prewarm, "LibrarySourcesCachePrewarm");
+            prewarm.setDaemon(true);
+            prewarm.start();
+        }
+    }
+
+    /**
+     * @param dir
+     *         directory of the cache, the cache is disabled if it is {@code null}
+     * @param maxSize
+     *         maximal total size of the cache on disk, in bytes
+     * @param prewarmCount
+     *         number of the most visited classes loaded to memory by {@link #prewarm()}
+     */
+    public LibrarySourcesCache(File dir, long maxSize, int prewarmCount) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+        this.prewarmCount = prewarmCount;
+        this.hashes = new FileHashes();
+        this.visits = new ConcurrentHashMap<>();
+        this.memory = CacheBuilder.newBuilder()
+                                  .maximumWeight(MEMORY_LIMIT_CHARS)
+                                  .weigher((String name, String value) -> value.length())
+                                  .build();
+        this.size = new AtomicLong(-1);
+    }
+
+    /**
+     * Returns the identifier of the content of the library and of its source attachment,
+     * or {@code null} if classes of the library can't be cached.
+     */
+    @Nullable
+    public String getLibraryKey(IPackageFragmentRoot root) throws JavaModelException {
+        if (dir == null || !(root instanceof JarPackageFragmentRoot)) {
+            return null;
+        }
+        try {
+            final File library = toFile(root.getPath());
+            if (library == null) {
+                return null;
+            }
+            final String libraryHash = hashes.hash(library);
+            final IPath attachmentPath = root.getSourceAttachmentPath();
+            if (attachmentPath == null) {
+                return libraryHash;
+            }
+            final File attachment = toFile(attachmentPath);
+            // sources in a folder may change without notice
+            return attachment == null || !attachment.isFile() ? null : libraryHash + '-' + hashes.hash(attachment).substring(0, 16);
+        } catch (IOException e) {
+            LOG.warn("Can't compute library key of {}: {}", root.getPath(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** Returns cached source of the class of the library, or {@code null} if the cache doesn't have it. */
+    @Nullable
+    public ClassContent getContent(String library, String fqn) {
+        final String json = read(entryName(library, fqn, CONTENT_SUFFIX));
+        return json == null ? null : DtoFactory.getInstance().createDtoFromJson(json, ClassContent.class);
+    }
+
+    public void putContent(String library, String fqn, ClassContent content) {
+        write(entryName(library, fqn, CONTENT_SUFFIX), DtoFactory.getInstance().toJson(content));
+    }
+
+    /**
+     * Returns cached outline of the class of the library, or {@code null} if the cache doesn't have it.
+     *
+     * @param rootHandle
+     *         handle identifier of the library in the project the outline is requested for
+     * @param libId
+     *         id of the library in the project
+     */
+    @Nullable
+    public CompilationUnit getOutline(String library, String fqn, String rootHandle, int libId) {
+        final String json = read(entryName(library, fqn, OUTLINE_SUFFIX));
+        if (json == null) {
+            return null;
+        }
+        final CompilationUnit outline = DtoFactory.getInstance().createDtoFromJson(json, CompilationUnit.class);
+        relocate(outline, "", rootHandle, libId);
+        return outline;
+    }
+
+    /**
+     * Caches outline of the class of the library.
+     *
+     * @param rootHandle
+     *         handle identifier of the library in the project the outline is computed for
+     */
+    public void putOutline(String library, String fqn, String rootHandle, CompilationUnit outline) {
+        final CompilationUnit copy = DtoFactory.cloneDto(outline);
+        relocate(copy, rootHandle, "", 0);
+        write(entryName(library, fqn, OUTLINE_SUFFIX), DtoFactory.getInstance().toJson(copy));
+    }
+
+    /** Loads entries of the most visited classes to memory. */
+    public void prewarm() {
+        final List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(new File(dir, VISITS_FILE).toPath(), UTF_8)) {
+                final int separator = line.lastIndexOf(' ');
+                if (separator > 0) {
+                    final String name = line.substring(0, separator);
+                    final int count = Integer.parseInt(line.substring(separator + 1));
+                    visits.computeIfAbsent(name, n -> new AtomicInteger()).addAndGet(count);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException | NumberFormatException e) {
+            LOG.warn("Can't read visits of library classes: {}", e.getMessage());
+            return;
+        }
+        for (Map.Entry<String, AtomicInteger> entry : visits.entrySet()) {
+            counts.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().get()));
+        }
+        counts.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        for (Map.Entry<String, Integer> entry : counts.subList(0, Math.min(prewarmCount, counts.size()))) {
+            for (String suffix : new String[] {CONTENT_SUFFIX, OUTLINE_SUFFIX}) {
+                try {
+                    memory.put(entry.getKey() + suffix, new String(Files.readAllBytes(entryPath(entry.getKey() + suffix)), UTF_8));
+                } catch (IOException e) {
+                    // evicted or never cached
+                }
+            }
+        }
+    }
+
+    /** Saves visits of classes, so the most visited ones are loaded on the next start. */
+    @PreDestroy
+    public void saveVisits() {
+        if (dir == null || visits.isEmpty()) {
+            return;
+        }
+        final StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, AtomicInteger> entry : visits.entrySet()) {
+            if (Files.exists(entryPath(entry.getKey() + CONTENT_SUFFIX))) {
+                content.append(entry.getKey()).append(' ').append(entry.getValue().get()).append('\n');
+            }
+        }
+        try {
+            Files.createDirectories(dir.toPath());
+            writeAtomically(new File(dir, VISITS_FILE).toPath(), content.toString());
+        } catch (IOException e) {
+            LOG.warn("Can't save visits of library classes: {}", e.getMessage());
+        }
+    }
+
+    private String read(String name) {
+        if (dir == null) {
+            return null;
+        }
+        if (name.endsWith(CONTENT_SUFFIX)) {
+            visits.computeIfAbsent(name.substring(0, name.length() - CONTENT_SUFFIX.length()), n -> new AtomicInteger())
+                  .incrementAndGet();
+        }
+        final String cached = memory.getIfPresent(name);
+        if (cached != null) {
+            return cached;
+        }
+        final Path path = entryPath(name);
+        try {
+            final String value = new String(Files.readAllBytes(path), UTF_8);
+            // the modification time of an entry is the time of its last use
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            memory.put(name, value);
+            return value;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Can't read cached library source {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String name, String value) {
+        if (dir == null) {
+            return;
+        }
+        memory.put(name, value);
+        final Path path = entryPath(name);
+        try {
+            Files.createDirectories(path.getParent());
+            writeAtomically(path, value);
+            if (size.get() < 0) {
+                size.compareAndSet(-1, computeSize());
+            } else {
+                size.addAndGet(Files.size(path));
+            }
+            if (size.get() > maxSize) {
+                evict();
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't cache library source {}: {}", name, e.getMessage());
+        }
+    }
+
+    /** Removes least recently used entries while the total size of the cache exceeds the limit. */
+    private synchronized void evict() throws IOException {
+        final List<File> entries = listEntries();
+        long total = 0;
+        for (File entry : entries) {
+            total += entry.length();
+        }
+        entries.sort(comparingLong(File::lastModified));
+        for (File entry : entries) {
+            if (total <= maxSize) {
+                break;
+            }
+            final long length = entry.length();
+            if (Files.deleteIfExists(entry.toPath())) {
+                total -= length;
+            }
+        }
+        size.set(total);
+    }
+
+    private long computeSize() {
+        long total = 0;
+        for (File entry : listEntries()) {
+            total += entry.length();
+        }
+        return total;
+    }
+
+    private List<File> listEntries() {
+        final List<File> entries = new ArrayList<>();
+        final File[] libraries = dir.listFiles(File::isDirectory);
+        if (libraries != null) {
+            for (File library : libraries) {
+                final File[] files = library.listFiles((d, name) -> !name.endsWith(TMP_SUFFIX));
+                if (files != null) {
+                    for (File file : files) {
+                        entries.add(file);
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private Path entryPath(String name) {
+        return new File(dir, name).toPath();
+    }
+
+    private static String entryName(String library, String fqn, String suffix) {
+        return library + '/' + fqn + suffix;
+    }
+
+    private static void writeAtomically(Path path, String value) throws IOException {
+        final Path tmp = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + TMP_SUFFIX);
+        try {
+            Files.write(tmp, value.getBytes(UTF_8));
+            try {
+                Files.move(tmp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.move(tmp, path, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Replaces the library part (project and path of the library) of handle identifiers of the outline and its library ids. */
+    private static void relocate(CompilationUnit outline, String fromHandle, String toHandle, int libId) {
+        relocate(outline, fromHandle, toHandle);
+        if (outline.getTypes() != null) {
+            for (Type type : outline.getTypes()) {
+                relocate(type, fromHandle, toHandle, libId);
+            }
+        }
+    }
+
+    private static void relocate(Type type, String fromHandle, String toHandle, int libId) {
+        relocateMember(type, fromHandle, toHandle, libId);
+        if (type.getFields() != null) {
+            for (Field field : type.getFields()) {
+                relocateMember(field, fromHandle, toHandle, libId);
+            }
+        }
+        if (type.getMethods() != null) {
+            for (Method method : type.getMethods()) {
+                relocateMember(method, fromHandle, toHandle, libId);
+            }
+        }
+        if (type.getInitializers() != null) {
+            for (Initializer initializer : type.getInitializers()) {
+                relocate(initializer, fromHandle, toHandle);
+            }
+        }
+        if (type.getTypes() != null) {
+            for (Type nested : type.getTypes()) {
+                relocate(nested, fromHandle, toHandle, libId);
+            }
+        }
+    }
+
+    private static void relocateMember(Member member, String fromHandle, String toHandle, int libId) {
+        relocate(member, fromHandle, toHandle);
+        if (member.isBinary()) {
+            member.setLibId(libId);
+        }
+    }
+
+    private static void relocate(JavaElement element, String fromHandle, String toHandle) {
+        final String handle = element.getHandleIdentifier();
+        if (handle != null && handle.startsWith(fromHandle)) {
+            element.setHandleIdentifier(toHandle + handle.substring(fromHandle.length()));
+        }
+    }
+
+    @Nullable
+    private static File toFile(IPath path) {
+        final Object target = JavaModel.getTarget(path, true);
+        if (target instanceof File) {
+            return (File)target;
+        }
+        if (target instanceof IResource && ((IResource)target).getLocation() != null) {
+            return ((IResource)target).getLocation().toFile();
+        }
+        return null;
+    }
+}
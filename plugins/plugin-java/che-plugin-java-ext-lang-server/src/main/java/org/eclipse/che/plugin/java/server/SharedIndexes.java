@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.jdt.core.index.SharedIndexStore;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+
+import java.io.File;
+
+/**
+ * Makes JDT use the store of library indexes shared between workspaces, if it is configured.
+ * The store directory is expected to be mounted to machines of all workspaces of a node.
+ *
+ * @see SharedIndexStore
+ */
+@Singleton
+public class SharedIndexes {
+
+    /**
+     * @param resourcesPlugin
+     *         JDT must be initialized before the index manager is accessed
+     */
+    @Inject
+    public SharedIndexes(ResourcesPlugin resourcesPlugin,
+                         @Nullable @Named("che.jdt.shared.index.dir") String indexDir,
+                         @Named("che.jdt.shared.index.max_size_mb") long maxSizeMb) {
+        if (indexDir != null) {
+            JavaModelManager.getIndexManager().setSharedIndexStore(new SharedIndexStore(new File(indexDir), maxSizeMb * 1024 * 1024));
+        }
+    }
+}
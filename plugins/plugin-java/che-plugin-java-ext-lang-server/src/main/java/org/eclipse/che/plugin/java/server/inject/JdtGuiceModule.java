@@ -18,6 +18,7 @@ import com.google.inject.name.Named;
 
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.java.server.ProjectListeners;
+import org.eclipse.che.plugin.java.server.SharedIndexes;
 import org.eclipse.che.plugin.java.server.refactoring.RefactoringManager;
 import org.eclipse.che.plugin.java.server.rest.CodeAssistService;
 import org.eclipse.che.plugin.java.server.rest.CompilerSetupService;
@@ -51,6 +52,7 @@ public class JdtGuiceModule extends AbstractModule {
         bind(JavaPlugin.class).asEagerSingleton();
         bind(FileBuffersPlugin.class).asEagerSingleton();
         bind(ProjectListeners.class).asEagerSingleton();
+        bind(SharedIndexes.class).asEagerSingleton();
         bind(RefactoringManager.class).asEagerSingleton();
         bind(RefactoringService.class);
         bind(SearchService.class);
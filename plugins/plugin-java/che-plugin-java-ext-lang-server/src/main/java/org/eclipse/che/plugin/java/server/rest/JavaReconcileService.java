@@ -20,6 +20,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -43,4 +44,10 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    @DELETE
+    public void close(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn) {
+        IJavaProject javaProject = model.getJavaProject(projectPath);
+        reconciler.closeSession(javaProject, fqn);
+    }
 }
@@ -12,10 +12,13 @@ package org.eclipse.che.plugin.java.server.che;
 
 import org.eclipse.che.ide.ext.java.shared.OpenDeclarationDescriptor;
 import org.eclipse.che.plugin.java.server.JavaNavigation;
+import org.eclipse.che.plugin.java.server.LibrarySourcesCache;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.File;
+
 import static org.fest.assertions.Assertions.assertThat;
 
 /**
@@ -25,7 +28,8 @@ import static org.fest.assertions.Assertions.assertThat;
 @Ignore
 public class FindDeclarationTest extends BaseTest {
 
-    private JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator());
+    private JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator(),
+                                                           new LibrarySourcesCache((File)null, 0, 0));
 
     @Test
     public void testFindClassIsNotNullOrEmpty() throws Exception {
@@ -16,6 +16,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.ClassContent;
 import org.eclipse.che.ide.ext.java.shared.dto.model.JavaProject;
 import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragmentRoot;
 import org.eclipse.che.plugin.java.server.JavaNavigation;
+import org.eclipse.che.plugin.java.server.LibrarySourcesCache;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.junit.Ignore;
@@ -33,7 +34,8 @@ import static org.fest.assertions.Assertions.assertThat;
 @Ignore
 public class JarNavigationTest extends BaseTest {
 
-    private final JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator());
+    private final JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator(),
+                                                                 new LibrarySourcesCache((File)null, 0, 0));
 
     @Test
     public void testJars() throws Exception {
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.ClassContent;
+import org.eclipse.che.ide.ext.java.shared.dto.model.CompilationUnit;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Method;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Type;
+import org.eclipse.che.plugin.java.server.LibrarySourcesCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link LibrarySourcesCache}.
+ */
+public class LibrarySourcesCacheTest {
+    private static final String LIBRARY = "0123456789abcdef";
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("library-sources").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldKeepSourcesBetweenRestarts() throws Exception {
+        new LibrarySourcesCache(dir, Long.MAX_VALUE, 0).putContent(LIBRARY, "a.A", content("class A {}"));
+
+        ClassContent cached = new LibrarySourcesCache(dir, Long.MAX_VALUE, 0).getContent(LIBRARY, "a.A");
+
+        assertThat(cached.getContent()).isEqualTo("class A {}");
+        assertThat(cached.isGenerated()).isTrue();
+    }
+
+    @Test
+    public void shouldNotReturnSourcesOfOtherLibrary() throws Exception {
+        LibrarySourcesCache cache = new LibrarySourcesCache(dir, Long.MAX_VALUE, 0);
+        cache.putContent(LIBRARY, "a.A", content("class A {}"));
+
+        assertThat(cache.getContent("fedcba9876543210", "a.A")).isNull();
+        assertThat(cache.getContent(LIBRARY, "a.B")).isNull();
+    }
+
+    @Test
+    public void shouldShareOutlinesBetweenProjects() throws Exception {
+        LibrarySourcesCache cache = new LibrarySourcesCache(dir, Long.MAX_VALUE, 0);
+        cache.putOutline(LIBRARY, "a.A", "=project1/lib.jar", outline("=project1/lib.jar", 11));
+
+        CompilationUnit outline = new LibrarySourcesCache(dir, Long.MAX_VALUE, 0).getOutline(LIBRARY, "a.A", "=project2/lib.jar", 22);
+
+        assertThat(outline.getHandleIdentifier()).isEqualTo("=project2/lib.jar<a(A.class");
+        Type type = outline.getTypes().get(0);
+        assertThat(type.getHandleIdentifier()).isEqualTo("=project2/lib.jar<a(A.class[A");
+        assertThat(type.getLibId()).isEqualTo(22);
+        Method method = type.getMethods().get(0);
+        assertThat(method.getHandleIdentifier()).isEqualTo("=project2/lib.jar<a(A.class[A~run");
+        assertThat(method.getLibId()).isEqualTo(22);
+    }
+
+    @Test
+    public void shouldRelocateOutlinesToLocationOfLibraryInProject() throws Exception {
+        LibrarySourcesCache cache = new LibrarySourcesCache(dir, Long.MAX_VALUE, 0);
+        cache.putOutline(LIBRARY, "a.A", "=project1/\\/m2\\/lib.jar", outline("=project1/\\/m2\\/lib.jar", 11));
+
+        CompilationUnit outline = cache.getOutline(LIBRARY, "a.A", "=project2/\\/opt\\/lib-copy.jar", 22);
+
+        assertThat(outline.getHandleIdentifier()).isEqualTo("=project2/\\/opt\\/lib-copy.jar<a(A.class");
+        Type type = outline.getTypes().get(0);
+        assertThat(type.getHandleIdentifier()).isEqualTo("=project2/\\/opt\\/lib-copy.jar<a(A.class[A");
+        assertThat(type.getMethods().get(0).getHandleIdentifier()).isEqualTo("=project2/\\/opt\\/lib-copy.jar<a(A.class[A~run");
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedEntries() throws Exception {
+        String source = new String(new char[1000]).replace('\0', 'x');
+        LibrarySourcesCache cache = new LibrarySourcesCache(dir, 3500, 0);
+        for (int i = 0; i < 3; i++) {
+            cache.putContent(LIBRARY, "a.C" + i, content(source));
+            new File(dir, LIBRARY + "/a.C" + i + ".content").setLastModified(System.currentTimeMillis() - (10 - i) * 1000);
+        }
+        cache.putContent(LIBRARY, "a.C3", content(source));
+
+        LibrarySourcesCache restarted = new LibrarySourcesCache(dir, 3500, 0);
+        assertThat(restarted.getContent(LIBRARY, "a.C0")).isNull();
+        assertThat(restarted.getContent(LIBRARY, "a.C3")).isNotNull();
+    }
+
+    @Test
+    public void shouldLoadMostVisitedSourcesOnStart() throws Exception {
+        LibrarySourcesCache cache = new LibrarySourcesCache(dir, Long.MAX_VALUE, 1);
+        cache.putContent(LIBRARY, "a.Frequent", content("class Frequent {}"));
+        cache.putContent(LIBRARY, "a.Rare", content("class Rare {}"));
+        for (int i = 0; i < 5; i++) {
+            cache.getContent(LIBRARY, "a.Frequent");
+        }
+        cache.getContent(LIBRARY, "a.Rare");
+        cache.saveVisits();
+
+        LibrarySourcesCache restarted = new LibrarySourcesCache(dir, Long.MAX_VALUE, 1);
+        restarted.prewarm();
+        // only the prewarmed entry is still available once the files are gone
+        Files.delete(new File(dir, LIBRARY + "/a.Frequent.content").toPath());
+        Files.delete(new File(dir, LIBRARY + "/a.Rare.content").toPath());
+
+        assertThat(restarted.getContent(LIBRARY, "a.Frequent")).isNotNull();
+        assertThat(restarted.getContent(LIBRARY, "a.Rare")).isNull();
+    }
+
+    private static ClassContent content(String source) {
+        ClassContent content = newDto(ClassContent.class);
+        content.setContent(source);
+        content.setGenerated(true);
+        return content;
+    }
+
+    private static CompilationUnit outline(String rootHandle, int libId) {
+        Method method = newDto(Method.class);
+        method.setElementName("run");
+        method.setHandleIdentifier(rootHandle + "<a(A.class[A~run");
+        method.setBinary(true);
+        method.setLibId(libId);
+        Type type = newDto(Type.class);
+        type.setElementName("A");
+        type.setHandleIdentifier(rootHandle + "<a(A.class[A");
+        type.setBinary(true);
+        type.setLibId(libId);
+        type.setMethods(singletonList(method));
+        CompilationUnit unit = newDto(CompilationUnit.class);
+        unit.setHandleIdentifier(rootHandle + "<a(A.class");
+        unit.setTypes(singletonList(type));
+        return unit;
+    }
+}
@@ -98,6 +98,29 @@ public class ReconcileTest extends BaseTest {
         assertThat(reconcile.getProblems()).onProperty("error").containsSequence(true);
     }
 
+    @Test
+    public void testReconcileFileChangedAfterPreviousReconcile() throws Exception {
+        setWorkingCopyContents(
+                "package p1;\n" +
+                "public class X {\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "}");
+        assertThat(reconciler.reconcile(project, "p1.X").getProblems()).hasSize(2);
+
+        setWorkingCopyContents(
+                "package p1;\n" +
+                "public class X {\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "}");
+        assertThat(reconciler.reconcile(project, "p1.X").getProblems()).isEmpty();
+
+        reconciler.closeSession(project, "p1.X");
+        assertThat(reconciler.reconcile(project, "p1.X").getProblems()).isEmpty();
+    }
 
     @Test
     public void testSemanticHighlight() throws Exception {
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.jdt.core.index.SharedIndexStore;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.AddJarFileToIndex;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.processing.IJob;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SharedIndexStore}.
+ * <p>
+ * Each pass plays a new workspace whose {@link IndexManager} indexes the same libraries in its own index directory,
+ * jobs scheduled by the manager are recorded and performed by the test.
+ */
+public class SharedIndexStoreTest {
+    private static final int LIBRARIES = 5;
+    private static final int CLASSES   = 20;
+
+    private File       root;
+    private File       storeDir;
+    private List<File> libraries;
+
+    @Before
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("shared-index").toFile();
+        storeDir = new File(root, "store");
+        libraries = new ArrayList<>();
+        for (int i = 0; i < LIBRARIES; i++) {
+            libraries.add(createLibrary(new File(root, "libs/lib" + i + ".jar"), "lib" + i));
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldNotIndexLibrariesIndexedByAnotherWorkspace() throws Exception {
+        SharedIndexStore store = spy(new SharedIndexStore(storeDir, Long.MAX_VALUE));
+        assertThat(indexLibraries(store, new File(root, "ws1"))).isEqualTo(LIBRARIES);
+
+        RecordingIndexManager manager = new RecordingIndexManager(store, new File(root, "ws2"));
+        for (File library : libraries) {
+            manager.indexLibrary(new Path(library.getPath()), null, null);
+        }
+
+        assertThat(manager.jobs).isEmpty();
+        for (File library : libraries) {
+            Index index = manager.getIndex(new Path(library.getPath()), true, false);
+            assertThat(index.getIndexFile().getName()).startsWith("shared-");
+            assertThat(index.queryDocumentNames("")).hasSize(CLASSES);
+            manager.saveIndex(index);
+        }
+        // restored indexes are not published again
+        verify(store, times(LIBRARIES)).publish(any(File.class), any(File.class));
+    }
+
+    @Test
+    public void shouldIndexChangedLibrary() throws Exception {
+        SharedIndexStore store = new SharedIndexStore(storeDir, Long.MAX_VALUE);
+        indexLibraries(store, new File(root, "ws1"));
+
+        createLibrary(libraries.get(0), "changed");
+
+        assertThat(indexLibraries(store, new File(root, "ws2"))).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedIndexesWhenStoreIsFull() throws Exception {
+        SharedIndexStore store = new SharedIndexStore(storeDir, Long.MAX_VALUE);
+        indexLibraries(store, new File(root, "ws1"));
+        long indexSize = storeDir.listFiles()[0].length();
+        File[] indexes = storeDir.listFiles();
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i].setLastModified(System.currentTimeMillis() - (LIBRARIES - i) * 60_000);
+        }
+
+        // the store can keep 2 indexes, publishing a new one removes the least recently used ones
+        store = new SharedIndexStore(storeDir, indexSize * 2 + indexSize / 2);
+        File library = createLibrary(new File(root, "libs/new.jar"), "added");
+        File indexFile = new File(root, "ws1/new.jar.index");
+        index(library, indexFile).save();
+        store.publish(library, indexFile);
+
+        assertThat(storeDir.listFiles()).hasSize(2);
+        assertThat(store.restore(library, new File(root, "ws2/new.jar.index"))).isTrue();
+    }
+
+    @Test
+    public void shouldNotRestoreIndexOfUnknownLibrary() throws Exception {
+        SharedIndexStore store = new SharedIndexStore(storeDir, Long.MAX_VALUE);
+
+        assertThat(store.restore(libraries.get(0), new File(root, "ws1/lib0.jar.index"))).isFalse();
+    }
+
+    /** Returns the number of libraries which were indexed. */
+    private int indexLibraries(SharedIndexStore store, File indexDir) throws IOException {
+        RecordingIndexManager manager = new RecordingIndexManager(store, indexDir);
+        for (File library : libraries) {
+            manager.indexLibrary(new Path(library.getPath()), null, null);
+        }
+        // saving an index built by a job publishes it to the store
+        for (IJob job : manager.jobs) {
+            IPath library = ((AddJarFileToIndex)job).containerPath;
+            File indexFile = manager.computeIndexLocation(library).getIndexFile();
+            manager.saveIndex(index(library.toFile(), indexFile));
+        }
+        return manager.jobs.size();
+    }
+
+    /** Builds the index of the library as the indexing job does, the index is not saved. */
+    private static Index index(File library, File indexFile) throws IOException {
+        indexFile.getParentFile().mkdirs();
+        Index index = new Index(new FileIndexLocation(indexFile), library.getPath(), false);
+        try (ZipFile zip = new ZipFile(library)) {
+            for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                String name = entries.nextElement().getName();
+                String typeName = name.substring(name.lastIndexOf('/') + 1, name.length() - ".class".length());
+                index.addIndexEntry(IIndexConstants.TYPE_DECL, typeName.toCharArray(), name);
+            }
+        }
+        return index;
+    }
+
+    private static File createLibrary(File file, String packageName) throws IOException {
+        file.getParentFile().mkdirs();
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < CLASSES; i++) {
+                zip.putNextEntry(new ZipEntry(packageName + "/Class" + i + ".class"));
+                zip.write(new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE, (byte)i});
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    /** Index manager of a workspace which records scheduled jobs instead of performing them. */
+    private static class RecordingIndexManager extends IndexManager {
+        final List<IJob> jobs = new ArrayList<>();
+
+        RecordingIndexManager(SharedIndexStore store, File indexDir) {
+            super(indexDir.getPath());
+            setSharedIndexStore(store);
+        }
+
+        @Override
+        public synchronized void request(IJob job) {
+            jobs.add(job);
+        }
+    }
+}
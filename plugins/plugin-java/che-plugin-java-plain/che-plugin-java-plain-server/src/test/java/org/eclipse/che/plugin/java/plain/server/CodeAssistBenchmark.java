@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.plain.server;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.ide.ext.java.shared.dto.Proposals;
+import org.eclipse.che.plugin.java.server.CodeAssist;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+
+import static java.lang.Integer.parseInt;
+
+/**
+ * Measures completion requests made while the user types an identifier, as the editor sends them
+ * on each keystroke, with a new {@link CodeAssist} per request (no previous session to refine)
+ * and with a single one which refines the proposals of the previous keystroke.
+ * <p>
+ * The project has the JRE on its classpath, so the completion engine searches a large classpath.
+ * It is not executed as a part of the build, run it manually:
+ * <pre>
+ * java -cp ... org.eclipse.che.plugin.java.plain.server.CodeAssistBenchmark [iterations]
+ * </pre>
+ */
+public class CodeAssistBenchmark extends BaseTest {
+    private static final String FQN        = "test.Benchmark";
+    private static final String BEFORE     = "package test;\n" +
+                                             "public class Benchmark {\n" +
+                                             "    public void run() {\n" +
+                                             "        ";
+    private static final String AFTER      = "\n    }\n}\n";
+    private static final String IDENTIFIER = "StringBuil";
+
+    public static void main(String[] args) throws Exception {
+        final int iterations = args.length > 0 ? parseInt(args[0]) : 20;
+
+        final CodeAssistBenchmark benchmark = new CodeAssistBenchmark();
+        benchmark.initProjectApi();
+        final FolderEntry project = benchmark.createTestProject();
+        project.getChildFolder("src").createFolder("test").createFile("Benchmark.java", (BEFORE + AFTER).getBytes());
+        final IJavaProject javaProject = JavaModelManager.getJavaModelManager().getJavaModel()
+                                                         .getJavaProject(project.getPath().toString());
+
+        // warm up JIT and the search indexes for both variants
+        type(javaProject, null, iterations / 4);
+        type(javaProject, new CodeAssist(), iterations / 4);
+
+        final long fresh = type(javaProject, null, iterations);
+        final long refined = type(javaProject, new CodeAssist(), iterations);
+
+        final int requests = iterations * IDENTIFIER.length();
+        System.out.printf("%d completion requests while typing '%s'%n", requests, IDENTIFIER);
+        System.out.printf("computed on each keystroke: %8.3f ms/request%n", fresh / 1e6 / requests);
+        System.out.printf("refined previous proposals: %8.3f ms/request%n", refined / 1e6 / requests);
+        System.exit(0);
+    }
+
+    /**
+     * Types {@link #IDENTIFIER} char by char, requesting proposals after each char.
+     *
+     * @param codeAssist
+     *         code assist to use for all requests, or null to use a new one for each request
+     */
+    private static long type(IJavaProject project, CodeAssist codeAssist, int iterations) throws Exception {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (int length = 1; length <= IDENTIFIER.length(); length++) {
+                final String typed = IDENTIFIER.substring(0, length);
+                final CodeAssist assist = codeAssist == null ? new CodeAssist() : codeAssist;
+                final Proposals proposals = assist.computeProposals(project,
+                                                                    FQN,
+                                                                    BEFORE.length() + length,
+                                                                    BEFORE + typed + AFTER);
+                if (proposals.getProposals().isEmpty()) {
+                    throw new IllegalStateException("No proposals for " + typed);
+                }
+                if (codeAssist == null) {
+                    // releases the working copy of the session
+                    assist.applyCompletion(proposals.getSessionId(), 0, true);
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
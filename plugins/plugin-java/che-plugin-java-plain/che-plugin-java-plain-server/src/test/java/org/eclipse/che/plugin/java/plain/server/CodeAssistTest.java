@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.plain.server;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.ide.ext.java.shared.dto.ProposalPresentation;
+import org.eclipse.che.ide.ext.java.shared.dto.Proposals;
+import org.eclipse.che.plugin.java.server.CodeAssist;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests that proposals refined by {@link CodeAssist} while an identifier is typed are the same as
+ * the proposals computed from scratch for the same content.
+ */
+public class CodeAssistTest extends BaseTest {
+    private static final String FQN    = "test.Completion";
+    private static final String BEFORE = "package test;\n" +
+                                         "public class Completion {\n" +
+                                         "    private int value;\n" +
+                                         "    private int valueCount;\n" +
+                                         "    private String other;\n" +
+                                         "    public void validate() {}\n" +
+                                         "    public void run() {\n" +
+                                         "        ";
+    private static final String AFTER  = "\n    }\n}\n";
+
+    private IJavaProject javaProject;
+
+    @BeforeClass
+    public void createProject() throws Exception {
+        FolderEntry project = createTestProject();
+        project.getChildFolder("src").createFolder("test").createFile("Completion.java", (BEFORE + AFTER).getBytes());
+        javaProject = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(project.getPath().toString());
+    }
+
+    @Test
+    public void refinedProposalsShouldMatchFreshProposalsWhenIdentifierIsExtended() throws Exception {
+        CodeAssist codeAssist = new CodeAssist();
+
+        assertThat(hasProposal(displayStrings(complete(codeAssist, "va")), "validate")).isTrue();
+        List<String> refined = displayStrings(complete(codeAssist, "valu"));
+        List<String> fresh = displayStrings(complete(new CodeAssist(), "valu"));
+
+        assertThat(hasProposal(refined, "valueCount")).isTrue();
+        assertThat(hasProposal(refined, "validate")).isFalse();
+        assertThat(new HashSet<>(refined)).isEqualTo(new HashSet<>(fresh));
+        assertThat(refined).hasSize(fresh.size());
+    }
+
+    @Test
+    public void proposalsShouldBeComputedAgainAfterBackspace() throws Exception {
+        CodeAssist codeAssist = new CodeAssist();
+
+        complete(codeAssist, "valu");
+        List<String> afterBackspace = displayStrings(complete(codeAssist, "va"));
+
+        assertThat(hasProposal(afterBackspace, "validate")).isTrue();
+        assertThat(afterBackspace).isEqualTo(displayStrings(complete(new CodeAssist(), "va")));
+    }
+
+    @Test
+    public void proposalsShouldBeComputedAgainAfterNonIdentifierCharacter() throws Exception {
+        CodeAssist codeAssist = new CodeAssist();
+
+        complete(codeAssist, "other");
+        List<String> afterDot = displayStrings(complete(codeAssist, "other."));
+
+        assertThat(hasProposal(afterDot, "length")).isTrue();
+        assertThat(afterDot).isEqualTo(displayStrings(complete(new CodeAssist(), "other.")));
+    }
+
+    @Test
+    public void proposalsShouldBeComputedAgainAfterChangeOutsideOfIdentifier() throws Exception {
+        CodeAssist codeAssist = new CodeAssist();
+        String content = BEFORE + "va" + AFTER;
+        codeAssist.computeProposals(javaProject, FQN, BEFORE.length() + 2, content);
+
+        // same length as typing one character at the previous offset, but the text before it was changed
+        String changed = BEFORE.replace("other", "others") + "va" + AFTER;
+        Set<String> proposals = new HashSet<>(displayStrings(codeAssist.computeProposals(javaProject,
+                                                                                         FQN,
+                                                                                         BEFORE.length() + 3,
+                                                                                         changed)));
+
+        assertThat(proposals).isEqualTo(new HashSet<>(displayStrings(new CodeAssist().computeProposals(javaProject,
+                                                                                                       FQN,
+                                                                                                       BEFORE.length() + 3,
+                                                                                                       changed))));
+    }
+
+    private Proposals complete(CodeAssist codeAssist, String typed) throws Exception {
+        return codeAssist.computeProposals(javaProject, FQN, BEFORE.length() + typed.length(), BEFORE + typed + AFTER);
+    }
+
+    /** Checks whether there is a proposal of the member with given name, display strings also contain types of members. */
+    private static boolean hasProposal(List<String> displayStrings, String name) {
+        return displayStrings.stream().anyMatch(displayString -> displayString.startsWith(name + ' ')
+                                                                 || displayString.startsWith(name + '('));
+    }
+
+    private static List<String> displayStrings(Proposals proposals) {
+        return proposals.getProposals().stream().map(ProposalPresentation::getDisplayString).collect(Collectors.toList());
+    }
+}
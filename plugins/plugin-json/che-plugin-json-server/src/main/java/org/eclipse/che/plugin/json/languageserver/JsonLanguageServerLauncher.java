@@ -63,6 +63,12 @@ public class JsonLanguageServerLauncher extends LanguageServerLauncherTemplate {
         return Files.exists(launchScript);
     }
 
+    /** The server does not depend on the project it is launched for, so it serves all of them. */
+    @Override
+    public boolean isMultiRoot() {
+        return true;
+    }
+
     protected JsonBasedLanguageServer connectToLanguageServer(Process languageServerProcess) {
         JsonBasedLanguageServer languageServer = new JsonBasedLanguageServer();
         languageServer.connect(languageServerProcess.getInputStream(), languageServerProcess.getOutputStream());
@@ -14,6 +14,7 @@ import io.typefox.lsapi.CompletionItem;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
 
 import org.eclipse.che.api.languageserver.shared.lsapi.CompletionItemDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
@@ -39,6 +40,8 @@ import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.machine.WsAgentStateController;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
+import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.ResourceChangedEvent;
 import org.eclipse.che.ide.dto.JsonSerializable;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
@@ -49,9 +52,14 @@ import org.eclipse.che.ide.websocket.WebSocketException;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.plugin.languageserver.ide.editor.PublishDiagnosticsProcessor;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.REMOVED;
 import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
 import static org.eclipse.che.ide.rest.HTTPHeader.CONTENT_TYPE;
 
@@ -62,11 +70,21 @@ import static org.eclipse.che.ide.rest.HTTPHeader.CONTENT_TYPE;
 @Singleton
 public class TextDocumentServiceClient {
 
+    private static final String PUBLISH_DIAGNOSTICS_CHANNEL_PREFIX = "languageserver/textDocument/publishDiagnostics/";
+
     private final DtoUnmarshallerFactory      unmarshallerFactory;
     private final AsyncRequestFactory         asyncRequestFactory;
     private final AppContext                  appContext;
     private final NotificationManager         notificationManager;
     private final PublishDiagnosticsProcessor publishDiagnosticsProcessor;
+    /**
+     * Opened documents by project, diagnostics of these projects are received
+     * or are to be received once the message bus is available.
+     */
+    private final Map<String, Set<String>>    diagnosticsProjects;
+
+    private MessageBus                                       messageBus;
+    private SubscriptionHandler<PublishDiagnosticsParamsDTO> diagnosticsHandler;
 
     @Inject
     public TextDocumentServiceClient(
@@ -75,16 +93,27 @@ public class TextDocumentServiceClient {
             final AppContext appContext,
             final AsyncRequestFactory asyncRequestFactory,
             final WsAgentStateController wsAgentStateController,
-            final PublishDiagnosticsProcessor publishDiagnosticsProcessor) {
+            final PublishDiagnosticsProcessor publishDiagnosticsProcessor,
+            final EventBus eventBus) {
         this.unmarshallerFactory = unmarshallerFactory;
         this.notificationManager = notificationManager;
         this.appContext = appContext;
         this.asyncRequestFactory = asyncRequestFactory;
         this.publishDiagnosticsProcessor = publishDiagnosticsProcessor;
+        this.diagnosticsProjects = new HashMap<>();
         wsAgentStateController.getMessageBus().then(new Operation<MessageBus>() {
             @Override
             public void apply(MessageBus arg) throws OperationException {
-                subscribeToPublishDiagnostics(arg);
+                initPublishDiagnostics(arg);
+            }
+        });
+        eventBus.addHandler(ResourceChangedEvent.getType(), new ResourceChangedEvent.ResourceChangedHandler() {
+            @Override
+            public void onResourceChanged(ResourceChangedEvent event) {
+                final Resource resource = event.getDelta().getResource();
+                if (event.getDelta().getKind() == REMOVED && resource.isProject()) {
+                    unsubscribeFromProject(resource.getName());
+                }
             }
         });
     }
@@ -256,6 +285,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public void didOpen(DidOpenTextDocumentParamsDTO openEvent) {
+        subscribeToPublishDiagnostics(openEvent.getTextDocument().getUri());
         String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/didOpen";
         asyncRequestFactory.createPostRequest(requestUrl, null).header(ACCEPT, APPLICATION_JSON)
                            .header(CONTENT_TYPE, APPLICATION_JSON).data(((JsonSerializable)openEvent).toJson()).send();
@@ -268,6 +298,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public void didClose(DidCloseTextDocumentParamsDTO closeEvent) {
+        unsubscribeFromPublishDiagnostics(closeEvent.getTextDocument().getUri());
         String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/didClose";
         asyncRequestFactory.createPostRequest(requestUrl, null).header(ACCEPT, APPLICATION_JSON)
                            .header(CONTENT_TYPE, APPLICATION_JSON).data(((JsonSerializable)closeEvent).toJson()).send();
@@ -288,26 +319,72 @@ public class TextDocumentServiceClient {
     /**
      * Subscribes to websocket for 'textDocument/publishDiagnostics' notifications. 
      */
-    private void subscribeToPublishDiagnostics(final MessageBus messageBus) {
+    private void initPublishDiagnostics(final MessageBus messageBus) {
         org.eclipse.che.ide.websocket.rest.Unmarshallable<PublishDiagnosticsParamsDTO> unmarshaller =
                 unmarshallerFactory.newWSUnmarshaller(PublishDiagnosticsParamsDTO.class);
+        this.diagnosticsHandler = new SubscriptionHandler<PublishDiagnosticsParamsDTO>(unmarshaller) {
+            @Override
+            protected void onMessageReceived(PublishDiagnosticsParamsDTO statusEvent) {
+                publishDiagnosticsProcessor.processDiagnostics(statusEvent);
+            }
+
+            @Override
+            protected void onErrorReceived(Throwable exception) {
+                notificationManager.notify(exception.getMessage(), StatusNotification.Status.FAIL,
+                                           StatusNotification.DisplayMode.NOT_EMERGE_MODE);
+            }
+        };
+        this.messageBus = messageBus;
+        for (String project : diagnosticsProjects.keySet()) {
+            subscribe(project);
+        }
+    }
+
+    /**
+     * Diagnostics are sent to the channel of the project containing the document,
+     * subscribes to it when the first document of the project is opened.
+     */
+    private void subscribeToPublishDiagnostics(String uri) {
+        final String project = getProjectName(uri);
+        Set<String> documents = diagnosticsProjects.get(project);
+        if (documents == null) {
+            documents = new HashSet<>();
+            diagnosticsProjects.put(project, documents);
+            if (messageBus != null) {
+                subscribe(project);
+            }
+        }
+        documents.add(uri);
+    }
+
+    /** Unsubscribes from the channel of the project containing the document when the last document of the project is closed. */
+    private void unsubscribeFromPublishDiagnostics(String uri) {
+        final String project = getProjectName(uri);
+        final Set<String> documents = diagnosticsProjects.get(project);
+        if (documents != null && documents.remove(uri) && documents.isEmpty()) {
+            unsubscribeFromProject(project);
+        }
+    }
+
+    /** Unsubscribes from the channel of the removed project. */
+    private void unsubscribeFromProject(String project) {
+        if (diagnosticsProjects.remove(project) != null && messageBus != null) {
+            messageBus.unsubscribeSilently(PUBLISH_DIAGNOSTICS_CHANNEL_PREFIX + project, diagnosticsHandler);
+        }
+    }
+
+    private void subscribe(String project) {
         try {
-            messageBus.subscribe("languageserver/textDocument/publishDiagnostics",
-                                 new SubscriptionHandler<PublishDiagnosticsParamsDTO>(unmarshaller) {
-                                     @Override
-                                     protected void onMessageReceived(PublishDiagnosticsParamsDTO statusEvent) {
-                                         publishDiagnosticsProcessor.processDiagnostics(statusEvent);
-                                     }
-
-                                     @Override
-                                     protected void onErrorReceived(Throwable exception) {
-                                         notificationManager.notify(exception.getMessage(), StatusNotification.Status.FAIL,
-                                                                    StatusNotification.DisplayMode.NOT_EMERGE_MODE);
-                                     }
-                                 });
+            messageBus.subscribe(PUBLISH_DIAGNOSTICS_CHANNEL_PREFIX + project, diagnosticsHandler);
         } catch (WebSocketException exception) {
             Log.error(getClass(), exception);
         }
     }
 
+    private static String getProjectName(String uri) {
+        final int start = uri.startsWith("/") ? 1 : 0;
+        final int end = uri.indexOf('/', start);
+        return end < 0 ? uri.substring(start) : uri.substring(start, end);
+    }
+
 }
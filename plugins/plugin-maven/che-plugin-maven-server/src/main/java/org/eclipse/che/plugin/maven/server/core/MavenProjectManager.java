@@ -21,8 +21,10 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReader;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
@@ -66,6 +68,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenModelReader      modelReader;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -73,17 +76,27 @@ public class MavenProjectManager {
 
     private final MavenProjectListener dispatcher;
 
-    @Inject
     public MavenProjectManager(MavenWrapperManager wrapperManager,
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
                                EclipseWorkspaceProvider workspaceProvider) {
+        this(wrapperManager, serverManager, terminal, mavenNotifier, workspaceProvider, new PomModelCache());
+    }
+
+    @Inject
+    public MavenProjectManager(MavenWrapperManager wrapperManager,
+                               MavenServerManager serverManager,
+                               MavenTerminal terminal,
+                               MavenProgressNotifier mavenNotifier,
+                               EclipseWorkspaceProvider workspaceProvider,
+                               PomModelCache pomModelCache) {
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
         this.workspaceProvider = workspaceProvider;
+        this.modelReader = new MavenModelReader(pomModelCache);
         mavenWorkspaceCache = new MavenWorkspaceCache();
         keyToProjectMap = new HashMap<>();
         projectToMavenProjectMap = new HashMap<>();
@@ -118,7 +131,7 @@ public class MavenProjectManager {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
             mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager, modelReader);
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -196,7 +209,7 @@ public class MavenProjectManager {
         }
         MavenProjectModifications modifications = new MavenProjectModifications();
         //re read maven project meta info from pom.xml
-        modifications = modifications.addChanges(mavenProject.read(serverManager));
+        modifications = modifications.addChanges(mavenProject.read(mavenProject.getProject(), serverManager, modelReader));
 
         writeLock.lock();
         try {
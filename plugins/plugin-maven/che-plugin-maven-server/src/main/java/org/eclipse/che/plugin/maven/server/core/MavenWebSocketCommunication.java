@@ -14,12 +14,12 @@ import com.google.gson.JsonObject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.shared.MavenAttributes;
 import org.eclipse.che.plugin.maven.shared.MessageType;
 import org.eclipse.che.plugin.maven.shared.dto.NotificationMessage;
 import org.eclipse.che.plugin.maven.shared.dto.ProjectsUpdateMessage;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,7 +71,7 @@ public class MavenWebSocketCommunication implements MavenCommunication {
 
             message.setBody(dto.toString());
 
-            WSConnectionContext.sendMessage(message);
+            ChannelBroadcaster.sendMessage(message);
         } catch (EncodeException | IOException e) {
             LOG.error("Can't send maven message:", e);
         }
@@ -158,8 +158,20 @@ public class MavenProject {
      * @return the modification types that applied to this project
      */
     public MavenProjectModifications resolve(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
-        MavenModelReader reader = new MavenModelReader();
+        return resolve(project, mavenServer, serverManager, new MavenModelReader());
+    }
 
+    /**
+     * Invoke maven to build project model.
+     * @param project to resolve
+     * @param mavenServer the maven server
+     * @param reader the reader of pom models
+     * @return the modification types that applied to this project
+     */
+    public MavenProjectModifications resolve(IProject project,
+                                             MavenServerWrapper mavenServer,
+                                             MavenServerManager serverManager,
+                                             MavenModelReader reader) {
         MavenModelReaderResult modelReaderResult =
                 reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
 
@@ -171,7 +183,10 @@ public class MavenProject {
     }
 
     public MavenProjectModifications read(IProject project, MavenServerManager serverManager) {
-        MavenModelReader reader = new MavenModelReader();
+        return read(project, serverManager, new MavenModelReader());
+    }
+
+    public MavenProjectModifications read(IProject project, MavenServerManager serverManager, MavenModelReader reader) {
         return setModel(reader.readMavenProject(getPom(project), serverManager), false, true);
     }
 
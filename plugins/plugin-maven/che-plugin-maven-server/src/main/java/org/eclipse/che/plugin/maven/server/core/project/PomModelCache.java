@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.ide.maven.tools.Model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps parsed pom models, so a pom is parsed once per change no matter
+ * how many attributes of the project are read or how many components read it.
+ * <p>
+ * A cached model is reused while the modification date and the length of the pom are the same,
+ * models of poms reported as modified by project events are dropped at once,
+ * which covers changes made within the resolution of the file system modification date.
+ * <p>
+ * Cached models are shared, so they are read from poms with {@link Model#readOnlyFrom(File)} and can't be modified.
+ */
+@Singleton
+public class PomModelCache {
+
+    private static final String VFS_KEY_PREFIX = "vfs:";
+
+    private final ConcurrentMap<String, Entry> models = new ConcurrentHashMap<>();
+    private final String                       workspacePath;
+
+    @Inject
+    public PomModelCache(EventService eventService, @Named("che.user.workspaces.storage") String workspacePath) {
+        this.workspacePath = workspacePath;
+
+        eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>() {
+            @Override
+            public void onEvent(ProjectItemModifiedEvent event) {
+                final String eventPath = event.getPath();
+                if (event.isFolder()) {
+                    invalidateFolder(eventPath);
+                } else if (eventPath.endsWith("pom.xml")) {
+                    invalidate(eventPath);
+                }
+            }
+        });
+
+        eventService.subscribe(new EventSubscriber<PomModifiedEventDto>() {
+            @Override
+            public void onEvent(PomModifiedEventDto event) {
+                invalidate(event.getPath());
+            }
+        });
+    }
+
+    /** Creates the cache which relies only on pom modification dates. */
+    public PomModelCache() {
+        this.workspacePath = null;
+    }
+
+    /**
+     * Returns the model of the pom file, the pom is parsed only if it was changed since the last read.
+     *
+     * @throws IOException
+     *         when the pom can't be read
+     * @throws org.eclipse.che.commons.xml.XMLTreeException
+     *         when the pom is not a valid xml
+     */
+    public Model get(File pom) throws IOException {
+        final String key = pom.getAbsolutePath();
+        final long modified = pom.lastModified();
+        final long length = pom.length();
+        final Entry entry = models.get(key);
+        if (entry != null && entry.modified == modified && entry.length == length) {
+            return entry.model;
+        }
+        final Model model = Model.readOnlyFrom(pom);
+        models.put(key, new Entry(model, modified, length));
+        return model;
+    }
+
+    /**
+     * Returns the model of the pom virtual file, the pom is parsed only if it was changed since the last read.
+     * Models of the poms which are stored on the local file system are shared with {@link #get(File)}.
+     *
+     * @throws org.eclipse.che.commons.xml.XMLTreeException
+     *         when the pom is not a valid xml
+     */
+    public Model get(VirtualFile pom) throws ServerException, ForbiddenException, IOException {
+        final File ioFile = pom.toIoFile();
+        if (ioFile != null) {
+            return get(ioFile);
+        }
+        final String key = VFS_KEY_PREFIX + pom.getPath();
+        final long modified = pom.getLastModificationDate();
+        final long length = pom.getLength();
+        final Entry entry = models.get(key);
+        if (entry != null && entry.modified == modified && entry.length == length) {
+            return entry.model;
+        }
+        final Model model = Model.readOnlyFrom(pom);
+        models.put(key, new Entry(model, modified, length));
+        return model;
+    }
+
+    /** Drops the model of the pom with the given workspace path. */
+    public void invalidate(String path) {
+        models.remove(VFS_KEY_PREFIX + path);
+        if (workspacePath != null) {
+            models.remove(new File(workspacePath, path).getAbsolutePath());
+        }
+    }
+
+    /** Drops the models of all the poms under the folder with the given workspace path. */
+    public void invalidateFolder(String path) {
+        final String vfsPrefix = VFS_KEY_PREFIX + path + '/';
+        final String ioPrefix = workspacePath == null ? null : new File(workspacePath, path).getAbsolutePath() + File.separatorChar;
+        models.keySet().removeIf(key -> key.startsWith(vfsPrefix) || ioPrefix != null && key.startsWith(ioPrefix));
+    }
+
+    private static class Entry {
+        final Model model;
+        final long  modified;
+        final long  length;
+
+        Entry(Model model, long modified, long length) {
+            this.model = model;
+            this.modified = modified;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link PomModelCache}.
+ */
+public class PomModelCacheTest {
+
+    private File          workspace;
+    private File          pom;
+    private EventService  eventService;
+    private PomModelCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        workspace = Files.createTempDirectory("pom-cache").toFile();
+        new File(workspace, "project").mkdirs();
+        pom = new File(workspace, "project/pom.xml");
+        writePom("1.0");
+        eventService = new EventService();
+        cache = new PomModelCache(eventService, workspace.getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(workspace);
+    }
+
+    @Test
+    public void shouldParsePomOnceWhileItIsNotChanged() throws Exception {
+        Model model = cache.get(pom);
+
+        assertEquals("1.0", model.getVersion());
+        assertSame(model, cache.get(pom));
+    }
+
+    @Test
+    public void shouldReparsePomWhenItIsModified() throws Exception {
+        Model model = cache.get(pom);
+        writePom("1.0.1");
+        pom.setLastModified(pom.lastModified() + 1000);
+
+        Model modified = cache.get(pom);
+
+        assertNotSame(model, modified);
+        assertEquals("1.0.1", modified.getVersion());
+    }
+
+    @Test
+    public void shouldDropModelWhenPomModificationIsReported() throws Exception {
+        Model model = cache.get(pom);
+        long modified = pom.lastModified();
+        // same length and modification date, only the event tells that pom is changed
+        writePom("2.0");
+        pom.setLastModified(modified);
+
+        eventService.publish(new ProjectItemModifiedEvent(UPDATED, "ws", "project", "/project/pom.xml", false));
+
+        assertNotSame(model, cache.get(pom));
+        assertEquals("2.0", cache.get(pom).getVersion());
+    }
+
+    @Test
+    public void shouldDropModelsUnderRemovedFolder() throws Exception {
+        cache.get(pom);
+        long modified = pom.lastModified();
+        writePom("2.0");
+        pom.setLastModified(modified);
+
+        eventService.publish(new ProjectItemModifiedEvent(DELETED, "ws", "project", "/project", true));
+
+        assertEquals("2.0", cache.get(pom).getVersion());
+    }
+
+    private void writePom(String version) throws Exception {
+        Files.write(pom.toPath(), ("<project>" +
+                                   "<modelVersion>4.0.0</modelVersion>" +
+                                   "<groupId>test</groupId>" +
+                                   "<artifactId>test</artifactId>" +
+                                   "<version>" + version + "</version>" +
+                                   "</project>").getBytes(UTF_8));
+    }
+}
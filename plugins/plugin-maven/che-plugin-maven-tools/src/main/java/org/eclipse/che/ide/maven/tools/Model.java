@@ -148,6 +148,40 @@ public final class Model {
         return fetchModel(XMLTree.from(file.getContent()));
     }
 
+    /**
+     * Reads model from given file the same way {@link #readFrom(java.io.File)} does,
+     * but the model is backed by {@link XMLTree#isReadOnly() read-only} tree
+     * which is cheaper to build, so the model can't be modified.
+     *
+     * @param file
+     *         <i>pom.xml</i> to read model from or its parent directory
+     * @return fetched model
+     * @throws IOException
+     *         if any i/o error occurs
+     * @throws org.eclipse.che.commons.xml.XMLTreeException
+     *         when file contains not valid xml content
+     */
+    public static Model readOnlyFrom(File file) throws IOException {
+        requireNonNull(file, "Required not null file");
+        if (file.isDirectory()) {
+            return readOnlyFrom(new File(file, "pom.xml"));
+        }
+        return fetchModel(XMLTree.readOnly(file.toPath())).setPomFile(file);
+    }
+
+    /**
+     * Reads model from given virtual file, the model can't be modified.
+     *
+     * @param file
+     *         virtual file to read model from
+     * @return fetched model
+     * @see #readOnlyFrom(java.io.File)
+     */
+    public static Model readOnlyFrom(VirtualFile file) throws ServerException, ForbiddenException, IOException {
+        requireNonNull(file, "Required not null virtual file");
+        return fetchModel(XMLTree.readOnly(file.getContent()));
+    }
+
     /**
      * Creates new pom xml model with root "project" element.
      *
@@ -19,6 +19,7 @@ import com.google.inject.Singleton;
 import org.eclipse.che.api.core.ErrorCodes;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.util.CommandLine;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.vfs.util.DeleteOnCloseFileInputStream;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -26,6 +27,8 @@ import org.eclipse.che.commons.lang.ZipUtils;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.ssh.key.script.SshScriptProvider;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyMetadataCache;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyStatus;
 import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
 import org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils;
 import org.eclipse.che.plugin.svn.server.utils.InfoUtils;
@@ -89,15 +92,18 @@ public class SubversionApi {
 
     private static Logger LOG = LoggerFactory.getLogger(SubversionApi.class);
 
-    private final RepositoryUrlProvider repositoryUrlProvider;
-    private final SshScriptProvider     sshScriptProvider;
-    protected     LineConsumerFactory   svnOutputPublisherFactory;
+    private final RepositoryUrlProvider    repositoryUrlProvider;
+    private final SshScriptProvider        sshScriptProvider;
+    private final WorkingCopyMetadataCache metadataCache;
+    protected     LineConsumerFactory      svnOutputPublisherFactory;
 
     @Inject
     public SubversionApi(RepositoryUrlProvider repositoryUrlProvider,
-                         SshScriptProvider sshScriptProvider) {
+                         SshScriptProvider sshScriptProvider,
+                         WorkingCopyMetadataCache metadataCache) {
         this.repositoryUrlProvider = repositoryUrlProvider;
         this.sshScriptProvider = sshScriptProvider;
+        this.metadataCache = metadataCache;
     }
 
     /**
@@ -147,6 +153,7 @@ public class SubversionApi {
         // Command Arguments
 
         final CommandLineResult result = runCommand(null, args, projectPath, request.getPaths());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance()
                          .createDto(CLIOutputResponse.class)
@@ -177,6 +184,7 @@ public class SubversionApi {
         cliArgs.add("revert");
 
         final CommandLineResult result = runCommand(null, cliArgs, projectPath, addWorkingCopyPathIfNecessary(request.getPaths()));
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance()
                          .createDto(CLIOutputResponse.class)
@@ -220,6 +228,7 @@ public class SubversionApi {
                                                     Arrays.asList(request.getSource(), request.getDestination()),
                                                     request.getUsername(),
                                                     request.getPassword());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance()
                          .createDto(CLIOutputResponse.class)
@@ -228,6 +237,47 @@ public class SubversionApi {
                          .withErrOutput(result.getStderr());
     }
 
+    /**
+     * Renders the output of a plain "svn status" from the batched status of the working copy,
+     * so that repeated status requests do not fork a new svn process for each of them.
+     *
+     * @return the output lines or {@code null} if the request can not be served from the batched status
+     * and the command has to be run
+     */
+    private List<String> getCachedStatus(final StatusRequest request, final File projectPath, final List<String> paths)
+            throws IOException {
+        if (request.isShowUpdates() || request.isVerbose() || request.isShowIgnored()
+            || (request.getChangeLists() != null && !request.getChangeLists().isEmpty())
+            || !(isNullOrEmpty(request.getDepth()) || "infinity".equals(request.getDepth()))) {
+            return null;
+        }
+
+        final Path projectDir = projectPath.getCanonicalFile().toPath();
+        final List<String> output = new ArrayList<>();
+        for (String path : paths) {
+            final File target = projectDir.resolve(path).toFile();
+            if (new File(path).isAbsolute() || !target.exists()) {
+                return null;
+            }
+            final List<WorkingCopyStatus> status = metadataCache.getStatus(target.getPath());
+            if (status == null) {
+                return null;
+            }
+            for (WorkingCopyStatus item : status) {
+                // changelists, conflicts and externals are printed with additional sections
+                if (item.getChangelist() != null || item.isConflicted() || item.isExternal()) {
+                    return null;
+                }
+                if (item.isUnversioned() && !request.isShowUnversioned()) {
+                    continue;
+                }
+                final String relative = projectDir.relativize(new File(item.getPath()).toPath()).toString();
+                output.add(item.getColumns() + ' ' + (relative.isEmpty() ? "." : relative));
+            }
+        }
+        return output;
+    }
+
     /**
      * Perform an "svn checkout" based on the request.
      *
@@ -265,6 +315,7 @@ public class SubversionApi {
                                               request.getUsername(),
                                               request.getPassword(),
                                               request.getUrl());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputWithRevisionResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -303,6 +354,7 @@ public class SubversionApi {
 
         final CommandLineResult result = runCommand(null, cliArgs, projectPath,
                                                     addWorkingCopyPathIfNecessary(request.getPaths()));
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputWithRevisionResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -332,6 +384,7 @@ public class SubversionApi {
         cliArgs.add("remove");
 
         final CommandLineResult result = runCommand(null, cliArgs, projectPath, request.getPaths());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -369,8 +422,16 @@ public class SubversionApi {
         // Command Name
         cliArgs.add("status");
 
-        final CommandLineResult result = runCommand(null, cliArgs, projectPath,
-                                                    addWorkingCopyPathIfNecessary(request.getPaths()));
+        final List<String> paths = addWorkingCopyPathIfNecessary(request.getPaths());
+        final List<String> cachedOutput = getCachedStatus(request, projectPath, paths);
+        if (cachedOutput != null) {
+            return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
+                             .withCommand(new CommandLine("svn").add(cliArgs).add(paths).toString())
+                             .withOutput(cachedOutput)
+                             .withErrOutput(new ArrayList<>());
+        }
+
+        final CommandLineResult result = runCommand(null, cliArgs, projectPath, paths);
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -411,6 +472,7 @@ public class SubversionApi {
                                                     addWorkingCopyPathIfNecessary(request.getPaths()),
                                                     request.getUsername(),
                                                     request.getPassword());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputWithRevisionResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -468,6 +530,7 @@ public class SubversionApi {
                                                     request.getTargets(),
                                                     request.getUsername(),
                                                     request.getPassword());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance()
                          .createDto(CLIOutputResponse.class)
@@ -555,6 +618,7 @@ public class SubversionApi {
             uArgs.add("resolve");
 
             final CommandLineResult result = runCommand(null, uArgs, projectPath, Arrays.asList(path));
+            metadataCache.invalidate(projectPath.getAbsolutePath());
 
             CLIOutputResponse outputResponse = DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                                                          .withCommand(result.getCommandLine().toString())
@@ -670,6 +734,7 @@ public class SubversionApi {
                                                     paths,
                                                     request.getUsername(),
                                                     request.getPassword());
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -718,6 +783,7 @@ public class SubversionApi {
         }
 
         final CommandLineResult result = runCommand(null, uArgs, projectPath, Arrays.asList(request.getPath()));
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -747,6 +813,7 @@ public class SubversionApi {
         uArgs.add(request.getName());
 
         final CommandLineResult result = runCommand(null, uArgs, projectPath, Arrays.asList(request.getPath()));
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -1071,6 +1138,7 @@ public class SubversionApi {
         paths.add(request.getTarget());
 
         final CommandLineResult result = runCommand(null, cliArgs, projectPath, paths);
+        metadataCache.invalidate(projectPath.getAbsolutePath());
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -1087,6 +1155,7 @@ public class SubversionApi {
         cliArgs.add("cleanup");
 
         final CommandLineResult result = runCommand(null, cliArgs, projectPath, addWorkingCopyPathIfNecessary(request.getPaths()));
+        metadataCache.invalidate(projectPath.getAbsolutePath());
         return DtoFactory.getInstance()
                          .createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -19,6 +19,7 @@ import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProviderImpl;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyMetadataCache;
 import org.eclipse.che.plugin.svn.server.rest.SubversionService;
 
 /**
@@ -37,6 +38,7 @@ public class SubversionModule extends AbstractModule {
 
         bind(SubversionService.class);
         bind(RepositoryUrlProvider.class).to(RepositoryUrlProviderImpl.class);
+        bind(WorkingCopyMetadataCache.class);
 
         bind(SubversionConfigurationChecker.class).asEagerSingleton();
     }
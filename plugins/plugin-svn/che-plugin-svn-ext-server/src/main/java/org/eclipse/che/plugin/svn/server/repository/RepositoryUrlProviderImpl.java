@@ -10,22 +10,26 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.svn.server.repository;
 
-import java.io.File;
+import javax.inject.Inject;
 import java.io.IOException;
 
-import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
-import org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils;
-import org.eclipse.che.plugin.svn.server.utils.InfoUtils;
+/**
+ * Resolves repository URL of a working copy through the {@link WorkingCopyMetadataCache},
+ * so that {@code svn info} is executed only once per working copy change.
+ */
+public class RepositoryUrlProviderImpl implements RepositoryUrlProvider {
 
+    private final WorkingCopyMetadataCache metadataCache;
 
-public class RepositoryUrlProviderImpl implements RepositoryUrlProvider {
+    @Inject
+    public RepositoryUrlProviderImpl(WorkingCopyMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
 
     @Override
     public String getRepositoryUrl(final String projectPath) throws IOException {
-        final File projectPathFile = new File(projectPath);
-        final CommandLineResult clResult = UpstreamUtils.executeCommandLine(null, "svn", new String[]{"info"},
-                                                                            null, -1L, projectPathFile);
-        return InfoUtils.getUrl(clResult.getStdout());
+        final WorkingCopyInfo info = metadataCache.getInfo(projectPath);
+        return info == null ? null : info.getUrl();
     }
 
 }
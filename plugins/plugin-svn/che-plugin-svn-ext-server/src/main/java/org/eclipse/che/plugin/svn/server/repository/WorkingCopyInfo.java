@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.repository;
+
+/**
+ * Metadata of a single Subversion working copy item as reported by {@code svn info --xml}.
+ */
+public class WorkingCopyInfo {
+
+    private String path;
+    private String kind;
+    private String revision;
+    private String url;
+    private String relativeUrl;
+    private String repositoryRoot;
+    private String repositoryUuid;
+    private String workingCopyRoot;
+    private String schedule;
+    private String lastChangedRevision;
+    private String lastChangedAuthor;
+    private String lastChangedDate;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public void setRevision(String revision) {
+        this.revision = revision;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getRelativeUrl() {
+        return relativeUrl;
+    }
+
+    public void setRelativeUrl(String relativeUrl) {
+        this.relativeUrl = relativeUrl;
+    }
+
+    public String getRepositoryRoot() {
+        return repositoryRoot;
+    }
+
+    public void setRepositoryRoot(String repositoryRoot) {
+        this.repositoryRoot = repositoryRoot;
+    }
+
+    public String getRepositoryUuid() {
+        return repositoryUuid;
+    }
+
+    public void setRepositoryUuid(String repositoryUuid) {
+        this.repositoryUuid = repositoryUuid;
+    }
+
+    public String getWorkingCopyRoot() {
+        return workingCopyRoot;
+    }
+
+    public void setWorkingCopyRoot(String workingCopyRoot) {
+        this.workingCopyRoot = workingCopyRoot;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public String getLastChangedRevision() {
+        return lastChangedRevision;
+    }
+
+    public void setLastChangedRevision(String lastChangedRevision) {
+        this.lastChangedRevision = lastChangedRevision;
+    }
+
+    public String getLastChangedAuthor() {
+        return lastChangedAuthor;
+    }
+
+    public void setLastChangedAuthor(String lastChangedAuthor) {
+        this.lastChangedAuthor = lastChangedAuthor;
+    }
+
+    public String getLastChangedDate() {
+        return lastChangedDate;
+    }
+
+    public void setLastChangedDate(String lastChangedDate) {
+        this.lastChangedDate = lastChangedDate;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkingCopyInfo{" +
+               "path='" + path + '\'' +
+               ", kind='" + kind + '\'' +
+               ", revision='" + revision + '\'' +
+               ", url='" + url + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.repository;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
+import org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils;
+import org.eclipse.che.plugin.svn.server.utils.XmlOutputParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Caches Subversion working copy metadata, so that repeated questions about the same working copy
+ * (repository URL of a project, status of its files) do not fork a new {@code svn} process each time.
+ * <p>
+ * Entries are keyed by the canonical path of the working copy administrative directory ({@code .svn})
+ * and are invalidated by the project watcher: any change below {@code .svn} (commit, update, switch, etc.)
+ * drops the whole entry, any other change in the working copy drops only the cached status.
+ * All paths are canonicalized before they are matched against the entries, so a working copy
+ * reached through a symbolic link is invalidated as well.
+ * <p>
+ * Status of a whole working copy is obtained with a single {@code svn status --xml} invocation
+ * and served from memory until the next change.
+ */
+@Singleton
+public class WorkingCopyMetadataCache implements EventSubscriber<LoEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkingCopyMetadataCache.class);
+
+    private static final String SVN_ADMIN_DIR = ".svn";
+
+    private final File                                   workspaceRoot;
+    private final EventService                           eventService;
+    private final ConcurrentMap<String, WorkingCopyEntry> entries;
+
+    @Inject
+    public WorkingCopyMetadataCache(@Named("che.user.workspaces.storage") File workspaceRoot, EventService eventService) {
+        this.workspaceRoot = workspaceRoot;
+        this.eventService = eventService;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+
+    /**
+     * Returns {@code svn info} metadata of the given path.
+     *
+     * @param path
+     *         absolute path of the working copy item
+     * @return metadata of the item or {@code null} if svn did not report anything about it
+     * @throws IOException
+     *         if the svn command can not be executed or its output can not be parsed
+     */
+    public WorkingCopyInfo getInfo(final String path) throws IOException {
+        final File target = canonical(new File(path));
+        final WorkingCopyEntry entry = getEntry(target);
+        if (entry == null) {
+            return loadInfo(target);
+        }
+
+        final WorkingCopyInfo cached = entry.infos.get(target.getPath());
+        if (cached != null) {
+            return cached;
+        }
+
+        final long stamp = entry.modCount;
+        final WorkingCopyInfo info = loadInfo(target);
+        if (info != null) {
+            entry.putInfo(target.getPath(), info, stamp);
+        }
+        return info;
+    }
+
+    /**
+     * Returns status of the changed, added, deleted and unversioned items located under the given path.
+     *
+     * @param path
+     *         absolute path of a working copy item
+     * @return status of the items with their absolute paths, in the order reported by svn,
+     * or {@code null} if the path is not located in a working copy or svn failed to report its status
+     * @throws IOException
+     *         if the svn command can not be executed or its output can not be parsed
+     */
+    public List<WorkingCopyStatus> getStatus(final String path) throws IOException {
+        final File target = canonical(new File(path));
+        final WorkingCopyEntry entry = getEntry(target);
+        if (entry == null) {
+            return null;
+        }
+
+        List<WorkingCopyStatus> status = entry.status;
+        if (status == null) {
+            final long stamp = entry.modCount;
+            status = loadStatus(entry.root);
+            if (status == null) {
+                return null;
+            }
+            entry.putStatus(status, stamp);
+        }
+        return filter(status, target);
+    }
+
+    /**
+     * Drops all cached metadata of the working copy containing the given path.
+     * Should be called after operations which change the working copy, so that
+     * subsequent reads do not depend on the watcher latency.
+     *
+     * @param path
+     *         absolute path of a working copy item
+     */
+    public void invalidate(final String path) {
+        final File target = canonical(new File(path));
+        for (Map.Entry<String, WorkingCopyEntry> mapEntry : entries.entrySet()) {
+            final WorkingCopyEntry entry = mapEntry.getValue();
+            if (isAncestor(entry.root, target) || isAncestor(target, entry.root)) {
+                drop(mapEntry.getKey(), entry);
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(LoEvent event) {
+        if (entries.isEmpty() || event.getPath() == null) {
+            return;
+        }
+        final File changed = canonical(new File(workspaceRoot, event.getPath()));
+        for (Map.Entry<String, WorkingCopyEntry> mapEntry : entries.entrySet()) {
+            final WorkingCopyEntry entry = mapEntry.getValue();
+            if (isAncestor(changed, entry.root)) {
+                drop(mapEntry.getKey(), entry);
+            } else if (isAncestor(entry.adminDir, changed)) {
+                LOG.debug("Working copy {} metadata changed, dropping cached metadata", entry.root);
+                drop(mapEntry.getKey(), entry);
+            } else if (isAncestor(entry.root, changed)) {
+                entry.invalidateStatus();
+            }
+        }
+    }
+
+    /**
+     * Removes the entry and marks it invalidated, so that results which are being loaded
+     * by concurrent readers holding the entry are not stored anymore.
+     */
+    private void drop(final String key, final WorkingCopyEntry entry) {
+        entry.invalidate();
+        entries.remove(key, entry);
+    }
+
+    private WorkingCopyEntry getEntry(final File target) throws IOException {
+        final File adminDir = findAdminDir(target);
+        if (adminDir == null) {
+            return null;
+        }
+        return entries.computeIfAbsent(adminDir.getPath(), key -> new WorkingCopyEntry(adminDir));
+    }
+
+    /**
+     * Returns canonical form of the given file, the same form is used for the keys of the entries.
+     * Falls back to the absolute file if the canonical one can not be resolved.
+     */
+    private static File canonical(final File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    /** Finds the closest {@code .svn} directory starting from the given file up to the file system root. */
+    private static File findAdminDir(final File target) {
+        for (File current = target; current != null; current = current.getParentFile()) {
+            final File adminDir = new File(current, SVN_ADMIN_DIR);
+            if (adminDir.isDirectory()) {
+                return adminDir;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAncestor(final File ancestor, final File file) {
+        final String ancestorPath = ancestor.getPath();
+        final String filePath = file.getPath();
+        return filePath.equals(ancestorPath) || filePath.startsWith(ancestorPath + File.separator);
+    }
+
+    private static List<WorkingCopyStatus> filter(final List<WorkingCopyStatus> status, final File target) {
+        final List<WorkingCopyStatus> result = new ArrayList<>();
+        for (WorkingCopyStatus item : status) {
+            if (isAncestor(target, new File(item.getPath()))) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /** Runs {@code svn info} for the given item, visible for testing. */
+    protected WorkingCopyInfo loadInfo(final File target) throws IOException {
+        final CommandLineResult result = UpstreamUtils.executeCommandLine(null,
+                                                                          "svn",
+                                                                          new String[]{"info", "--xml", target.getPath()},
+                                                                          -1L,
+                                                                          target.isDirectory() ? target : target.getParentFile());
+        if (result.getExitCode() != 0) {
+            LOG.debug("svn info failed for {}: {}", target, result.getStderr());
+            return null;
+        }
+        final List<WorkingCopyInfo> items = XmlOutputParser.parseInfo(result.getStdout());
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    /**
+     * Runs {@code svn status --xml} for the whole working copy, visible for testing.
+     * Unversioned items are included, externals are reported but not descended into.
+     */
+    protected List<WorkingCopyStatus> loadStatus(final File root) throws IOException {
+        final CommandLineResult result = UpstreamUtils.executeCommandLine(null,
+                                                                          "svn",
+                                                                          new String[]{"status", "--xml", "--ignore-externals",
+                                                                                       root.getPath()},
+                                                                          -1L,
+                                                                          root);
+        if (result.getExitCode() != 0) {
+            LOG.debug("svn status failed for {}: {}", root, result.getStderr());
+            return null;
+        }
+        final List<WorkingCopyStatus> items = XmlOutputParser.parseStatus(result.getStdout());
+        // the root is canonical already, so the reported paths are not resolved again,
+        // otherwise versioned symbolic links would be reported by their targets
+        for (WorkingCopyStatus item : items) {
+            final File file = new File(item.getPath());
+            item.setPath(file.isAbsolute() ? file.getPath() : new File(root, item.getPath()).getPath());
+        }
+        return unmodifiableList(items);
+    }
+
+    /** Cached metadata of one working copy. */
+    private static class WorkingCopyEntry {
+        final File                                   adminDir;
+        final File                                   root;
+        final ConcurrentMap<String, WorkingCopyInfo> infos;
+
+        /** Incremented on each invalidation, used to reject results which were computed before it. */
+        volatile long                    modCount;
+        volatile List<WorkingCopyStatus> status;
+
+        WorkingCopyEntry(File adminDir) {
+            this.adminDir = adminDir;
+            this.root = adminDir.getParentFile();
+            this.infos = new ConcurrentHashMap<>();
+        }
+
+        synchronized void putInfo(String path, WorkingCopyInfo info, long stamp) {
+            if (modCount == stamp) {
+                infos.put(path, info);
+            }
+        }
+
+        synchronized void putStatus(List<WorkingCopyStatus> status, long stamp) {
+            if (modCount == stamp) {
+                this.status = status;
+            }
+        }
+
+        synchronized void invalidateStatus() {
+            modCount++;
+            status = null;
+        }
+
+        synchronized void invalidate() {
+            modCount++;
+            status = null;
+            infos.clear();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.repository;
+
+/**
+ * Status of a single Subversion working copy item as reported by {@code svn status --xml}.
+ * <p>
+ * The status is kept in the same seven columns which are printed by the plain {@code svn status},
+ * so that a cached status can be rendered exactly as the command would print it.
+ */
+public class WorkingCopyStatus {
+
+    private String path;
+    private String columns;
+    private String changelist;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /** Returns the seven status columns of the item, e.g. {@code "M      "} for a modified file. */
+    public String getColumns() {
+        return columns;
+    }
+
+    public void setColumns(String columns) {
+        this.columns = columns;
+    }
+
+    /** Returns the name of the changelist the item belongs to or {@code null} if it does not belong to any. */
+    public String getChangelist() {
+        return changelist;
+    }
+
+    public void setChangelist(String changelist) {
+        this.changelist = changelist;
+    }
+
+    public boolean isUnversioned() {
+        return columns.charAt(0) == '?';
+    }
+
+    public boolean isExternal() {
+        return columns.charAt(0) == 'X';
+    }
+
+    /** Returns {@code true} if the item has a text, property or tree conflict. */
+    public boolean isConflicted() {
+        return columns.charAt(0) == 'C' || columns.charAt(1) == 'C' || columns.charAt(6) == 'C';
+    }
+}
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyInfo;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyStatus;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Streaming parser for the {@code --xml} output of {@code svn info} and {@code svn status}.
+ * <p>
+ * Unlike {@link InfoUtils}, which matches every requested key against every output line,
+ * the output is read once with a StAX reader, so the metadata of a whole tree can be
+ * taken from a single command invocation.
+ */
+public final class XmlOutputParser {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private XmlOutputParser() { }
+
+    /**
+     * Parses the output of {@code svn info --xml}.
+     *
+     * @param output the command output, one element per line
+     *
+     * @return the list of items in the order they were reported
+     *
+     * @throws IOException if the output is not a well-formed info document
+     */
+    public static List<WorkingCopyInfo> parseInfo(final List<String> output) throws IOException {
+        return parseInfo(new StringReader(String.join("\n", output)));
+    }
+
+    /**
+     * Parses the output of {@code svn info --xml}.
+     *
+     * @param reader the reader of the command output
+     *
+     * @return the list of items in the order they were reported
+     *
+     * @throws IOException if the output is not a well-formed info document
+     */
+    public static List<WorkingCopyInfo> parseInfo(final Reader reader) throws IOException {
+        final List<WorkingCopyInfo> items = new ArrayList<>();
+        XMLStreamReader xml = null;
+        try {
+            xml = FACTORY.createXMLStreamReader(reader);
+            WorkingCopyInfo current = null;
+            boolean inCommit = false;
+            while (xml.hasNext()) {
+                final int event = xml.next();
+                if (event == START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "entry":
+                            current = new WorkingCopyInfo();
+                            current.setPath(xml.getAttributeValue(null, "path"));
+                            current.setKind(xml.getAttributeValue(null, "kind"));
+                            current.setRevision(xml.getAttributeValue(null, "revision"));
+                            break;
+                        case "commit":
+                            inCommit = true;
+                            if (current != null) {
+                                current.setLastChangedRevision(xml.getAttributeValue(null, "revision"));
+                            }
+                            break;
+                        case "url":
+                            if (current != null) {
+                                current.setUrl(xml.getElementText());
+                            }
+                            break;
+                        case "relative-url":
+                            if (current != null) {
+                                current.setRelativeUrl(xml.getElementText());
+                            }
+                            break;
+                        case "root":
+                            if (current != null) {
+                                current.setRepositoryRoot(xml.getElementText());
+                            }
+                            break;
+                        case "uuid":
+                            if (current != null) {
+                                current.setRepositoryUuid(xml.getElementText());
+                            }
+                            break;
+                        case "wcroot-abspath":
+                            if (current != null) {
+                                current.setWorkingCopyRoot(xml.getElementText());
+                            }
+                            break;
+                        case "schedule":
+                            if (current != null) {
+                                current.setSchedule(xml.getElementText());
+                            }
+                            break;
+                        case "author":
+                            if (current != null && inCommit) {
+                                current.setLastChangedAuthor(xml.getElementText());
+                            }
+                            break;
+                        case "date":
+                            if (current != null && inCommit) {
+                                current.setLastChangedDate(xml.getElementText());
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == END_ELEMENT) {
+                    if ("commit".equals(xml.getLocalName())) {
+                        inCommit = false;
+                    } else if ("entry".equals(xml.getLocalName()) && current != null) {
+                        items.add(current);
+                        current = null;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse svn info output: " + e.getMessage(), e);
+        } finally {
+            close(xml);
+        }
+        return items;
+    }
+
+    /**
+     * Parses the output of {@code svn status --xml}.
+     *
+     * @param output the command output, one element per line
+     *
+     * @return the list of items in the order they were reported
+     *
+     * @throws IOException if the output is not a well-formed status document
+     */
+    public static List<WorkingCopyStatus> parseStatus(final List<String> output) throws IOException {
+        return parseStatus(new StringReader(String.join("\n", output)));
+    }
+
+    /**
+     * Parses the output of {@code svn status --xml}.
+     *
+     * @param reader the reader of the command output
+     *
+     * @return the list of items in the order they were reported
+     *
+     * @throws IOException if the output is not a well-formed status document
+     */
+    public static List<WorkingCopyStatus> parseStatus(final Reader reader) throws IOException {
+        final List<WorkingCopyStatus> items = new ArrayList<>();
+        XMLStreamReader xml = null;
+        try {
+            xml = FACTORY.createXMLStreamReader(reader);
+            WorkingCopyStatus current = null;
+            StringBuilder columns = null;
+            String changelist = null;
+            while (xml.hasNext()) {
+                final int event = xml.next();
+                if (event == START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "changelist":
+                            changelist = xml.getAttributeValue(null, "name");
+                            break;
+                        case "entry":
+                            current = new WorkingCopyStatus();
+                            current.setPath(xml.getAttributeValue(null, "path"));
+                            current.setChangelist(changelist);
+                            break;
+                        case "wc-status":
+                            if (current != null) {
+                                columns = new StringBuilder("       ");
+                                columns.setCharAt(0, itemColumn(xml.getAttributeValue(null, "item")));
+                                columns.setCharAt(1, propsColumn(xml.getAttributeValue(null, "props")));
+                                if ("true".equals(xml.getAttributeValue(null, "wc-locked"))) {
+                                    columns.setCharAt(2, 'L');
+                                }
+                                if ("true".equals(xml.getAttributeValue(null, "copied"))) {
+                                    columns.setCharAt(3, '+');
+                                }
+                                if ("true".equals(xml.getAttributeValue(null, "switched"))) {
+                                    columns.setCharAt(4, 'S');
+                                } else if ("true".equals(xml.getAttributeValue(null, "file-external"))) {
+                                    columns.setCharAt(4, 'X');
+                                }
+                                if ("true".equals(xml.getAttributeValue(null, "tree-conflicted"))) {
+                                    columns.setCharAt(6, 'C');
+                                }
+                            }
+                            break;
+                        case "lock":
+                            if (columns != null) {
+                                columns.setCharAt(5, 'K');
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == END_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "wc-status":
+                            if (current != null && columns != null) {
+                                current.setColumns(columns.toString());
+                            }
+                            columns = null;
+                            break;
+                        case "entry":
+                            if (current != null && current.getColumns() != null) {
+                                items.add(current);
+                            }
+                            current = null;
+                            break;
+                        case "changelist":
+                            changelist = null;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse svn status output: " + e.getMessage(), e);
+        } finally {
+            close(xml);
+        }
+        return items;
+    }
+
+    /** Maps the {@code item} attribute of {@code wc-status} to the first column of {@code svn status}. */
+    private static char itemColumn(final String item) {
+        if (item == null) {
+            return ' ';
+        }
+        switch (item) {
+            case "added":
+                return 'A';
+            case "conflicted":
+                return 'C';
+            case "deleted":
+                return 'D';
+            case "external":
+                return 'X';
+            case "ignored":
+                return 'I';
+            case "incomplete":
+            case "missing":
+                return '!';
+            case "modified":
+                return 'M';
+            case "obstructed":
+                return '~';
+            case "replaced":
+                return 'R';
+            case "unversioned":
+                return '?';
+            default:
+                return ' ';
+        }
+    }
+
+    /** Maps the {@code props} attribute of {@code wc-status} to the second column of {@code svn status}. */
+    private static char propsColumn(final String props) {
+        if ("modified".equals(props)) {
+            return 'M';
+        }
+        if ("conflicted".equals(props)) {
+            return 'C';
+        }
+        return ' ';
+    }
+
+    private static void close(final XMLStreamReader xml) {
+        if (xml != null) {
+            try {
+                xml.close();
+            } catch (XMLStreamException ignored) {
+            }
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
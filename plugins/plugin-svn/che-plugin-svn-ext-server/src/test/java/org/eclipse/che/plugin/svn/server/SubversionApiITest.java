@@ -15,6 +15,7 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.che.plugin.ssh.key.script.SshScriptProvider;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyMetadataCache;
 import org.eclipse.che.plugin.svn.server.utils.TestUtils;
 import org.eclipse.che.plugin.svn.shared.CLIOutputResponse;
 import org.eclipse.che.plugin.svn.shared.CLIOutputWithRevisionResponse;
@@ -54,6 +55,8 @@ public class SubversionApiITest {
     private RepositoryUrlProvider repositoryUrlProvider;
     @Mock
     private SshKeyProvider sshKeyProvider;
+    @Mock
+    private WorkingCopyMetadataCache metadataCache;
 
     private SubversionApi subversionApi;
     private File          repoRoot;
@@ -69,7 +72,7 @@ public class SubversionApiITest {
         tmpAbsolutePath = tmpDir.toFile().getAbsolutePath();
         tmpDir.toFile().deleteOnExit();
 
-        this.subversionApi = new SubversionApi(repositoryUrlProvider, new SshScriptProvider(sshKeyProvider));
+        this.subversionApi = new SubversionApi(repositoryUrlProvider, new SshScriptProvider(sshKeyProvider), metadataCache);
     }
 
     /**
@@ -26,6 +26,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyMetadataCache;
 import org.eclipse.che.plugin.svn.server.utils.TestUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +54,8 @@ public class SubversionProjectImporterTest {
     private SourceStorage         sourceStorage;
     @Mock
     private SshKeyProvider        sshKeyProvider;
+    @Mock
+    private WorkingCopyMetadataCache metadataCache;
 
     private File                      repoRoot;
     private SubversionProjectImporter projectImporter;
@@ -72,6 +75,7 @@ public class SubversionProjectImporterTest {
                 bind(SshKeyProvider.class).toInstance(sshKeyProvider);
                 bind(ProfileDao.class).toInstance(userProfileDao);
                 bind(RepositoryUrlProvider.class).toInstance(repositoryUrlProvider);
+                bind(WorkingCopyMetadataCache.class).toInstance(metadataCache);
             }
         });
 
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.repository;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link WorkingCopyMetadataCache}.
+ */
+public class WorkingCopyMetadataCacheTest {
+
+    private File                  workspaceRoot;
+    private File                  project;
+    private File                  link;
+    private CountingMetadataCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        workspaceRoot = Files.createTempDirectory("svn-metadata-cache-").toFile().getCanonicalFile();
+        project = new File(workspaceRoot, "project");
+        assertTrue(new File(project, ".svn").mkdirs());
+        assertTrue(new File(project, "src").mkdirs());
+        final Path linkPath = new File(workspaceRoot, "link").toPath();
+        link = Files.createSymbolicLink(linkPath, project.toPath()).toFile();
+        cache = new CountingMetadataCache(workspaceRoot);
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursive(workspaceRoot);
+    }
+
+    /**
+     * Test that metadata of the same item is loaded only once.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testInfoIsReused() throws Exception {
+        final WorkingCopyInfo info = cache.getInfo(project.getPath());
+
+        assertSame(info, cache.getInfo(project.getPath()));
+        assertSame(info, cache.getInfo(link.getPath()));
+        assertEquals(1, cache.loads.get());
+    }
+
+    /**
+     * Test that invalidation through a path which is not canonical drops the cached metadata.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testInvalidateThroughSymbolicLink() throws Exception {
+        cache.getInfo(project.getPath());
+
+        cache.invalidate(new File(link, "src/../src").getAbsolutePath());
+        cache.getInfo(project.getPath());
+
+        assertEquals(2, cache.loads.get());
+    }
+
+    /**
+     * Test that a change of the administrative directory reported by the watcher drops the cached metadata
+     * and a change of any other working copy item keeps it.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testInvalidateOnAdminDirectoryChange() throws Exception {
+        cache.getInfo(project.getPath());
+
+        cache.onEvent(LoEvent.newInstance().withPath("/project/src/Main.java"));
+        cache.getInfo(project.getPath());
+        assertEquals(1, cache.loads.get());
+
+        cache.onEvent(LoEvent.newInstance().withPath("/link/.svn/wc.db"));
+        cache.getInfo(project.getPath());
+        assertEquals(2, cache.loads.get());
+    }
+
+    /**
+     * Test that status of the whole working copy is loaded once and filtered by the requested path.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testStatusIsLoadedOnceForWorkingCopy() throws Exception {
+        assertEquals(2, cache.getStatus(project.getPath()).size());
+
+        final List<WorkingCopyStatus> status = cache.getStatus(new File(link, "src").getPath());
+        assertEquals(1, status.size());
+        assertEquals(new File(project, "src/Main.java").getPath(), status.get(0).getPath());
+        assertEquals(1, cache.statusLoads.get());
+    }
+
+    /**
+     * Test that a change of a working copy item drops only the cached status.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testStatusIsReloadedOnChange() throws Exception {
+        cache.getInfo(project.getPath());
+        cache.getStatus(project.getPath());
+
+        cache.onEvent(LoEvent.newInstance().withPath("/project/src/Main.java"));
+        cache.getInfo(project.getPath());
+        cache.getStatus(project.getPath());
+
+        assertEquals(1, cache.loads.get());
+        assertEquals(2, cache.statusLoads.get());
+    }
+
+    /**
+     * Test that status which was being loaded while the working copy changed is not cached.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testStatusLoadedBeforeChangeIsNotCached() throws Exception {
+        cache.onStatusLoad = () -> cache.onEvent(LoEvent.newInstance().withPath("/project/src/Main.java"));
+        cache.getStatus(project.getPath());
+
+        cache.onStatusLoad = null;
+        cache.getStatus(project.getPath());
+        cache.getStatus(project.getPath());
+
+        assertEquals(2, cache.statusLoads.get());
+    }
+
+    /** Counts invocations of {@code svn info} and {@code svn status} instead of running them. */
+    private static class CountingMetadataCache extends WorkingCopyMetadataCache {
+        final AtomicInteger loads       = new AtomicInteger();
+        final AtomicInteger statusLoads = new AtomicInteger();
+
+        volatile Runnable onStatusLoad;
+
+        CountingMetadataCache(File workspaceRoot) {
+            super(workspaceRoot, new EventService());
+        }
+
+        @Override
+        protected WorkingCopyInfo loadInfo(File target) throws IOException {
+            loads.incrementAndGet();
+            final WorkingCopyInfo info = new WorkingCopyInfo();
+            info.setPath(target.getPath());
+            return info;
+        }
+
+        @Override
+        protected List<WorkingCopyStatus> loadStatus(File root) throws IOException {
+            statusLoads.incrementAndGet();
+            if (onStatusLoad != null) {
+                onStatusLoad.run();
+            }
+            final List<WorkingCopyStatus> status = new ArrayList<>();
+            status.add(status(new File(root, "pom.xml"), "M      "));
+            status.add(status(new File(root, "src/Main.java"), "?      "));
+            return status;
+        }
+
+        private static WorkingCopyStatus status(File file, String columns) {
+            final WorkingCopyStatus status = new WorkingCopyStatus();
+            status.setPath(file.getPath());
+            status.setColumns(columns);
+            return status;
+        }
+    }
+}
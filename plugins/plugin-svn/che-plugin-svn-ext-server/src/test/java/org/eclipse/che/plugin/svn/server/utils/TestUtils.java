@@ -26,6 +26,7 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.svn.server.SubversionApi;
 import org.eclipse.che.plugin.svn.server.SubversionException;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyMetadataCache;
 import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
 import org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils;
 import org.eclipse.che.plugin.svn.shared.AddRequest;
@@ -64,7 +65,7 @@ public class TestUtils {
         public String getRepositoryUrl(final String projectPath) throws IOException {
             return "";
         }
-    }, null);
+    }, null, Mockito.mock(WorkingCopyMetadataCache.class));
 
     public static final String[] GREEK_TREE = new String[] {
             "/",
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyInfo;
+import org.eclipse.che.plugin.svn.server.repository.WorkingCopyStatus;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@link XmlOutputParser}.
+ */
+public class XmlOutputParserTest {
+
+    /**
+     * Test for {@link XmlOutputParser#parseInfo(List)}.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testParseInfo() throws Exception {
+        final List<WorkingCopyInfo> items = XmlOutputParser.parseInfo(ImmutableList.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<info>",
+                "<entry kind=\"dir\" path=\".\" revision=\"12\">",
+                "<url>file:///tmp/repo/trunk</url>",
+                "<relative-url>^/trunk</relative-url>",
+                "<repository>",
+                "<root>file:///tmp/repo</root>",
+                "<uuid>0c2d6d1a-5b3a-4b6e-9d5a-5c1c8e3b4f7a</uuid>",
+                "</repository>",
+                "<wc-info>",
+                "<wcroot-abspath>/projects/trunk</wcroot-abspath>",
+                "<schedule>normal</schedule>",
+                "<depth>infinity</depth>",
+                "</wc-info>",
+                "<commit revision=\"10\">",
+                "<author>jdoe</author>",
+                "<date>2016-10-10T10:10:10.000000Z</date>",
+                "</commit>",
+                "</entry>",
+                "<entry kind=\"file\" path=\"iota\" revision=\"12\">",
+                "<url>file:///tmp/repo/trunk/iota</url>",
+                "</entry>",
+                "</info>"
+        ));
+
+        assertEquals(2, items.size());
+
+        final WorkingCopyInfo root = items.get(0);
+        assertEquals(".", root.getPath());
+        assertEquals("dir", root.getKind());
+        assertEquals("12", root.getRevision());
+        assertEquals("file:///tmp/repo/trunk", root.getUrl());
+        assertEquals("^/trunk", root.getRelativeUrl());
+        assertEquals("file:///tmp/repo", root.getRepositoryRoot());
+        assertEquals("0c2d6d1a-5b3a-4b6e-9d5a-5c1c8e3b4f7a", root.getRepositoryUuid());
+        assertEquals("/projects/trunk", root.getWorkingCopyRoot());
+        assertEquals("normal", root.getSchedule());
+        assertEquals("10", root.getLastChangedRevision());
+        assertEquals("jdoe", root.getLastChangedAuthor());
+        assertEquals("2016-10-10T10:10:10.000000Z", root.getLastChangedDate());
+
+        assertEquals("iota", items.get(1).getPath());
+        assertEquals("file:///tmp/repo/trunk/iota", items.get(1).getUrl());
+    }
+
+    /**
+     * Test for {@link XmlOutputParser#parseInfo(List)} on a malformed output.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test(expected = IOException.class)
+    public void testParseMalformedInfo() throws Exception {
+        XmlOutputParser.parseInfo(ImmutableList.of("svn: E155007: '/tmp' is not a working copy"));
+    }
+
+    /**
+     * Test for {@link XmlOutputParser#parseStatus(List)}.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testParseStatus() throws Exception {
+        final List<WorkingCopyStatus> items = XmlOutputParser.parseStatus(ImmutableList.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<status>",
+                "<target path=\"/projects/trunk\">",
+                "<entry path=\"/projects/trunk/A/mu\">",
+                "<wc-status props=\"none\" item=\"modified\" revision=\"1\">",
+                "<commit revision=\"1\"><author>jdoe</author><date>2016-10-10T10:10:10.000000Z</date></commit>",
+                "</wc-status>",
+                "</entry>",
+                "<entry path=\"/projects/trunk/A/B/lambda\">",
+                "<wc-status props=\"modified\" item=\"added\" copied=\"true\" revision=\"-1\">",
+                "<lock><token>opaquelocktoken:1</token><owner>jdoe</owner></lock>",
+                "</wc-status>",
+                "</entry>",
+                "<entry path=\"/projects/trunk/new.txt\">",
+                "<wc-status props=\"none\" item=\"unversioned\">",
+                "</wc-status>",
+                "</entry>",
+                "</target>",
+                "<changelist name=\"fixes\">",
+                "<entry path=\"/projects/trunk/iota\">",
+                "<wc-status props=\"none\" item=\"normal\" tree-conflicted=\"true\" revision=\"1\">",
+                "</wc-status>",
+                "</entry>",
+                "</changelist>",
+                "</status>"
+        ));
+
+        assertEquals(4, items.size());
+
+        assertEquals("/projects/trunk/A/mu", items.get(0).getPath());
+        assertEquals("M      ", items.get(0).getColumns());
+        assertNull(items.get(0).getChangelist());
+
+        assertEquals("AM + K ", items.get(1).getColumns());
+
+        assertEquals("?      ", items.get(2).getColumns());
+        assertEquals(true, items.get(2).isUnversioned());
+
+        assertEquals("      C", items.get(3).getColumns());
+        assertEquals("fixes", items.get(3).getChangelist());
+        assertEquals(true, items.get(3).isConflicted());
+    }
+
+    /**
+     * Test for {@link XmlOutputParser#parseStatus(List)} on a malformed output.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test(expected = IOException.class)
+    public void testParseMalformedStatus() throws Exception {
+        XmlOutputParser.parseStatus(ImmutableList.of("svn: E155007: '/tmp' is not a working copy"));
+    }
+}
@@ -13,7 +13,7 @@ package org.eclipse.che.api.debugger.server;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +57,7 @@ public class DebuggerWebSocketMessenger implements EventSubscriber<DebuggerMessa
             final String channel = String.format(CHANNEL, msg.getDebuggerType());
             bm.setChannel(channel);
             bm.setBody(DtoFactory.getInstance().toJson(asDto(msg.getDebuggerEvent())));
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
         }
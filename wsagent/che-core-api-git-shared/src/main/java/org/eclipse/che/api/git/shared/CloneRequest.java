@@ -35,6 +35,23 @@ public interface CloneRequest extends GitRequest {
     
     CloneRequest withBranchesToFetch(List<String> branchesToFetch);
 
+    /** @return branch to check out after cloning. If <code>null</code> then branch of remote HEAD will be checked out */
+    String getBranch();
+
+    void setBranch(String branch);
+
+    CloneRequest withBranch(String branch);
+
+    /**
+     * @return true if only history of {@link #getBranch() branch} should be fetched, other branches are fetched by the
+     *         next fetch from the remote. Ignored if branch is not set
+     */
+    boolean isSingleBranch();
+
+    void setSingleBranch(boolean singleBranch);
+
+    CloneRequest withSingleBranch(boolean singleBranch);
+
     /** @return work directory for cloning */
     String getWorkingDir();
 
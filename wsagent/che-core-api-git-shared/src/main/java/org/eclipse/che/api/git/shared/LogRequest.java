@@ -35,6 +35,21 @@ public interface LogRequest extends GitRequest {
     
     void setRevisionRangeSince(String revisionRangeSince);
     void setRevisionRangeUntil(String revisionRangeUntil);	
+
+    /** @return number of commits to skip from the beginning of the log, {@code 0} means skip nothing */
+    int getSkip();
+
+    void setSkip(int skip);
+
+    LogRequest withSkip(int skip);
+
+    /** @return maximum number of commits to return, {@code 0} means no limit */
+    int getMaxCount();
+
+    void setMaxCount(int maxCount);
+
+    LogRequest withMaxCount(int maxCount);
+
     // private List<String> fileFilter;
     // private boolean noRenames = true;
     // private int renameLimit;
@@ -69,11 +69,15 @@ public class GitCheckoutHiEventDetector implements HiEventDetector<GitCheckoutEv
 
     private final JsonRpcRequestTransmitter transmitter;
 
+    private final GitProjectAttributesCache attributesCache;
+
     @Inject
     public GitCheckoutHiEventDetector(VirtualFileSystemProvider virtualFileSystemProvider,
-                                      JsonRpcRequestTransmitter transmitter) {
+                                      JsonRpcRequestTransmitter transmitter,
+                                      GitProjectAttributesCache attributesCache) {
         this.virtualFileSystemProvider = virtualFileSystemProvider;
         this.transmitter = transmitter;
+        this.attributesCache = attributesCache;
     }
 
     @Override
@@ -82,13 +86,15 @@ public class GitCheckoutHiEventDetector implements HiEventDetector<GitCheckoutEv
             return empty();
         }
 
-        final Optional<EventTreeNode> headFile = eventTreeNode.getFirstChild()
-                                                              .flatMap(o -> o.getChild(GIT_DIR))
-                                                              .flatMap(o -> o.getChild(HEAD_FILE));
+        final Optional<EventTreeNode> project = eventTreeNode.getFirstChild();
+        final Optional<EventTreeNode> headFile = project.flatMap(o -> o.getChild(GIT_DIR))
+                                                        .flatMap(o -> o.getChild(HEAD_FILE));
         if (headFile.isPresent()) {
             final EventTreeNode file = headFile.get();
 
             if (file.modificationOccurred() && MODIFIED == file.getLastEventType()) {
+                attributesCache.invalidate(project.get().getPath());
+
                 final String fileContent = getFileContent(file);
                 final Type type = getType(fileContent);
                 final String name = getName(fileContent, type);
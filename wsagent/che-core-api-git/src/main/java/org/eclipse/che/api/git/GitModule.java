@@ -38,6 +38,7 @@ public class GitModule extends AbstractModule {
 
         Multibinder<ValueProviderFactory> multiBinder = Multibinder.newSetBinder(binder(), ValueProviderFactory.class);
         multiBinder.addBinding().to(GitValueProviderFactory.class);
+        bind(GitProjectAttributesCache.class);
 
         bind(GitService.class);
         bind(GitExceptionMapper.class);
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.shared.Remote;
+import org.eclipse.che.api.git.shared.RemoteListRequest;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps a snapshot of git attributes (whether the project is a git work tree,
+ * its current branch and remote URLs) per project, so that reading project attributes
+ * does not open a repository and query it for every attribute.
+ * <p>
+ * A snapshot is dropped when the project watcher reports a change inside a {@code .git}
+ * directory (HEAD, refs, packed-refs, config, etc.) of the project or of one of its parents,
+ * or when the project itself is deleted or moved. Checkouts detected by
+ * {@link GitCheckoutHiEventDetector} drop the snapshot as well.
+ *
+ * @see GitValueProviderFactory
+ */
+@Singleton
+public class GitProjectAttributesCache implements EventSubscriber<LoEvent> {
+    private static final Logger LOG = getLogger(GitProjectAttributesCache.class);
+
+    private static final String GIT_DIR_SEGMENT = "/.git";
+
+    private final GitConnectionFactory                  gitConnectionFactory;
+    private final EventService                          eventService;
+    private final ConcurrentMap<String, GitAttributes>  snapshots;
+    /** Incremented on each invalidation, used to reject snapshots which were computed before it. */
+    private final AtomicLong                            modCount;
+
+    @Inject
+    public GitProjectAttributesCache(GitConnectionFactory gitConnectionFactory, EventService eventService) {
+        this.gitConnectionFactory = gitConnectionFactory;
+        this.eventService = eventService;
+        this.snapshots = new ConcurrentHashMap<>();
+        this.modCount = new AtomicLong();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+
+    /**
+     * Returns git attributes of the project, computing them if there is no valid snapshot.
+     *
+     * @param projectPath
+     *         virtual file system path of the project
+     * @param localPath
+     *         absolute path of the project on the local file system
+     * @throws ApiException
+     *         if the repository can not be read
+     */
+    public GitAttributes getAttributes(String projectPath, String localPath) throws ApiException {
+        final GitAttributes cached = snapshots.get(projectPath);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long stamp = modCount.get();
+        final GitAttributes attributes = readAttributes(localPath);
+        synchronized (this) {
+            if (stamp == modCount.get()) {
+                snapshots.put(projectPath, attributes);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Drops the snapshots of the given project and of all projects located under it.
+     *
+     * @param projectPath
+     *         virtual file system path of the project
+     */
+    public synchronized void invalidate(String projectPath) {
+        modCount.incrementAndGet();
+        snapshots.keySet().removeIf(key -> key.equals(projectPath) || key.startsWith(projectPath + '/'));
+    }
+
+    @Override
+    public void onEvent(LoEvent event) {
+        final String path = event.getPath();
+        if (path == null || snapshots.isEmpty()) {
+            return;
+        }
+
+        final int gitDirIdx = path.indexOf(GIT_DIR_SEGMENT + '/');
+        if (gitDirIdx >= 0 || path.endsWith(GIT_DIR_SEGMENT)) {
+            final String repositoryPath = path.substring(0, gitDirIdx >= 0 ? gitDirIdx : path.length() - GIT_DIR_SEGMENT.length());
+            LOG.debug("Git metadata changed in {}, dropping cached attributes", repositoryPath);
+            invalidate(repositoryPath);
+        } else if (snapshots.containsKey(path)) {
+            invalidate(path);
+        }
+    }
+
+    private GitAttributes readAttributes(String localPath) throws ApiException {
+        try (GitConnection gitConnection = gitConnectionFactory.getConnection(localPath)) {
+            if (!gitConnection.isInsideWorkTree()) {
+                return GitAttributes.NOT_GIT;
+            }
+            final List<String> remotes = gitConnection.remoteList(newDto(RemoteListRequest.class))
+                                                      .stream()
+                                                      .map(Remote::getUrl)
+                                                      .collect(toList());
+            return new GitAttributes(true, gitConnection.getCurrentBranch(), remotes);
+        }
+    }
+
+    /** Snapshot of git attributes of a project. */
+    public static class GitAttributes {
+        static final GitAttributes NOT_GIT = new GitAttributes(false, null, Collections.emptyList());
+
+        private final boolean      insideWorkTree;
+        private final String       currentBranch;
+        private final List<String> remoteUrls;
+
+        GitAttributes(boolean insideWorkTree, String currentBranch, List<String> remoteUrls) {
+            this.insideWorkTree = insideWorkTree;
+            this.currentBranch = currentBranch;
+            this.remoteUrls = unmodifiableList(remoteUrls);
+        }
+
+        public boolean isInsideWorkTree() {
+            return insideWorkTree;
+        }
+
+        public String getCurrentBranch() {
+            return currentBranch;
+        }
+
+        public List<String> getRemoteUrls() {
+            return remoteUrls;
+        }
+    }
+}
@@ -125,6 +125,9 @@ public class GitProjectImporter implements ProjectImporter {
             String branchMerge = null;
             boolean keepVcs = true;
             boolean recursiveEnabled = false;
+            // Fetch only history of the branch that is checked out, rest of branches are fetched on demand.
+            // Ignored when a commit or a start point is set.
+            boolean singleBranch = false;
 
             Map<String, String> parameters = storage.getParameters();
             if (parameters != null) {
@@ -139,6 +142,7 @@ public class GitProjectImporter implements ProjectImporter {
                 if (parameters.containsKey("recursive")) {
                     recursiveEnabled = true;
                 }
+                singleBranch = Boolean.parseBoolean(parameters.get("singleBranch"));
                 branchMerge = parameters.get("branchMerge");
                 final String user = storage.getParameters().remove("username");
                 final String pass = storage.getParameters().remove("password");
@@ -157,7 +161,10 @@ public class GitProjectImporter implements ProjectImporter {
                 git.cloneWithSparseCheckout(keepDir, location, branch == null ? "master" : branch);
             } else {
                 if (baseFolder.getChildren().size() == 0) {
-                    cloneRepository(git, "origin", location, dtoFactory, recursiveEnabled);
+                    // the commit or the start point of a new branch may be outside of the branch,
+                    // so all the branches are cloned when any of them is set
+                    final boolean cloneSingleBranch = singleBranch && branch != null && commitId == null && startPoint == null;
+                    cloneRepository(git, "origin", location, cloneSingleBranch ? branch : null, dtoFactory, recursiveEnabled);
                     if (commitId != null) {
                         checkoutCommit(git, commitId, dtoFactory);
                     } else if (fetch != null) {
@@ -212,12 +219,19 @@ public class GitProjectImporter implements ProjectImporter {
         }
     }
 
-    private void cloneRepository(GitConnection git, String remoteName, String url, DtoFactory dtoFactory, boolean recursiveEnabled)
-            throws ServerException, UnauthorizedException, URISyntaxException {
+    private void cloneRepository(GitConnection git,
+                                 String remoteName,
+                                 String url,
+                                 String singleBranch,
+                                 DtoFactory dtoFactory,
+                                 boolean recursiveEnabled) throws ServerException, UnauthorizedException, URISyntaxException {
         final CloneRequest request = dtoFactory.createDto(CloneRequest.class)
                                                .withRemoteName(remoteName)
                                                .withRemoteUri(url)
                                                .withRecursive(recursiveEnabled);
+        if (singleBranch != null) {
+            request.withBranch(singleBranch).withSingleBranch(true);
+        }
         git.clone(request);
     }
 
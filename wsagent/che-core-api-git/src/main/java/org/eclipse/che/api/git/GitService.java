@@ -87,6 +87,9 @@ public class GitService {
     @Inject
     private ProjectRegistry projectRegistry;
 
+    @Inject
+    private GitProjectAttributesCache attributesCache;
+
     @QueryParam("projectPath")
     private String projectPath;
 
@@ -154,11 +157,13 @@ public class GitService {
     public RepoInfo clone(final CloneRequest request) throws URISyntaxException, ApiException {
         long start = System.currentTimeMillis();
         // On-the-fly resolving of repository's working directory.
-        request.setWorkingDir(getAbsoluteProjectPath(request.getWorkingDir()));
+        final String clonedProjectPath = request.getWorkingDir();
+        request.setWorkingDir(getAbsoluteProjectPath(clonedProjectPath));
         LOG.info("Repository clone from '" + request.getRemoteUri() + "' to '" + request.getWorkingDir() + "' started");
         GitConnection gitConnection = getGitConnection();
         try {
             gitConnection.clone(request);
+            invalidateAttributes(clonedProjectPath);
             return DtoFactory.getInstance().createDto(RepoInfo.class).withRemoteUri(request.getRemoteUri());
         } finally {
             long end = System.currentTimeMillis();
@@ -225,6 +230,7 @@ public class GitService {
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.init(request);
         }
+        invalidateAttributes(projectPath);
         projectRegistry.setProjectType(projectPath, GitProjectType.TYPE_ID, true);
     }
 
@@ -292,6 +298,7 @@ public class GitService {
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.remoteAdd(request);
         }
+        invalidateAttributes(projectPath);
     }
 
     @Path("remote-delete/{name}")
@@ -300,6 +307,7 @@ public class GitService {
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.remoteDelete(name);
         }
+        invalidateAttributes(projectPath);
     }
 
     @Path("remote-list")
@@ -320,6 +328,7 @@ public class GitService {
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.remoteUpdate(request);
         }
+        invalidateAttributes(projectPath);
     }
 
     @Path("reset")
@@ -424,9 +433,18 @@ public class GitService {
         final RegisteredProject project = projectRegistry.getProject(projectPath);
         final FolderEntry gitFolder = project.getBaseFolder().getChildFolder(".git");
         gitFolder.getVirtualFile().delete();
+        invalidateAttributes(projectPath);
         projectRegistry.removeProjectType(projectPath, GitProjectType.TYPE_ID);
     }
 
+    /**
+     * Drops cached git attributes of the project, operations which change the repository
+     * configuration do not touch HEAD, so they are not noticed by {@link GitCheckoutHiEventDetector}.
+     */
+    private void invalidateAttributes(String wsRelatedProjectPath) throws ApiException {
+        attributesCache.invalidate(projectRegistry.getProject(wsRelatedProjectPath).getPath());
+    }
+
     private String getAbsoluteProjectPath(String wsRelatedProjectPath) throws ApiException {
         final RegisteredProject project = projectRegistry.getProject(wsRelatedProjectPath);
         return project.getBaseFolder().getVirtualFile().toIoFile().getAbsolutePath();
@@ -13,8 +13,7 @@ package org.eclipse.che.api.git;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ApiException;
-import org.eclipse.che.api.git.shared.Remote;
-import org.eclipse.che.api.git.shared.RemoteListRequest;
+import org.eclipse.che.api.git.GitProjectAttributesCache.GitAttributes;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
@@ -24,12 +23,10 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import javax.inject.Singleton;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
 import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
-import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * @author Roman Nikitenko
@@ -38,7 +35,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 public class GitValueProviderFactory implements ValueProviderFactory {
 
     @Inject
-    private GitConnectionFactory gitConnectionFactory;
+    private GitProjectAttributesCache attributesCache;
 
     @Override
     public ValueProvider newInstance(final FolderEntry folder) {
@@ -48,9 +45,11 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                 if (folder == null) {
                     return Collections.emptyList();
                 }
-                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                try {
+                    final GitAttributes attributes = attributesCache.getAttributes(folder.getPath().toString(),
+                                                                                   resolveLocalPath(folder));
                     //check whether the folder belongs to git repository
-                    if (!gitConnection.isInsideWorkTree()) {
+                    if (!attributes.isInsideWorkTree()) {
                         return Collections.emptyList();
                     }
 
@@ -58,12 +57,9 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                         case VCS_PROVIDER_NAME:
                             return Collections.singletonList("git");
                         case GIT_CURRENT_BRANCH_NAME:
-                            return Collections.singletonList(gitConnection.getCurrentBranch());
+                            return Collections.singletonList(attributes.getCurrentBranch());
                         case GIT_REPOSITORY_REMOTES:
-                            return gitConnection.remoteList(newDto(RemoteListRequest.class))
-                                                .stream()
-                                                .map(Remote::getUrl)
-                                                .collect(Collectors.toList());
+                            return attributes.getRemoteUrls();
                         default:
                             return Collections.emptyList();
                     }
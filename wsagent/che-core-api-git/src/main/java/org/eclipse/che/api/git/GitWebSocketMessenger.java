@@ -14,8 +14,8 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.git.shared.GitCheckoutEvent;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.eclipse.che.inject.StringArrayConverter;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +57,7 @@ public class GitWebSocketMessenger implements EventSubscriber<GitCheckoutEvent>
             final String channel = String.format(CHANNEL, event.getWorkspaceId(), event.getProjectName());
             bm.setChannel(channel);
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
         }
@@ -44,13 +44,15 @@ public class GitCheckoutHiEventDetectorTest extends HiVfsEventDetectorTestHelper
     private JsonRpcRequestTransmitter transmitter;
     @Mock
     private VirtualFileSystemProvider virtualFileSystemProvider;
+    @Mock
+    private GitProjectAttributesCache attributesCache;
 
     private GitCheckoutHiEventDetector gitCheckoutHiVfsEventDetector;
 
     @Before
     public void setUp() throws Exception {
         super.setUp();
-        gitCheckoutHiVfsEventDetector = new GitCheckoutHiEventDetector(virtualFileSystemProvider, transmitter);
+        gitCheckoutHiVfsEventDetector = new GitCheckoutHiEventDetector(virtualFileSystemProvider, transmitter, attributesCache);
     }
 
     @Test
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.git.GitProjectAttributesCache.GitAttributes;
+import org.eclipse.che.api.git.shared.Remote;
+import org.eclipse.che.api.git.shared.RemoteListRequest;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link GitProjectAttributesCache}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GitProjectAttributesCacheTest {
+    private static final String PROJECT_PATH = "/project";
+    private static final String LOCAL_PATH   = "/projects/project";
+
+    @Mock
+    private GitConnectionFactory gitConnectionFactory;
+    @Mock
+    private GitConnection        gitConnection;
+    @Mock
+    private EventService         eventService;
+
+    private GitProjectAttributesCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        final Remote remote = mock(Remote.class);
+        when(remote.getUrl()).thenReturn("https://github.com/eclipse/che.git");
+        when(gitConnectionFactory.getConnection(LOCAL_PATH)).thenReturn(gitConnection);
+        when(gitConnection.isInsideWorkTree()).thenReturn(true);
+        when(gitConnection.getCurrentBranch()).thenReturn("master");
+        when(gitConnection.remoteList(any(RemoteListRequest.class))).thenReturn(singletonList(remote));
+
+        cache = new GitProjectAttributesCache(gitConnectionFactory, eventService);
+    }
+
+    @Test
+    public void shouldReadRepositoryOnlyOnce() throws Exception {
+        final GitAttributes first = cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+        final GitAttributes second = cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+
+        assertTrue(first.isInsideWorkTree());
+        assertEquals("master", first.getCurrentBranch());
+        assertEquals(singletonList("https://github.com/eclipse/che.git"), first.getRemoteUrls());
+        assertEquals(first, second);
+        verify(gitConnectionFactory, times(1)).getConnection(LOCAL_PATH);
+        verify(gitConnection).close();
+    }
+
+    @Test
+    public void shouldCacheAbsenceOfRepository() throws Exception {
+        when(gitConnection.isInsideWorkTree()).thenReturn(false);
+
+        assertFalse(cache.getAttributes(PROJECT_PATH, LOCAL_PATH).isInsideWorkTree());
+        assertFalse(cache.getAttributes(PROJECT_PATH, LOCAL_PATH).isInsideWorkTree());
+
+        verify(gitConnectionFactory, times(1)).getConnection(LOCAL_PATH);
+    }
+
+    @Test
+    public void shouldNotInvalidateOnWorkingTreeChanges() throws Exception {
+        cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+
+        cache.onEvent(event(PROJECT_PATH + "/src/Main.java"));
+        cache.onEvent(event(PROJECT_PATH + "/.gitignore"));
+        cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+
+        verify(gitConnectionFactory, times(1)).getConnection(LOCAL_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateOnRefsChanges() throws Exception {
+        cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+        when(gitConnection.getCurrentBranch()).thenReturn("develop");
+
+        cache.onEvent(event(PROJECT_PATH + "/.git/refs/heads/develop"));
+
+        assertEquals("develop", cache.getAttributes(PROJECT_PATH, LOCAL_PATH).getCurrentBranch());
+        verify(gitConnectionFactory, times(2)).getConnection(LOCAL_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateNestedProjectsOnParentRepositoryChanges() throws Exception {
+        final String moduleLocalPath = LOCAL_PATH + "/module";
+        when(gitConnectionFactory.getConnection(moduleLocalPath)).thenReturn(gitConnection);
+        cache.getAttributes(PROJECT_PATH + "/module", moduleLocalPath);
+
+        cache.onEvent(event(PROJECT_PATH + "/.git/config"));
+        cache.getAttributes(PROJECT_PATH + "/module", moduleLocalPath);
+
+        verify(gitConnectionFactory, times(2)).getConnection(moduleLocalPath);
+    }
+
+    @Test
+    public void shouldInvalidateOnRepositoryCreation() throws Exception {
+        when(gitConnection.isInsideWorkTree()).thenReturn(false);
+        cache.getAttributes(PROJECT_PATH, LOCAL_PATH);
+        when(gitConnection.isInsideWorkTree()).thenReturn(true);
+
+        cache.onEvent(event(PROJECT_PATH + "/.git"));
+
+        assertTrue(cache.getAttributes(PROJECT_PATH, LOCAL_PATH).isInsideWorkTree());
+    }
+
+    private static LoEvent event(String path) {
+        return LoEvent.newInstance()
+                      .withPath(path)
+                      .withName(path.substring(path.lastIndexOf('/') + 1))
+                      .withEventType(MODIFIED)
+                      .withItemType(LoEvent.ItemType.FILE)
+                      .withTime(System.currentTimeMillis());
+    }
+}
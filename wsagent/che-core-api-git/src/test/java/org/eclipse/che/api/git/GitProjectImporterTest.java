@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.model.project.SourceStorage;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.BranchListRequest;
+import org.eclipse.che.api.git.shared.CheckoutRequest;
+import org.eclipse.che.api.git.shared.CloneRequest;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link GitProjectImporter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GitProjectImporterTest {
+
+    private static final String LOCATION = "https://github.com/eclipse/che.git";
+
+    @Mock
+    private GitConnectionFactory connectionFactory;
+    @Mock
+    private GitConnection        connection;
+    @Mock
+    private EventService         eventService;
+    @Mock
+    private FolderEntry          baseFolder;
+    @Mock
+    private VirtualFile          virtualFile;
+    @Mock
+    private SourceStorage        storage;
+
+    private Map<String, String> parameters;
+    private GitProjectImporter  importer;
+
+    @Before
+    public void setUp() throws Exception {
+        parameters = new HashMap<>();
+        when(storage.getLocation()).thenReturn(LOCATION);
+        when(storage.getParameters()).thenReturn(parameters);
+        when(baseFolder.getName()).thenReturn("project");
+        when(baseFolder.getVirtualFile()).thenReturn(virtualFile);
+        when(baseFolder.getChildren()).thenReturn(emptyList());
+        when(virtualFile.toIoFile()).thenReturn(new File("/projects/project"));
+        when(connectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(connection);
+        when(connection.branchList(any(BranchListRequest.class))).thenReturn(emptyList());
+        importer = new GitProjectImporter(connectionFactory, eventService);
+    }
+
+    @Test
+    public void shouldCloneSingleBranch() throws Exception {
+        parameters.put("branch", "feature");
+        parameters.put("singleBranch", "true");
+
+        importer.importSources(baseFolder, storage);
+
+        final CloneRequest clone = captureClone();
+        assertEquals("feature", clone.getBranch());
+        assertTrue(clone.isSingleBranch());
+    }
+
+    @Test
+    public void shouldCloneAllBranchesWhenCommitIsSetForSingleBranchImport() throws Exception {
+        parameters.put("branch", "feature");
+        parameters.put("commitId", "c3a6f12");
+        parameters.put("singleBranch", "true");
+
+        importer.importSources(baseFolder, storage);
+
+        final CloneRequest clone = captureClone();
+        assertNull(clone.getBranch());
+        assertFalse(clone.isSingleBranch());
+        verify(connection).checkout(any(CheckoutRequest.class));
+    }
+
+    @Test
+    public void shouldCloneAllBranchesWhenStartPointIsSetForSingleBranchImport() throws Exception {
+        parameters.put("branch", "new-feature");
+        parameters.put("startPoint", "master");
+        parameters.put("singleBranch", "true");
+
+        importer.importSources(baseFolder, storage);
+
+        final CloneRequest clone = captureClone();
+        assertNull(clone.getBranch());
+        assertFalse(clone.isSingleBranch());
+        final ArgumentCaptor<CheckoutRequest> checkout = ArgumentCaptor.forClass(CheckoutRequest.class);
+        verify(connection).checkout(checkout.capture());
+        assertEquals("new-feature", checkout.getValue().getName());
+        assertEquals("master", checkout.getValue().getStartPoint());
+    }
+
+    private CloneRequest captureClone() throws Exception {
+        final ArgumentCaptor<CloneRequest> clone = ArgumentCaptor.forClass(CloneRequest.class);
+        verify(connection).clone(clone.capture());
+        return clone.getValue();
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.CloneRequest;
+import org.eclipse.che.api.git.shared.InitRequest;
+import org.eclipse.che.api.git.shared.RemoteAddRequest;
+import org.eclipse.che.api.git.shared.RemoteUpdateRequest;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.api.project.server.RegisteredProject;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that {@link GitService} drops cached git attributes of the project after the operations
+ * which change repository configuration without changing HEAD.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GitServiceTest {
+
+    private static final String PROJECT_PATH = "/project";
+
+    @Mock
+    private GitConnectionFactory      gitConnectionFactory;
+    @Mock
+    private GitConnection             gitConnection;
+    @Mock
+    private ProjectRegistry           projectRegistry;
+    @Mock
+    private RegisteredProject         project;
+    @Mock
+    private FolderEntry               baseFolder;
+    @Mock
+    private VirtualFile               baseVirtualFile;
+    @Mock
+    private GitProjectAttributesCache attributesCache;
+
+    @InjectMocks
+    private GitService gitService;
+
+    @Before
+    public void setUp() throws Exception {
+        final Field projectPathField = GitService.class.getDeclaredField("projectPath");
+        projectPathField.setAccessible(true);
+        projectPathField.set(gitService, PROJECT_PATH);
+
+        when(projectRegistry.getProject(PROJECT_PATH)).thenReturn(project);
+        when(project.getPath()).thenReturn(PROJECT_PATH);
+        when(project.getBaseFolder()).thenReturn(baseFolder);
+        when(baseFolder.getVirtualFile()).thenReturn(baseVirtualFile);
+        when(baseVirtualFile.toIoFile()).thenReturn(new File("/projects/project"));
+        when(gitConnectionFactory.getConnection(anyString())).thenReturn(gitConnection);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterInit() throws Exception {
+        gitService.init(newDto(InitRequest.class));
+
+        verify(gitConnection).init(any(InitRequest.class));
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterClone() throws Exception {
+        gitService.clone(newDto(CloneRequest.class).withWorkingDir(PROJECT_PATH).withRemoteUri("https://host/repo.git"));
+
+        verify(gitConnection).clone(any(CloneRequest.class));
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterRemoteAdd() throws Exception {
+        gitService.remoteAdd(newDto(RemoteAddRequest.class).withName("origin").withUrl("https://host/repo.git"));
+
+        verify(gitConnection).remoteAdd(any(RemoteAddRequest.class));
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterRemoteDelete() throws Exception {
+        gitService.remoteDelete("origin");
+
+        verify(gitConnection).remoteDelete("origin");
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterRemoteUpdate() throws Exception {
+        final RemoteUpdateRequest request = newDto(RemoteUpdateRequest.class);
+        request.setName("origin");
+
+        gitService.remoteUpdate(request);
+
+        verify(gitConnection).remoteUpdate(any(RemoteUpdateRequest.class));
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldInvalidateAttributesAfterRepositoryDeletion() throws Exception {
+        final FolderEntry gitFolder = mock(FolderEntry.class);
+        final VirtualFile gitVirtualFile = mock(VirtualFile.class);
+        when(baseFolder.getChildFolder(".git")).thenReturn(gitFolder);
+        when(gitFolder.getVirtualFile()).thenReturn(gitVirtualFile);
+
+        gitService.deleteRepository(null);
+
+        verify(gitVirtualFile).delete();
+        verify(attributesCache).invalidate(PROJECT_PATH);
+    }
+
+    @Test
+    public void shouldNotInvalidateAttributesWhenOperationFails() throws Exception {
+        doThrow(new GitException("failed")).when(gitConnection).remoteDelete("origin");
+
+        try {
+            gitService.remoteDelete("origin");
+        } catch (GitException ignored) {
+        }
+
+        verify(attributesCache, never()).invalidate(anyString());
+    }
+}
@@ -18,7 +18,15 @@ import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitConnectionFactory;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.AddRequest;
+import org.eclipse.che.api.git.shared.Branch;
+import org.eclipse.che.api.git.shared.BranchListRequest;
+import org.eclipse.che.api.git.shared.CheckoutRequest;
 import org.eclipse.che.api.git.shared.CloneRequest;
+import org.eclipse.che.api.git.shared.CommitRequest;
+import org.eclipse.che.api.git.shared.FetchRequest;
+import org.eclipse.che.api.git.shared.LogRequest;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -26,8 +34,15 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.git.shared.BranchListRequest.LIST_REMOTE;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.git.impl.GitTestUtil.CONTENT;
+import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToGitRepositoryWithContent;
 import static org.mockito.Matchers.anyString;
@@ -36,6 +51,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -92,4 +108,57 @@ public class CloneTest {
         //then
         verify(lineConsumer, atLeastOnce()).writeLine(anyString());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testSingleBranchClone(GitConnectionFactory connectionFactory)
+            throws ServerException, IOException, UnauthorizedException, URISyntaxException {
+        //given
+        GitConnection remoteConnection = connectToGitRepositoryWithContent(connectionFactory, remoteRepo);
+        addBranchWithFile(remoteConnection, "feature", "feature.txt");
+        GitConnection localConnection = connectionFactory.getConnection(localRepo.getAbsolutePath());
+
+        //when
+        localConnection.clone(newDto(CloneRequest.class).withRemoteUri(remoteConnection.getWorkingDir().getAbsolutePath())
+                                                        .withBranch("feature")
+                                                        .withSingleBranch(true));
+
+        //then
+        assertEquals(singletonList("origin/feature"), getRemoteBranches(localConnection));
+        assertTrue(new File(localRepo, "feature.txt").exists());
+        assertEquals(2, localConnection.log(newDto(LogRequest.class)).getCommits().size());
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testFetchBranchesSkippedBySingleBranchClone(GitConnectionFactory connectionFactory)
+            throws ServerException, IOException, UnauthorizedException, URISyntaxException {
+        //given
+        GitConnection remoteConnection = connectToGitRepositoryWithContent(connectionFactory, remoteRepo);
+        addBranchWithFile(remoteConnection, "feature", "feature.txt");
+        GitConnection localConnection = connectionFactory.getConnection(localRepo.getAbsolutePath());
+        localConnection.clone(newDto(CloneRequest.class).withRemoteUri(remoteConnection.getWorkingDir().getAbsolutePath())
+                                                        .withBranch("feature")
+                                                        .withSingleBranch(true));
+
+        //when
+        localConnection.fetch(newDto(FetchRequest.class).withRemote("origin"));
+
+        //then
+        assertEquals(asList("origin/feature", "origin/master"), getRemoteBranches(localConnection));
+    }
+
+    private void addBranchWithFile(GitConnection connection, String branch, String file) throws GitException, IOException {
+        connection.checkout(newDto(CheckoutRequest.class).withCreateNew(true).withName(branch));
+        addFile(connection, file, CONTENT);
+        connection.add(newDto(AddRequest.class).withFilepattern(singletonList(file)));
+        connection.commit(newDto(CommitRequest.class).withMessage("Add " + file));
+        connection.checkout(newDto(CheckoutRequest.class).withName("master"));
+    }
+
+    private List<String> getRemoteBranches(GitConnection connection) throws GitException {
+        return connection.branchList(newDto(BranchListRequest.class).withListMode(LIST_REMOTE))
+                         .stream()
+                         .map(Branch::getDisplayName)
+                         .sorted()
+                         .collect(toList());
+    }
 }
@@ -67,4 +67,27 @@ public class GetCommitersTest {
         assertEquals(committers.size(), 1);
         assertEquals(committers.get(0), getTestGitUser());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testGetCommittersAfterNewCommits(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+
+        //given
+        addFile(connection, "newfile", "newfile content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("test commit"));
+        connection.getCommiters();
+        addFile(connection, "newfile", "other content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("second commit"));
+
+        //when
+        List<GitUser> committers = connection.getCommiters();
+        List<GitUser> committersAgain = connection.getCommiters();
+
+        //then
+        assertEquals(committers.size(), 1);
+        assertEquals(committers.get(0), getTestGitUser());
+        assertEquals(committersAgain, committers);
+    }
 }
@@ -114,4 +114,30 @@ public class LogTest {
         assertEquals(1, newFileCommitCount);
         assertEquals(4, allFilesCommitCount);
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogPage(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 5; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+
+        //when
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+        List<Revision> secondPage = connection.log(newDto(LogRequest.class).withSkip(2).withMaxCount(2)).getCommits();
+        List<Revision> lastPage = connection.log(newDto(LogRequest.class).withSkip(4).withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(2, firstPage.size());
+        assertEquals("Commit 5", firstPage.get(0).getMessage());
+        assertEquals("Commit 4", firstPage.get(1).getMessage());
+        assertEquals(2, secondPage.size());
+        assertEquals("Commit 3", secondPage.get(0).getMessage());
+        assertEquals("Commit 2", secondPage.get(1).getMessage());
+        assertEquals(1, lastPage.size());
+        assertEquals("Commit 1", lastPage.get(0).getMessage());
+    }
 }
@@ -15,6 +15,7 @@ import com.google.inject.AbstractModule;
 import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsMessenger;
 import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.service.LanguageRegistryService;
+import org.eclipse.che.api.languageserver.service.PendingRequests;
 import org.eclipse.che.api.languageserver.service.TextDocumentService;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.api.languageserver.messager.InitializeEventMessenger;
@@ -33,6 +34,7 @@ public class LanguageServerModule extends AbstractModule {
 
         bind(LanguageRegistryService.class);
         bind(TextDocumentService.class);
+        bind(PendingRequests.class);
         bind(WorkspaceService.class);
         bind(PublishDiagnosticsParamsMessenger.class);
         bind(InitializeEventMessenger.class);
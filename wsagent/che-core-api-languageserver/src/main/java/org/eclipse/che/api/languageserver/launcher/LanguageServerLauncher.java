@@ -31,4 +31,13 @@ public interface LanguageServerLauncher {
     LanguageDescription getLanguageDescription();
 
     boolean isAbleToLaunch();
+
+    /**
+     * Whether a single server is able to serve all projects of the workspace.
+     * Such server is launched once with the projects root folder as its root path,
+     * otherwise a server is launched per project.
+     */
+    default boolean isMultiRoot() {
+        return false;
+    }
 }
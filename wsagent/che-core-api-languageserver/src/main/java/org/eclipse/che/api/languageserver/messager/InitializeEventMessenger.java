@@ -21,7 +21,7 @@ import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.registry.ServerInitializerObserver;
 import org.eclipse.che.api.languageserver.shared.event.LanguageServerInitializeEventDto;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +41,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Singleton
 public class InitializeEventMessenger implements ServerInitializerObserver {
     private final static Logger LOG = LoggerFactory.getLogger(InitializeEventMessenger.class);
+    private final static Gson   GSON = new Gson();
 
     private ServerInitializer initializer;
 
@@ -77,8 +78,8 @@ public class InitializeEventMessenger implements ServerInitializerObserver {
         try {
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("languageserver");
-            bm.setBody(new Gson().toJson(message));
-            WSConnectionContext.sendMessage(bm);
+            bm.setBody(GSON.toJson(message));
+            ChannelBroadcaster.sendMessage(bm);
         } catch (EncodeException | IOException e) {
             LOG.error(e.getMessage(), e);
         }
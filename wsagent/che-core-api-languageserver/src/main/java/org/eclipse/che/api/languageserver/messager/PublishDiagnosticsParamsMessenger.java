@@ -13,11 +13,12 @@ package org.eclipse.che.api.languageserver.messager;
 import io.typefox.lsapi.PublishDiagnosticsParams;
 import io.typefox.lsapi.impl.PublishDiagnosticsParamsImpl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,33 +26,82 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.EncodeException;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Sends diagnostics published by language servers to IDE clients.
+ * <p>
+ * Diagnostics of a document are sent at most once per the configured window, when a server publishes
+ * several sets during the window (e.g. during a build) only the last one is sent. A set which is equal
+ * to the one sent last for the same document is not sent again.
+ * <p>
+ * Diagnostics are sent to the channel of the project containing the document, see {@link #getChannel(String)},
+ * so only clients which have opened documents of the project receive them.
+ */
 @Singleton
 public class PublishDiagnosticsParamsMessenger implements EventSubscriber<PublishDiagnosticsParams> {
     private final static Logger LOG = LoggerFactory.getLogger(PublishDiagnosticsParamsMessenger.class);
 
-    private final EventService eventService;
+    public static final String CHANNEL_PREFIX = "languageserver/textDocument/publishDiagnostics/";
+
+    private static final String PROJECTS_URI_PREFIX = "file:///projects";
+    private static final Gson   GSON                = new Gson();
+
+    private final EventService             eventService;
+    private final long                     coalesceWindowMs;
+    private final ScheduledExecutorService executor;
+    /** Latest diagnostics which are not sent yet, by document URI. */
+    private final ConcurrentMap<String, PublishDiagnosticsParams> pending;
+    /** Serialized non-empty diagnostics sent last, by URI of the document which is not closed. */
+    private final ConcurrentMap<String, String>                   sent;
 
     @Inject
-    public PublishDiagnosticsParamsMessenger(EventService eventService) {
+    public PublishDiagnosticsParamsMessenger(EventService eventService,
+                                             @Named("languageserver.diagnostics.coalesce_window_ms") long coalesceWindowMs) {
         this.eventService = eventService;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LanguageServerDiagnostics")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        this.pending = new ConcurrentHashMap<>();
+        this.sent = new ConcurrentHashMap<>();
     }
 
     public void onEvent(final PublishDiagnosticsParams event) {
-        try {
-            if (event instanceof PublishDiagnosticsParamsImpl && event.getUri().startsWith("file:///projects")) {
-                ((PublishDiagnosticsParamsImpl)event).setUri(event.getUri().substring(16));
-            }
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            bm.setChannel("languageserver/textDocument/publishDiagnostics");
-            bm.setBody(new Gson().toJson(event));
-            WSConnectionContext.sendMessage(bm);
-        } catch (EncodeException | IOException e) {
-            LOG.error(e.getMessage(), e);
+        final String uri = removePrefixUri(event.getUri());
+        if (event instanceof PublishDiagnosticsParamsImpl) {
+            ((PublishDiagnosticsParamsImpl)event).setUri(uri);
         }
+        if (pending.put(uri, event) == null) {
+            executor.schedule(() -> flush(uri), coalesceWindowMs, MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forgets diagnostics sent for the document, so that the next diagnostics of it are sent
+     * even if they are equal to the last sent ones. Should be called when a document is opened or closed.
+     *
+     * @param uri
+     *         URI of the document
+     */
+    public void forget(String uri) {
+        sent.remove(removePrefixUri(uri));
+    }
+
+    /** Returns the channel diagnostics of the document are sent to. */
+    public static String getChannel(String uri) {
+        final int start = uri.startsWith("/") ? 1 : 0;
+        final int end = uri.indexOf('/', start);
+        return CHANNEL_PREFIX + (end < 0 ? uri.substring(start) : uri.substring(start, end));
     }
 
     @PostConstruct
@@ -62,5 +112,35 @@ public class PublishDiagnosticsParamsMessenger implements EventSubscriber<Publis
     @PreDestroy
     public void unsubscribe() {
         eventService.unsubscribe(this);
+        executor.shutdownNow();
+    }
+
+    protected void send(final ChannelBroadcastMessage message) {
+        try {
+            ChannelBroadcaster.sendMessage(message);
+        } catch (EncodeException | IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    void flush(String uri) {
+        final PublishDiagnosticsParams params = pending.remove(uri);
+        if (params == null) {
+            return;
+        }
+        final String body = GSON.toJson(params);
+        // documents without diagnostics are not remembered, so only documents with problems are held
+        final String last = params.getDiagnostics().isEmpty() ? sent.remove(uri) : sent.put(uri, body);
+        if (body.equals(last)) {
+            return;
+        }
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(getChannel(uri));
+        bm.setBody(body);
+        send(bm);
+    }
+
+    private static String removePrefixUri(String uri) {
+        return uri.startsWith(PROJECTS_URI_PREFIX) ? uri.substring(PROJECTS_URI_PREFIX.length()) : uri;
     }
 }
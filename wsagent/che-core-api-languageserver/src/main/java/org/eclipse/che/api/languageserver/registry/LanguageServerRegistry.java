@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import io.typefox.lsapi.DidChangeTextDocumentParams;
+import io.typefox.lsapi.TextDocumentItem;
 import io.typefox.lsapi.services.LanguageServer;
 
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
@@ -19,6 +21,7 @@ import org.eclipse.che.commons.annotation.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Anatoliy Bazko
@@ -36,4 +39,28 @@ public interface LanguageServerRegistry {
     List<LanguageDescription> getSupportedLanguages();
 
     Map<ProjectExtensionKey, LanguageServerDescription> getInitializedLanguages();
+
+    /**
+     * Keeps track of the request sent to the language server, the server is not shut down until the request is completed.
+     *
+     * @return the same request
+     */
+    <T> CompletableFuture<T> track(LanguageServer server, CompletableFuture<T> request);
+
+    /**
+     * Remembers the document opened by a client, language servers started later are told that it is open.
+     * Must be called after the document was sent to the server found for it.
+     */
+    void documentOpened(TextDocumentItem document);
+
+    /**
+     * Applies the changes to the remembered document.
+     * Must be called after the changes were sent to the server found for the document.
+     */
+    void documentChanged(DidChangeTextDocumentParams change);
+
+    /**
+     * Forgets the document closed by a client.
+     */
+    void documentClosed(String uri);
 }
@@ -10,39 +10,82 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import io.typefox.lsapi.DidChangeTextDocumentParams;
 import io.typefox.lsapi.ServerCapabilities;
+import io.typefox.lsapi.TextDocumentItem;
 import io.typefox.lsapi.services.LanguageServer;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidOpenTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentItemDTO;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.ProjectUpdatedEvent;
 import org.eclipse.che.api.project.server.VirtualFileEntry;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
 import static org.eclipse.che.api.languageserver.shared.ProjectExtensionKey.createProjectKey;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+/**
+ * Starts language servers on demand and dispatches files to them.
+ * <p>
+ * A server is started per project, or a single server is started for all projects when its launcher
+ * {@link LanguageServerLauncher#isMultiRoot() supports multiple roots}. Servers are started in background,
+ * only requests for the file of the starting server wait for it, servers of other projects and languages
+ * are not blocked.
+ * <p>
+ * The number of live servers per launcher is limited, when a new server is needed the least recently used one
+ * is shut down. Servers which are not used during the configured idle timeout are shut down as well.
+ * Servers with {@link #track(LanguageServer, CompletableFuture) requests in progress} are never shut down.
+ * A server which was shut down is started again by the next request to it, documents which are open
+ * at that moment are opened in the new server before any request is sent to it.
+ */
 @Singleton
 public class LanguageServerRegistryImpl implements LanguageServerRegistry, ServerInitializerObserver {
+    private static final Logger LOG = LoggerFactory.getLogger(LanguageServerRegistryImpl.class);
+
     public final static String PROJECT_FOLDER_PATH = "/projects";
 
+    /** Number of folders after which resolved project paths are forgotten. */
+    private static final int MAX_RESOLVED_FOLDERS = 10_000;
+
     /**
      * Available {@link LanguageServerLauncher} by extension.
      */
@@ -53,17 +96,62 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
      */
     private final ConcurrentHashMap<ProjectExtensionKey, LanguageServer> projectToServer;
 
+    /**
+     * Started or starting servers of each launcher by root path, a launcher which supports multiple roots
+     * has a single server keyed by {@link #PROJECT_FOLDER_PATH}.
+     */
+    private final ConcurrentHashMap<LanguageServerLauncher, ConcurrentHashMap<String, ManagedServer>> launcherToServers;
+
+    /**
+     * Started servers by the server instance.
+     */
+    private final ConcurrentHashMap<LanguageServer, ManagedServer> serverToManaged;
+
+    /**
+     * Project paths by path of folders located in them.
+     */
+    private final ConcurrentHashMap<String, String> folderToProject;
+
+    private final OpenDocuments openDocuments;
+
     private final Provider<ProjectManager> projectManagerProvider;
     private final ServerInitializer        initializer;
+    private final EventService             eventService;
+    private final int                      maxServersPerLauncher;
+    private final long                     idleTimeoutMs;
+    private final ExecutorService          launchExecutor;
+
+    private final EventSubscriber<ProjectCreatedEvent> projectCreatedSubscriber;
+    private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber;
+    private final EventSubscriber<ProjectUpdatedEvent> projectUpdatedSubscriber;
 
     @Inject
     public LanguageServerRegistryImpl(Set<LanguageServerLauncher> languageServerLaunchers,
                                       Provider<ProjectManager> projectManagerProvider,
-                                      ServerInitializer initializer) {
+                                      ServerInitializer initializer,
+                                      EventService eventService,
+                                      @Named("languageserver.max_servers_per_language") int maxServersPerLauncher,
+                                      @Named("languageserver.idle_timeout_sec") long idleTimeoutSec) {
         this.projectManagerProvider = projectManagerProvider;
         this.initializer = initializer;
+        this.eventService = eventService;
+        this.maxServersPerLauncher = maxServersPerLauncher;
+        this.idleTimeoutMs = TimeUnit.SECONDS.toMillis(idleTimeoutSec);
         this.extensionToLauncher = new ConcurrentHashMap<>();
         this.projectToServer = new ConcurrentHashMap<>();
+        this.launcherToServers = new ConcurrentHashMap<>();
+        this.serverToManaged = new ConcurrentHashMap<>();
+        this.folderToProject = new ConcurrentHashMap<>();
+        this.openDocuments = new OpenDocuments();
+        this.launchExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("LanguageServerLauncher-%d")
+                                                                                       .setDaemon(true)
+                                                                                       .build());
+        this.projectCreatedSubscriber = event -> folderToProject.clear();
+        this.projectDeletedSubscriber = event -> {
+            folderToProject.clear();
+            forgetProject(PROJECT_FOLDER_PATH + event.getProjectPath());
+        };
+        this.projectUpdatedSubscriber = event -> folderToProject.clear();
         this.initializer.addObserver(this);
 
         for (LanguageServerLauncher launcher : languageServerLaunchers) {
@@ -74,35 +162,85 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         }
     }
 
+    @PostConstruct
+    void subscribe() {
+        eventService.subscribe(projectCreatedSubscriber, ProjectCreatedEvent.class);
+        eventService.subscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+        eventService.subscribe(projectUpdatedSubscriber, ProjectUpdatedEvent.class);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        eventService.unsubscribe(projectCreatedSubscriber);
+        eventService.unsubscribe(projectDeletedSubscriber);
+        eventService.unsubscribe(projectUpdatedSubscriber);
+        launchExecutor.shutdownNow();
+    }
+
     @Override
     public LanguageServer findServer(String fileUri) throws LanguageServerException {
         String path = URI.create(fileUri).getPath();
 
         String extension = getFileExtension(path);
-        String projectPath = extractProjectPath(path);
+        String projectPath = resolveProjectPath(path);
 
         return findServer(extension, projectPath);
     }
 
     @Nullable
     protected LanguageServer findServer(String extension, String projectPath) throws LanguageServerException {
-        ProjectExtensionKey projectKey = createProjectKey(projectPath, extension);
-
-        for (LanguageServerLauncher launcher : extensionToLauncher.get(extension)) {
-            if (!projectToServer.containsKey(projectKey)) {
-                synchronized (launcher) {
-                    if (!projectToServer.containsKey(projectKey)) {
-                        LanguageServer server = initializer.initialize(launcher, projectPath);
-                        projectToServer.put(projectKey, server);
-                    }
-                }
+        List<LanguageServerLauncher> launchers = extensionToLauncher.get(extension);
+        if (launchers == null || launchers.isEmpty()) {
+            return null;
+        }
+
+        LanguageServerLauncher launcher = launchers.get(0);
+        String rootPath = launcher.isMultiRoot() ? PROJECT_FOLDER_PATH : projectPath;
+        ConcurrentHashMap<String, ManagedServer> servers = launcherToServers.computeIfAbsent(launcher, l -> new ConcurrentHashMap<>());
+
+        ManagedServer managed = servers.get(rootPath);
+        if (managed == null) {
+            ManagedServer candidate = new ManagedServer(launcher, rootPath);
+            managed = servers.putIfAbsent(rootPath, candidate);
+            if (managed == null) {
+                managed = candidate;
+                start(candidate);
+            }
+        }
+
+        LanguageServer server = await(managed);
+        managed.lastUsed = System.currentTimeMillis();
+        if (!projectPath.equals(rootPath) && managed.projects.add(projectPath)) {
+            for (String ext : launcher.getLanguageDescription().getFileExtensions()) {
+                projectToServer.put(createProjectKey(projectPath, ext), server);
             }
-            return projectToServer.get(projectKey);
         }
+        return server;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> track(LanguageServer server, CompletableFuture<T> request) {
+        ManagedServer managed = serverToManaged.get(server);
+        if (managed != null && managed.acquire()) {
+            request.whenComplete((result, error) -> managed.release());
+        }
+        return request;
+    }
+
+    @Override
+    public void documentOpened(TextDocumentItem document) {
+        openDocuments.opened(document);
+    }
 
-        return null;
+    @Override
+    public void documentChanged(DidChangeTextDocumentParams change) {
+        openDocuments.changed(change.getTextDocument().getUri(), change.getTextDocument().getVersion(), change.getContentChanges());
     }
 
+    @Override
+    public void documentClosed(String uri) {
+        openDocuments.closed(uri);
+    }
 
     @Override
     public List<LanguageDescription> getSupportedLanguages() {
@@ -119,9 +257,42 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         Map<LanguageServer, LanguageServerDescription> initializedServers = initializer.getInitializedServers();
         return projectToServer.entrySet()
                               .stream()
+                              .filter(e -> initializedServers.containsKey(e.getValue()))
                               .collect(Collectors.toMap(Map.Entry::getKey, e -> initializedServers.get(e.getValue())));
     }
 
+    /** Shuts down servers which have not been used during the configured idle timeout. */
+    @ScheduleRate(periodParameterName = "languageserver.idle_timeout_sec",
+                  initialDelayParameterName = "languageserver.idle_timeout_sec")
+    public void shutdownIdleServers() {
+        long expired = System.currentTimeMillis() - idleTimeoutMs;
+        for (ConcurrentHashMap<String, ManagedServer> servers : launcherToServers.values()) {
+            servers.values()
+                   .stream()
+                   .filter(managed -> managed.isStarted() && managed.lastUsed <= expired)
+                   .forEach(this::stop);
+        }
+    }
+
+    /**
+     * Returns path of the project containing the file, project paths are cached per folder
+     * until a project is created, updated or deleted.
+     */
+    protected String resolveProjectPath(String filePath) throws LanguageServerException {
+        int lastSlash = filePath.lastIndexOf('/');
+        String folder = lastSlash > 0 ? filePath.substring(0, lastSlash) : filePath;
+
+        String projectPath = folderToProject.get(folder);
+        if (projectPath == null) {
+            projectPath = extractProjectPath(filePath);
+            if (folderToProject.size() >= MAX_RESOLVED_FOLDERS) {
+                folderToProject.clear();
+            }
+            folderToProject.put(folder, projectPath);
+        }
+        return projectPath;
+    }
+
     protected String extractProjectPath(String filePath) throws LanguageServerException {
         FolderEntry root;
         try {
@@ -157,4 +328,154 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
             projectToServer.put(createProjectKey(projectPath, ext), server);
         }
     }
+
+    private void start(ManagedServer managed) {
+        stopLeastRecentlyUsed(managed.launcher);
+        launchExecutor.execute(() -> {
+            try {
+                LanguageServer server = initializer.initialize(managed.launcher, managed.rootPath);
+                reopenDocuments(managed, server);
+                serverToManaged.put(server, managed);
+                managed.server.complete(server);
+            } catch (LanguageServerException | RuntimeException e) {
+                launcherToServers.get(managed.launcher).remove(managed.rootPath, managed);
+                managed.server.completeExceptionally(e);
+            }
+        });
+    }
+
+    /** Opens documents of the server's project which were opened by clients before the server was started. */
+    private void reopenDocuments(ManagedServer managed, LanguageServer server) {
+        for (TextDocumentItemDTO document : openDocuments.get(uri -> isServedBy(uri, managed))) {
+            DidOpenTextDocumentParamsDTO params = newDto(DidOpenTextDocumentParamsDTO.class);
+            params.setTextDocument(document);
+            params.setUri(document.getUri());
+            server.getTextDocumentService().didOpen(params);
+        }
+    }
+
+    private boolean isServedBy(String fileUri, ManagedServer managed) {
+        String path = URI.create(fileUri).getPath();
+        List<LanguageServerLauncher> launchers = extensionToLauncher.get(getFileExtension(path));
+        if (launchers == null || launchers.isEmpty() || launchers.get(0) != managed.launcher) {
+            return false;
+        }
+        if (PROJECT_FOLDER_PATH.equals(managed.rootPath)) {
+            return path.startsWith(PROJECT_FOLDER_PATH + '/');
+        }
+        try {
+            return managed.rootPath.equals(resolveProjectPath(path));
+        } catch (LanguageServerException e) {
+            return false;
+        }
+    }
+
+    /** Stops dispatching files of the deleted project to the server shared by all projects. */
+    private void forgetProject(String projectPath) {
+        for (ConcurrentHashMap<String, ManagedServer> servers : launcherToServers.values()) {
+            ManagedServer shared = servers.get(PROJECT_FOLDER_PATH);
+            if (shared != null && shared.projects.remove(projectPath)) {
+                projectToServer.keySet().removeIf(key -> projectPath.equals(key.getProject()));
+            }
+        }
+    }
+
+    private LanguageServer await(ManagedServer managed) throws LanguageServerException {
+        try {
+            return managed.server.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LanguageServerException("Interrupted while waiting for the language server of " + managed.rootPath, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LanguageServerException) {
+                throw (LanguageServerException)cause;
+            }
+            throw new LanguageServerException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Stops least recently used servers of the launcher until there is a room for a new one.
+     * Servers with requests in progress are kept, so the limit may be exceeded until they are completed.
+     */
+    private void stopLeastRecentlyUsed(LanguageServerLauncher launcher) {
+        ConcurrentHashMap<String, ManagedServer> servers = launcherToServers.get(launcher);
+        List<ManagedServer> started = servers.values()
+                                             .stream()
+                                             .filter(ManagedServer::isStarted)
+                                             .sorted(Comparator.comparingLong(managed -> managed.lastUsed))
+                                             .collect(Collectors.toList());
+        int excess = servers.size() - maxServersPerLauncher;
+        for (int i = 0; excess > 0 && i < started.size(); i++) {
+            if (stop(started.get(i))) {
+                excess--;
+            }
+        }
+    }
+
+    /** Stops the server unless it has requests in progress, returns {@code true} if the server was stopped. */
+    private boolean stop(ManagedServer managed) {
+        if (!managed.stopIfIdle()) {
+            return false;
+        }
+        if (!launcherToServers.get(managed.launcher).remove(managed.rootPath, managed)) {
+            return false;
+        }
+        LanguageServer server = managed.server.getNow(null);
+        serverToManaged.remove(server, managed);
+        LOG.info("Shutting down Language Server {} on {}", managed.launcher.getLanguageDescription().getLanguageId(), managed.rootPath);
+        projectToServer.values().removeIf(value -> Objects.equals(value, server));
+        initializer.shutdownServer(server);
+        return true;
+    }
+
+    /** Language server started by this registry. */
+    private static class ManagedServer {
+        final LanguageServerLauncher            launcher;
+        final String                            rootPath;
+        final CompletableFuture<LanguageServer> server;
+        /** Projects other than the root one which are served by this server. */
+        final Set<String>                       projects;
+
+        volatile long lastUsed;
+
+        private int     inFlight;
+        private boolean stopped;
+
+        ManagedServer(LanguageServerLauncher launcher, String rootPath) {
+            this.launcher = launcher;
+            this.rootPath = rootPath;
+            this.server = new CompletableFuture<>();
+            this.projects = ConcurrentHashMap.newKeySet();
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        boolean isStarted() {
+            return server.isDone() && !server.isCompletedExceptionally();
+        }
+
+        /** Registers a request in progress, returns {@code false} if the server is already stopped. */
+        synchronized boolean acquire() {
+            if (stopped) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release() {
+            inFlight--;
+            lastUsed = System.currentTimeMillis();
+        }
+
+        /** Marks the server as stopped if it has no requests in progress. */
+        synchronized boolean stopIfIdle() {
+            if (inFlight > 0) {
+                return false;
+            }
+            stopped = true;
+            return true;
+        }
+    }
 }
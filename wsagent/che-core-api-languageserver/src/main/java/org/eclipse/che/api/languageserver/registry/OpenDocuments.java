@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.registry;
+
+import io.typefox.lsapi.Position;
+import io.typefox.lsapi.Range;
+import io.typefox.lsapi.TextDocumentContentChangeEvent;
+import io.typefox.lsapi.TextDocumentItem;
+
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentItemDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Documents opened by clients. The text of each document is kept up to date with the changes
+ * sent to language servers, so a language server which is started again is told about the
+ * documents which are already open in the same state as the server it replaces.
+ */
+class OpenDocuments {
+
+    private final Map<String, TextDocumentItemDTO> documents = new HashMap<>();
+
+    synchronized void opened(TextDocumentItem document) {
+        documents.put(document.getUri(), copy(document));
+    }
+
+    /**
+     * Applies changes to the text of the document, changes without range replace the whole text.
+     * Changes of documents which are not open are ignored.
+     */
+    synchronized void changed(String uri, int version, List<? extends TextDocumentContentChangeEvent> changes) {
+        final TextDocumentItemDTO document = documents.get(uri);
+        if (document == null) {
+            return;
+        }
+        String text = document.getText() == null ? "" : document.getText();
+        for (TextDocumentContentChangeEvent change : changes) {
+            final Range range = change.getRange();
+            if (range == null) {
+                text = change.getText();
+            } else {
+                final int start = offset(text, range.getStart());
+                final int end = Math.max(start, offset(text, range.getEnd()));
+                text = text.substring(0, start) + change.getText() + text.substring(end);
+            }
+        }
+        document.setText(text);
+        document.setVersion(version);
+    }
+
+    synchronized void closed(String uri) {
+        documents.remove(uri);
+    }
+
+    /** Returns copies of the open documents which URIs match the filter. */
+    synchronized List<TextDocumentItemDTO> get(Predicate<String> uriFilter) {
+        final List<TextDocumentItemDTO> result = new ArrayList<>();
+        for (TextDocumentItemDTO document : documents.values()) {
+            if (uriFilter.test(document.getUri())) {
+                result.add(copy(document));
+            }
+        }
+        return result;
+    }
+
+    private static TextDocumentItemDTO copy(TextDocumentItem document) {
+        final TextDocumentItemDTO copy = newDto(TextDocumentItemDTO.class);
+        copy.setUri(document.getUri());
+        copy.setLanguageId(document.getLanguageId());
+        copy.setVersion(document.getVersion());
+        copy.setText(document.getText());
+        return copy;
+    }
+
+    /** Returns offset of the position in the text, positions outside of the text are moved to its closest end. */
+    private static int offset(String text, Position position) {
+        int lineStart = 0;
+        for (int line = 0; line < position.getLine(); line++) {
+            final int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                return text.length();
+            }
+            lineStart = lineEnd + 1;
+        }
+        int lineEnd = text.indexOf('\n', lineStart);
+        if (lineEnd < 0) {
+            lineEnd = text.length();
+        }
+        return Math.min(lineStart + Math.max(0, position.getCharacter()), lineEnd);
+    }
+}
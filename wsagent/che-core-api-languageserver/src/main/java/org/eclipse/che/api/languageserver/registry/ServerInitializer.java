@@ -32,4 +32,9 @@ public interface ServerInitializer extends ServerInitializerObservable {
      * Returns initialized servers.
      */
     Map<LanguageServer, LanguageServerDescription> getInitializedServers();
+
+    /**
+     * Shuts down the server initialized by this initializer.
+     */
+    void shutdownServer(LanguageServer server);
 }
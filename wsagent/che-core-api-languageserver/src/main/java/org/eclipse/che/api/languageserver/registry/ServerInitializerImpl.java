@@ -28,12 +28,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.lang.management.ManagementFactory;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -54,7 +54,7 @@ public class ServerInitializerImpl implements ServerInitializer {
 
     @Inject
     public ServerInitializerImpl(PublishDiagnosticsParamsMessenger publishDiagnosticsParamsMessenger) {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
         this.languageIdToServers = new ConcurrentHashMap<>();
         this.serversToInitResult = new ConcurrentHashMap<>();
         this.publishDiagnosticsParamsMessenger = publishDiagnosticsParamsMessenger;
@@ -89,17 +89,10 @@ public class ServerInitializerImpl implements ServerInitializer {
     public LanguageServer initialize(LanguageServerLauncher launcher, String projectPath) throws LanguageServerException {
         String languageId = launcher.getLanguageDescription().getLanguageId();
 
-        synchronized (launcher) {
-            LanguageServer server = languageIdToServers.get(languageId);
-            if (server != null) {
-                server = doInitialize(launcher, projectPath);
-            } else {
-                server = doInitialize(launcher, projectPath);
-                languageIdToServers.put(languageId, server);
-            }
-            onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(), launcher.getLanguageDescription(), projectPath);
-            return server;
-        }
+        LanguageServer server = doInitialize(launcher, projectPath);
+        languageIdToServers.putIfAbsent(languageId, server);
+        onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(), launcher.getLanguageDescription(), projectPath);
+        return server;
     }
 
     @Override
@@ -157,6 +150,16 @@ public class ServerInitializerImpl implements ServerInitializer {
         observers.forEach(observer -> observer.onServerInitialized(server, capabilities, languageDescription, projectPath));
     }
 
+    @Override
+    public void shutdownServer(LanguageServer server) {
+        LanguageServerDescription description = serversToInitResult.remove(server);
+        languageIdToServers.values().remove(server);
+        if (description != null) {
+            server.shutdown();
+            server.exit();
+        }
+    }
+
     @PreDestroy
     protected void shutdown() {
         for (LanguageServer server : serversToInitResult.keySet()) {
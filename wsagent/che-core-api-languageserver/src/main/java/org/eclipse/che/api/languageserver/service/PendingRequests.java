@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Waits for results of requests sent to language servers.
+ * <p>
+ * Every method has its own timeout, a request which is not answered in time is cancelled
+ * and reported as an error, so that the client can tell a timeout from an empty result.
+ * <p>
+ * Requests which are re-sent by the editor on each keystroke (completion, hover, signature help)
+ * supersede each other: a newer request of the same client and method for the same document cancels
+ * the older one, so the thread waiting for the older one is released immediately instead of waiting
+ * for an answer nobody needs anymore. Requests of different clients never supersede each other.
+ * Cancelling the future of a JSON based language server notifies the server with {@code $/cancelRequest},
+ * so it can stop computing the answer as well.
+ */
+@Singleton
+public class PendingRequests {
+    private static final Logger LOG = LoggerFactory.getLogger(PendingRequests.class);
+
+    public static final String COMPLETION     = "textDocument/completion";
+    public static final String HOVER          = "textDocument/hover";
+    public static final String SIGNATURE_HELP = "textDocument/signatureHelp";
+    public static final String DEFINITION     = "textDocument/definition";
+    public static final String REFERENCES     = "textDocument/references";
+
+    private final long completionTimeoutMs;
+    private final long hoverTimeoutMs;
+    private final long signatureHelpTimeoutMs;
+    private final long definitionTimeoutMs;
+    private final long referencesTimeoutMs;
+    private final long defaultTimeoutMs;
+
+    /** Requests which may be superseded, mapped by client, method and document URI. */
+    private final ConcurrentMap<String, CompletableFuture<?>> supersedable;
+
+    @Inject
+    public PendingRequests(@Named("languageserver.request.completion.timeout_ms") long completionTimeoutMs,
+                           @Named("languageserver.request.hover.timeout_ms") long hoverTimeoutMs,
+                           @Named("languageserver.request.signature_help.timeout_ms") long signatureHelpTimeoutMs,
+                           @Named("languageserver.request.definition.timeout_ms") long definitionTimeoutMs,
+                           @Named("languageserver.request.references.timeout_ms") long referencesTimeoutMs,
+                           @Named("languageserver.request.timeout_ms") long defaultTimeoutMs) {
+        this.completionTimeoutMs = completionTimeoutMs;
+        this.hoverTimeoutMs = hoverTimeoutMs;
+        this.signatureHelpTimeoutMs = signatureHelpTimeoutMs;
+        this.definitionTimeoutMs = definitionTimeoutMs;
+        this.referencesTimeoutMs = referencesTimeoutMs;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.supersedable = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Waits for the result of the request.
+     *
+     * @param method
+     *         language server protocol method of the request
+     * @param future
+     *         pending result of the request
+     * @throws LanguageServerException
+     *         when the request is not answered in time, the request is cancelled in this case
+     */
+    public <T> T await(String method, CompletableFuture<T> future) throws LanguageServerException,
+                                                                         ExecutionException,
+                                                                         InterruptedException {
+        final long timeoutMs = getTimeout(method);
+        try {
+            return future.get(timeoutMs, MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.debug("Request {} was not answered in {} ms, cancelling it", method, timeoutMs);
+            future.cancel(true);
+            throw new LanguageServerException(format("Language server did not answer %s request in %d ms", method, timeoutMs), e);
+        }
+    }
+
+    /**
+     * Waits for the result of the request, cancelling the pending request of the same client and method
+     * for the same document if any. If this request is superseded by a newer one while waiting,
+     * the given value is returned right away.
+     *
+     * @param method
+     *         language server protocol method of the request
+     * @param clientId
+     *         identifier of the client which sent the request
+     * @param documentUri
+     *         URI of the document the request is made for
+     * @param future
+     *         pending result of the request
+     * @param superseded
+     *         value to return when the request is superseded
+     * @throws LanguageServerException
+     *         when the request is not answered in time, the request is cancelled in this case
+     */
+    public <T> T awaitLatest(String method,
+                             String clientId,
+                             String documentUri,
+                             CompletableFuture<T> future,
+                             T superseded) throws LanguageServerException, ExecutionException, InterruptedException {
+        final String key = clientId + ' ' + method + ' ' + documentUri;
+        final CompletableFuture<?> previous = supersedable.put(key, future);
+        if (previous != null && previous != future) {
+            previous.cancel(true);
+        }
+        try {
+            return await(method, future);
+        } catch (CancellationException e) {
+            LOG.debug("Request {} for {} was superseded", method, documentUri);
+            return superseded;
+        } finally {
+            supersedable.remove(key, future);
+        }
+    }
+
+    /** Returns the number of supersedable requests which are waiting for the answer. */
+    public int size() {
+        return supersedable.size();
+    }
+
+    long getTimeout(String method) {
+        switch (method) {
+            case COMPLETION:
+                return completionTimeoutMs;
+            case HOVER:
+                return hoverTimeoutMs;
+            case SIGNATURE_HELP:
+                return signatureHelpTimeoutMs;
+            case DEFINITION:
+                return definitionTimeoutMs;
+            case REFERENCES:
+                return referencesTimeoutMs;
+            default:
+                return defaultTimeoutMs;
+        }
+    }
+}
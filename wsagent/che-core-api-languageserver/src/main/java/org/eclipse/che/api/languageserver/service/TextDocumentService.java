@@ -11,6 +11,7 @@
 package org.eclipse.che.api.languageserver.service;
 
 import io.typefox.lsapi.CompletionItem;
+import io.typefox.lsapi.CompletionList;
 import io.typefox.lsapi.Hover;
 import io.typefox.lsapi.Location;
 import io.typefox.lsapi.SignatureHelp;
@@ -23,6 +24,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsMessenger;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
 import org.eclipse.che.api.languageserver.shared.lsapi.CompletionItemDTO;
@@ -36,6 +38,8 @@ import org.eclipse.che.api.languageserver.shared.lsapi.DocumentRangeFormattingPa
 import org.eclipse.che.api.languageserver.shared.lsapi.DocumentSymbolParamsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.ReferenceParamsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
@@ -43,13 +47,20 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.languageserver.service.PendingRequests.COMPLETION;
+import static org.eclipse.che.api.languageserver.service.PendingRequests.DEFINITION;
+import static org.eclipse.che.api.languageserver.service.PendingRequests.HOVER;
+import static org.eclipse.che.api.languageserver.service.PendingRequests.REFERENCES;
+import static org.eclipse.che.api.languageserver.service.PendingRequests.SIGNATURE_HELP;
 
 /**
  * REST API for the textDocument/* services defined in https://github.com/Microsoft/vscode-languageserver-protocol
  * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * Answers of language servers are awaited with {@link PendingRequests}.
  */
 @Singleton
 @Path("languageserver/textDocument")
@@ -57,11 +68,17 @@ public class TextDocumentService {
 
     private static final String FILE_PROJECTS = "file:///projects";
 
-    private final LanguageServerRegistry languageServerRegistry;
+    private final LanguageServerRegistry            languageServerRegistry;
+    private final PendingRequests                   pendingRequests;
+    private final PublishDiagnosticsParamsMessenger diagnosticsMessenger;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry,
+                               PendingRequests pendingRequests,
+                               PublishDiagnosticsParamsMessenger diagnosticsMessenger) {
         this.languageServerRegistry = languageServerRegistry;
+        this.pendingRequests = pendingRequests;
+        this.diagnosticsMessenger = diagnosticsMessenger;
     }
 
     static String prefixURI(String relativePath) {
@@ -88,8 +105,13 @@ public class TextDocumentService {
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService()
-                     .completion(textDocumentPositionParams).get().getItems();
+        CompletableFuture<CompletionList> request = server.getTextDocumentService().completion(textDocumentPositionParams);
+        CompletionList completionList = pendingRequests.awaitLatest(COMPLETION,
+                                                                    currentClient(),
+                                                                    textDocumentPositionParams.getTextDocument().getUri(),
+                                                                    track(server, request),
+                                                                    null);
+        return completionList == null ? emptyList() : completionList.getItems();
     }
 
     @POST
@@ -105,7 +127,8 @@ public class TextDocumentService {
             return emptyList();
         }
 
-        return server.getTextDocumentService().documentSymbol(documentSymbolParams).get();
+        return pendingRequests.await("textDocument/documentSymbol",
+                                     track(server, server.getTextDocumentService().documentSymbol(documentSymbolParams)));
     }
 
     @POST
@@ -121,7 +144,8 @@ public class TextDocumentService {
             return emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().references(params).get();
+        List<? extends Location> locations = pendingRequests.await(REFERENCES,
+                                                                   track(server, server.getTextDocumentService().references(params)));
         locations.forEach(o -> {
             if (o instanceof LocationImpl) {
                 ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
@@ -144,7 +168,8 @@ public class TextDocumentService {
             return emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().definition(params).get();
+        List<? extends Location> locations = pendingRequests.await(DEFINITION,
+                                                                   track(server, server.getTextDocumentService().definition(params)));
         locations.forEach(o -> {
             if (o instanceof LocationImpl) {
                 ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
@@ -163,7 +188,8 @@ public class TextDocumentService {
                                                                                      LanguageServerException {
         LanguageServer server = getServer(unresolved.getTextDocumentIdentifier().getUri());
         if (server != null) {
-            return server.getTextDocumentService().resolveCompletionItem(unresolved).get();
+            return pendingRequests.await("completionItem/resolve",
+                                         track(server, server.getTextDocumentService().resolveCompletionItem(unresolved)));
         } else {
             return unresolved;
         }
@@ -179,7 +205,11 @@ public class TextDocumentService {
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return server.getTextDocumentService().hover(positionParams).get();
+            return pendingRequests.awaitLatest(HOVER,
+                                               currentClient(),
+                                               positionParams.getTextDocument().getUri(),
+                                               track(server, server.getTextDocumentService().hover(positionParams)),
+                                               null);
         } else {
             return null;
         }
@@ -195,7 +225,11 @@ public class TextDocumentService {
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return server.getTextDocumentService().signatureHelp(positionParams).get();
+            return pendingRequests.awaitLatest(SIGNATURE_HELP,
+                                               currentClient(),
+                                               positionParams.getTextDocument().getUri(),
+                                               track(server, server.getTextDocumentService().signatureHelp(positionParams)),
+                                               null);
         } else {
             return null;
         }
@@ -212,7 +246,8 @@ public class TextDocumentService {
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().formatting(params).get();
+        return pendingRequests.await("textDocument/formatting",
+                                     track(server, server.getTextDocumentService().formatting(params)));
 
     }
 
@@ -227,7 +262,8 @@ public class TextDocumentService {
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().rangeFormatting(params).get();
+        return pendingRequests.await("textDocument/rangeFormatting",
+                                     track(server, server.getTextDocumentService().rangeFormatting(params)));
 
     }
 
@@ -242,7 +278,8 @@ public class TextDocumentService {
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().onTypeFormatting(params).get();
+        return pendingRequests.await("textDocument/onTypeFormatting",
+                                     track(server, server.getTextDocumentService().onTypeFormatting(params)));
 
     }
 
@@ -255,6 +292,7 @@ public class TextDocumentService {
         LanguageServer server = getServer(change.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didChange(change);
+            languageServerRegistry.documentChanged(change);
         }
     }
 
@@ -264,9 +302,12 @@ public class TextDocumentService {
     public void didOpen(DidOpenTextDocumentParamsDTO openEvent) throws LanguageServerException {
         openEvent.getTextDocument().setUri(prefixURI(openEvent.getTextDocument().getUri()));
         openEvent.setUri(prefixURI(openEvent.getUri()));
+        // the client which opens the document has no diagnostics of it yet
+        diagnosticsMessenger.forget(openEvent.getTextDocument().getUri());
         LanguageServer server = getServer(openEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didOpen(openEvent);
+            languageServerRegistry.documentOpened(openEvent.getTextDocument());
         }
     }
 
@@ -275,10 +316,12 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     public void didClose(DidCloseTextDocumentParamsDTO closeEvent) throws LanguageServerException {
         closeEvent.getTextDocument().setUri(prefixURI(closeEvent.getTextDocument().getUri()));
+        diagnosticsMessenger.forget(closeEvent.getTextDocument().getUri());
         LanguageServer server = getServer(closeEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didClose(closeEvent);
         }
+        languageServerRegistry.documentClosed(closeEvent.getTextDocument().getUri());
     }
 
     @POST
@@ -292,7 +335,18 @@ public class TextDocumentService {
         }
     }
 
+    /** Returns identifier of the client which sent the current request, requests of different clients never supersede each other. */
+    private static String currentClient() {
+        final Subject subject = EnvironmentContext.getCurrent().getSubject();
+        return subject == null ? "" : subject.getUserId();
+    }
+
     private LanguageServer getServer(String uri) throws LanguageServerException {
         return languageServerRegistry.findServer(uri);
     }
+
+    /** Tells the registry about the request, so the server is not shut down until the request is completed. */
+    private <T> CompletableFuture<T> track(LanguageServer server, CompletableFuture<T> request) {
+        return languageServerRegistry.track(server, request);
+    }
 }
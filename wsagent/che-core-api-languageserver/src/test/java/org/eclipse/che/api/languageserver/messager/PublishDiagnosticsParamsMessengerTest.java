@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.messager;
+
+import io.typefox.lsapi.impl.DiagnosticImpl;
+import io.typefox.lsapi.impl.PublishDiagnosticsParamsImpl;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link PublishDiagnosticsParamsMessenger}.
+ */
+public class PublishDiagnosticsParamsMessengerTest {
+
+    private static final String URI = "file:///projects/project/src/main.ts";
+
+    private List<ChannelBroadcastMessage>     messages;
+    private PublishDiagnosticsParamsMessenger messenger;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        messages = new ArrayList<>();
+        // the window is long enough for flushes to be triggered by tests only
+        messenger = new PublishDiagnosticsParamsMessenger(mock(EventService.class), 60_000) {
+            @Override
+            protected void send(ChannelBroadcastMessage message) {
+                messages.add(message);
+            }
+        };
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        messenger.unsubscribe();
+    }
+
+    @Test
+    public void shouldSendOnlyLastDiagnosticsPublishedDuringWindow() throws Exception {
+        messenger.onEvent(params(URI, "first"));
+        messenger.onEvent(params(URI, "second"));
+        messenger.onEvent(params(URI, "third"));
+
+        messenger.flush("/project/src/main.ts");
+
+        assertEquals(messages.size(), 1);
+        assertTrue(messages.get(0).getBody().contains("third"));
+    }
+
+    @Test
+    public void shouldSendDiagnosticsToChannelOfProject() throws Exception {
+        messenger.onEvent(params(URI, "error"));
+
+        messenger.flush("/project/src/main.ts");
+
+        assertEquals(messages.get(0).getChannel(), "languageserver/textDocument/publishDiagnostics/project");
+        assertTrue(messages.get(0).getBody().contains("\"uri\":\"/project/src/main.ts\""));
+    }
+
+    @Test
+    public void shouldNotSendDiagnosticsEqualToSentOnes() throws Exception {
+        messenger.onEvent(params(URI, "error"));
+        messenger.flush("/project/src/main.ts");
+        messenger.onEvent(params(URI, "error"));
+        messenger.flush("/project/src/main.ts");
+
+        assertEquals(messages.size(), 1);
+
+        messenger.onEvent(params(URI, null));
+        messenger.flush("/project/src/main.ts");
+
+        assertEquals(messages.size(), 2);
+    }
+
+    @Test
+    public void shouldSendDiagnosticsAgainWhenDocumentIsReopened() throws Exception {
+        messenger.onEvent(params(URI, "error"));
+        messenger.flush("/project/src/main.ts");
+
+        messenger.forget(URI);
+        messenger.onEvent(params(URI, "error"));
+        messenger.flush("/project/src/main.ts");
+
+        assertEquals(messages.size(), 2);
+    }
+
+    @Test
+    public void shouldNotRememberDocumentsWithoutDiagnostics() throws Exception {
+        messenger.onEvent(params(URI, "error"));
+        messenger.flush("/project/src/main.ts");
+        messenger.onEvent(params(URI, null));
+        messenger.flush("/project/src/main.ts");
+        messenger.onEvent(params(URI, null));
+        messenger.flush("/project/src/main.ts");
+
+        // the empty set is sent again as nothing is remembered for the document
+        assertEquals(messages.size(), 3);
+    }
+
+    @Test
+    public void shouldResolveChannelOfProject() throws Exception {
+        assertEquals(PublishDiagnosticsParamsMessenger.getChannel("/project/a/b.ts"),
+                     "languageserver/textDocument/publishDiagnostics/project");
+        assertEquals(PublishDiagnosticsParamsMessenger.getChannel("/project"),
+                     "languageserver/textDocument/publishDiagnostics/project");
+    }
+
+    private static PublishDiagnosticsParamsImpl params(String uri, String message) {
+        final PublishDiagnosticsParamsImpl params = new PublishDiagnosticsParamsImpl();
+        params.setUri(uri);
+        if (message == null) {
+            params.setDiagnostics(emptyList());
+        } else {
+            final DiagnosticImpl diagnostic = new DiagnosticImpl();
+            diagnostic.setMessage(message);
+            params.setDiagnostics(singletonList(diagnostic));
+        }
+        return params;
+    }
+}
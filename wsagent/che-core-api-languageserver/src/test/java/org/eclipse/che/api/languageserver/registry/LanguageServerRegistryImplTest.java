@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import io.typefox.lsapi.DidOpenTextDocumentParams;
 import io.typefox.lsapi.InitializeParams;
 import io.typefox.lsapi.InitializeResult;
 import io.typefox.lsapi.ServerCapabilities;
@@ -17,8 +18,18 @@ import io.typefox.lsapi.services.LanguageServer;
 import io.typefox.lsapi.services.TextDocumentService;
 import io.typefox.lsapi.services.WindowService;
 
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.PositionDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.RangeDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentContentChangeEventDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentItemDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.VersionedTextDocumentIdentifierDTO;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -28,12 +39,18 @@ import org.testng.annotations.Test;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.languageserver.shared.ProjectExtensionKey.createProjectKey;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -63,6 +80,8 @@ public class LanguageServerRegistryImplTest {
     private ServerCapabilities                  serverCapabilities;
     @Mock
     private CompletableFuture<InitializeResult> completableFuture;
+    @Mock
+    private TextDocumentService                 textDocumentService;
 
     private LanguageServerRegistryImpl registry;
 
@@ -77,13 +96,16 @@ public class LanguageServerRegistryImplTest {
         when(languageDescription.getFileExtensions()).thenReturn(Collections.singletonList("txt"));
         when(languageDescription.getMimeTypes()).thenReturn(Collections.singletonList("plain/text"));
 
-        when(languageServer.getTextDocumentService()).thenReturn(mock(TextDocumentService.class));
+        when(languageServer.getTextDocumentService()).thenReturn(textDocumentService);
         when(languageServer.getWindowService()).thenReturn(mock(WindowService.class));
         when(languageServer.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
 
         registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
                                                       null,
-                                                      initializer));
+                                                      initializer,
+                                                      mock(EventService.class),
+                                                      2,
+                                                      600));
 
         when(initializer.initialize(any(LanguageServerLauncher.class), anyString())).thenAnswer(invocation -> {
             Object[] arguments = invocation.getArguments();
@@ -103,4 +125,162 @@ public class LanguageServerRegistryImplTest {
         verify(initializer).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
         verify(registry).onServerInitialized(eq(languageServer), eq(serverCapabilities), eq(languageDescription), eq(PROJECT_PATH));
     }
+
+    @Test
+    public void shouldResolveProjectOfFolderOnlyOnce() throws Exception {
+        registry.findServer(PREFIX + FILE_PATH);
+        registry.findServer(PREFIX + FILE_PATH);
+
+        verify(registry, times(1)).extractProjectPath(FILE_PATH);
+        verify(initializer, times(1)).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
+    }
+
+    @Test
+    public void shouldShareServerBetweenProjectsWhenLauncherSupportsMultipleRoots() throws Exception {
+        when(languageServerLauncher.isMultiRoot()).thenReturn(true);
+        when(initializer.getInitializedServers()).thenReturn(singletonMap(languageServer, mock(LanguageServerDescription.class)));
+
+        LanguageServer first = registry.findServer("txt", "/projects/1");
+        LanguageServer second = registry.findServer("txt", "/projects/2");
+
+        assertEquals(first, second);
+        verify(initializer, times(1)).initialize(eq(languageServerLauncher), eq(LanguageServerRegistryImpl.PROJECT_FOLDER_PATH));
+        assertEquals(registry.getInitializedLanguages().keySet(),
+                     ImmutableSet.of(createProjectKey(LanguageServerRegistryImpl.PROJECT_FOLDER_PATH, "txt"),
+                                     createProjectKey("/projects/1", "txt"),
+                                     createProjectKey("/projects/2", "txt")));
+    }
+
+    @Test
+    public void shouldShutDownLeastRecentlyUsedServerWhenLimitIsReached() throws Exception {
+        LanguageServer server1 = mock(LanguageServer.class);
+        LanguageServer server2 = mock(LanguageServer.class);
+        LanguageServer server3 = mock(LanguageServer.class);
+        when(initializer.initialize(languageServerLauncher, "/projects/1")).thenReturn(server1);
+        when(initializer.initialize(languageServerLauncher, "/projects/2")).thenReturn(server2);
+        when(initializer.initialize(languageServerLauncher, "/projects/3")).thenReturn(server3);
+
+        registry.findServer("txt", "/projects/1");
+        Thread.sleep(5);
+        registry.findServer("txt", "/projects/2");
+        Thread.sleep(5);
+        registry.findServer("txt", "/projects/1");
+        registry.findServer("txt", "/projects/3");
+
+        verify(initializer).shutdownServer(server2);
+        verify(initializer, never()).shutdownServer(server1);
+    }
+
+    @Test
+    public void shouldRestartServerAfterIdleShutdown() throws Exception {
+        registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
+                                                      null,
+                                                      initializer,
+                                                      mock(EventService.class),
+                                                      2,
+                                                      0));
+
+        registry.findServer("txt", PROJECT_PATH);
+        registry.shutdownIdleServers();
+        registry.findServer("txt", PROJECT_PATH);
+
+        verify(initializer).shutdownServer(languageServer);
+        verify(initializer, times(2)).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
+    }
+
+    @Test
+    public void shouldNotShutDownServerWithRequestInProgress() throws Exception {
+        registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
+                                                      null,
+                                                      initializer,
+                                                      mock(EventService.class),
+                                                      2,
+                                                      0));
+        CompletableFuture<Object> request = new CompletableFuture<>();
+
+        LanguageServer server = registry.findServer("txt", PROJECT_PATH);
+        registry.track(server, request);
+        registry.shutdownIdleServers();
+        verify(initializer, never()).shutdownServer(languageServer);
+
+        request.complete(null);
+        registry.shutdownIdleServers();
+        verify(initializer).shutdownServer(languageServer);
+    }
+
+    @Test
+    public void shouldOpenDocumentsInRestartedServer() throws Exception {
+        registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
+                                                      null,
+                                                      initializer,
+                                                      mock(EventService.class),
+                                                      2,
+                                                      0));
+        doReturn(PROJECT_PATH).when(registry).extractProjectPath(FILE_PATH);
+
+        registry.findServer(PREFIX + FILE_PATH);
+        registry.documentOpened(document(PREFIX + FILE_PATH, "first line\nsecond line"));
+        registry.documentChanged(change(PREFIX + FILE_PATH, 1, 0, 1, 6, "2nd"));
+        registry.shutdownIdleServers();
+        verify(textDocumentService, never()).didOpen(any(DidOpenTextDocumentParams.class));
+
+        registry.findServer(PREFIX + FILE_PATH);
+
+        ArgumentCaptor<DidOpenTextDocumentParams> captor = ArgumentCaptor.forClass(DidOpenTextDocumentParams.class);
+        verify(textDocumentService).didOpen(captor.capture());
+        assertEquals(captor.getValue().getTextDocument().getUri(), PREFIX + FILE_PATH);
+        assertEquals(captor.getValue().getTextDocument().getText(), "first line\n2nd line");
+        assertEquals(captor.getValue().getTextDocument().getVersion(), 2);
+    }
+
+    @Test
+    public void shouldNotOpenClosedDocumentsInRestartedServer() throws Exception {
+        registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
+                                                      null,
+                                                      initializer,
+                                                      mock(EventService.class),
+                                                      2,
+                                                      0));
+        doReturn(PROJECT_PATH).when(registry).extractProjectPath(FILE_PATH);
+
+        registry.findServer(PREFIX + FILE_PATH);
+        registry.documentOpened(document(PREFIX + FILE_PATH, "text"));
+        registry.documentClosed(PREFIX + FILE_PATH);
+        registry.shutdownIdleServers();
+        registry.findServer(PREFIX + FILE_PATH);
+
+        verify(textDocumentService, never()).didOpen(any(DidOpenTextDocumentParams.class));
+    }
+
+    private static TextDocumentItemDTO document(String uri, String text) {
+        TextDocumentItemDTO document = newDto(TextDocumentItemDTO.class);
+        document.setUri(uri);
+        document.setLanguageId("id");
+        document.setVersion(1);
+        document.setText(text);
+        return document;
+    }
+
+    private static DidChangeTextDocumentParamsDTO change(String uri, int startLine, int startCharacter, int endLine, int endCharacter,
+                                                         String text) {
+        PositionDTO start = newDto(PositionDTO.class);
+        start.setLine(startLine);
+        start.setCharacter(startCharacter);
+        PositionDTO end = newDto(PositionDTO.class);
+        end.setLine(endLine);
+        end.setCharacter(endCharacter);
+        RangeDTO range = newDto(RangeDTO.class);
+        range.setStart(start);
+        range.setEnd(end);
+        TextDocumentContentChangeEventDTO contentChange = newDto(TextDocumentContentChangeEventDTO.class);
+        contentChange.setRange(range);
+        contentChange.setText(text);
+        VersionedTextDocumentIdentifierDTO textDocument = newDto(VersionedTextDocumentIdentifierDTO.class);
+        textDocument.setUri(uri);
+        textDocument.setVersion(2);
+        DidChangeTextDocumentParamsDTO change = newDto(DidChangeTextDocumentParamsDTO.class);
+        change.setTextDocument(textDocument);
+        change.setContentChanges(singletonList(contentChange));
+        return change;
+    }
 }
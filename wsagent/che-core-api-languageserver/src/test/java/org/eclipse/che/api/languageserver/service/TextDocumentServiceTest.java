@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.CompletionItem;
+import io.typefox.lsapi.CompletionList;
+import io.typefox.lsapi.TextDocumentPositionParams;
+import io.typefox.lsapi.services.LanguageServer;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsMessenger;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentIdentifierDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TextDocumentService} and {@link PendingRequests}.
+ * <p>
+ * Answers of the language server are completed by the tests, latches tell when a request
+ * is waiting for its answer, so the order of concurrent requests does not depend on timing.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+
+    private static final String FILE_PATH = "/project/src/main.ts";
+
+    @Mock
+    private LanguageServerRegistry                       registry;
+    @Mock
+    private LanguageServer                               languageServer;
+    @Mock
+    private io.typefox.lsapi.services.TextDocumentService serverTextDocumentService;
+    @Mock
+    private CompletionItem                               completionItem;
+    @Mock
+    private PublishDiagnosticsParamsMessenger            diagnosticsMessenger;
+
+    private ExecutorService     servletThreads;
+    private TextDocumentService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        servletThreads = Executors.newCachedThreadPool();
+
+        when(registry.findServer(anyString())).thenReturn(languageServer);
+        when(registry.track(any(LanguageServer.class), any(CompletableFuture.class)))
+                .thenAnswer(invocation -> invocation.getArguments()[1]);
+        when(languageServer.getTextDocumentService()).thenReturn(serverTextDocumentService);
+
+        service = new TextDocumentService(registry, new PendingRequests(2000, 2000, 2000, 2000, 2000, 2000), diagnosticsMessenger);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        servletThreads.shutdownNow();
+    }
+
+    @Test
+    public void shouldReleaseThreadOfSupersededCompletionRequest() throws Exception {
+        final CountDownLatch firstWaiting = new CountDownLatch(1);
+        final CompletableFuture<CompletionList> first = new WaitingFuture<>(firstWaiting);
+        final CompletionList completionList = mock(CompletionList.class);
+        when(completionList.getItems()).thenAnswer(invocation -> singletonList(completionItem));
+        when(serverTextDocumentService.completion(any(TextDocumentPositionParams.class)))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(completionList));
+
+        final Future<List<? extends CompletionItem>> firstResult = servletThreads.submit(() -> service.completion(completionParams()));
+        assertTrue(firstWaiting.await(10, SECONDS));
+        final List<? extends CompletionItem> secondResult = service.completion(completionParams());
+
+        // the first request is released without an answer of the server
+        assertTrue(firstResult.get(10, SECONDS).isEmpty());
+        assertTrue(first.isCancelled());
+        assertEquals(secondResult, singletonList(completionItem));
+    }
+
+    /**
+     * Sends more completion requests than there are request threads while the language server
+     * answers none of them, as it happens when a user types faster than the server computes completions.
+     * Each request can start only if the thread of a superseded request was released,
+     * so the requests would wait for a free thread until the server timeout if threads were blocked.
+     */
+    @Test
+    public void shouldNotExhaustRequestThreadsWhileLanguageServerComputesAnswers() throws Exception {
+        final int threads = 2;
+        final int requests = 10;
+        final ExecutorService requestThreads = Executors.newFixedThreadPool(threads);
+        service = new TextDocumentService(registry, new PendingRequests(60000, 2000, 2000, 2000, 2000, 2000), diagnosticsMessenger);
+        final List<CountDownLatch> waiting = new ArrayList<>();
+        final List<CompletableFuture<CompletionList>> answers = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            waiting.add(new CountDownLatch(1));
+            answers.add(new WaitingFuture<>(waiting.get(i)));
+        }
+        final AtomicInteger sent = new AtomicInteger();
+        when(serverTextDocumentService.completion(any(TextDocumentPositionParams.class)))
+                .thenAnswer(invocation -> answers.get(sent.getAndIncrement()));
+
+        try {
+            final List<Future<List<? extends CompletionItem>>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(requestThreads.submit(() -> service.completion(completionParams())));
+                assertTrue(waiting.get(i).await(10, SECONDS), "Request " + i + " did not get a thread, all request threads are blocked");
+            }
+            final CompletionList completionList = mock(CompletionList.class);
+            when(completionList.getItems()).thenAnswer(invocation -> singletonList(completionItem));
+            answers.get(requests - 1).complete(completionList);
+
+            for (int i = 0; i < requests - 1; i++) {
+                assertTrue(results.get(i).get(10, SECONDS).isEmpty());
+                assertTrue(answers.get(i).isCancelled());
+            }
+            assertEquals(results.get(requests - 1).get(10, SECONDS), singletonList(completionItem));
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = LanguageServerException.class)
+    public void shouldReportRequestWhichIsNotAnsweredInTimeAsError() throws Exception {
+        final CompletableFuture<CompletionList> neverAnswered = new CompletableFuture<>();
+        when(serverTextDocumentService.completion(any(TextDocumentPositionParams.class))).thenReturn(neverAnswered);
+        service = new TextDocumentService(registry, new PendingRequests(100, 2000, 2000, 2000, 2000, 2000), diagnosticsMessenger);
+
+        try {
+            service.completion(completionParams());
+        } finally {
+            assertTrue(neverAnswered.isCancelled());
+        }
+    }
+
+    @Test
+    public void shouldNotSupersedeRequestsForDifferentDocuments() throws Exception {
+        final PendingRequests pendingRequests = new PendingRequests(2000, 2000, 2000, 2000, 2000, 2000);
+        final CountDownLatch firstWaiting = new CountDownLatch(1);
+        final CompletableFuture<String> first = new WaitingFuture<>(firstWaiting);
+
+        final Future<String> firstResult = servletThreads.submit(() -> pendingRequests.awaitLatest(PendingRequests.HOVER,
+                                                                                                   "client",
+                                                                                                   "/a",
+                                                                                                   first,
+                                                                                                   null));
+        assertTrue(firstWaiting.await(10, SECONDS));
+        final String secondResult = pendingRequests.awaitLatest(PendingRequests.HOVER,
+                                                                "client",
+                                                                "/b",
+                                                                CompletableFuture.completedFuture("b"),
+                                                                null);
+        first.complete("a");
+
+        assertEquals(secondResult, "b");
+        assertEquals(firstResult.get(10, SECONDS), "a");
+    }
+
+    @Test
+    public void shouldNotSupersedeRequestsOfDifferentClients() throws Exception {
+        final PendingRequests pendingRequests = new PendingRequests(2000, 2000, 2000, 2000, 2000, 2000);
+        final CountDownLatch firstWaiting = new CountDownLatch(1);
+        final CompletableFuture<String> first = new WaitingFuture<>(firstWaiting);
+
+        final Future<String> firstResult = servletThreads.submit(() -> pendingRequests.awaitLatest(PendingRequests.HOVER,
+                                                                                                   "client1",
+                                                                                                   FILE_PATH,
+                                                                                                   first,
+                                                                                                   null));
+        assertTrue(firstWaiting.await(10, SECONDS));
+        final String secondResult = pendingRequests.awaitLatest(PendingRequests.HOVER,
+                                                                "client2",
+                                                                FILE_PATH,
+                                                                CompletableFuture.completedFuture("second"),
+                                                                null);
+
+        assertFalse(first.isCancelled());
+        first.complete("first");
+        assertEquals(secondResult, "second");
+        assertEquals(firstResult.get(10, SECONDS), "first");
+    }
+
+    private static TextDocumentPositionParamsDTO completionParams() {
+        final TextDocumentIdentifierDTO textDocument = newDto(TextDocumentIdentifierDTO.class);
+        textDocument.setUri(FILE_PATH);
+        final TextDocumentPositionParamsDTO params = newDto(TextDocumentPositionParamsDTO.class);
+        params.setTextDocument(textDocument);
+        params.setUri(FILE_PATH);
+        return params;
+    }
+
+    /** Future which counts down the latch when a thread starts waiting for it. */
+    private static class WaitingFuture<T> extends CompletableFuture<T> {
+        private final CountDownLatch waiting;
+
+        WaitingFuture(CountDownLatch waiting) {
+            this.waiting = waiting;
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            waiting.countDown();
+            return super.get(timeout, unit);
+        }
+    }
+}
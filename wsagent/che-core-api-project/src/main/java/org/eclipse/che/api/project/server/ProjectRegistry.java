@@ -35,10 +35,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
@@ -49,7 +45,7 @@ import java.util.stream.Collectors;
 public class ProjectRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-    private final Map<String, RegisteredProject> projects;
+    private final RegisteredProjectTree          projects;
     private final WorkspaceProjectsSyncer        workspaceHolder;
     private final VirtualFileSystem              vfs;
     private final ProjectTypeRegistry            projectTypeRegistry;
@@ -66,7 +62,7 @@ public class ProjectRegistry {
                            ProjectHandlerRegistry handlers,
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
-        this.projects = new ConcurrentHashMap<>();
+        this.projects = new RegisteredProjectTree();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
@@ -104,7 +100,7 @@ public class ProjectRegistry {
 
         initialized = true;
 
-        for (RegisteredProject project : projects.values()) {
+        for (RegisteredProject project : projects.getAll()) {
             // only for projects with sources
             if(project.getBaseFolder() != null) {
                 fireInitHandlers(project);
@@ -121,7 +117,7 @@ public class ProjectRegistry {
 
         initUnconfiguredFolders();
 
-        return new ArrayList<>(projects.values());
+        return projects.getAll();
     }
 
     /**
@@ -147,12 +143,7 @@ public class ProjectRegistry {
 
         initUnconfiguredFolders();
 
-        final Path root = Path.of(absolutizePath(parentPath));
-
-        return projects.keySet()
-                       .stream()
-                       .filter(key -> Path.of(key).isChild(root))
-                       .collect(Collectors.toList());
+        return projects.getPaths(absolutizePath(parentPath));
     }
 
     /**
@@ -164,22 +155,13 @@ public class ProjectRegistry {
         checkInitializationState();
 
         // return this if a project
-        if (getProject(path) != null) {
-            return getProject(path);
-        }
-
-        // otherwise try to find matched parent
-        Path test;
-        while ((test = Path.of(path).getParent()) != null) {
-            final RegisteredProject project = projects.get(test.toString());
-            if (project != null) {
-                return project;
-            }
-
-            path = test.toString();
+        final RegisteredProject project = getProject(path);
+        if (project != null) {
+            return project;
         }
 
-        return null;
+        // otherwise find the closest parent
+        return projects.getOwner(absolutizePath(path));
     }
 
     /**
@@ -207,6 +189,7 @@ public class ProjectRegistry {
 
         final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
         projects.put(project.getPath(), project);
+        eventService.publish(new ProjectUpdatedEvent(project.getPath()));
 
         return project;
     }
@@ -220,10 +203,7 @@ public class ProjectRegistry {
      */
     void removeProjects(String path) throws ServerException {
 
-        List<RegisteredProject> removed = new ArrayList<>();
-        Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-        getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
-                                               .ifPresent(removed::add));
+        final List<RegisteredProject> removed = projects.removeAll(path);
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
     }
@@ -377,7 +357,7 @@ public class ProjectRegistry {
     private void initUnconfiguredFolders() {
         try {
             for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+                if (!projects.contains(folder.getVirtualFile().getPath().toString())) {
                     putProject(null, folder, true, false);
                 }
             }
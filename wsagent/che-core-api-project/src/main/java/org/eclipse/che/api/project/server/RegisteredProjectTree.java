@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registered projects organized by path segments, so the project owning a path and projects under a path
+ * are found in time proportional to the depth of the path rather than to the number of projects.
+ * <p>
+ * Reads don't lock. Modifications are serialized, removal of a subtree detaches its top node
+ * from the tree at once, so concurrent readers see either the whole subtree or nothing of it.
+ */
+class RegisteredProjectTree {
+
+    private final Node root = new Node(null, null);
+
+    /** Returns the project registered at the path or null. */
+    RegisteredProject get(String path) {
+        final Node node = find(path);
+        final Entry entry = node == null ? null : node.entry;
+        return entry == null ? null : entry.project;
+    }
+
+    boolean contains(String path) {
+        return get(path) != null;
+    }
+
+    /** Registers the project at the path, replacing the project registered there before if any. */
+    synchronized void put(String path, RegisteredProject project) {
+        Node node = root;
+        for (String segment : Path.of(path).elements()) {
+            final Node parent = node;
+            node = parent.children.computeIfAbsent(segment, name -> new Node(parent, name));
+        }
+        node.entry = new Entry(path, project);
+    }
+
+    /** Unregisters the project registered at the path, projects under the path are kept. */
+    synchronized RegisteredProject remove(String path) {
+        final Node node = find(path);
+        if (node == null || node.entry == null) {
+            return null;
+        }
+        final RegisteredProject removed = node.entry.project;
+        node.entry = null;
+        prune(node);
+        return removed;
+    }
+
+    /** Unregisters the project registered at the path and all the projects under the path. */
+    synchronized List<RegisteredProject> removeAll(String path) {
+        final Node node = find(path);
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        final List<RegisteredProject> removed = new ArrayList<>();
+        if (node.entry != null) {
+            removed.add(node.entry.project);
+        }
+        for (Entry entry : collect(node)) {
+            removed.add(entry.project);
+        }
+        if (node == root) {
+            root.entry = null;
+            root.children.clear();
+        } else {
+            node.parent.children.remove(node.name, node);
+            prune(node.parent);
+        }
+        return removed;
+    }
+
+    /** Returns paths of the projects under the path, the project registered at the path itself is not included. */
+    List<String> getPaths(String parentPath) {
+        final Node node = find(parentPath);
+        final List<String> paths = new ArrayList<>();
+        if (node != null) {
+            for (Entry entry : collect(node)) {
+                paths.add(entry.path);
+            }
+        }
+        return paths;
+    }
+
+    /** Returns the project registered at the path or at the closest parent of the path, or null. */
+    RegisteredProject getOwner(String path) {
+        Node node = root;
+        Entry owner = root.entry;
+        for (String segment : Path.of(path).elements()) {
+            node = node.children.get(segment);
+            if (node == null) {
+                break;
+            }
+            final Entry entry = node.entry;
+            if (entry != null) {
+                owner = entry;
+            }
+        }
+        return owner == null ? null : owner.project;
+    }
+
+    /** Returns all the registered projects. */
+    List<RegisteredProject> getAll() {
+        final List<RegisteredProject> all = new ArrayList<>();
+        final Entry rootEntry = root.entry;
+        if (rootEntry != null) {
+            all.add(rootEntry.project);
+        }
+        for (Entry entry : collect(root)) {
+            all.add(entry.project);
+        }
+        return all;
+    }
+
+    private Node find(String path) {
+        Node node = root;
+        for (String segment : Path.of(path).elements()) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /** Returns entries of all the nodes under the node. */
+    private static List<Entry> collect(Node top) {
+        final List<Entry> entries = new ArrayList<>();
+        final Deque<Node> queue = new ArrayDeque<>(top.children.values());
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            final Entry entry = node.entry;
+            if (entry != null) {
+                entries.add(entry);
+            }
+            queue.addAll(node.children.values());
+        }
+        return entries;
+    }
+
+    /** Removes nodes which neither hold a project nor lead to one, starting from the node up to the root. */
+    private void prune(Node node) {
+        while (node != root && node.entry == null && node.children.isEmpty()) {
+            node.parent.children.remove(node.name, node);
+            node = node.parent;
+        }
+    }
+
+    private static class Node {
+        final Node                        parent;
+        final String                      name;
+        final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+        volatile Entry                    entry;
+
+        Node(Node parent, String name) {
+            this.parent = parent;
+            this.name = name;
+        }
+    }
+
+    private static class Entry {
+        final String            path;
+        final RegisteredProject project;
+
+        Entry(String path, RegisteredProject project) {
+            this.path = path;
+            this.project = project;
+        }
+    }
+}
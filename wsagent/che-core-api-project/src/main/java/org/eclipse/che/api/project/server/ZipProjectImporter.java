@@ -14,13 +14,16 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.SourceStorage;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.project.server.importer.ProjectImporter;
 
 import javax.inject.Singleton;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.Map;
 
 import static org.eclipse.che.api.project.shared.Constants.ZIP_IMPORTER_ID;
@@ -80,7 +83,9 @@ public class ZipProjectImporter implements ProjectImporter {
         }
 
         Map<String, String> parameters = storage.getParameters();
-        try (InputStream zip = url.openStream()) {
+        URLConnection connection = url.openConnection();
+        try (LineConsumer output = importOutputConsumerFactory.newLineConsumer();
+             InputStream zip = new ProgressReportingInputStream(connection.getInputStream(), connection.getContentLengthLong(), output)) {
             int stripNumber = 0;
             if (parameters != null && parameters.containsKey("skipFirstLevel")) {
                 stripNumber = Boolean.parseBoolean(parameters.get("skipFirstLevel")) ? 1 : 0;
@@ -93,4 +98,59 @@ public class ZipProjectImporter implements ProjectImporter {
     public ImporterCategory getCategory() {
         return ImporterCategory.ARCHIVE;
     }
+
+    /** Reports to import output how many bytes of archive are already read, after each {@link #PROGRESS_STEP} bytes. */
+    private static class ProgressReportingInputStream extends FilterInputStream {
+        static final long PROGRESS_STEP = 1024 * 1024;
+
+        final long         size;
+        final LineConsumer output;
+        long read;
+        long reported;
+
+        ProgressReportingInputStream(InputStream in, long size, LineConsumer output) {
+            super(in);
+            this.size = size;
+            this.output = output;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            if (skipped > 0) {
+                count(skipped);
+            }
+            return skipped;
+        }
+
+        private void count(long bytes) throws IOException {
+            read += bytes;
+            if (read - reported >= PROGRESS_STEP) {
+                reported = read;
+                if (size > 0) {
+                    output.writeLine(String.format("Extracting archive: %d of %d KB (%d%%)", read / 1024, size / 1024, read * 100 / size));
+                } else {
+                    output.writeLine(String.format("Extracting archive: %d KB", read / 1024));
+                }
+            }
+        }
+    }
 }
@@ -13,8 +13,8 @@ package org.eclipse.che.api.project.server.importer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.core.impl.provider.json.JsonUtils;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,7 +85,7 @@ public class ProjectImportOutputWSLineConsumer implements LineConsumer {
 
     protected void sendMessageToWS(final ChannelBroadcastMessage bm) {
         try {
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error("A problem occurred while sending websocket message", e);
         }
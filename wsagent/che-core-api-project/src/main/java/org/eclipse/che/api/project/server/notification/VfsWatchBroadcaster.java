@@ -14,7 +14,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +46,7 @@ public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel(VfsWatchEvent.VFS_CHANNEL);
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
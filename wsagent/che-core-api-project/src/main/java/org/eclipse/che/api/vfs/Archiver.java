@@ -56,4 +56,39 @@ public abstract class Archiver {
      */
     public abstract void extract(InputStream compressedInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException;
+
+    /**
+     * Converts name of archive entry to path relative to {@code folder}.
+     *
+     * @throws IOException
+     *         if entry points outside of {@code folder}
+     */
+    protected static Path toRelativePath(String entryName) throws IOException {
+        try {
+            return Path.of(entryName);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(String.format("Invalid archive entry '%s'", entryName));
+        }
+    }
+
+    /**
+     * Resolves folders which entries are extracted in and creates missing ones. Entries of the same folder
+     * usually follow each other in archive, so the last resolved folder is reused without looking it up again.
+     */
+    protected class ExtractFolders {
+        private Path        lastPath;
+        private VirtualFile lastFolder;
+
+        public VirtualFile getFolder(Path relativePath) throws ForbiddenException, ConflictException, ServerException {
+            if (!relativePath.equals(lastPath)) {
+                VirtualFile extractFolder = folder.getChild(relativePath);
+                if (extractFolder == null) {
+                    extractFolder = folder.createFolder(relativePath.toString());
+                }
+                lastPath = relativePath;
+                lastFolder = extractFolder;
+            }
+            return lastFolder;
+        }
+    }
 }
@@ -18,6 +18,7 @@ import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.util.ExtractionGuard;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 
 import java.io.IOException;
@@ -89,13 +90,15 @@ public class TarArchiver extends Archiver {
     @Override
     public void extract(InputStream tarInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
-        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(tarInput)) {
-            InputStream notClosableInputStream = new NotClosableInputStream(tarInputStream);
+        final ExtractionGuard guard = new ExtractionGuard(tarInput);
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(guard.getCompressedInput())) {
+            InputStream entryContent = guard.guardEntries(new NotClosableInputStream(tarInputStream));
+            ExtractFolders extractFolders = new ExtractFolders();
             TarArchiveEntry tarEntry;
             while ((tarEntry = tarInputStream.getNextTarEntry()) != null) {
-                VirtualFile extractFolder = folder;
+                guard.nextEntry();
 
-                Path relativePath = Path.of(tarEntry.getName());
+                Path relativePath = toRelativePath(tarEntry.getName());
 
                 if (stripNumber > 0) {
                     if (relativePath.length() <= stripNumber) {
@@ -105,28 +108,19 @@ public class TarArchiver extends Archiver {
                 }
 
                 if (tarEntry.isDirectory()) {
-                    if (!extractFolder.hasChild(relativePath)) {
-                        extractFolder.createFolder(relativePath.toString());
-                    }
+                    extractFolders.getFolder(relativePath);
                     continue;
                 }
 
-                if (relativePath.length() > 1) {
-                    Path neededParentPath = relativePath.getParent();
-                    VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-                    if (neededParent == null) {
-                        neededParent = extractFolder.createFolder(neededParentPath.toString());
-                    }
-                    extractFolder = neededParent;
-                }
+                VirtualFile extractFolder = relativePath.length() > 1 ? extractFolders.getFolder(relativePath.getParent()) : folder;
 
                 String fileName = relativePath.getName();
                 VirtualFile file = extractFolder.getChild(Path.of(fileName));
                 if (file == null) {
-                    extractFolder.createFile(fileName, notClosableInputStream);
+                    extractFolder.createFile(fileName, entryContent);
                 } else {
                     if (overwrite) {
-                        file.updateContent(notClosableInputStream);
+                        file.updateContent(entryContent);
                     } else {
                         throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
                     }
@@ -15,8 +15,8 @@ import com.google.common.io.ByteStreams;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.util.ExtractionGuard;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
-import org.eclipse.che.api.vfs.util.ZipContent;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -87,13 +87,15 @@ public class ZipArchiver extends Archiver {
     @Override
     public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
-        try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
-            InputStream notClosableInputStream = new NotClosableInputStream(zip);
+        final ExtractionGuard guard = new ExtractionGuard(zipInput);
+        try (ZipInputStream zip = new ZipInputStream(guard.getCompressedInput())) {
+            InputStream entryContent = guard.guardEntries(new NotClosableInputStream(zip));
+            ExtractFolders extractFolders = new ExtractFolders();
             ZipEntry zipEntry;
             while ((zipEntry = zip.getNextEntry()) != null) {
-                VirtualFile extractFolder = folder;
+                guard.nextEntry();
 
-                Path relativePath = Path.of(zipEntry.getName());
+                Path relativePath = toRelativePath(zipEntry.getName());
 
                 if (stripNumber > 0) {
                     if (relativePath.length() <= stripNumber) {
@@ -103,28 +105,19 @@ public class ZipArchiver extends Archiver {
                 }
 
                 if (zipEntry.isDirectory()) {
-                    if (!extractFolder.hasChild(relativePath)) {
-                        extractFolder.createFolder(relativePath.toString());
-                    }
+                    extractFolders.getFolder(relativePath);
                     continue;
                 }
 
-                if (relativePath.length() > 1) {
-                    Path neededParentPath = relativePath.getParent();
-                    VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-                    if (neededParent == null) {
-                        neededParent = extractFolder.createFolder(neededParentPath.toString());
-                    }
-                    extractFolder = neededParent;
-                }
+                VirtualFile extractFolder = relativePath.length() > 1 ? extractFolders.getFolder(relativePath.getParent()) : folder;
 
                 String fileName = relativePath.getName();
                 VirtualFile file = extractFolder.getChild(Path.of(fileName));
                 if (file == null) {
-                    extractFolder.createFile(fileName, notClosableInputStream);
+                    extractFolder.createFile(fileName, entryContent);
                 } else {
                     if (overwrite) {
-                        file.updateContent(notClosableInputStream);
+                        file.updateContent(entryContent);
                     } else {
                         throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
                     }
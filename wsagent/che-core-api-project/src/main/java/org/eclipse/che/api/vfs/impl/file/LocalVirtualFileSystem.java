@@ -79,6 +79,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     static final int MAX_BUFFER_SIZE = 200 * 1024; // 200k
 
+    private static final int  EXTRACT_BUFFER_SIZE        = 64 * 1024;
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
@@ -136,6 +137,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    /**
+     * Copy buffer of archive extraction running in the current thread. While it is set, files are written
+     * with this buffer and aren't added in searcher one by one, the whole folder is indexed once extraction is done.
+     */
+    private final ThreadLocal<byte[]> extractBuffer = new ThreadLocal<>();
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -538,8 +545,16 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
 
     private void doUpdateContent(LocalVirtualFile virtualFile, InputStream content) throws ServerException {
+        final byte[] buffer = extractBuffer.get();
         try (FileOutputStream fileOut = new FileOutputStream(virtualFile.toIoFile())) {
-            ByteStreams.copy(content, fileOut);
+            if (buffer == null) {
+                ByteStreams.copy(content, fileOut);
+            } else {
+                int bytes;
+                while ((bytes = content.read(buffer)) != -1) {
+                    fileOut.write(buffer, 0, bytes);
+                }
+            }
         } catch (IOException e) {
             String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -614,8 +629,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
-            addInSearcher(parent);
+            try {
+                extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            } finally {
+                addInSearcher(parent);
+            }
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
         }
@@ -639,8 +657,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
-            addInSearcher(parent);
+            try {
+                extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            } finally {
+                addInSearcher(parent);
+            }
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
         }
@@ -664,10 +685,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
+        extractBuffer.set(new byte[EXTRACT_BUFFER_SIZE]);
         try {
             archiver.extract(compressed, overwrite, stripNumber);
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
+        } finally {
+            extractBuffer.remove();
         }
     }
 
@@ -931,7 +955,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
 
     private void addInSearcher(LocalVirtualFile newVirtualFile) {
-        if (searcherProvider != null) {
+        if (searcherProvider != null && extractBuffer.get() == null) {
             try {
                 searcherProvider.getSearcher(this).add(newVirtualFile);
             } catch (ServerException e) {
@@ -941,7 +965,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
     private void updateInSearcher(LocalVirtualFile virtualFile) {
-        if (searcherProvider != null) {
+        if (searcherProvider != null && extractBuffer.get() == null) {
             try {
                 searcherProvider.getSearcher(this).update(virtualFile);
             } catch (ServerException e) {
@@ -13,7 +13,7 @@ package org.eclipse.che.api.vfs.impl.file.event;
 import com.google.common.annotations.Beta;
 
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 
@@ -50,7 +50,7 @@ public class HiEventClientBroadcaster implements HiEventBroadcaster {
         bm.setBody(DtoFactory.getInstance().toJson(event.getDto()));
 
         try {
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
             LOG.debug("Sending message over websocket connection: {}", bm);
         } catch (EncodeException | IOException e) {
             LOG.error("Can't send a VFS notification over web socket. Event: {}", event, e);
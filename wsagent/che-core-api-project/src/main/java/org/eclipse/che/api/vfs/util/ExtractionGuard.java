@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Protects extraction of an archive against archives which unpack to unreasonably large content (zip bombs).
+ * <p/>
+ * Limits are checked while the archive is streamed, so the archive doesn't need to be spooled and read twice.
+ * Compressed content of the archive must be read through {@link #getCompressedInput()}, content of the
+ * extracted entries must be read through the stream returned by {@link #guardEntries(InputStream)} and
+ * {@link #nextEntry()} must be called for each entry of the archive.
+ * <p/>
+ * Violation of a limit is reported with {@link IOException}, so extraction stops at once and
+ * leaves only entries which were extracted before the limit was reached.
+ */
+public final class ExtractionGuard {
+    /** Max number of entries in an archive. */
+    public static final int  MAX_ENTRIES      = 1_000_000;
+    /** Max number of bytes of uncompressed content of an archive, 4 GiB. */
+    public static final long MAX_CONTENT_SIZE = 4L * 1024 * 1024 * 1024;
+    /** The threshold after that checking of compression ratio started. */
+    public static final long RATIO_THRESHOLD  = 1000000;
+    /**
+     * Max compression ratio. If the number of bytes of uncompressed data exceeds the number
+     * of bytes of compressed stream more than this ratio (and number of uncompressed data
+     * is more than threshold) then IOException is thrown.
+     */
+    public static final int  MAX_RATIO        = 100;
+
+    private final CountingInputStream compressedInput;
+    private final int                 maxEntries;
+    private final long                maxContentSize;
+    private final int                 maxRatio;
+
+    private int  entries;
+    private long contentSize;
+
+    public ExtractionGuard(InputStream compressedInput) {
+        this(compressedInput, MAX_ENTRIES, MAX_CONTENT_SIZE, MAX_RATIO);
+    }
+
+    public ExtractionGuard(InputStream compressedInput, int maxEntries, long maxContentSize, int maxRatio) {
+        this.compressedInput = new CountingInputStream(compressedInput);
+        this.maxEntries = maxEntries;
+        this.maxContentSize = maxContentSize;
+        this.maxRatio = maxRatio;
+    }
+
+    /** Returns stream of compressed content of the archive which counts read bytes. */
+    public InputStream getCompressedInput() {
+        return compressedInput;
+    }
+
+    /**
+     * Registers next entry of the archive.
+     *
+     * @throws IOException
+     *         if archive contains too many entries
+     */
+    public void nextEntry() throws IOException {
+        if (++entries > maxEntries) {
+            throw new IOException(String.format("Archive contains more than %d entries", maxEntries));
+        }
+    }
+
+    /**
+     * Wraps stream of uncompressed content of entries, reading of the returned stream fails
+     * when the uncompressed content of the archive exceeds limits.
+     */
+    public InputStream guardEntries(InputStream uncompressedInput) {
+        return new FilterInputStream(uncompressedInput) {
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b != -1) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                final int n = super.read(b, off, len);
+                if (n > 0) {
+                    count(n);
+                }
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                final long skipped = super.skip(n);
+                if (skipped > 0) {
+                    count(skipped);
+                }
+                return skipped;
+            }
+        };
+    }
+
+    private void count(long bytes) throws IOException {
+        contentSize += bytes;
+        if (contentSize > maxContentSize) {
+            throw new IOException(String.format("Uncompressed content of archive exceeds %d bytes", maxContentSize));
+        }
+        if (contentSize > RATIO_THRESHOLD && contentSize > maxRatio * compressedInput.getByteCount()) {
+            throw new IOException("Zip bomb detected");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link RegisteredProjectTree}.
+ */
+public class RegisteredProjectTreeTest {
+
+    private RegisteredProjectTree tree;
+    private RegisteredProject     parent;
+    private RegisteredProject     module;
+    private RegisteredProject     nested;
+    private RegisteredProject     other;
+
+    @Before
+    public void setUp() throws Exception {
+        tree = new RegisteredProjectTree();
+        parent = register("/parent");
+        module = register("/parent/module");
+        nested = register("/parent/module/sub/nested");
+        other = register("/other");
+    }
+
+    @Test
+    public void shouldFindProjectsUnderPath() throws Exception {
+        assertEquals(new HashSet<>(asList("/parent/module", "/parent/module/sub/nested")), new HashSet<>(tree.getPaths("/parent")));
+        assertEquals(asList("/parent/module/sub/nested"), tree.getPaths("/parent/module/sub"));
+        assertTrue(tree.getPaths("/parent/module/sub/nested").isEmpty());
+        assertTrue(tree.getPaths("/missing").isEmpty());
+        assertEquals(4, tree.getPaths("/").size());
+    }
+
+    @Test
+    public void shouldFindOwnerOfPath() throws Exception {
+        assertSame(module, tree.getOwner("/parent/module/src/Main.java"));
+        assertSame(module, tree.getOwner("/parent/module/sub"));
+        assertSame(nested, tree.getOwner("/parent/module/sub/nested/pom.xml"));
+        assertSame(module, tree.getOwner("/parent/module"));
+        assertSame(parent, tree.getOwner("/parent/other/file"));
+        assertNull(tree.getOwner("/missing/file"));
+    }
+
+    @Test
+    public void shouldNotMatchProjectsWithCommonNamePrefix() throws Exception {
+        register("/parent-2");
+
+        assertNull(tree.getOwner("/parent-2x/file"));
+        assertEquals(2, tree.getPaths("/parent").size());
+    }
+
+    @Test
+    public void shouldRemoveSubtree() throws Exception {
+        final List<RegisteredProject> removed = tree.removeAll("/parent/module");
+
+        assertEquals(new HashSet<>(asList(module, nested)), new HashSet<>(removed));
+        assertNull(tree.get("/parent/module"));
+        assertNull(tree.get("/parent/module/sub/nested"));
+        assertSame(parent, tree.getOwner("/parent/module/sub/nested"));
+        assertEquals(new HashSet<>(asList(parent, other)), new HashSet<>(tree.getAll()));
+    }
+
+    @Test
+    public void shouldKeepProjectsUnderRemovedProject() throws Exception {
+        assertSame(module, tree.remove("/parent/module"));
+
+        assertNull(tree.get("/parent/module"));
+        assertSame(nested, tree.get("/parent/module/sub/nested"));
+        assertSame(parent, tree.getOwner("/parent/module/file"));
+    }
+
+    @Test
+    public void shouldReplaceProjectRegisteredAtSamePath() throws Exception {
+        final RegisteredProject updated = register("/parent/module");
+
+        assertSame(updated, tree.get("/parent/module"));
+        assertEquals(4, tree.getAll().size());
+    }
+
+    private RegisteredProject register(String path) {
+        final RegisteredProject project = mock(RegisteredProject.class);
+        tree.put(path, project);
+        return project;
+    }
+}
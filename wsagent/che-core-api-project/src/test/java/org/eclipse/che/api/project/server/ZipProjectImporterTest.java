@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.model.project.SourceStorage;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ZipProjectImporter}.
+ */
+public class ZipProjectImporterTest {
+
+    private File          archive;
+    private VirtualFile   virtualFile;
+    private FolderEntry   baseFolder;
+    private SourceStorage storage;
+    private LineConsumer  output;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        archive = File.createTempFile("project", ".zip");
+        Files.write(archive.toPath(), new byte[3 * 1024 * 1024]);
+
+        virtualFile = mock(VirtualFile.class);
+        baseFolder = new FolderEntry(virtualFile);
+        storage = mock(SourceStorage.class);
+        when(storage.getLocation()).thenReturn(archive.getAbsolutePath());
+        when(storage.getParameters()).thenReturn(Collections.singletonMap("skipFirstLevel", "true"));
+        output = mock(LineConsumer.class);
+        doAnswer(invocation -> ByteStreams.exhaust((InputStream)invocation.getArguments()[0]))
+                .when(virtualFile).unzip(any(InputStream.class), eq(true), eq(1));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(archive.toPath());
+    }
+
+    @Test
+    public void shouldReportProgressOfExtraction() throws Exception {
+        new ZipProjectImporter().importSources(baseFolder, storage, () -> output);
+
+        verify(output).writeLine("Extracting archive: 1024 of 3072 KB (33%)");
+        verify(output).writeLine("Extracting archive: 2048 of 3072 KB (66%)");
+        verify(output).writeLine("Extracting archive: 3072 of 3072 KB (100%)");
+        verify(output, times(3)).writeLine(any());
+        verify(output).close();
+    }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.lang.Integer.parseInt;
+import static java.util.Collections.emptySet;
+
+/**
+ * Measures import of a large generated zip archive in the local virtual file system,
+ * including indexing of the extracted files, and prints throughput and peak heap usage.
+ * <p>
+ * It is not executed as a part of the build, run it manually with a limited heap to see that
+ * memory usage doesn't depend on the size of the archive:
+ * <pre>
+ * java -Xmx256m -cp ... org.eclipse.che.api.vfs.ArchiveExtractionBenchmark [entries] [entry size]
+ * </pre>
+ * By default the archive contains 100000 files of 4 KB, 100 files per folder.
+ */
+public class ArchiveExtractionBenchmark {
+
+    private static final int FILES_PER_FOLDER = 100;
+
+    public static void main(String[] args) throws Exception {
+        final int entries = args.length > 0 ? parseInt(args[0]) : 100_000;
+        final int entrySize = args.length > 1 ? parseInt(args[1]) : 4096;
+        final File workDir = Files.createTempDirectory("extraction-benchmark").toFile();
+        try {
+            final File archive = new File(workDir, "project.zip");
+            final long contentSize = createArchive(archive, entries, entrySize);
+
+            final File root = new File(workDir, "fs");
+            root.mkdirs();
+            final FSLuceneSearcherProvider searcherProvider = new FSLuceneSearcherProvider(new File(workDir, "index"), emptySet());
+            final LocalVirtualFileSystem fileSystem = new LocalVirtualFileSystem(root, new ArchiverFactory(), searcherProvider, null);
+            // creates index before measurement
+            searcherProvider.getSearcher(fileSystem);
+            final VirtualFile project = fileSystem.getRoot().createFolder("project");
+
+            System.gc();
+            resetPeakHeapUsage();
+            final long start = System.nanoTime();
+            try (InputStream in = new FileInputStream(archive)) {
+                project.unzip(in, false, 1);
+            }
+            final long time = System.nanoTime() - start;
+            final long peakHeap = getPeakHeapUsage();
+            fileSystem.close();
+
+            System.out.printf("archive: %d entries, %d KB compressed, %d KB uncompressed%n",
+                              entries, archive.length() / 1024, contentSize / 1024);
+            System.out.printf("extract and index:  %8.3f s%n", time / 1e9);
+            System.out.printf("throughput:         %8.0f entries/s, %8.3f MB/s%n",
+                              entries / (time / 1e9), contentSize / 1024.0 / 1024.0 / (time / 1e9));
+            System.out.printf("peak heap:          %8d KB (max heap %d KB)%n",
+                              peakHeap / 1024, Runtime.getRuntime().maxMemory() / 1024);
+        } finally {
+            IoUtil.deleteRecursive(workDir);
+        }
+    }
+
+    /** Creates archive with a single root folder, as archives of projects usually have, returns size of its content. */
+    private static long createArchive(File archive, int entries, int entrySize) throws IOException {
+        final Random random = new Random(1);
+        final byte[] content = new byte[entrySize];
+        long contentSize = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archive)))) {
+            zip.putNextEntry(new ZipEntry("project/"));
+            for (int i = 0; i < entries; i++) {
+                if (i % FILES_PER_FOLDER == 0) {
+                    zip.putNextEntry(new ZipEntry(String.format("project/src/folder%d/", i / FILES_PER_FOLDER)));
+                }
+                zip.putNextEntry(new ZipEntry(String.format("project/src/folder%d/File%d.java", i / FILES_PER_FOLDER, i)));
+                // random words, so content is indexed and compressed as a source code would be
+                for (int j = 0; j < entrySize; j++) {
+                    content[j] = (byte)(j % 80 == 79 ? '\n' : random.nextInt(6) == 0 ? ' ' : 'a' + random.nextInt(26));
+                }
+                zip.write(content);
+                contentSize += entrySize;
+            }
+        }
+        return contentSize;
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /** Sum of peaks of heap memory pools, pools don't reach their peaks at the same time so it is an upper bound. */
+    private static long getPeakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -42,6 +42,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -185,6 +186,22 @@ public class TarArchiverTest {
         }
     }
 
+    @Test
+    public void failsExtractArchiveWhenItContainsEntryOutsideOfFolder() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(byteOut)) {
+            addFileEntry(tarOut, "../evil.txt");
+        }
+        VirtualFile folder = vfsRoot.createFolder("folder");
+
+        try {
+            new TarArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0);
+            thrown.expect(IOException.class);
+        } catch (IOException expected) {
+            assertNull(vfsRoot.getChild(Path.of("evil.txt")));
+        }
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (TarArchiveInputStream tarIn = new TarArchiveInputStream(archive)) {
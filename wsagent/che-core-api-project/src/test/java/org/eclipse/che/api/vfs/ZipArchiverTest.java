@@ -42,6 +42,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -185,6 +186,39 @@ public class ZipArchiverTest {
         }
     }
 
+    @Test
+    public void failsExtractArchiveWhenItIsZipBomb() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            zipOut.putNextEntry(new ZipEntry("bomb.txt"));
+            // zeros are compressed at about 1000:1
+            zipOut.write(new byte[10 * 1024 * 1024]);
+        }
+        VirtualFile folder = vfsRoot.createFolder("folder");
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Zip bomb detected");
+
+        new ZipArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0);
+    }
+
+    @Test
+    public void failsExtractArchiveWhenItContainsEntryOutsideOfFolder() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            zipOut.putNextEntry(new ZipEntry("../evil.txt"));
+            zipOut.write(TEST_CONTENT_BYTES);
+        }
+        VirtualFile folder = vfsRoot.createFolder("folder");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0);
+            thrown.expect(IOException.class);
+        } catch (IOException expected) {
+            assertNull(vfsRoot.getChild(Path.of("evil.txt")));
+        }
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (ZipInputStream zip = new ZipInputStream(archive)) {
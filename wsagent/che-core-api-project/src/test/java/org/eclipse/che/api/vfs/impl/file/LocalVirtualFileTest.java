@@ -61,8 +61,11 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -1768,6 +1771,58 @@ public class LocalVirtualFileTest {
         verify(searcher).add(folder);
     }
 
+    @Test
+    public void doesNotAddFilesInSearcherOneByOneWhileExtractArchive() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile existedFile = folder.createFile("existed", "");
+        Mockito.reset(searcher);
+        Archiver archiver = mock(Archiver.class);
+        doAnswer(invocation -> {
+            folder.createFolder("a").createFile("b", (InputStream)invocation.getArguments()[0]);
+            existedFile.updateContent(DEFAULT_CONTENT);
+            return null;
+        }).when(archiver).extract(any(InputStream.class), eq(true), eq(0));
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+
+        folder.unzip(new ByteArrayInputStream(DEFAULT_CONTENT_BYTES), true, 0);
+
+        assertionHelper.assertThatIoFileHasContent(folder.getPath().newPath("a", "b"), DEFAULT_CONTENT_BYTES);
+        verify(searcher).add(folder);
+        verify(searcher, times(1)).add(any(VirtualFile.class));
+        verify(searcher, never()).update(any(VirtualFile.class));
+    }
+
+    @Test
+    public void addFolderInSearcherWhenExtractArchiveFailed() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Mockito.reset(searcher);
+        Archiver archiver = mock(Archiver.class);
+        doThrow(new IOException("Zip bomb detected")).when(archiver).extract(any(InputStream.class), eq(false), eq(0));
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+
+        try {
+            folder.unzip(new ByteArrayInputStream(new byte[0]), false, 0);
+            thrown.expect(ServerException.class);
+        } catch (ServerException expected) {
+            assertEquals("Zip bomb detected", expected.getMessage());
+        }
+
+        verify(searcher).add(folder);
+    }
+
+    @Test
+    public void addsFileInSearcherAfterExtractArchive() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        folder.unzip(new ByteArrayInputStream(new byte[0]), false, 0);
+        Mockito.reset(searcher);
+
+        VirtualFile file = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        verify(searcher).add(file);
+    }
+
     private VirtualFile getRoot() {
         return fileSystem.getRoot();
     }
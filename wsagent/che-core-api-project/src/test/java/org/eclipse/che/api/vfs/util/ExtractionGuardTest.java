@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import com.google.common.io.ByteStreams;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExtractionGuardTest {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void readsContentWithinLimits() throws Exception {
+        byte[] content = new byte[2 * 1024 * 1024];
+        ExtractionGuard guard = new ExtractionGuard(new ByteArrayInputStream(content));
+        guard.nextEntry();
+
+        InputStream entries = guard.guardEntries(guard.getCompressedInput());
+
+        assertEquals(content.length, ByteStreams.toByteArray(entries).length);
+    }
+
+    @Test
+    public void failsWhenArchiveContainsTooManyEntries() throws Exception {
+        ExtractionGuard guard = new ExtractionGuard(new ByteArrayInputStream(new byte[0]), 2, 1024, 100);
+        guard.nextEntry();
+        guard.nextEntry();
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Archive contains more than 2 entries");
+
+        guard.nextEntry();
+    }
+
+    @Test
+    public void failsWhenUncompressedContentIsTooLarge() throws Exception {
+        ExtractionGuard guard = new ExtractionGuard(new ByteArrayInputStream(new byte[0]), 10, 1024, 100);
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Uncompressed content of archive exceeds 1024 bytes");
+
+        ByteStreams.toByteArray(guard.guardEntries(new ByteArrayInputStream(new byte[1025])));
+    }
+
+    @Test
+    public void failsWhenDetectZipBomb() throws Exception {
+        ExtractionGuard guard = new ExtractionGuard(new ByteArrayInputStream(new byte[1024]));
+        ByteStreams.toByteArray(guard.getCompressedInput());
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Zip bomb detected");
+
+        ByteStreams.toByteArray(guard.guardEntries(new ByteArrayInputStream(new byte[2 * 1024 * 1024])));
+    }
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Committers of the history reachable from {@code HEAD}, persisted in the git directory
+ * together with the commit they were computed for.
+ * <p>
+ * When {@code HEAD} moves forward only commits added since the stored commit are walked,
+ * when it does not move the stored list is returned without walking at all. If the stored
+ * commit is no longer reachable from {@code HEAD} (reset, rebase, branch switch) the whole
+ * history is walked again. Committers are de-duplicated by name and email.
+ */
+class CommitersIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitersIndex.class);
+
+    static final String INDEX_FILE = "che-commiters";
+
+    private final Repository repository;
+    private final File       indexFile;
+
+    CommitersIndex(Repository repository) {
+        this.repository = repository;
+        this.indexFile = new File(repository.getDirectory(), INDEX_FILE);
+    }
+
+    /**
+     * Returns committers of all commits reachable from {@code HEAD} in the order of their latest commits,
+     * or an empty list if there are no commits.
+     */
+    List<GitUser> getCommiters() throws IOException {
+        final ObjectId head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            return new ArrayList<>();
+        }
+
+        final Index stored = read();
+        if (stored != null && head.equals(stored.tip)) {
+            return toGitUsers(stored.commiters);
+        }
+
+        final Set<Commiter> commiters = new LinkedHashSet<>();
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            final RevCommit headCommit = revWalk.parseCommit(head);
+            final boolean incremental = stored != null
+                                        && repository.hasObject(stored.tip)
+                                        && revWalk.isMergedInto(revWalk.parseCommit(stored.tip), headCommit);
+            revWalk.reset();
+            revWalk.markStart(headCommit);
+            if (incremental) {
+                revWalk.markUninteresting(revWalk.parseCommit(stored.tip));
+            }
+            for (RevCommit commit : revWalk) {
+                final PersonIdent committerIdentity = commit.getCommitterIdent();
+                commiters.add(new Commiter(committerIdentity.getName(), committerIdentity.getEmailAddress()));
+            }
+            if (incremental) {
+                commiters.addAll(stored.commiters);
+            }
+        }
+
+        write(new Index(head, commiters));
+        return toGitUsers(commiters);
+    }
+
+    private Index read() {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), UTF_8)) {
+            final ObjectId tip = ObjectId.fromString(reader.readLine());
+            final Set<Commiter> commiters = new LinkedHashSet<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf('\t');
+                if (separator < 0) {
+                    return null;
+                }
+                commiters.add(new Commiter(line.substring(0, separator), line.substring(separator + 1)));
+            }
+            return new Index(tip, commiters);
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to read committers index {}: {}", indexFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Index index) {
+        // each writer has its own temporary file, so concurrent writers can't corrupt each other's output
+        final File tmp;
+        try {
+            tmp = File.createTempFile(INDEX_FILE, ".tmp", indexFile.getParentFile());
+        } catch (IOException e) {
+            LOG.debug("Unable to write committers index {}: {}", indexFile, e.getMessage());
+            return;
+        }
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), UTF_8)) {
+                writer.write(index.tip.name());
+                writer.newLine();
+                for (Commiter commiter : index.commiters) {
+                    writer.write(sanitize(commiter.name));
+                    writer.write('\t');
+                    writer.write(sanitize(commiter.email));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp.toPath(), indexFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            // index is only an optimization, committers are computed from scratch next time
+            LOG.debug("Unable to write committers index {}: {}", indexFile, e.getMessage());
+            tmp.delete();
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static List<GitUser> toGitUsers(Set<Commiter> commiters) {
+        final List<GitUser> gitUsers = new ArrayList<>(commiters.size());
+        for (Commiter commiter : commiters) {
+            gitUsers.add(newDto(GitUser.class).withName(commiter.name).withEmail(commiter.email));
+        }
+        return gitUsers;
+    }
+
+    private static class Index {
+        final ObjectId      tip;
+        final Set<Commiter> commiters;
+
+        Index(ObjectId tip, Set<Commiter> commiters) {
+            this.tip = tip;
+            this.commiters = commiters;
+        }
+    }
+
+    private static class Commiter {
+        final String name;
+        final String email;
+
+        Commiter(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Commiter)) {
+                return false;
+            }
+            final Commiter other = (Commiter)obj;
+            return name.equals(other.name) && email.equals(other.email);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + email.hashCode();
+        }
+    }
+}
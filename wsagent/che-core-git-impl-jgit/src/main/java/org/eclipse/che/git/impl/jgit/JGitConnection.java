@@ -251,15 +251,19 @@ class JGitConnection implements GitConnection {
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
-    private final Repository        repository;
+    private final Repository          repository;
+    private final JGitRepositoryCache repositoryCache;
+    private final JGitStatusCache     statusCache;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
-                   GitUserResolver userResolver) {
+                   GitUserResolver userResolver, JGitRepositoryCache repositoryCache, JGitStatusCache statusCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
+        this.statusCache = statusCache;
     }
 
     @Override
@@ -481,7 +485,15 @@ class JGitConnection implements GitConnection {
                                            .setRemote(request.getRemoteName())
                                            .setCloneSubmodules(request.isRecursive())
                                            .setURI(remoteUri);
-            if (request.getBranchesToFetch().isEmpty()) {
+            String branch = request.getBranch();
+            if (branch != null) {
+                cloneCommand.setBranch(branch);
+            }
+            boolean singleBranch = branch != null && request.isSingleBranch();
+            if (singleBranch) {
+                String branchRef = branch.startsWith(Constants.R_REFS) ? branch : Constants.R_HEADS + branch;
+                cloneCommand.setBranchesToClone(Collections.singletonList(branchRef));
+            } else if (request.getBranchesToFetch().isEmpty()) {
                 cloneCommand.setCloneAllBranches(true);
             } else {
                 cloneCommand.setBranchesToClone(request.getBranchesToFetch());
@@ -524,6 +536,11 @@ class JGitConnection implements GitConnection {
                 repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_NAME, gitUser.getName());
                 repositoryConfig.setString(ConfigConstants.CONFIG_USER_SECTION, null, ConfigConstants.CONFIG_KEY_EMAIL, gitUser.getEmail());
             }
+            if (singleBranch) {
+                // Only the branch is cloned but the rest of branches have to be fetched on the next fetch from the remote
+                repositoryConfig.setString(ConfigConstants.CONFIG_REMOTE_SECTION, request.getRemoteName(), "fetch",
+                                           "+" + Constants.R_HEADS + "*:" + Constants.R_REMOTES + request.getRemoteName() + "/*");
+            }
             repositoryConfig.save();
         } catch (IOException | GitAPIException exception) {
             // Delete .git directory in case it was created
@@ -739,6 +756,13 @@ class JGitConnection implements GitConnection {
 
             request.getFileFilter().forEach(logCommand::addPath);
 
+            if (request.getSkip() > 0) {
+                logCommand.setSkip(request.getSkip());
+            }
+            if (request.getMaxCount() > 0) {
+                logCommand.setMaxCount(request.getMaxCount());
+            }
+
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
             List<Revision> commits = new ArrayList<>();
 
@@ -779,22 +803,11 @@ class JGitConnection implements GitConnection {
 
     @Override
     public List<GitUser> getCommiters() throws GitException {
-        List<GitUser> gitUsers = new ArrayList<>();
         try {
-            LogCommand logCommand = getGit().log();
-            for (RevCommit commit : logCommand.call()) {
-                PersonIdent committerIdentity = commit.getCommitterIdent();
-                GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
-                                                       .withEmail(committerIdentity.getEmailAddress());
-                if (!gitUsers.contains(gitUser)) {
-                    gitUsers.add(gitUser);
-                }
-            }
-        } catch (GitAPIException exception) {
+            return new CommitersIndex(repository).getCommiters();
+        } catch (IOException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
-
-        return gitUsers;
     }
 
     @Override
@@ -1390,7 +1403,7 @@ class JGitConnection implements GitConnection {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
-        return new JGitStatusImpl(branchName, getGit().status(), format);
+        return new JGitStatusImpl(branchName, statusCache.getStatus(repository), format);
     }
 
     @Override
@@ -1481,7 +1494,7 @@ class JGitConnection implements GitConnection {
 
     @Override
     public void close() {
-        repository.close();
+        repositoryCache.release(repository);
     }
 
     @Override
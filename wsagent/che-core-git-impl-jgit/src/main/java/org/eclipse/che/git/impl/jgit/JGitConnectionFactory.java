@@ -17,8 +17,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
@@ -43,13 +41,21 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
+    private final JGitStatusCache     statusCache;
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitRepositoryCache repositoryCache,
+                                 JGitStatusCache statusCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
+        this.statusCache = statusCache;
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -78,15 +84,16 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        Repository gitRepo = acquireRepository(workDir);
+        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver, repositoryCache,
+                                                 statusCache);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository acquireRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.acquire(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache.FileKey;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.eclipse.jgit.util.FS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares opened {@link Repository} instances between git connections.
+ * <p>
+ * Opening a {@link FileRepository} reads its config, refs and pack list from disk, and closing it
+ * throws away everything JGit cached for it. Instead of opening a repository per connection,
+ * repositories are kept open, keyed by the canonical path of the git directory, and reference counted:
+ * a repository is acquired when a connection is created and released when the connection is closed.
+ * Repositories which are not used by any connection are closed after the configured idle timeout,
+ * or earlier when the number of open repositories exceeds the configured limit.
+ * <p>
+ * Git directories which do not exist yet (e.g. before {@code init} or {@code clone}) are never shared.
+ * <p>
+ * Memory used for pack data of all repositories is bounded by JGit's global window cache,
+ * which is configured by this component.
+ */
+@Singleton
+public class JGitRepositoryCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+    private static final int MB = 1024 * 1024;
+
+    private final int                                   maxSize;
+    private final long                                  idleTimeoutMs;
+    /** Shared repositories mapped by git directory, in access order. */
+    private final LinkedHashMap<File, CachedRepository> repositories;
+    /** All shared repositories which are not closed yet, including ones already removed from {@link #repositories}. */
+    private final Map<Repository, CachedRepository>     leases;
+
+    @Inject
+    public JGitRepositoryCache(@Named("git.jgit.repository_cache.size") int maxSize,
+                               @Named("git.jgit.repository_cache.idle_timeout_sec") long idleTimeoutSec,
+                               @Named("git.jgit.packed_git_limit_mb") int packedGitLimitMb,
+                               @Named("git.jgit.packed_git_open_files") int packedGitOpenFiles,
+                               @Named("git.jgit.delta_base_cache_limit_mb") int deltaBaseCacheLimitMb) {
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = TimeUnit.SECONDS.toMillis(idleTimeoutSec);
+        this.repositories = new LinkedHashMap<>(16, 0.75f, true);
+        this.leases = new IdentityHashMap<>();
+
+        final WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+        windowCacheConfig.setPackedGitLimit((long)packedGitLimitMb * MB);
+        windowCacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+        windowCacheConfig.setDeltaBaseCacheLimit(deltaBaseCacheLimitMb * MB);
+        windowCacheConfig.install();
+    }
+
+    /**
+     * Returns repository located in the given working directory.
+     * Each call must be paired with {@link #release(Repository)}.
+     *
+     * @param workDir
+     *         working directory of the repository
+     * @throws IOException
+     *         when repository can not be opened
+     */
+    public synchronized Repository acquire(File workDir) throws IOException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT).getCanonicalFile();
+        if (!FileKey.isGitRepository(gitDir, FS.DETECTED)) {
+            // repository doesn't exist yet or was removed, don't share it
+            retire(repositories.remove(gitDir));
+            return new FileRepository(gitDir);
+        }
+
+        CachedRepository cached = repositories.get(gitDir);
+        if (cached == null) {
+            cached = new CachedRepository(new FileRepository(gitDir));
+            cached.references++;
+            repositories.put(gitDir, cached);
+            leases.put(cached.repository, cached);
+            evictExcessive();
+        } else {
+            cached.references++;
+        }
+        return cached.repository;
+    }
+
+    /**
+     * Releases repository obtained with {@link #acquire(File)}.
+     * Repository must not be used after it is released.
+     */
+    public synchronized void release(Repository repository) {
+        final CachedRepository cached = leases.get(repository);
+        if (cached == null) {
+            repository.close();
+            return;
+        }
+        if (--cached.references == 0) {
+            cached.lastReleased = System.currentTimeMillis();
+            if (cached.retired) {
+                close(cached);
+            }
+        }
+    }
+
+    /** Closes repositories which have not been used during the configured idle timeout. */
+    @ScheduleRate(periodParameterName = "git.jgit.repository_cache.idle_timeout_sec",
+                  initialDelayParameterName = "git.jgit.repository_cache.idle_timeout_sec")
+    public synchronized void evictIdle() {
+        final long expired = System.currentTimeMillis() - idleTimeoutMs;
+        for (Iterator<CachedRepository> it = repositories.values().iterator(); it.hasNext(); ) {
+            final CachedRepository cached = it.next();
+            if (cached.references == 0 && cached.lastReleased <= expired) {
+                it.remove();
+                close(cached);
+            }
+        }
+    }
+
+    /** Returns the number of repositories which are kept open. */
+    public synchronized int size() {
+        return repositories.size();
+    }
+
+    @PreDestroy
+    public synchronized void closeAll() {
+        repositories.clear();
+        leases.values().forEach(cached -> cached.repository.close());
+        leases.clear();
+    }
+
+    /** Closes least recently used repositories which are not in use, while there are more than {@link #maxSize} of them. */
+    private void evictExcessive() {
+        for (Iterator<CachedRepository> it = repositories.values().iterator(); it.hasNext() && repositories.size() > maxSize; ) {
+            final CachedRepository cached = it.next();
+            if (cached.references == 0) {
+                it.remove();
+                close(cached);
+            }
+        }
+    }
+
+    private void retire(CachedRepository cached) {
+        if (cached != null) {
+            if (cached.references == 0) {
+                close(cached);
+            } else {
+                cached.retired = true;
+            }
+        }
+    }
+
+    private void close(CachedRepository cached) {
+        LOG.debug("Closing repository {}", cached.repository.getDirectory());
+        leases.remove(cached.repository);
+        cached.repository.close();
+    }
+
+    private static class CachedRepository {
+        final Repository repository;
+
+        int     references;
+        long    lastReleased;
+        boolean retired;
+
+        CachedRepository(Repository repository) {
+            this.repository = repository;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.api.StatusCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Collections.unmodifiableSortedSet;
+
+/**
+ * Keeps the last computed status of git working trees located in the workspace, so that
+ * a status request does not walk and hash the whole working tree each time.
+ * <p>
+ * Before the kept status is reused, the working tree is walked without reading file content and
+ * paths modified since the previous scan are collected, as the project watcher reports changes with
+ * a delay. The walk does not descend into ignored folders, which usually hold most of the files
+ * (build output, installed dependencies), nor into folders excluded from watching: the latter are
+ * examined by every status request instead, as the watcher does not report their changes at all.
+ * Collected paths, together with paths reported by the watcher, are examined by the status request
+ * and merged into the kept status.
+ * The whole working tree is scanned again when the index, {@code HEAD}, the current branch, git
+ * configuration or ignore rules change, when an item of the working tree root is created or removed,
+ * or when too many paths were changed since the last request.
+ * <p>
+ * Working trees outside of the workspace are not watched, their status is always computed from scratch.
+ */
+@Singleton
+public class JGitStatusCache implements EventSubscriber<LoEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitStatusCache.class);
+
+    /** Number of changed paths after which the whole working tree is scanned instead. */
+    private static final int MAX_DIRTY_PATHS = 1000;
+
+    /**
+     * Items modified less than this number of milliseconds before the previous scan started are examined again,
+     * as some file systems keep modification time with a precision of a second or two.
+     */
+    private static final long MODIFICATION_TIME_PRECISION = 2000;
+
+    private static final String GIT_DIR   = Constants.DOT_GIT + '/';
+    private static final String GITIGNORE = Constants.DOT_GIT_IGNORE;
+
+    private final File                             workspaceRoot;
+    private final EventService                     eventService;
+    private final List<PathMatcher>                watcherExcludes;
+    private final ConcurrentMap<File, StatusEntry> entries;
+
+    @Inject
+    public JGitStatusCache(@Named("che.user.workspaces.storage") File workspaceRoot,
+                           @Named("vfs.index_filter_matcher") Set<PathMatcher> watcherExcludes,
+                           EventService eventService) {
+        this.workspaceRoot = canonical(workspaceRoot);
+        this.eventService = eventService;
+        this.watcherExcludes = new ArrayList<>(watcherExcludes);
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+
+    /**
+     * Returns status of the working tree of the given repository.
+     *
+     * @throws GitException
+     *         when status can not be computed
+     */
+    StatusSnapshot getStatus(Repository repository) throws GitException {
+        final File workTree = canonical(repository.getWorkTree());
+        if (!isAncestor(workspaceRoot, workTree) || workTree.equals(workspaceRoot)) {
+            return StatusSnapshot.of(status(repository, Collections.emptySet()));
+        }
+        return entries.computeIfAbsent(workTree, StatusEntry::new).getStatus(repository);
+    }
+
+    @Override
+    public void onEvent(LoEvent event) {
+        if (entries.isEmpty() || event.getPath() == null) {
+            return;
+        }
+        final File changed = new File(workspaceRoot, event.getPath());
+        for (Map.Entry<File, StatusEntry> mapEntry : entries.entrySet()) {
+            final StatusEntry entry = mapEntry.getValue();
+            if (isAncestor(changed, entry.workTree)) {
+                // working tree itself is removed or moved
+                entries.remove(mapEntry.getKey(), entry);
+            } else if (isAncestor(entry.workTree, changed)) {
+                entry.markDirty(changed.getPath().substring(entry.workTree.getPath().length() + 1).replace(File.separatorChar, '/'));
+            }
+        }
+    }
+
+    private static Status status(Repository repository, Collection<String> paths) throws GitException {
+        final StatusCommand statusCommand = new Git(repository).status();
+        paths.forEach(statusCommand::addPath);
+        try {
+            return statusCommand.call();
+        } catch (GitAPIException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
+    }
+
+    /** Whether a change of the given path inside the git directory may change status of the whole working tree. */
+    private static boolean affectsWholeTree(String gitDirPath) {
+        return gitDirPath.equals("index")
+               || gitDirPath.equals(Constants.HEAD)
+               || gitDirPath.equals(Constants.PACKED_REFS)
+               || gitDirPath.equals(Constants.CONFIG)
+               || gitDirPath.equals("info/exclude")
+               || gitDirPath.startsWith(Constants.R_HEADS);
+    }
+
+    /** Whether the watcher does not report changes of the given item, the same patterns as in the watcher are used. */
+    private boolean isExcludedFromWatching(Path path) {
+        final Path relative = workspaceRoot.toPath().relativize(path);
+        for (PathMatcher exclude : watcherExcludes) {
+            if (exclude.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects paths of working tree items modified not earlier than the given time.
+     * A folder is collected when an item is created, removed or renamed in it.
+     * <p>
+     * Git directories and folders which are ignored as a whole are skipped. Folders excluded
+     * from watching are collected without being walked, so that status of their content is examined.
+     *
+     * @return {@code false} if the working tree root itself is modified, so the whole working tree must be scanned
+     */
+    private boolean collectModified(File workTree, long since, Set<String> ignored, Set<String> paths) throws GitException {
+        final Path root = workTree.toPath();
+        final boolean[] rootModified = new boolean[1];
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (dir.getFileName().toString().equals(Constants.DOT_GIT) || ignored.contains(relativize(root, dir))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (!dir.equals(root) && isExcludedFromWatching(dir)) {
+                        paths.add(relativize(root, dir));
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (attrs.lastModifiedTime().toMillis() >= since) {
+                        if (dir.equals(root)) {
+                            rootModified[0] = true;
+                            return FileVisitResult.TERMINATE;
+                        }
+                        paths.add(relativize(root, dir));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.lastModifiedTime().toMillis() >= since && !file.getFileName().toString().equals(Constants.DOT_GIT)) {
+                        paths.add(relativize(root, file));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
+        return !rootModified[0];
+    }
+
+    private static String relativize(Path root, Path path) {
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    private static boolean isAncestor(File ancestor, File file) {
+        final String ancestorPath = ancestor.getPath();
+        final String filePath = file.getPath();
+        return filePath.equals(ancestorPath) || filePath.startsWith(ancestorPath + File.separator);
+    }
+
+    private static boolean isUnder(String path, Collection<String> parents) {
+        for (String parent : parents) {
+            if (path.equals(parent) || path.startsWith(parent + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static File canonical(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    /** State of one working tree. */
+    private class StatusEntry {
+        final File   workTree;
+        /** Guards {@link #snapshot}, {@link #fingerprint} and {@link #scanStarted}, status is computed while holding it. */
+        final Object scanLock = new Object();
+
+        StatusSnapshot snapshot;
+        Fingerprint    fingerprint;
+        /** Time when computing of {@link #snapshot} started. */
+        long           scanStarted;
+
+        /* Guarded by this. */
+        Set<String> dirtyPaths = new HashSet<>();
+        boolean     fullScan   = true;
+
+        StatusEntry(File workTree) {
+            this.workTree = workTree;
+        }
+
+        synchronized void markDirty(String path) {
+            if (fullScan) {
+                return;
+            }
+            if (path.startsWith(GIT_DIR)) {
+                fullScan = affectsWholeTree(path.substring(GIT_DIR.length()));
+            } else if (path.equals(Constants.DOT_GIT) || path.equals(GITIGNORE) || path.endsWith('/' + GITIGNORE)) {
+                fullScan = true;
+            } else {
+                dirtyPaths.add(path);
+                fullScan = dirtyPaths.size() > MAX_DIRTY_PATHS;
+            }
+            if (fullScan) {
+                dirtyPaths.clear();
+            }
+        }
+
+        StatusSnapshot getStatus(Repository repository) throws GitException {
+            synchronized (scanLock) {
+                final Fingerprint current = Fingerprint.of(repository);
+                final Set<String> dirty;
+                final boolean full;
+                synchronized (this) {
+                    full = fullScan || snapshot == null || !current.equals(fingerprint);
+                    dirty = dirtyPaths;
+                    dirtyPaths = new HashSet<>();
+                    fullScan = false;
+                }
+                final long started = System.currentTimeMillis();
+                try {
+                    if (full || !collectModified(workTree, scanStarted - MODIFICATION_TIME_PRECISION, snapshot.ignored, dirty)
+                        || dirty.size() > MAX_DIRTY_PATHS) {
+                        LOG.debug("Scanning working tree {}", workTree);
+                        snapshot = StatusSnapshot.of(status(repository, Collections.emptySet()));
+                    } else if (!dirty.isEmpty()) {
+                        final Set<String> paths = snapshot.expandToUntrackedFolders(dirty);
+                        snapshot = snapshot.update(paths, status(repository, paths));
+                    }
+                } catch (GitException | RuntimeException e) {
+                    synchronized (this) {
+                        fullScan = true;
+                    }
+                    throw e;
+                }
+                fingerprint = current;
+                scanStarted = started;
+                return snapshot;
+            }
+        }
+    }
+
+    /** Identifies the state of the index and {@code HEAD}, any change of it requires scanning the whole working tree. */
+    private static class Fingerprint {
+        /** Trailing checksum of the index file, empty if there is no index yet. */
+        final byte[]   indexChecksum;
+        final String   branch;
+        final ObjectId head;
+
+        Fingerprint(byte[] indexChecksum, String branch, ObjectId head) {
+            this.indexChecksum = indexChecksum;
+            this.branch = branch;
+            this.head = head;
+        }
+
+        static Fingerprint of(Repository repository) throws GitException {
+            try {
+                return new Fingerprint(readIndexChecksum(repository.getIndexFile()),
+                                       repository.getFullBranch(),
+                                       repository.resolve(Constants.HEAD));
+            } catch (IOException exception) {
+                throw new GitException(exception.getMessage(), exception);
+            }
+        }
+
+        private static byte[] readIndexChecksum(File index) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(index, "r")) {
+                final byte[] checksum = new byte[Constants.OBJECT_ID_LENGTH];
+                if (file.length() < checksum.length) {
+                    return new byte[0];
+                }
+                file.seek(file.length() - checksum.length);
+                file.readFully(checksum);
+                return checksum;
+            } catch (FileNotFoundException e) {
+                return new byte[0];
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint other = (Fingerprint)obj;
+            return Arrays.equals(indexChecksum, other.indexChecksum)
+                   && Objects.equals(branch, other.branch)
+                   && Objects.equals(head, other.head);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(indexChecksum), branch, head);
+        }
+    }
+
+    /** Immutable status of a working tree. */
+    static class StatusSnapshot {
+        final SortedSet<String> added;
+        final SortedSet<String> changed;
+        final SortedSet<String> removed;
+        final SortedSet<String> missing;
+        final SortedSet<String> modified;
+        final SortedSet<String> untracked;
+        final SortedSet<String> untrackedFolders;
+        final SortedSet<String> conflicting;
+        /** Ignored items which are not in the index, a folder ignored as a whole is reported as one item. */
+        final SortedSet<String> ignored;
+
+        private StatusSnapshot(SortedSet<String> added,
+                               SortedSet<String> changed,
+                               SortedSet<String> removed,
+                               SortedSet<String> missing,
+                               SortedSet<String> modified,
+                               SortedSet<String> untracked,
+                               SortedSet<String> untrackedFolders,
+                               SortedSet<String> conflicting,
+                               SortedSet<String> ignored) {
+            this.added = unmodifiableSortedSet(added);
+            this.changed = unmodifiableSortedSet(changed);
+            this.removed = unmodifiableSortedSet(removed);
+            this.missing = unmodifiableSortedSet(missing);
+            this.modified = unmodifiableSortedSet(modified);
+            this.untracked = unmodifiableSortedSet(untracked);
+            this.untrackedFolders = unmodifiableSortedSet(untrackedFolders);
+            this.conflicting = unmodifiableSortedSet(conflicting);
+            this.ignored = unmodifiableSortedSet(ignored);
+        }
+
+        static StatusSnapshot of(Status status) {
+            return new StatusSnapshot(new TreeSet<>(status.getAdded()),
+                                      new TreeSet<>(status.getChanged()),
+                                      new TreeSet<>(status.getRemoved()),
+                                      new TreeSet<>(status.getMissing()),
+                                      new TreeSet<>(status.getModified()),
+                                      new TreeSet<>(status.getUntracked()),
+                                      new TreeSet<>(status.getUntrackedFolders()),
+                                      new TreeSet<>(status.getConflicting()),
+                                      new TreeSet<>(status.getIgnoredNotInIndex()));
+        }
+
+        boolean isClean() {
+            return added.isEmpty()
+                   && changed.isEmpty()
+                   && removed.isEmpty()
+                   && missing.isEmpty()
+                   && modified.isEmpty()
+                   && untracked.isEmpty()
+                   && conflicting.isEmpty();
+        }
+
+        /**
+         * Replaces paths located under an untracked folder with the folder itself,
+         * whether the folder stays untracked depends on all of its content.
+         */
+        Set<String> expandToUntrackedFolders(Set<String> paths) {
+            final Set<String> expanded = new HashSet<>();
+            for (String path : paths) {
+                String folder = path;
+                for (String untrackedFolder : untrackedFolders) {
+                    if (path.startsWith(untrackedFolder + '/')) {
+                        folder = untrackedFolder;
+                        break;
+                    }
+                }
+                expanded.add(folder);
+            }
+            return expanded;
+        }
+
+        /** Returns snapshot where status of the given paths is replaced with the given partial status computed for them. */
+        StatusSnapshot update(Collection<String> paths, Status partial) {
+            return new StatusSnapshot(merge(added, paths, partial.getAdded()),
+                                      merge(changed, paths, partial.getChanged()),
+                                      merge(removed, paths, partial.getRemoved()),
+                                      merge(missing, paths, partial.getMissing()),
+                                      merge(modified, paths, partial.getModified()),
+                                      merge(untracked, paths, partial.getUntracked()),
+                                      merge(untrackedFolders, paths, partial.getUntrackedFolders()),
+                                      merge(conflicting, paths, partial.getConflicting()),
+                                      merge(ignored, paths, partial.getIgnoredNotInIndex()));
+        }
+
+        private static SortedSet<String> merge(SortedSet<String> current, Collection<String> paths, Set<String> partial) {
+            final SortedSet<String> merged = new TreeSet<>(current);
+            merged.removeIf(path -> isUnder(path, paths));
+            merged.addAll(partial);
+            return merged;
+        }
+    }
+}
@@ -77,6 +77,29 @@ public class JGitStatusImpl implements Status, InfoPage {
         conflicting = new ArrayList<>(gitStatus.getConflicting());
     }
 
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param snapshot
+     *         status kept by {@link JGitStatusCache}
+     * @param format
+     *         the output format for the status
+     */
+    JGitStatusImpl(String branchName, JGitStatusCache.StatusSnapshot snapshot, StatusFormat format) {
+        this.branchName = branchName;
+        this.format = format;
+
+        clean = snapshot.isClean();
+        added = new ArrayList<>(snapshot.added);
+        changed = new ArrayList<>(snapshot.changed);
+        removed = new ArrayList<>(snapshot.removed);
+        missing = new ArrayList<>(snapshot.missing);
+        modified = new ArrayList<>(snapshot.modified);
+        untracked = new ArrayList<>(snapshot.untracked);
+        untrackedFolders = new ArrayList<>(snapshot.untrackedFolders);
+        conflicting = new ArrayList<>(snapshot.conflicting);
+    }
+
     @Override
     public void writeTo(OutputStream out) throws IOException {
         StringBuilder status = new StringBuilder();
@@ -13,13 +13,19 @@ package org.eclipse.che.git.impl;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
+import org.eclipse.che.git.impl.jgit.JGitRepositoryCache;
+import org.eclipse.che.git.impl.jgit.JGitStatusCache;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.testng.annotations.DataProvider;
 
+import java.io.File;
+
+import static java.util.Collections.emptySet;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -37,7 +43,10 @@ public class GitConnectionFactoryProvider {
                         new JGitConnectionFactory(
                                 mock(CredentialsLoader.class),
                                 mock(SshKeyProvider.class),
-                                resolver
+                                resolver,
+                                new JGitRepositoryCache(50, 600, 10, 128, 10),
+                                // test repositories are not located in the workspace, so their status is never cached
+                                new JGitStatusCache(new File("target/workspace"), emptySet(), mock(EventService.class))
                         )
                 }
         };
@@ -63,6 +63,10 @@ public class JGitConnectionTest {
     private TransportCommand transportCommand;
     @Mock
     private GitRequest request;
+    @Mock
+    private JGitRepositoryCache repositoryCache;
+    @Mock
+    private JGitStatusCache statusCache;
     @InjectMocks
     private JGitConnection jGitConnection;
 
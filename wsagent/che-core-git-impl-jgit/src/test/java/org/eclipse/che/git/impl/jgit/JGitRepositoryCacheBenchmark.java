@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.git.shared.BranchListRequest;
+import org.eclipse.che.api.git.shared.LogRequest;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+
+import static java.lang.Integer.parseInt;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the cost of repeated {@code status}, {@code log} and {@code branchList} calls, each made through
+ * a new connection as git REST calls do, with and without {@link JGitRepositoryCache}.
+ * <p>
+ * It is not executed as a part of the build, run it manually:
+ * <pre>
+ * java -cp ... org.eclipse.che.git.impl.jgit.JGitRepositoryCacheBenchmark [commits] [branches] [iterations]
+ * </pre>
+ */
+public class JGitRepositoryCacheBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int commits = args.length > 0 ? parseInt(args[0]) : 2000;
+        final int branches = args.length > 1 ? parseInt(args[1]) : 200;
+        final int iterations = args.length > 2 ? parseInt(args[2]) : 200;
+
+        final File workDir = Files.createTempDirectory("repository-cache-benchmark").toFile();
+        try {
+            generateRepository(workDir, commits, branches);
+            final JGitRepositoryCache cache = new JGitRepositoryCache(10, 600, 64, 128, 16);
+            final File gitDir = new File(workDir, ".git");
+
+            // warm up JIT and the window cache for both variants
+            run(iterations / 4, () -> newConnection(new FileRepository(gitDir), cache));
+            run(iterations / 4, () -> newConnection(cache.acquire(workDir), cache));
+
+            final long uncached = run(iterations, () -> newConnection(new FileRepository(gitDir), cache));
+            final long cached = run(iterations, () -> newConnection(cache.acquire(workDir), cache));
+
+            System.out.printf("repository: %d commits, %d branches, %d iterations of status + log + branchList%n",
+                              commits, branches, iterations);
+            System.out.printf("new repository per call: %8.3f ms/iteration%n", uncached / 1e6 / iterations);
+            System.out.printf("shared repository:        %8.3f ms/iteration%n", cached / 1e6 / iterations);
+        } finally {
+            IoUtil.deleteRecursive(workDir);
+        }
+    }
+
+    private static long run(int iterations, Callable<JGitConnection> connectionFactory) throws Exception {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            final JGitConnection connection = connectionFactory.call();
+            try {
+                connection.status(StatusFormat.SHORT);
+                connection.log(newDto(LogRequest.class));
+                connection.branchList(newDto(BranchListRequest.class));
+            } finally {
+                connection.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static JGitConnection newConnection(Repository repository, JGitRepositoryCache cache) {
+        return new JGitConnection(repository,
+                                  mock(CredentialsLoader.class),
+                                  mock(SshKeyProvider.class),
+                                  mock(GitUserResolver.class),
+                                  cache,
+                                  new JGitStatusCache(new File("target/workspace"), emptySet(), mock(EventService.class)));
+    }
+
+    private static void generateRepository(File workDir, int commits, int branches) throws Exception {
+        try (Git git = Git.init().setDirectory(workDir).call()) {
+            for (int i = 0; i < commits; i++) {
+                final File file = new File(workDir, "dir" + i % 50 + "/file" + i % 500 + ".txt");
+                file.getParentFile().mkdirs();
+                Files.write(file.toPath(), ("content " + i).getBytes(UTF_8));
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("commit " + i).call();
+            }
+            for (int i = 0; i < branches; i++) {
+                git.branchCreate().setName("branch" + i).call();
+            }
+            git.gc().call();
+        }
+    }
+}
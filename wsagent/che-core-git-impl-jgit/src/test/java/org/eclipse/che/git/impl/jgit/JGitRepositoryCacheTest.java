@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link JGitRepositoryCache}.
+ */
+public class JGitRepositoryCacheTest {
+
+    private File root;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("repository-cache").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldShareRepositoryBetweenConnections() throws Exception {
+        final JGitRepositoryCache cache = new JGitRepositoryCache(10, 600, 10, 128, 10);
+        final File workDir = createRepository("repo");
+
+        final Repository first = cache.acquire(workDir);
+        final Repository second = cache.acquire(workDir);
+        cache.release(first);
+        cache.release(second);
+
+        assertSame(first, second);
+        assertSame(cache.acquire(workDir), first);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotShareRepositoryWhichDoesNotExistYet() throws Exception {
+        final JGitRepositoryCache cache = new JGitRepositoryCache(10, 600, 10, 128, 10);
+        final File workDir = new File(root, "not-initialized");
+        workDir.mkdirs();
+
+        final Repository first = cache.acquire(workDir);
+        final Repository second = cache.acquire(workDir);
+
+        assertNotSame(first, second);
+        assertEquals(cache.size(), 0);
+        cache.release(first);
+        cache.release(second);
+    }
+
+    @Test
+    public void shouldCloseIdleRepositories() throws Exception {
+        final JGitRepositoryCache cache = new JGitRepositoryCache(10, 0, 10, 128, 10);
+        final File workDir = createRepository("repo");
+        final Repository used = cache.acquire(workDir);
+        cache.release(cache.acquire(createRepository("idle")));
+
+        cache.evictIdle();
+
+        assertEquals(cache.size(), 1);
+        assertSame(cache.acquire(workDir), used);
+    }
+
+    @Test
+    public void shouldCloseLeastRecentlyUsedRepositoriesWhenLimitIsReached() throws Exception {
+        final JGitRepositoryCache cache = new JGitRepositoryCache(2, 600, 10, 128, 10);
+        final File first = createRepository("first");
+        final File second = createRepository("second");
+        final File third = createRepository("third");
+
+        final Repository firstRepository = cache.acquire(first);
+        cache.release(firstRepository);
+        cache.release(cache.acquire(second));
+        cache.release(cache.acquire(first));
+        cache.release(cache.acquire(third));
+
+        assertEquals(cache.size(), 2);
+        assertSame(cache.acquire(first), firstRepository);
+    }
+
+    @Test
+    public void shouldNotReturnRepositoryWhichWasRemoved() throws Exception {
+        final JGitRepositoryCache cache = new JGitRepositoryCache(10, 600, 10, 128, 10);
+        final File workDir = createRepository("repo");
+        final Repository removed = cache.acquire(workDir);
+        IoUtil.deleteRecursive(new File(workDir, ".git"));
+
+        final Repository recreated = cache.acquire(workDir);
+
+        assertNotSame(recreated, removed);
+        assertEquals(cache.size(), 0);
+        cache.release(removed);
+        cache.release(recreated);
+    }
+
+    private File createRepository(String name) throws Exception {
+        final File workDir = new File(root, name);
+        Git.init().setDirectory(workDir).call().close();
+        return workDir;
+    }
+}
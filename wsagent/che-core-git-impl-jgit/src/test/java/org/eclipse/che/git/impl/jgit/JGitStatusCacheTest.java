@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.git.impl.jgit.JGitStatusCache.StatusSnapshot;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JGitStatusCache}.
+ */
+public class JGitStatusCacheTest {
+
+    /** Excludes {@code node_modules} folders from watching, the same way as the node.js plugin does. */
+    private static final PathMatcher NODE_MODULES = path -> {
+        for (Path element : path) {
+            if ("node_modules".equals(element.toString())) {
+                return true;
+            }
+        }
+        return false;
+    };
+
+    private File            root;
+    private File            workDir;
+    private Git             git;
+    private JGitStatusCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("status-cache").toFile();
+        workDir = new File(root, "project");
+        git = Git.init().setDirectory(workDir).call();
+        write("README.txt", "readme");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("init").call();
+
+        cache = new JGitStatusCache(root, singleton(NODE_MODULES), mock(EventService.class));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        git.close();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldReportChangesNotYetReportedByWatcher() throws Exception {
+        assertTrue(cache.getStatus(repository()).isClean());
+
+        write("README.txt", "changed readme");
+        final StatusSnapshot status = cache.getStatus(repository());
+
+        assertFalse(status.isClean());
+        assertEquals(status.modified, singleton("README.txt"));
+    }
+
+    @Test
+    public void shouldReportChangesInFoldersExcludedFromWatching() throws Exception {
+        write("node_modules/lib.js", "module.exports = {}");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("add module").call();
+        assertTrue(cache.getStatus(repository()).isClean());
+
+        write("node_modules/lib.js", "module.exports = {a: 1}");
+        write("node_modules/other.js", "module.exports = {}");
+
+        final StatusSnapshot status = cache.getStatus(repository());
+        assertEquals(status.modified, singleton("node_modules/lib.js"));
+        assertEquals(status.untracked, singleton("node_modules/other.js"));
+    }
+
+    @Test
+    public void shouldNotReportChangesInIgnoredFolders() throws Exception {
+        write(".gitignore", "target/");
+        write("src/Main.java", "class Main {}");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("ignore target").call();
+        write("target/classes/Main.class", "binary");
+        final StatusSnapshot initial = cache.getStatus(repository());
+        assertTrue(initial.isClean());
+        assertEquals(initial.ignored, singleton("target"));
+
+        write("target/classes/Other.class", "binary");
+        write("src/Notes.txt", "notes");
+
+        final StatusSnapshot status = cache.getStatus(repository());
+        assertEquals(status.untracked, singleton("src/Notes.txt"));
+        assertEquals(status.ignored, singleton("target"));
+    }
+
+    @Test
+    public void shouldReportRemovedFilesNotYetReportedByWatcher() throws Exception {
+        write("src/Main.java", "class Main {}");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("add main").call();
+        assertTrue(cache.getStatus(repository()).isClean());
+
+        Files.delete(new File(workDir, "src/Main.java").toPath());
+
+        assertEquals(cache.getStatus(repository()).missing, singleton("src/Main.java"));
+    }
+
+    @Test
+    public void shouldMergeStatusOfPathsReportedByWatcher() throws Exception {
+        assertTrue(cache.getStatus(repository()).isClean());
+
+        write("README.txt", "changed readme");
+        cache.onEvent(event("/project/README.txt", MODIFIED));
+        final StatusSnapshot status = cache.getStatus(repository());
+
+        assertFalse(status.isClean());
+        assertEquals(status.modified, singleton("README.txt"));
+    }
+
+    @Test
+    public void shouldReportCreatedFiles() throws Exception {
+        cache.getStatus(repository());
+
+        write("src/Main.java", "class Main {}");
+        cache.onEvent(event("/project/src", CREATED));
+        cache.onEvent(event("/project/src/Main.java", CREATED));
+
+        assertEquals(cache.getStatus(repository()).untracked, singleton("src/Main.java"));
+    }
+
+    @Test
+    public void shouldScanWholeTreeWhenIndexChanges() throws Exception {
+        cache.getStatus(repository());
+
+        write("README.txt", "changed readme");
+        git.add().addFilepattern("README.txt").call();
+        final StatusSnapshot status = cache.getStatus(repository());
+
+        assertEquals(status.changed, singleton("README.txt"));
+        assertTrue(status.modified.isEmpty());
+    }
+
+    @Test
+    public void shouldForgetFixedPaths() throws Exception {
+        cache.getStatus(repository());
+        write("README.txt", "changed readme");
+        cache.onEvent(event("/project/README.txt", MODIFIED));
+        cache.getStatus(repository());
+
+        write("README.txt", "readme");
+        cache.onEvent(event("/project/README.txt", MODIFIED));
+
+        assertTrue(cache.getStatus(repository()).isClean());
+    }
+
+    @Test
+    public void shouldNotCacheStatusOfRepositoriesOutsideOfWorkspace() throws Exception {
+        cache = new JGitStatusCache(new File(root, "workspace"), emptySet(), mock(EventService.class));
+        cache.getStatus(repository());
+
+        write("README.txt", "changed readme");
+
+        assertEquals(cache.getStatus(repository()).modified, singleton("README.txt"));
+    }
+
+    private Repository repository() {
+        return git.getRepository();
+    }
+
+    private void write(String path, String content) throws Exception {
+        final File file = new File(workDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+    }
+
+    private static LoEvent event(String path, FileWatcherEventType type) {
+        return LoEvent.newInstance()
+                      .withPath(path)
+                      .withName(path.substring(path.lastIndexOf('/') + 1))
+                      .withEventType(type)
+                      .withItemType(LoEvent.ItemType.FILE)
+                      .withTime(System.currentTimeMillis());
+    }
+}
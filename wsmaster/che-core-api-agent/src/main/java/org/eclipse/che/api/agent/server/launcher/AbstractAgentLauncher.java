@@ -36,6 +36,10 @@ import static java.lang.String.format;
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
  *
+ * <p>The agent is checked each time the script produces output or finishes,
+ * so the launch completes as soon as the agent is run instead of at the next ping,
+ * while the script is silent the agent is checked with the ping delay.
+ *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
  * @see AgentLaunchingChecker#DEFAULT
@@ -63,17 +67,21 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        final LaunchEvents events = new LaunchEvents();
+        InstanceProcess process = null;
         try {
-            final InstanceProcess process = start(machine, agent);
+            process = start(machine, agent, events::fire);
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getName(), machine.getWorkspaceId());
 
             final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
+            long remaining;
+            while ((remaining = agentMaxStartTimeMs - (System.currentTimeMillis() - pingStartTimestamp)) > 0) {
+                // events fired while checking wake up the next wait at once
+                final long seen = events.count();
                 if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
                     return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
                 }
+                events.await(seen, Math.min(agentPingDelayMs, remaining));
             }
 
             process.kill();
@@ -81,6 +89,11 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             throw new ServerException(e.getServiceError());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            // the script is not needed anymore, e.g. launching of other agents of the machine failed
+            try {
+                process.kill();
+            } catch (MachineException ignored) {
+            }
             throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
         }
 
@@ -89,14 +102,24 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         throw new ServerException(errMsg);
     }
 
-
-    protected InstanceProcess start(final Instance machine, final Agent agent) throws ServerException {
+    /**
+     * Starts agent script asynchronously.
+     *
+     * @param machine
+     *         the machine to start the script in
+     * @param agent
+     *         the agent to launch
+     * @param onEvent
+     *         called each time the script writes a line and when it finishes
+     */
+    protected InstanceProcess start(final Instance machine, final Agent agent, final Runnable onEvent) throws ServerException {
         final Command command = new CommandImpl(agent.getName(), agent.getScript(), "agent");
         final InstanceProcess process = machine.createProcess(command, null);
         final LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
+                onEvent.run();
             }
         };
 
@@ -113,9 +136,34 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                     lineConsumer.close();
                 } catch (IOException ignored) {
                 }
+                onEvent.run();
             }
         }));
 
         return process;
     }
+
+    /** Counts events of the agent script, so the launching thread may wait for the next one. */
+    private static class LaunchEvents {
+        private long count;
+
+        synchronized void fire() {
+            count++;
+            notifyAll();
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        /** Waits until an event newer than the seen one is fired or the timeout elapses. */
+        synchronized void await(long seen, long timeoutMs) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + timeoutMs;
+            long left = timeoutMs;
+            while (count == seen && left > 0) {
+                wait(left);
+                left = deadline - System.currentTimeMillis();
+            }
+        }
+    }
 }
@@ -27,6 +27,11 @@ MACHINE_TYPE=$(uname -m)
 mkdir -p ${CHE_DIR}
 mkdir -p ${LS_DIR}
 
+# agents of a machine are launched concurrently but its package manager can't run twice at once,
+# so packages are installed under a machine wide lock
+PACKAGES_LOCK=/tmp/.che-packages.lock
+command -v flock >/dev/null 2>&1 && (umask 000 && touch ${PACKAGES_LOCK}) 2>/dev/null && exec 9<${PACKAGES_LOCK} && flock 9
+
 ########################
 ### Install packages ###
 ########################
@@ -195,6 +200,9 @@ else
     exit 1
 fi
 
+# release the packages lock
+exec 9<&-
+
 
 #####################
 ### Install C# LS ###
@@ -16,6 +16,11 @@ test "$(id -u)" = 0 || SUDO="sudo"
 LINUX_TYPE=$(cat /etc/os-release | grep ^ID= | tr '[:upper:]' '[:lower:]')
 LINUX_VERSION=$(cat /etc/os-release | grep ^VERSION_ID=)
 
+# agents of a machine are launched concurrently but its package manager can't run twice at once,
+# so packages are installed under a machine wide lock
+PACKAGES_LOCK=/tmp/.che-packages.lock
+command -v flock >/dev/null 2>&1 && (umask 000 && touch ${PACKAGES_LOCK}) 2>/dev/null && exec 9<${PACKAGES_LOCK} && flock 9
+
 ###############################
 ### Install Needed packaged ###
 ###############################
@@ -92,6 +97,9 @@ else
     exit 1
 fi
 
+# release the packages lock
+exec 9<&-
+
 command -v pidof >/dev/null 2>&1 && {
     pidof sshd >/dev/null 2>&1 && exit
 } || {
@@ -24,6 +24,11 @@ MACHINE_TYPE=$(uname -m)
 
 mkdir -p ${CHE_DIR}
 
+# agents of a machine are launched concurrently but its package manager can't run twice at once,
+# so packages are installed under a machine wide lock
+PACKAGES_LOCK=/tmp/.che-packages.lock
+command -v flock >/dev/null 2>&1 && (umask 000 && touch ${PACKAGES_LOCK}) 2>/dev/null && exec 9<${PACKAGES_LOCK} && flock 9
+
 ########################
 ### Install packages ###
 ########################
@@ -87,6 +92,9 @@ else
     exit 1
 fi
 
+# release the packages lock
+exec 9<&-
+
 command -v pidof >/dev/null 2>&1 && {
     pidof che-websocket-terminal >/dev/null 2>&1 && exit
 } || {
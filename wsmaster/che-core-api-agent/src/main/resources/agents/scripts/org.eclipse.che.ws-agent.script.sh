@@ -25,6 +25,11 @@ mkdir -p ${CHE_DIR}
 ${SUDO} mkdir -p /projects
 ${SUDO} sh -c "chown -R $(id -u -n) /projects"
 
+# agents of a machine are launched concurrently but its package manager can't run twice at once,
+# so packages are installed under a machine wide lock
+PACKAGES_LOCK=/tmp/.che-packages.lock
+command -v flock >/dev/null 2>&1 && (umask 000 && touch ${PACKAGES_LOCK}) 2>/dev/null && exec 9<${PACKAGES_LOCK} && flock 9
+
 ########################
 ### Install packages ###
 ########################
@@ -88,6 +93,9 @@ else
     exit 1
 fi
 
+# release the packages lock
+exec 9<&-
+
 ####################
 ### Install java ###
 ####################
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.agent.server.impl;
 
+import org.eclipse.che.api.agent.server.model.impl.AgentKeyImpl;
 import org.everrest.assured.EverrestJetty;
 import org.mockito.InjectMocks;
 import org.mockito.testng.MockitoTestNGListener;
@@ -17,14 +18,19 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 /**
  * @author Anatoliy Bazko
  */
 @Listeners(value = {EverrestJetty.class, MockitoTestNGListener.class})
 public class LocalAgentRegistryImplTest {
+    private static final Pattern PACKAGES_INSTALLATION =
+            Pattern.compile("\\b(apt-get|yum|dnf|zypper|apk)\\b[^;\\n]*\\s(install|in|add)\\b");
 
     @InjectMocks
     private LocalAgentRegistryImpl agentRegistry;
@@ -34,4 +40,20 @@ public class LocalAgentRegistryImplTest {
         List<String> agents = agentRegistry.getAgents();
         assertFalse(agents.isEmpty());
     }
+
+    @Test
+    public void shouldInstallPackagesUnderMachineWideLock() throws Exception {
+        // agents of a machine are launched concurrently, their package managers must not run at the same time
+        for (String name : agentRegistry.getAgents()) {
+            String script = agentRegistry.getAgent(AgentKeyImpl.parse(name)).getScript();
+            int lock = script.indexOf("flock 9");
+            int release = script.indexOf("exec 9<&-");
+
+            Matcher installation = PACKAGES_INSTALLATION.matcher(script);
+            while (installation.find()) {
+                assertTrue(name + ": " + installation.group() + " is not under the lock",
+                           lock >= 0 && lock < installation.start() && installation.end() < release);
+            }
+        }
+    }
 }
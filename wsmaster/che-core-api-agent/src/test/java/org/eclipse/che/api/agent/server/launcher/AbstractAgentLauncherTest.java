@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link AbstractAgentLauncher}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class AbstractAgentLauncherTest {
+
+    private static final long PING_DELAY_MS = 10_000;
+
+    @Mock
+    private Instance        machine;
+    @Mock
+    private Agent           agent;
+    @Mock
+    private LineConsumer    logger;
+    @Mock
+    private InstanceProcess process;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(machine.createProcess(any(), any())).thenReturn(process);
+        when(machine.getLogger()).thenReturn(logger);
+        when(agent.getName()).thenReturn("agent");
+        when(agent.getScript()).thenReturn("script");
+    }
+
+    @Test(timeOut = PING_DELAY_MS / 2)
+    public void shouldNotWaitForPingWhenScriptFinishes() throws Exception {
+        final AtomicBoolean alive = new AtomicBoolean(true);
+        when(process.isAlive()).thenAnswer(invocation -> alive.get());
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            alive.set(false);
+            return null;
+        }).when(process).start(any());
+
+        new TestAgentLauncher(2 * PING_DELAY_MS, PING_DELAY_MS, AgentLaunchingChecker.DEFAULT).launch(machine, agent);
+    }
+
+    @Test(timeOut = PING_DELAY_MS / 2)
+    public void shouldCheckAgentWhenScriptWritesOutput() throws Exception {
+        final AtomicBoolean started = new AtomicBoolean();
+        doAnswer(invocation -> {
+            final LineConsumer output = (LineConsumer)invocation.getArguments()[0];
+            output.writeLine("installing");
+            Thread.sleep(200);
+            started.set(true);
+            output.writeLine("started");
+            // the agent keeps running
+            Thread.sleep(2 * PING_DELAY_MS);
+            return null;
+        }).when(process).start(any());
+
+        new TestAgentLauncher(2 * PING_DELAY_MS, PING_DELAY_MS, (agent, process, machine) -> started.get()).launch(machine, agent);
+
+        verify(logger).writeLine("started");
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Fail launching agent agent.*")
+    public void shouldKillScriptWhenAgentIsNotLaunchedInTime() throws Exception {
+        try {
+            new TestAgentLauncher(300, 100, (agent, process, machine) -> false).launch(machine, agent);
+        } finally {
+            verify(process).kill();
+        }
+    }
+
+    private static class TestAgentLauncher extends AbstractAgentLauncher {
+        TestAgentLauncher(long agentMaxStartTimeMs, long agentPingDelayMs, AgentLaunchingChecker agentLaunchingChecker) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker);
+        }
+
+        @Override
+        public String getAgentName() {
+            return "agent";
+        }
+
+        @Override
+        public String getMachineType() {
+            return "test";
+        }
+    }
+}
@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.factory.server;
 
+import com.google.common.hash.Hashing;
+
 import javax.persistence.Basic;
 import javax.persistence.Embeddable;
+import javax.persistence.Transient;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -28,6 +31,9 @@ public class FactoryImage {
     @Basic
     private String name;
 
+    @Transient
+    private String eTag;
+
     public FactoryImage() {}
 
     public FactoryImage(byte[] data, String mediaType, String name) {
@@ -42,6 +48,18 @@ public class FactoryImage {
 
     public void setImageData(byte[] imageData) {
         this.imageData = imageData;
+        this.eTag = null;
+    }
+
+    /**
+     * Returns the strong entity tag of the image, the tag is
+     * computed from the image data and changes only when the data changes.
+     */
+    public String getETag() {
+        if (eTag == null) {
+            eTag = Hashing.md5().hashBytes(imageData == null ? new byte[0] : imageData).toString();
+        }
+        return eTag;
     }
 
     public String getMediaType() {
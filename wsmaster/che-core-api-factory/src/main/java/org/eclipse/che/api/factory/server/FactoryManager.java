@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.factory.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -31,6 +35,7 @@ import java.util.stream.Collectors;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.factory.shared.Constants.HTML_SNIPPET_TYPE;
 import static org.eclipse.che.api.factory.shared.Constants.IFRAME_SNIPPET_TYPE;
 import static org.eclipse.che.api.factory.shared.Constants.MARKDOWN_SNIPPET_TYPE;
@@ -42,9 +47,41 @@ import static org.eclipse.che.api.factory.shared.Constants.URL_SNIPPET_TYPE;
 @Singleton
 public class FactoryManager {
 
+    /** The maximum total size of the cached factory images in bytes. */
+    private static final long IMAGES_CACHE_MAX_SIZE = 32 * 1024 * 1024;
+
+    /** Approximate size of the cache entry without images, so factories without images are bounded too. */
+    private static final int IMAGES_CACHE_ENTRY_SIZE = 1024;
+
     @Inject
     private FactoryDao factoryDao;
 
+    /**
+     * Images of the recently requested factories, so badges which are loaded
+     * each time a page with the factory is shown don't hit the database.
+     * Entries are dropped on factory update or removal, and expire anyway
+     * in case the factory is modified bypassing the manager (e.g. when its creator is removed).
+     * Images are put and invalidated holding the lock of the cache, together with {@link #imagesGeneration} check.
+     */
+    private final Cache<String, Set<FactoryImage>> imagesCache =
+            CacheBuilder.newBuilder()
+                        .maximumWeight(IMAGES_CACHE_MAX_SIZE)
+                        .weigher((String id, Set<FactoryImage> images) -> {
+                            int weight = IMAGES_CACHE_ENTRY_SIZE;
+                            for (FactoryImage image : images) {
+                                weight += image.hasContent() ? image.getImageData().length : 0;
+                            }
+                            return weight;
+                        })
+                        .expireAfterWrite(10, MINUTES)
+                        .build();
+
+    /**
+     * Incremented each time cached images are invalidated, images loaded while it changed
+     * may be read before the invalidating modification was committed, so they are not cached.
+     */
+    private long imagesGeneration;
+
     /**
      * Stores {@link Factory} instance.
      *
@@ -133,10 +170,14 @@ public class FactoryManager {
                                                                                   ServerException {
         requireNonNull(update);
         final AuthorImpl creator = factoryDao.getById(update.getId()).getCreator();
-        return factoryDao.update(FactoryImpl.builder()
-                                            .from(new FactoryImpl(update, images))
-                                            .setCreator(new AuthorImpl(creator.getUserId(), creator.getCreated()))
-                                            .build());
+        try {
+            return factoryDao.update(FactoryImpl.builder()
+                                                .from(new FactoryImpl(update, images))
+                                                .setCreator(new AuthorImpl(creator.getUserId(), creator.getCreated()))
+                                                .build());
+        } finally {
+            invalidateImages(update.getId());
+        }
     }
 
     /**
@@ -151,7 +192,11 @@ public class FactoryManager {
      */
     public void removeFactory(String id) throws ServerException {
         requireNonNull(id);
-        factoryDao.remove(id);
+        try {
+            factoryDao.remove(id);
+        } finally {
+            invalidateImages(id);
+        }
     }
 
     /**
@@ -200,7 +245,7 @@ public class FactoryManager {
      *
      * @param factoryId
      *         factory identifier
-     * @return factory images or empty set if no image found for factory
+     * @return unmodifiable set of factory images or empty set if no image found for factory
      * @throws NotFoundException
      *         when specified factory not found
      * @throws ServerException
@@ -209,7 +254,30 @@ public class FactoryManager {
     public Set<FactoryImage> getFactoryImages(String factoryId) throws NotFoundException,
                                                                        ServerException {
         requireNonNull(factoryId);
-        return factoryDao.getById(factoryId).getImages();
+        final Set<FactoryImage> cached = imagesCache.getIfPresent(factoryId);
+        if (cached != null) {
+            return cached;
+        }
+        final long generation;
+        synchronized (imagesCache) {
+            generation = imagesGeneration;
+        }
+        // database is queried outside of the lock, so slow queries don't block other factories
+        final Set<FactoryImage> images = ImmutableSet.copyOf(factoryDao.getById(factoryId).getImages());
+        synchronized (imagesCache) {
+            if (generation == imagesGeneration) {
+                imagesCache.put(factoryId, images);
+            }
+        }
+        return images;
+    }
+
+    /** Drops cached images of the factory, must be called after the modification of the factory is committed. */
+    private void invalidateImages(String factoryId) {
+        synchronized (imagesCache) {
+            imagesGeneration++;
+            imagesCache.invalidate(factoryId);
+        }
     }
 
     /**
@@ -222,6 +290,8 @@ public class FactoryManager {
      * @param attributes
      *         skip items. Must be equals or greater then {@code 0}
      * @return stored data, if specified attributes is correct
+     * @throws IllegalArgumentException
+     *         when factories can't be searched by any of the given attributes
      * @throws ServerException
      *         when any server errors occurs
      */
@@ -57,7 +57,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.io.ByteArrayOutputStream;
@@ -103,6 +106,12 @@ public class FactoryService extends Service {
      */
     public static final String VALIDATE_QUERY_PARAMETER = "validate";
 
+    /**
+     * How long in seconds clients may use factory image without revalidation,
+     * images are revalidated by their entity tags when it's elapsed.
+     */
+    private static final int IMAGE_MAX_AGE = 60;
+
     /**
      * Set of resolvers for factories. Injected through an holder.
      */
@@ -243,10 +252,11 @@ public class FactoryService extends Service {
     @Produces(APPLICATION_JSON)
     @ApiOperation(value = "Get factory by attribute, " +
                           "the attribute must match one of the Factory model fields with type 'String', " +
-                          "e.g. (factory.name, factory.creator.name)",
+                          "e.g. (name, creator.userId)",
                   notes = "If specify more than one value for a single query parameter then will be taken the first one")
     @ApiResponses({@ApiResponse(code = 200, message = "Response contains list requested factories"),
-                   @ApiResponse(code = 400, message = "When query does not contain at least one attribute to search for"),
+                   @ApiResponse(code = 400, message = "When query does not contain at least one attribute to search for " +
+                                                      "or factories can't be searched by the attribute"),
                    @ApiResponse(code = 500, message = "Internal server error")})
     public List<FactoryDto> getFactoryByAttribute(@DefaultValue("0")
                                                   @QueryParam("skipCount")
@@ -268,8 +278,14 @@ public class FactoryService extends Service {
                                                                                                            .next()))
                                                                 .collect(toList());
         checkArgument(!query.isEmpty(), "Query must contain at least one attribute");
+        final List<? extends Factory> found;
+        try {
+            found = factoryManager.getByAttribute(maxItems, skipCount, query);
+        } catch (IllegalArgumentException x) {
+            throw new BadRequestException(x.getMessage());
+        }
         final List<FactoryDto> factories = new ArrayList<>();
-        for (Factory factory : factoryManager.getByAttribute(maxItems, skipCount, query)) {
+        for (Factory factory : found) {
             factories.add(injectLinks(asDto(factory), null));
         }
         return factories;
@@ -331,6 +347,7 @@ public class FactoryService extends Service {
     @ApiOperation(value = "Get factory image",
                   notes = "If image identifier is not specified then first found image will be returned")
     @ApiResponses({@ApiResponse(code = 200, message = "Response contains requested factory image"),
+                   @ApiResponse(code = 304, message = "Image is not modified since it was received by the client"),
                    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
                    @ApiResponse(code = 404, message = "Factory or factory image not found"),
                    @ApiResponse(code = 500, message = "Internal server error")})
@@ -339,9 +356,11 @@ public class FactoryService extends Service {
                              String factoryId,
                              @ApiParam(value = "Image identifier")
                              @QueryParam("imgId")
-                             String imageId) throws NotFoundException,
-                                                    BadRequestException,
-                                                    ServerException {
+                             String imageId,
+                             @Context
+                             Request request) throws NotFoundException,
+                                                     BadRequestException,
+                                                     ServerException {
         final Set<FactoryImage> images;
         if (isNullOrEmpty(imageId)) {
             if ((images = factoryManager.getFactoryImages(factoryId)).isEmpty()) {
@@ -355,7 +374,18 @@ public class FactoryService extends Service {
             }
         }
         final FactoryImage image = images.iterator().next();
-        return Response.ok(image.getImageData(), image.getMediaType()).build();
+        final EntityTag tag = new EntityTag(image.getETag());
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(IMAGE_MAX_AGE);
+        cacheControl.setMustRevalidate(true);
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).cacheControl(cacheControl).build();
+        }
+        return Response.ok(image.getImageData(), image.getMediaType())
+                       .tag(tag)
+                       .cacheControl(cacheControl)
+                       .build();
     }
 
     @GET
@@ -31,10 +31,11 @@ public class SourceStorageParametersValidator implements FactoryParameterValidat
         for (Map.Entry<String, String> entry : source.getParameters().entrySet()) {
             switch (entry.getKey()) {
                 case "keepVcs":
-                    final String keepVcs = entry.getValue();
-                    if (!"true".equals(keepVcs) && !"false".equals(keepVcs)) {
+                case "singleBranch":
+                    final String flag = entry.getValue();
+                    if (!"true".equals(flag) && !"false".equals(flag)) {
                         throw new ConflictException(
-                                format(PARAMETRIZED_ILLEGAL_PARAMETER_VALUE_MESSAGE, "source.project.parameters.keepVcs",
+                                format(PARAMETRIZED_ILLEGAL_PARAMETER_VALUE_MESSAGE, "source.project.parameters." + entry.getKey(),
                                        entry.getValue()));
                     }
                     break;
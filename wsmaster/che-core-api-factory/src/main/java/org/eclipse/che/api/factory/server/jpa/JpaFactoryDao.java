@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.factory.server.jpa;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -33,16 +34,17 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
-import java.util.Collections;
 import javax.persistence.TypedQuery;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 /**
  * @author Anton Korneta
@@ -51,6 +53,17 @@ import static java.util.Objects.requireNonNull;
 public class JpaFactoryDao implements FactoryDao {
     private static final Logger LOG = LoggerFactory.getLogger(JpaFactoryDao.class);
 
+    /** Paths of the factory fields with type 'String' which factories can be searched by. */
+    public static final Set<String> SEARCHABLE_ATTRIBUTES = ImmutableSet.of("id",
+                                                                            "name",
+                                                                            "version",
+                                                                            "creator.userId",
+                                                                            "policies.referer",
+                                                                            "policies.match",
+                                                                            "policies.create",
+                                                                            "workspace.name",
+                                                                            "workspace.defaultEnv");
+
     @Inject
     private Provider<EntityManager> managerProvider;
 
@@ -111,33 +124,62 @@ public class JpaFactoryDao implements FactoryDao {
     public List<FactoryImpl> getByAttribute(int maxItems,
                                             int skipCount,
                                             List<Pair<String, String>> attributes) throws ServerException {
-        try {
-            LOG.info("FactoryDao#getByAttributes #maxItems: {} #skipCount: {}, #attributes: {}", maxItems, skipCount, attributes);
-            final Map<String, String> params = new HashMap<>();
-            String query = "SELECT factory FROM Factory factory";
-            if (!attributes.isEmpty()) {
-                final StringJoiner matcher = new StringJoiner(" AND ", " WHERE ", " ");
-                int i = 0;
-                for (Pair<String, String> attribute : attributes) {
-                    final String parameterName = "parameterName" + i++;
-                    params.put(parameterName, attribute.second);
-                    matcher.add("factory." + attribute.first + " = :" + parameterName);
-                }
-                query = query + matcher;
+        requireNonNull(attributes);
+        for (Pair<String, String> attribute : attributes) {
+            if (!SEARCHABLE_ATTRIBUTES.contains(attribute.first)) {
+                throw new IllegalArgumentException(format("Factories can't be searched by attribute '%s', supported attributes are %s",
+                                                          attribute.first,
+                                                          SEARCHABLE_ATTRIBUTES));
             }
-            final TypedQuery<FactoryImpl> typedQuery = managerProvider.get()
-                                                                      .createQuery(query, FactoryImpl.class)
-                                                                      .setFirstResult(skipCount)
-                                                                      .setMaxResults(maxItems);
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                typedQuery.setParameter(entry.getKey(), entry.getValue());
-            }
-            return typedQuery.getResultList();
+        }
+        try {
+            LOG.debug("FactoryDao#getByAttributes #maxItems: {} #skipCount: {}, #attributes: {}", maxItems, skipCount, attributes);
+            return createAttributesQuery(attributes).setFirstResult(skipCount)
+                                                    .setMaxResults(maxItems)
+                                                    .getResultList();
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
 
+    /**
+     * Creates the query for the given searchable attributes.
+     *
+     * <p>Lookups by name and creator are served by the named queries,
+     * other combinations of attributes are sorted by attribute name, so the same
+     * combination always produces the same query string and its parsed query is reused.
+     */
+    private TypedQuery<FactoryImpl> createAttributesQuery(List<Pair<String, String>> attributes) {
+        final EntityManager manager = managerProvider.get();
+        final List<Pair<String, String>> sorted = attributes.stream()
+                                                            .sorted(comparing(attribute -> attribute.first))
+                                                            .collect(toList());
+        switch (sorted.stream().map(attribute -> attribute.first).collect(joining(","))) {
+            case "":
+                return manager.createNamedQuery("Factory.getAll", FactoryImpl.class);
+            case "name":
+                return manager.createNamedQuery("Factory.getByName", FactoryImpl.class)
+                              .setParameter("name", sorted.get(0).second);
+            case "creator.userId":
+                return manager.createNamedQuery("Factory.getByCreator", FactoryImpl.class)
+                              .setParameter("userId", sorted.get(0).second);
+            case "creator.userId,name":
+                return manager.createNamedQuery("Factory.getByNameAndCreator", FactoryImpl.class)
+                              .setParameter("userId", sorted.get(0).second)
+                              .setParameter("name", sorted.get(1).second);
+            default:
+                final StringJoiner matcher = new StringJoiner(" AND ", "SELECT f FROM Factory f WHERE ", "");
+                for (int i = 0; i < sorted.size(); i++) {
+                    matcher.add("f." + sorted.get(i).first + " = :value" + i);
+                }
+                final TypedQuery<FactoryImpl> query = manager.createQuery(matcher.toString(), FactoryImpl.class);
+                for (int i = 0; i < sorted.size(); i++) {
+                    query.setParameter("value" + i, sorted.get(i).second);
+                }
+                return query;
+        }
+    }
+
     @Transactional
     protected void doCreate(FactoryImpl factory) {
         final EntityManager manager = managerProvider.get();
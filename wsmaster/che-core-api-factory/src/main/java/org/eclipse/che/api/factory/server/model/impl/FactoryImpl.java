@@ -27,7 +27,10 @@ import javax.persistence.ElementCollection;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import java.util.HashSet;
@@ -40,7 +43,21 @@ import java.util.Set;
  * @author Anton Korneta
  */
 @Entity(name = "Factory")
-@Table
+@NamedQueries(
+        {
+                @NamedQuery(name = "Factory.getAll",
+                            query = "SELECT f FROM Factory f"),
+                @NamedQuery(name = "Factory.getByName",
+                            query = "SELECT f FROM Factory f WHERE f.name = :name"),
+                @NamedQuery(name = "Factory.getByCreator",
+                            query = "SELECT f FROM Factory f WHERE f.creator.userId = :userId"),
+                @NamedQuery(name = "Factory.getByNameAndCreator",
+                            query = "SELECT f " +
+                                    "FROM Factory f " +
+                                    "WHERE f.name = :name AND f.creator.userId = :userId")
+        }
+)
+@Table(indexes = {@Index(columnList = "userId, name"), @Index(columnList = "name")})
 // TODO fix after issue: https://github.com/eclipse/che/issues/2110
 //(uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "userId"})})
 public class FactoryImpl implements Factory {
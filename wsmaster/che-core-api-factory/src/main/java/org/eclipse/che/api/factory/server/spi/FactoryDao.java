@@ -96,7 +96,8 @@ public interface FactoryDao {
      *         list of pairs of attributes to search for
      * @return list of the factories which contain the specified attributes
      * @throws IllegalArgumentException
-     *         when {@code skipCount} or {@code maxItems} is negative
+     *         when {@code skipCount} or {@code maxItems} is negative,
+     *         or when factories can't be searched by any of the given attributes
      * @throws ServerException
      *         when any other error occurs
      */
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.factory.server;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.factory.server.model.impl.AuthorImpl;
+import org.eclipse.che.api.factory.server.model.impl.FactoryImpl;
+import org.eclipse.che.api.factory.server.spi.FactoryDao;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link FactoryManager}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class FactoryManagerTest {
+
+    private static final String FACTORY_ID = "factory123";
+
+    @Mock
+    private FactoryDao factoryDao;
+
+    @InjectMocks
+    private FactoryManager factoryManager;
+
+    private FactoryImage image;
+    private FactoryImpl  factory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        image = new FactoryImage(new byte[] {1, 2, 3}, "image/png", "image");
+        factory = FactoryImpl.builder()
+                             .setId(FACTORY_ID)
+                             .setCreator(new AuthorImpl("user123", 1L))
+                             .setImages(ImmutableSet.of(image))
+                             .build();
+        when(factoryDao.getById(FACTORY_ID)).thenReturn(factory);
+        when(factoryDao.update(any(FactoryImpl.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+    }
+
+    @Test
+    public void shouldLoadFactoryImagesOnce() throws Exception {
+        final Set<FactoryImage> images = factoryManager.getFactoryImages(FACTORY_ID);
+
+        assertEquals(images, ImmutableSet.of(image));
+        assertEquals(factoryManager.getFactoryImages(FACTORY_ID, "image"), ImmutableSet.of(image));
+        verify(factoryDao).getById(FACTORY_ID);
+    }
+
+    @Test
+    public void shouldReloadFactoryImagesAfterFactoryUpdate() throws Exception {
+        factoryManager.getFactoryImages(FACTORY_ID);
+
+        factoryManager.updateFactory(FactoryImpl.builder().setId(FACTORY_ID).build());
+        factoryManager.getFactoryImages(FACTORY_ID);
+
+        // one call for the first read, one for the update and one for the read after update
+        verify(factoryDao, times(3)).getById(FACTORY_ID);
+    }
+
+    @Test
+    public void shouldReloadFactoryImagesAfterFactoryRemoval() throws Exception {
+        factoryManager.getFactoryImages(FACTORY_ID);
+
+        factoryManager.removeFactory(FACTORY_ID);
+        factoryManager.getFactoryImages(FACTORY_ID);
+
+        verify(factoryDao, times(2)).getById(FACTORY_ID);
+    }
+
+    @Test
+    public void shouldNotCacheImagesLoadedWhileFactoryIsModified() throws Exception {
+        when(factoryDao.getById(FACTORY_ID)).thenAnswer(invocation -> {
+            // factory is removed after the images are read but before the load is finished
+            factoryManager.removeFactory(FACTORY_ID);
+            return factory;
+        }).thenReturn(factory);
+
+        factoryManager.getFactoryImages(FACTORY_ID);
+        factoryManager.getFactoryImages(FACTORY_ID);
+        factoryManager.getFactoryImages(FACTORY_ID);
+
+        // images of the first read are not cached, images of the second read are
+        verify(factoryDao, times(2)).getById(FACTORY_ID);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldNotCacheImagesOfNonExistingFactory() throws Exception {
+        when(factoryDao.getById("non-existing")).thenThrow(new NotFoundException("Factory doesn't exist"));
+
+        factoryManager.getFactoryImages("non-existing");
+    }
+}
@@ -433,6 +433,23 @@ public class FactoryServiceTest {
         assertTrue(res.containsAll(ImmutableList.of(asDto(factory1, user), asDto(factory2, user))));
     }
 
+    @Test
+    public void shouldThrowBadRequestWhenGettingFactoryByUnsupportedAttribute() throws Exception {
+        when(factoryManager.getByAttribute(30, 0, ImmutableList.of(Pair.of("button.type", "logo"))))
+                .thenThrow(new IllegalArgumentException("Factories can't be searched by attribute 'button.type'"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType(APPLICATION_JSON)
+                                         .when()
+                                         .expect()
+                                         .statusCode(400)
+                                         .get(SERVICE_PATH + "/find?button.type=logo");
+
+        assertEquals(getFromResponse(response, ServiceError.class).getMessage(),
+                     "Factories can't be searched by attribute 'button.type'");
+    }
+
     @Test
     public void shouldThrowBadRequestWhenGettingFactoryByEmptyAttributeList() throws Exception {
         final Response response = given().auth()
@@ -602,6 +619,53 @@ public class FactoryServiceTest {
         assertEquals(response.asByteArray(), imageContent);
     }
 
+    @Test
+    public void shouldReturnFactoryImageWithEntityTagAndCacheControl() throws Exception {
+        final byte[] imageContent = Files.readAllBytes(getImagePath());
+        final FactoryImage image = new FactoryImage(imageContent, FACTORY_IMAGE_MIME_TYPE, IMAGE_NAME);
+        when(factoryManager.getFactoryImages(FACTORY_ID, IMAGE_NAME)).thenReturn(ImmutableSet.of(image));
+
+        final Response response = given().when()
+                                         .expect()
+                                         .statusCode(200)
+                                         .get(SERVICE_PATH + "/" + FACTORY_ID + "/image?imgId=" + IMAGE_NAME);
+
+        assertEquals(response.getHeader("ETag"), '"' + image.getETag() + '"');
+        assertTrue(response.getHeader("Cache-Control").contains("max-age="));
+        assertTrue(response.getHeader("Cache-Control").contains("must-revalidate"));
+    }
+
+    @Test
+    public void shouldNotReturnFactoryImageWhenItIsNotModified() throws Exception {
+        final byte[] imageContent = Files.readAllBytes(getImagePath());
+        final FactoryImage image = new FactoryImage(imageContent, FACTORY_IMAGE_MIME_TYPE, IMAGE_NAME);
+        when(factoryManager.getFactoryImages(FACTORY_ID, IMAGE_NAME)).thenReturn(ImmutableSet.of(image));
+
+        final Response response = given().header("If-None-Match", '"' + image.getETag() + '"')
+                                         .when()
+                                         .expect()
+                                         .statusCode(304)
+                                         .get(SERVICE_PATH + "/" + FACTORY_ID + "/image?imgId=" + IMAGE_NAME);
+
+        assertEquals(response.getHeader("ETag"), '"' + image.getETag() + '"');
+        assertEquals(response.asByteArray().length, 0);
+    }
+
+    @Test
+    public void shouldReturnFactoryImageWhenEntityTagDoesNotMatch() throws Exception {
+        final byte[] imageContent = Files.readAllBytes(getImagePath());
+        final FactoryImage image = new FactoryImage(imageContent, FACTORY_IMAGE_MIME_TYPE, IMAGE_NAME);
+        when(factoryManager.getFactoryImages(FACTORY_ID, IMAGE_NAME)).thenReturn(ImmutableSet.of(image));
+
+        final Response response = given().header("If-None-Match", "\"outdated\"")
+                                         .when()
+                                         .expect()
+                                         .statusCode(200)
+                                         .get(SERVICE_PATH + "/" + FACTORY_ID + "/image?imgId=" + IMAGE_NAME);
+
+        assertEquals(response.asByteArray(), imageContent);
+    }
+
     @Test
     public void shouldThrowNotFoundExceptionWhenFactoryImageWithGivenIdentifierIsNotExist() throws Exception {
         final String errMessage = "Image with name " + IMAGE_NAME + " is not found";
@@ -40,6 +40,7 @@ public class SourceProjectParametersValidatorTest {
                                           put("keepVcs", "true");
                                           put("fetch", "12345");
                                           put("keepDir", "/src");
+                                          put("singleBranch", "true");
                                       }
                                   });
     }
@@ -71,4 +72,12 @@ public class SourceProjectParametersValidatorTest {
 
         validator.validate(sourceStorage, FactoryParameter.Version.V4_0);
     }
+
+    @Test(expectedExceptions = ConflictException.class,
+          expectedExceptionsMessageRegExp = "The parameter .*singleBranch has a value submitted .* with a value that is unexpected.*")
+    public void shouldThrowExceptionIfSingleBranchIsNotTrueOrFalse() throws Exception {
+        sourceStorage.getParameters().put("singleBranch", "qwerty");
+
+        validator.validate(sourceStorage, FactoryParameter.Version.V4_0);
+    }
 }
@@ -59,6 +59,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests {@link FactoryDao} contract.
@@ -218,6 +219,52 @@ public class FactoryDaoTest {
         assertEquals(new HashSet<>(result), ImmutableSet.of(factories[0], factories[2], factories[4]));
     }
 
+    @Test
+    public void shouldFindFactoriesByCreator() throws Exception {
+        final FactoryImpl factory = createFactory(10, users[0].getId());
+        factoryDao.create(factory);
+        final List<Pair<String, String>> attributes = ImmutableList.of(Pair.of("creator.userId", users[0].getId()));
+        final List<FactoryImpl> result = factoryDao.getByAttribute(factories.length, 0, attributes);
+
+        assertEquals(new HashSet<>(result), ImmutableSet.of(factories[0], factory));
+    }
+
+    @Test
+    public void shouldFindFactoryByNameAndCreator() throws Exception {
+        final FactoryImpl factory = factories[1];
+        final List<Pair<String, String>> attributes = ImmutableList.of(Pair.of("name", factory.getName()),
+                                                                       Pair.of("creator.userId", users[1].getId()));
+        final List<FactoryImpl> result = factoryDao.getByAttribute(factories.length, 0, attributes);
+
+        assertEquals(new HashSet<>(result), ImmutableSet.of(factory));
+    }
+
+    @Test
+    public void shouldNotFindFactoryWhenNameBelongsToAnotherCreator() throws Exception {
+        final List<Pair<String, String>> attributes = ImmutableList.of(Pair.of("name", factories[1].getName()),
+                                                                       Pair.of("creator.userId", users[2].getId()));
+
+        assertTrue(factoryDao.getByAttribute(factories.length, 0, attributes).isEmpty());
+    }
+
+    @Test
+    public void shouldFindFactoriesBySameAttributesInAnyOrder() throws Exception {
+        final List<Pair<String, String>> attributes = ImmutableList.of(Pair.of("workspace.defaultEnv", "env1"),
+                                                                       Pair.of("policies.match", "match"));
+        final List<Pair<String, String>> reversed = ImmutableList.of(Pair.of("policies.match", "match"),
+                                                                     Pair.of("workspace.defaultEnv", "env1"));
+
+        assertEquals(new HashSet<>(factoryDao.getByAttribute(factories.length, 0, attributes)),
+                     new HashSet<>(asList(factories)));
+        assertEquals(new HashSet<>(factoryDao.getByAttribute(factories.length, 0, reversed)),
+                     new HashSet<>(asList(factories)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenSearchingByUnsupportedAttribute() throws Exception {
+        factoryDao.getByAttribute(factories.length, 0, singletonList(Pair.of("name = 'x' OR 1 = 1 OR factory.name", "x")));
+    }
+
     @Test
     public void shouldFindAllFactoriesWhenAttributesNotSpecified() throws Exception {
         final List<Pair<String, String>> attributes = emptyList();
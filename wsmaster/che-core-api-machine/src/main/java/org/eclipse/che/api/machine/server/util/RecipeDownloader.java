@@ -10,43 +10,87 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.util;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.api.machine.server.spi.RecipeDao;
 import org.eclipse.che.commons.env.EnvironmentContext;
-import org.eclipse.che.commons.lang.IoUtil;
-import org.slf4j.Logger;
+import org.eclipse.che.commons.subject.Subject;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriBuilderException;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static java.lang.String.format;
-import static org.slf4j.LoggerFactory.getLogger;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Downloads machine recipe set in machine source.
  *
  * <p>Adds user token if target url points to current CHE server.
  *
+ * <p>Scripts of recipes served by the recipe service of current CHE server
+ * ({@code <api endpoint>/recipe/<id>/script}) which are created by current user are read from {@link RecipeDao}
+ * without http requests, other recipes are downloaded with the user token, so the access to them is checked
+ * the same way as for requests of the user.
+ *
+ * <p>Other recipes are read into memory, recipes larger than {@value #MAX_RECIPE_SIZE} bytes are rejected.
+ * Recipes which responses have {@code ETag} or {@code Last-Modified} headers are cached,
+ * cached recipe is revalidated by conditional request on each download and reused unless it is modified.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class RecipeDownloader {
-    private static final Logger LOG = getLogger(RecipeDownloader.class);
+    /** Maximum size of recipe, in bytes. */
+    public static final int MAX_RECIPE_SIZE   = 1024 * 1024;
+    /** Maximum number of cached recipes. */
+    public static final int RECIPE_CACHE_SIZE = 256;
+
+    private static final Pattern LOCAL_RECIPE_SCRIPT_PATH = Pattern.compile("/recipe/(?<id>[^/]+)/script/?");
 
-    private final URI apiEndpoint;
+    private final URI                       apiEndpoint;
+    private final RecipeDao                 recipeDao;
+    private final int                       maxRecipeSize;
+    private final Map<String, CachedRecipe> cache;
 
     @Inject
-    public RecipeDownloader(@Named("api.endpoint") URI apiEndpoint) {
+    public RecipeDownloader(@Named("api.endpoint") URI apiEndpoint, RecipeDao recipeDao) {
+        this(apiEndpoint, recipeDao, MAX_RECIPE_SIZE, RECIPE_CACHE_SIZE);
+    }
+
+    @VisibleForTesting
+    RecipeDownloader(URI apiEndpoint, RecipeDao recipeDao, int maxRecipeSize, int cacheSize) {
         this.apiEndpoint = apiEndpoint;
+        this.recipeDao = recipeDao;
+        this.maxRecipeSize = maxRecipeSize;
+        this.cache = new LinkedHashMap<String, CachedRecipe>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRecipe> eldest) {
+                return size() > cacheSize;
+            }
+        };
     }
 
     /**
@@ -59,34 +103,15 @@ public class RecipeDownloader {
      *         if any error occurs
      */
     public RecipeImpl getRecipe(MachineConfig machineConfig) throws MachineException {
-        URL recipeUrl;
-        File file = null;
         final String location = machineConfig.getSource().getLocation();
         try {
-            UriBuilder targetUriBuilder = UriBuilder.fromUri(location);
-            // add user token to be able to download user's private recipe
-            final String apiEndPointHost = apiEndpoint.getHost();
-            final String host = targetUriBuilder.build().getHost();
-            if (apiEndPointHost.equals(host)) {
-                if (EnvironmentContext.getCurrent().getSubject() != null
-                    && EnvironmentContext.getCurrent().getSubject().getToken() != null) {
-                    targetUriBuilder.queryParam("token", EnvironmentContext.getCurrent().getSubject().getToken());
-                }
-            }
-            recipeUrl = targetUriBuilder.build().toURL();
-            file = IoUtil.downloadFileWithRedirect(null, "recipe", null, recipeUrl);
-
             return new RecipeImpl().withType(machineConfig.getSource().getType())
-                                   .withScript(IoUtil.readAndCloseQuietly(new FileInputStream(file)));
-        } catch (IOException | IllegalArgumentException e) {
+                                   .withScript(download(location));
+        } catch (IOException | IllegalArgumentException | UriBuilderException | ServerException | NotFoundException e) {
             throw new MachineException(format("Failed to download recipe for machine %s. Recipe url %s. Error: %s",
                                               machineConfig.getName(),
                                               location,
                                               e.getLocalizedMessage()));
-        } finally {
-            if (file != null && !file.delete()) {
-                LOG.error(String.format("Removal of recipe file %s failed.", file.getAbsolutePath()));
-            }
         }
     }
 
@@ -100,31 +125,149 @@ public class RecipeDownloader {
      *         if any error occurs
      */
     public String getRecipe(String location) throws ServerException {
-        URL recipeUrl;
-        File file = null;
         try {
-            UriBuilder targetUriBuilder = UriBuilder.fromUri(location);
-            // add user token to be able to download user's private recipe
-            final String apiEndPointHost = apiEndpoint.getHost();
-            final String host = targetUriBuilder.build().getHost();
-            if (apiEndPointHost.equals(host)) {
-                if (EnvironmentContext.getCurrent().getSubject() != null
-                    && EnvironmentContext.getCurrent().getSubject().getToken() != null) {
-                    targetUriBuilder.queryParam("token", EnvironmentContext.getCurrent().getSubject().getToken());
-                }
-            }
-            recipeUrl = targetUriBuilder.build().toURL();
-            file = IoUtil.downloadFileWithRedirect(null, "recipe", null, recipeUrl);
-
-            return IoUtil.readAndCloseQuietly(new FileInputStream(file));
-        } catch (IOException | IllegalArgumentException | UriBuilderException e) {
+            return download(location);
+        } catch (IOException | IllegalArgumentException | UriBuilderException | ServerException | NotFoundException e) {
             throw new MachineException(format("Failed to download recipe %s. Error: %s",
                                               location,
                                               e.getLocalizedMessage()));
+        }
+    }
+
+    private String download(String location) throws IOException, ServerException, NotFoundException {
+        final URI targetUri = UriBuilder.fromUri(location).build();
+        final String localRecipeId = getLocalRecipeId(targetUri);
+        if (localRecipeId != null) {
+            final RecipeImpl recipe = recipeDao.getById(localRecipeId);
+            // creator may always read the recipe, access to other recipes is checked
+            // by the recipe service, so they are requested with the token of the user
+            if (isCreatedByCurrentUser(recipe)) {
+                return recipe.getScript();
+            }
+        }
+
+        UriBuilder targetUriBuilder = UriBuilder.fromUri(targetUri);
+        // add user token to be able to download user's private recipe
+        if (apiEndpoint.getHost().equals(targetUri.getHost())) {
+            if (EnvironmentContext.getCurrent().getSubject() != null
+                && EnvironmentContext.getCurrent().getSubject().getToken() != null) {
+                targetUriBuilder.queryParam("token", EnvironmentContext.getCurrent().getSubject().getToken());
+            }
+        }
+        return download(targetUriBuilder.build().toURL());
+    }
+
+    private static boolean isCreatedByCurrentUser(RecipeImpl recipe) {
+        final Subject subject = EnvironmentContext.getCurrent().getSubject();
+        return subject != null && recipe.getCreator() != null && recipe.getCreator().equals(subject.getUserId());
+    }
+
+    /** Returns id of the recipe if the uri points to the recipe script served by current CHE server, null otherwise. */
+    private String getLocalRecipeId(URI uri) {
+        if (!apiEndpoint.getHost().equals(uri.getHost())
+            || apiEndpoint.getPort() != uri.getPort()
+            || uri.getPath() == null) {
+            return null;
+        }
+        final String apiPath = apiEndpoint.getPath() == null ? "" : apiEndpoint.getPath().replaceAll("/+$", "");
+        if (!uri.getPath().startsWith(apiPath)) {
+            return null;
+        }
+        final Matcher matcher = LOCAL_RECIPE_SCRIPT_PATH.matcher(uri.getPath().substring(apiPath.length()));
+        return matcher.matches() ? matcher.group("id") : null;
+    }
+
+    private String download(URL url) throws IOException {
+        final String protocol = url.getProtocol().toLowerCase(Locale.ENGLISH);
+        if (!"http".equals(protocol) && !"https".equals(protocol)) {
+            try (InputStream in = url.openStream()) {
+                return read(in);
+            }
+        }
+
+        final String key = url.toString();
+        final CachedRecipe cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        HttpURLConnection http = openConnection(url, cached);
+        try {
+            int status = http.getResponseCode();
+            if (status == HttpURLConnection.HTTP_MOVED_TEMP || status == HttpURLConnection.HTTP_MOVED_PERM ||
+                status == HttpURLConnection.HTTP_SEE_OTHER) {
+                final String newUrl = http.getHeaderField(HttpHeaders.LOCATION);
+                // open the new connection again
+                http.disconnect();
+                http = openConnection(new URL(url, newUrl), cached);
+                status = http.getResponseCode();
+            }
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                return cached.script;
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException(format("Server responded with status %d", status));
+            }
+            final String script;
+            try (InputStream in = http.getInputStream()) {
+                script = read(in);
+            }
+            final String eTag = http.getHeaderField(HttpHeaders.ETAG);
+            final String lastModified = http.getHeaderField(HttpHeaders.LAST_MODIFIED);
+            final String cacheControl = http.getHeaderField(HttpHeaders.CACHE_CONTROL);
+            synchronized (cache) {
+                if ((eTag != null || lastModified != null) && (cacheControl == null || !cacheControl.contains("no-store"))) {
+                    cache.put(key, new CachedRecipe(script, eTag, lastModified));
+                } else {
+                    cache.remove(key);
+                }
+            }
+            return script;
         } finally {
-            if (file != null && !file.delete()) {
-                LOG.error(String.format("Removal of recipe file %s failed.", file.getAbsolutePath()));
+            http.disconnect();
+        }
+    }
+
+    private HttpURLConnection openConnection(URL url, CachedRecipe cached) throws IOException {
+        final URLConnection conn = url.openConnection();
+        if (!(conn instanceof HttpURLConnection)) {
+            throw new IOException(format("Unsupported recipe location %s", url));
+        }
+        final HttpURLConnection http = (HttpURLConnection)conn;
+        http.setRequestMethod(HttpMethod.GET);
+        if (cached != null) {
+            if (cached.eTag != null) {
+                http.setRequestProperty(HttpHeaders.IF_NONE_MATCH, cached.eTag);
             }
+            if (cached.lastModified != null) {
+                http.setRequestProperty(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        return http;
+    }
+
+    /** Reads recipe from the stream, fails if the recipe is larger than allowed. */
+    private String read(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int r;
+        while ((r = in.read(buffer)) != -1) {
+            if (out.size() + r > maxRecipeSize) {
+                throw new IOException(format("Recipe is larger than %d bytes", maxRecipeSize));
+            }
+            out.write(buffer, 0, r);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    private static class CachedRecipe {
+        final String script;
+        final String eTag;
+        final String lastModified;
+
+        CachedRecipe(String script, String eTag, String lastModified) {
+            this.script = script;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
         }
     }
 }
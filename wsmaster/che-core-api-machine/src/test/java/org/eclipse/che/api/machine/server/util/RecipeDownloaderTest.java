@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.api.machine.server.spi.RecipeDao;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link RecipeDownloader}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RecipeDownloaderTest {
+
+    private static final String RECIPE = "FROM codenvy/ubuntu_jdk8";
+
+    @Mock
+    private RecipeDao recipeDao;
+
+    private HttpServer       server;
+    private String           recipeUrl;
+    private RecipeDownloader downloader;
+
+    // state of the stub
+    private String       eTag;
+    private String       lastModified;
+    private String       content;
+    private List<String> requests;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        requests = new ArrayList<>();
+        content = RECIPE;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/recipes/dockerfile", this::serveRecipe);
+        server.start();
+        recipeUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/recipes/dockerfile";
+        downloader = new RecipeDownloader(new URI("http://localhost:8080/api"), recipeDao, 1024, 10);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        server.stop(0);
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldRevalidateCachedRecipeWithETag() throws Exception {
+        eTag = "\"v1\"";
+
+        assertEquals(downloader.getRecipe(recipeUrl), RECIPE);
+        assertEquals(downloader.getRecipe(recipeUrl), RECIPE);
+
+        assertEquals(requests, asList("GET 200", "GET If-None-Match=\"v1\" 304"));
+    }
+
+    @Test
+    public void shouldRevalidateCachedRecipeWithLastModified() throws Exception {
+        lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+        assertEquals(downloader.getRecipe(recipeUrl), RECIPE);
+        assertEquals(downloader.getRecipe(recipeUrl), RECIPE);
+
+        assertEquals(requests, asList("GET 200", "GET If-Modified-Since=Wed, 21 Oct 2015 07:28:00 GMT 304"));
+    }
+
+    @Test
+    public void shouldDownloadModifiedRecipe() throws Exception {
+        eTag = "\"v1\"";
+        downloader.getRecipe(recipeUrl);
+        eTag = "\"v2\"";
+        content = "FROM codenvy/ubuntu_jdk9";
+
+        assertEquals(downloader.getRecipe(recipeUrl), "FROM codenvy/ubuntu_jdk9");
+        assertEquals(downloader.getRecipe(recipeUrl), "FROM codenvy/ubuntu_jdk9");
+
+        assertEquals(requests, asList("GET 200", "GET If-None-Match=\"v1\" 200", "GET If-None-Match=\"v2\" 304"));
+    }
+
+    @Test
+    public void shouldNotCacheRecipeWithoutValidators() throws Exception {
+        downloader.getRecipe(recipeUrl);
+        downloader.getRecipe(recipeUrl);
+
+        assertEquals(requests, asList("GET 200", "GET 200"));
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = ".*Recipe is larger than 1024 bytes")
+    public void shouldRejectTooLargeRecipe() throws Exception {
+        content = new String(new char[2048]).replace('\0', 'a');
+
+        downloader.getRecipe(recipeUrl);
+    }
+
+    @Test
+    public void shouldReadScriptOfLocalRecipeWithoutHttpRequest() throws Exception {
+        EnvironmentContext.getCurrent().setSubject(new SubjectImpl("user", "user123", "token123", false));
+        when(recipeDao.getById("recipe123")).thenReturn(new RecipeImpl().withId("recipe123")
+                                                                         .withCreator("user123")
+                                                                         .withScript(RECIPE));
+
+        assertEquals(downloader.getRecipe("http://localhost:8080/api/recipe/recipe123/script"), RECIPE);
+        assertEquals(requests.size(), 0);
+    }
+
+    @Test
+    public void shouldRequestLocalRecipeOfOtherUserWithToken() throws Exception {
+        EnvironmentContext.getCurrent().setSubject(new SubjectImpl("user", "user123", "token123", false));
+        when(recipeDao.getById("recipe123")).thenReturn(new RecipeImpl().withId("recipe123")
+                                                                         .withCreator("user234")
+                                                                         .withScript("FROM private/image"));
+        server.createContext("/api/recipe/recipe123/script", exchange -> {
+            requests.add("GET " + exchange.getRequestURI().getQuery());
+            serveRecipe(exchange);
+        });
+        final String apiEndpoint = "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+        downloader = new RecipeDownloader(new URI(apiEndpoint), recipeDao, 1024, 10);
+
+        assertEquals(downloader.getRecipe(apiEndpoint + "/recipe/recipe123/script"), RECIPE);
+        assertEquals(requests.get(0), "GET token=token123");
+    }
+
+    private void serveRecipe(HttpExchange exchange) throws IOException {
+        final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        final String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        final boolean notModified = ifNoneMatch != null ? ifNoneMatch.equals(eTag)
+                                                        : ifModifiedSince != null && ifModifiedSince.equals(lastModified);
+        final StringBuilder request = new StringBuilder(exchange.getRequestMethod());
+        if (ifNoneMatch != null) {
+            request.append(" If-None-Match=").append(ifNoneMatch);
+        }
+        if (ifModifiedSince != null) {
+            request.append(" If-Modified-Since=").append(ifModifiedSince);
+        }
+        request.append(notModified ? " 304" : " 200");
+        requests.add(request.toString());
+
+        if (eTag != null) {
+            exchange.getResponseHeaders().add("ETag", eTag);
+        }
+        if (lastModified != null) {
+            exchange.getResponseHeaders().add("Last-Modified", lastModified);
+        }
+        if (notModified) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            final byte[] body = content.getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+}
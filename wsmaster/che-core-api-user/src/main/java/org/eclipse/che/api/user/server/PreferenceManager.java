@@ -10,18 +10,41 @@
  *******************************************************************************/
 package org.eclipse.che.api.user.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.user.server.spi.PreferenceDao.NO_VERSION;
 
 /**
  * Preferences manager layer, simplifies preferences service by
@@ -32,15 +55,60 @@ import static java.util.Objects.requireNonNull;
  * is expected that all the incoming objects are valid, nevertheless
  * this exactly the right place for performing business validations.
  *
+ * <p>If the {@link PreferenceDao} tracks versions of preferences, the manager
+ * keeps preferences of recently active users in memory and checks their version
+ * at most once per {@value #VERSION_CHECK_PERIOD_MS}ms, so preferences modified by other nodes
+ * sharing the same storage are reloaded. Reading cached preferences never waits for updates.
+ * Updates and removals of separate preferences are applied to the cached preferences
+ * at once and written to the storage in the background, so a burst of updates
+ * made within {@value #WRITE_DELAY_MS}ms results in a single write of the changed preferences.
+ * Updates which are not written yet are written before preferences modified by another node
+ * are reloaded and when the manager is stopped, updates which can't be written are kept
+ * and written again later. Saving or removing all the preferences of the user is written at once.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class PreferenceManager {
 
+    private static final Logger LOG = LoggerFactory.getLogger(PreferenceManager.class);
+
     private static final Striped<Lock> UPDATE_REENTRANT_LOCKS = Striped.lazyWeakLock(32);
 
+    /** How long updates of user preferences are collected before they are written. */
+    public static final long WRITE_DELAY_MS = 500;
+
+    /** How long cached preferences are used without checking their version. */
+    public static final long VERSION_CHECK_PERIOD_MS = WRITE_DELAY_MS;
+
+    /** How long to wait before writing updates again when they can't be written. */
+    private static final long RETRY_DELAY_MS = 10 * WRITE_DELAY_MS;
+
+    /** The maximum number of users whose preferences are cached. */
+    private static final int CACHE_SIZE = 1000;
+
+    private final PreferenceDao preferenceDao;
+    private final long          versionCheckPeriodNanos;
+
+    private final Cache<String, CachedPreferences> cache   = CacheBuilder.newBuilder()
+                                                                         .maximumSize(CACHE_SIZE)
+                                                                         .expireAfterAccess(30, MINUTES)
+                                                                         .build();
+    private final ConcurrentMap<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService             writer  =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("PreferencesWriter-%d")
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
     @Inject
-    private PreferenceDao preferenceDao;
+    public PreferenceManager(PreferenceDao preferenceDao) {
+        this(preferenceDao, VERSION_CHECK_PERIOD_MS);
+    }
+
+    PreferenceManager(PreferenceDao preferenceDao, long versionCheckPeriodMs) {
+        this.preferenceDao = preferenceDao;
+        this.versionCheckPeriodNanos = MILLISECONDS.toNanos(versionCheckPeriodMs);
+    }
 
     /**
      * Associates the given {@code preferences} with the given {@code userId}.
@@ -60,7 +128,16 @@ public class PreferenceManager {
     public void save(String userId, Map<String, String> preferences) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
         requireNonNull(preferences, "Required non-null preferences");
-        preferenceDao.setPreferences(userId, preferences);
+        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+        reentrantLock.lock();
+        try {
+            // pending updates are overridden by the new preferences
+            pending.remove(userId);
+            cache.invalidate(userId);
+            preferenceDao.setPreferences(userId, preferences);
+        } finally {
+            reentrantLock.unlock();
+        }
     }
 
     /**
@@ -86,10 +163,18 @@ public class PreferenceManager {
         final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
         reentrantLock.lock();
         try {
-            final Map<String, String> found = preferenceDao.getPreferences(userId);
-            found.putAll(preferences);
-            preferenceDao.setPreferences(userId, found);
-            return found;
+            final CachedPreferences cached = load(userId);
+            if (cached == null) {
+                final Map<String, String> found = preferenceDao.getPreferences(userId);
+                found.putAll(preferences);
+                preferenceDao.setPreferences(userId, found);
+                return found;
+            }
+            final Map<String, String> updated = new HashMap<>(cached.preferences);
+            updated.putAll(preferences);
+            cache.put(userId, cached.withPreferences(updated));
+            addPending(userId, update -> update.put(preferences));
+            return updated;
         } finally {
             reentrantLock.unlock();
         }
@@ -108,7 +193,11 @@ public class PreferenceManager {
      */
     public Map<String, String> find(String userId) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
-        return preferenceDao.getPreferences(userId);
+        final CachedPreferences cached = read(userId);
+        if (cached == null) {
+            return preferenceDao.getPreferences(userId);
+        }
+        return new HashMap<>(cached.preferences);
     }
 
     /**
@@ -128,7 +217,18 @@ public class PreferenceManager {
      */
     public Map<String, String> find(String userId, String keyFilter) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
-        return preferenceDao.getPreferences(userId, keyFilter);
+        final CachedPreferences cached = read(userId);
+        if (cached == null) {
+            return preferenceDao.getPreferences(userId, keyFilter);
+        }
+        if (keyFilter.isEmpty()) {
+            return new HashMap<>(cached.preferences);
+        }
+        final Pattern pattern = Pattern.compile(keyFilter);
+        return cached.preferences.entrySet()
+                                 .stream()
+                                 .filter(preference -> pattern.matcher(preference.getKey()).matches())
+                                 .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
     /**
@@ -143,7 +243,15 @@ public class PreferenceManager {
      */
     public void remove(String userId) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
-        preferenceDao.remove(userId);
+        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+        reentrantLock.lock();
+        try {
+            pending.remove(userId);
+            cache.invalidate(userId);
+            preferenceDao.remove(userId);
+        } finally {
+            reentrantLock.unlock();
+        }
     }
 
     /**
@@ -166,11 +274,234 @@ public class PreferenceManager {
         final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
         reentrantLock.lock();
         try {
-            final Map<String, String> preferences = preferenceDao.getPreferences(userId);
-            names.forEach(preferences::remove);
-            preferenceDao.setPreferences(userId, preferences);
+            final CachedPreferences cached = load(userId);
+            if (cached == null) {
+                final Map<String, String> preferences = preferenceDao.getPreferences(userId);
+                names.forEach(preferences::remove);
+                preferenceDao.setPreferences(userId, preferences);
+                return;
+            }
+            final Map<String, String> updated = new HashMap<>(cached.preferences);
+            names.forEach(updated::remove);
+            cache.put(userId, cached.withPreferences(updated));
+            addPending(userId, update -> update.remove(names));
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the updates of the user's preferences which are not written yet.
+     *
+     * @param userId
+     *         the id of the user whose preferences should be written
+     * @throws NullPointerException
+     *         when {@code userId} is null
+     * @throws ServerException
+     *         when any error occurs, the updates are kept to be written later
+     */
+    public void flush(String userId) throws ServerException {
+        requireNonNull(userId, "Required non-null user id");
+        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+        reentrantLock.lock();
+        try {
+            final PendingUpdate update = pending.remove(userId);
+            if (update == null) {
+                return;
+            }
+            final CachedPreferences cached = cache.getIfPresent(userId);
+            final long version;
+            try {
+                version = preferenceDao.updatePreferences(userId,
+                                                          cached == null ? NO_VERSION : cached.version,
+                                                          update.update,
+                                                          update.removals);
+            } catch (ServerException | RuntimeException x) {
+                // updates can't be made while the lock is held, so nothing was queued in between
+                pending.put(userId, update);
+                throw x;
+            }
+            if (cached != null) {
+                if (version == NO_VERSION) {
+                    // preferences were concurrently modified, cached ones don't match stored ones anymore
+                    cache.invalidate(userId);
+                } else {
+                    cache.put(userId, cached.withVersion(version));
+                }
+            }
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /** Writes all the pending updates of preferences and stops background writing. */
+    @PreDestroy
+    public void shutdown() {
+        // updates made after this point are written at once
+        writer.shutdownNow();
+        for (String userId : new ArrayList<>(pending.keySet())) {
+            try {
+                flush(userId);
+            } catch (ServerException | RuntimeException x) {
+                LOG.error("Couldn't write preferences of user '" + userId + "'", x);
+            }
+        }
+    }
+
+    /**
+     * Returns up to date cached preferences of the user without waiting for the user's lock
+     * unless the preferences must be loaded, returns null if the preferences can't be cached
+     * as their versions are not tracked.
+     */
+    private CachedPreferences read(String userId) throws ServerException {
+        final CachedPreferences cached = cache.getIfPresent(userId);
+        if (cached != null && isRecentlyChecked(cached)) {
+            return cached;
+        }
+        final long version = preferenceDao.getVersion(userId);
+        if (version == NO_VERSION) {
+            return null;
+        }
+        if (cached != null && cached.version == version) {
+            // if preferences were updated in the meantime the updated ones are kept
+            cache.asMap().replace(userId, cached, cached.withVersion(version));
+            return cached;
+        }
+        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+        reentrantLock.lock();
+        try {
+            if (cache.getIfPresent(userId) != cached) {
+                // preferences were updated or reloaded while waiting for the lock
+                return load(userId);
+            }
+            return load(userId, cached, version);
         } finally {
             reentrantLock.unlock();
         }
     }
+
+    /**
+     * Returns up to date cached preferences of the user loading them if needed,
+     * or null if the preferences can't be cached as their versions are not tracked.
+     * Must be called holding the user's lock.
+     */
+    private CachedPreferences load(String userId) throws ServerException {
+        final CachedPreferences cached = cache.getIfPresent(userId);
+        if (cached != null && isRecentlyChecked(cached)) {
+            return cached;
+        }
+        // the version is read before preferences, so if they are modified in between
+        // the cached copy is considered outdated next time instead of being kept forever
+        final long version = preferenceDao.getVersion(userId);
+        if (version == NO_VERSION) {
+            return null;
+        }
+        return load(userId, cached, version);
+    }
+
+    /**
+     * Returns the cached preferences if they have the given stored {@code version},
+     * otherwise loads the preferences. Must be called holding the user's lock.
+     */
+    private CachedPreferences load(String userId, CachedPreferences cached, long version) throws ServerException {
+        if (cached != null && cached.version == version) {
+            final CachedPreferences checked = cached.withVersion(version);
+            cache.put(userId, checked);
+            return checked;
+        }
+        long loadedVersion = version;
+        if (pending.containsKey(userId)) {
+            // preferences were modified by another node, updates made on this node
+            // are written first so the reloaded preferences include them
+            flush(userId);
+            loadedVersion = preferenceDao.getVersion(userId);
+        }
+        final Map<String, String> preferences = preferenceDao.getPreferences(userId);
+        final CachedPreferences loaded = new CachedPreferences(preferences, loadedVersion);
+        cache.put(userId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Applies the change to pending update of the user's preferences,
+     * schedules the update to be written if there is no pending update yet.
+     * Must be called holding the user's lock.
+     */
+    private void addPending(String userId, Consumer<PendingUpdate> change) throws ServerException {
+        PendingUpdate update = pending.get(userId);
+        final boolean scheduled = update != null;
+        if (!scheduled) {
+            update = new PendingUpdate();
+            pending.put(userId, update);
+        }
+        change.accept(update);
+        if (!scheduled) {
+            try {
+                writer.schedule(() -> flushQuietly(userId), WRITE_DELAY_MS, MILLISECONDS);
+            } catch (RejectedExecutionException x) {
+                // the manager is stopped, so the update is written at once
+                flush(userId);
+            }
+        }
+    }
+
+    private void flushQuietly(String userId) {
+        try {
+            flush(userId);
+        } catch (ServerException | RuntimeException x) {
+            LOG.error("Couldn't write preferences of user '" + userId + "', retrying in " + RETRY_DELAY_MS + "ms", x);
+            try {
+                writer.schedule(() -> flushQuietly(userId), RETRY_DELAY_MS, MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // the manager is stopped and all the pending updates are already written
+            }
+        }
+    }
+
+    private boolean isRecentlyChecked(CachedPreferences cached) {
+        return System.nanoTime() - cached.checked < versionCheckPeriodNanos;
+    }
+
+    /** Immutable copy of user preferences, replaced on each change. */
+    private static class CachedPreferences {
+        final Map<String, String> preferences;
+        final long                version;
+        final long                checked;
+
+        CachedPreferences(Map<String, String> preferences, long version) {
+            this(unmodifiableMap(new HashMap<>(preferences)), version, System.nanoTime());
+        }
+
+        private CachedPreferences(Map<String, String> preferences, long version, long checked) {
+            this.preferences = preferences;
+            this.version = version;
+            this.checked = checked;
+        }
+
+        /** Returns the same preferences with the given version checked at this moment. */
+        CachedPreferences withVersion(long version) {
+            return new CachedPreferences(preferences, version, System.nanoTime());
+        }
+
+        /** Returns the given preferences of the same version. */
+        CachedPreferences withPreferences(Map<String, String> preferences) {
+            return new CachedPreferences(unmodifiableMap(new HashMap<>(preferences)), version, checked);
+        }
+    }
+
+    /** Changes of user preferences which are not written yet. */
+    private static class PendingUpdate {
+        final Map<String, String> update   = new HashMap<>();
+        final Set<String>         removals = new HashSet<>();
+
+        void put(Map<String, String> preferences) {
+            update.putAll(preferences);
+            removals.removeAll(preferences.keySet());
+        }
+
+        void remove(Collection<String> names) {
+            names.forEach(update::remove);
+            removals.addAll(names);
+        }
+    }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.user.server.jpa;
 import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jdbc.jpa.DuplicateKeyException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
@@ -26,13 +27,18 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
+import static javax.persistence.LockModeType.OPTIMISTIC_FORCE_INCREMENT;
 
 /**
  * Implementation of {@link PreferenceDao}.
@@ -44,6 +50,9 @@ public class JpaPreferenceDao implements PreferenceDao {
 
     private static final Logger LOG = LoggerFactory.getLogger(JpaPreferenceDao.class);
 
+    /** How many times the update is applied when preferences are concurrently modified. */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     @Inject
     private Provider<EntityManager> managerProvider;
 
@@ -51,15 +60,10 @@ public class JpaPreferenceDao implements PreferenceDao {
     public void setPreferences(String userId, Map<String, String> preferences) throws ServerException {
         requireNonNull(userId);
         requireNonNull(preferences);
-        final PreferenceEntity prefs = new PreferenceEntity(userId, preferences);
-        if (preferences.isEmpty()) {
-            remove(userId);
-        } else {
-            try {
-                doSetPreference(prefs);
-            } catch (RuntimeException ex) {
-                throw new ServerException(ex.getLocalizedMessage(), ex);
-            }
+        try {
+            doSetPreferences(userId, preferences);
+        } catch (RuntimeException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
 
@@ -71,7 +75,7 @@ public class JpaPreferenceDao implements PreferenceDao {
             final EntityManager manager = managerProvider.get();
             final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
             return prefs == null ? new HashMap<>()
-                                 : prefs.getPreferences();
+                                 : new HashMap<>(prefs.getPreferences());
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
@@ -96,32 +100,111 @@ public class JpaPreferenceDao implements PreferenceDao {
                                   .filter(preference -> pattern.matcher(preference.getKey()).matches())
                                   .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
             } else {
-                return preferences;
+                return new HashMap<>(preferences);
             }
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
 
+    /**
+     * Clears user preferences.
+     *
+     * <p>Note that the preferences record is kept, so the version of preferences is never
+     * reset while the user exists, the record is removed only when the user is removed.
+     */
     @Override
     public void remove(String userId) throws ServerException {
         requireNonNull(userId);
         try {
-            doRemove(userId);
+            doSetPreferences(userId, emptyMap());
         } catch (RuntimeException ex) {
             throw new ServerException(ex);
         }
     }
 
+    @Override
+    public long updatePreferences(String userId,
+                                  long version,
+                                  Map<String, String> update,
+                                  Set<String> removals) throws ServerException {
+        requireNonNull(userId);
+        requireNonNull(update);
+        requireNonNull(removals);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return doUpdatePreferences(userId, version, update, removals);
+            } catch (RuntimeException ex) {
+                // the update is applied key by key, so it is safe to apply it once again
+                // on top of the preferences concurrently modified by another node
+                if (attempt >= MAX_UPDATE_ATTEMPTS || !isConcurrentModification(ex)) {
+                    throw new ServerException(ex.getLocalizedMessage(), ex);
+                }
+                LOG.debug("Preferences of user '{}' were concurrently modified, retrying update", userId);
+            }
+        }
+    }
+
+    @Override
     @Transactional
-    protected void doSetPreference(PreferenceEntity prefs) {
+    public long getVersion(String userId) throws ServerException {
+        requireNonNull(userId);
+        try {
+            final List<Long> versions = managerProvider.get()
+                                                       .createNamedQuery("Preference.getVersion", Long.class)
+                                                       .setParameter("userId", userId)
+                                                       .getResultList();
+            // the version is null if the column was added to the existing table without the default value
+            return versions.isEmpty() || versions.get(0) == null ? 0 : versions.get(0);
+        } catch (RuntimeException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    @Transactional
+    protected void doSetPreferences(String userId, Map<String, String> preferences) {
         final EntityManager manager = managerProvider.get();
-        final PreferenceEntity existing = manager.find(PreferenceEntity.class, prefs.getUserId());
-        if (existing != null) {
-            manager.merge(prefs);
+        final PreferenceEntity existing = manager.find(PreferenceEntity.class, userId);
+        if (existing == null) {
+            if (!preferences.isEmpty()) {
+                manager.persist(new PreferenceEntity(userId, new HashMap<>(preferences)));
+            }
         } else {
-            manager.persist(prefs);
+            final Map<String, String> existingPreferences = existing.getPreferences();
+            if (!existingPreferences.equals(preferences)) {
+                existingPreferences.keySet().retainAll(preferences.keySet());
+                existingPreferences.putAll(preferences);
+                existing.setPreferences(existingPreferences);
+                manager.lock(existing, OPTIMISTIC_FORCE_INCREMENT);
+            }
+        }
+    }
+
+    @Transactional
+    protected long doUpdatePreferences(String userId, long version, Map<String, String> update, Set<String> removals) {
+        final EntityManager manager = managerProvider.get();
+        final PreferenceEntity existing = manager.find(PreferenceEntity.class, userId);
+        if (existing == null) {
+            final Map<String, String> preferences = new HashMap<>(update);
+            preferences.keySet().removeAll(removals);
+            if (preferences.isEmpty()) {
+                return version == 0 ? 0 : NO_VERSION;
+            }
+            final PreferenceEntity created = new PreferenceEntity(userId, preferences);
+            manager.persist(created);
+            manager.flush();
+            return version == 0 ? created.getVersion() : NO_VERSION;
         }
+        final long current = existing.getVersion();
+        // only the changed entries of the collection are written
+        final Map<String, String> preferences = existing.getPreferences();
+        preferences.putAll(update);
+        preferences.keySet().removeAll(removals);
+        existing.setPreferences(preferences);
+        // collection changes don't affect the version by themselves
+        manager.lock(existing, OPTIMISTIC_FORCE_INCREMENT);
+        manager.flush();
+        return current == version ? existing.getVersion() : NO_VERSION;
     }
 
     @Transactional
@@ -133,6 +216,15 @@ public class JpaPreferenceDao implements PreferenceDao {
         }
     }
 
+    private static boolean isConcurrentModification(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof DuplicateKeyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Singleton
     public static class RemovePreferencesBeforeUserRemovedEventSubscriber implements EventSubscriber<BeforeUserRemovedEvent> {
 
@@ -154,7 +246,7 @@ public class JpaPreferenceDao implements PreferenceDao {
         @Override
         public void onEvent(BeforeUserRemovedEvent event) {
             try {
-                preferenceDao.remove(event.getUser().getId());
+                preferenceDao.doRemove(event.getUser().getId());
             } catch (Exception x) {
                 LOG.error(format("Couldn't remove preferences before user '%s' is removed", event.getUser().getId()), x);
             }
@@ -12,13 +12,17 @@ package org.eclipse.che.api.user.server.jpa;
 
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MapKeyColumn;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.PrimaryKeyJoinColumn;
+import javax.persistence.Version;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -26,9 +30,20 @@ import java.util.Objects;
 /**
  * Describes JPA implementation of user's preferences.
  *
+ * <p>Preferences are not kept in the shared entity cache, as they are
+ * cached by {@link org.eclipse.che.api.user.server.PreferenceManager}
+ * which checks their version, so that the modifications made by other nodes are seen.
+ *
  * @author Anton Korneta
  */
 @Entity(name = "Preference")
+@Cacheable(false)
+@NamedQueries(
+        {
+                @NamedQuery(name = "Preference.getVersion",
+                            query = "SELECT prefs.version FROM Preference prefs WHERE prefs.userId = :userId")
+        }
+)
 public class PreferenceEntity {
 
     @Id
@@ -42,6 +57,14 @@ public class PreferenceEntity {
     @Column(name = "value", columnDefinition = "TEXT")
     private Map<String, String> preferences;
 
+    /**
+     * The column is added to existing tables when the schema is extended,
+     * the default value sets the initial version of the existing preferences.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long version;
+
     public PreferenceEntity() {}
 
     public PreferenceEntity(String userId, Map<String, String> preferences) {
@@ -68,6 +91,10 @@ public class PreferenceEntity {
         this.preferences = preferences;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
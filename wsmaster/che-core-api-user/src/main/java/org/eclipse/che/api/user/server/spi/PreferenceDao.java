@@ -13,6 +13,9 @@ package org.eclipse.che.api.user.server.spi;
 import org.eclipse.che.api.core.ServerException;
 
 import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Defines data access object contract for user preferences.
@@ -21,6 +24,9 @@ import java.util.Map;
  */
 public interface PreferenceDao {
 
+    /** The version returned by implementations which don't track versions of preferences. */
+    long NO_VERSION = -1;
+
     /**
      * Sets user preferences, overrides existing preferences if any.
      *
@@ -91,4 +97,63 @@ public interface PreferenceDao {
      *         when any error occurs
      */
     void remove(String userId) throws ServerException;
+
+    /**
+     * Updates user preferences key by key, associates the entries of {@code update}
+     * with the user and removes the preferences with the names from {@code removals},
+     * all the other existing preferences are kept as they are.
+     *
+     * <p>The default implementation rewrites all the preferences of the user,
+     * implementations which can modify separate preferences should override it.
+     *
+     * @param userId
+     *         user identifier
+     * @param version
+     *         the version of preferences the update was made for, see {@link #getVersion(String)}
+     * @param update
+     *         preferences to set
+     * @param removals
+     *         names of preferences to remove
+     * @return the version of preferences after the update if they had the given {@code version}
+     * before the update, otherwise {@link #NO_VERSION}, which means that preferences were
+     * concurrently modified or that versions are not tracked, note that the update is applied in both cases
+     * @throws NullPointerException
+     *         when any of the arguments is null
+     * @throws ServerException
+     *         when any other error occurs
+     */
+    default long updatePreferences(String userId,
+                                   long version,
+                                   Map<String, String> update,
+                                   Set<String> removals) throws ServerException {
+        requireNonNull(update);
+        requireNonNull(removals);
+        final Map<String, String> preferences = getPreferences(userId);
+        preferences.putAll(update);
+        removals.forEach(preferences::remove);
+        setPreferences(userId, preferences);
+        return NO_VERSION;
+    }
+
+    /**
+     * Gets the version of user preferences.
+     *
+     * <p>The version changes each time preferences are modified, including
+     * modifications made by other nodes sharing the same storage, so it may be used to
+     * check whether a copy of preferences is up to date without reading the preferences.
+     * The default implementation doesn't track versions and always returns {@link #NO_VERSION}.
+     *
+     * @param userId
+     *         user identifier
+     * @return the version of preferences, 0 if preferences were never stored for the user,
+     * or {@link #NO_VERSION} if versions are not tracked
+     * @throws NullPointerException
+     *         when {@code userId} is null
+     * @throws ServerException
+     *         when any error occurs
+     */
+    default long getVersion(String userId) throws ServerException {
+        requireNonNull(userId);
+        return NO_VERSION;
+    }
 }
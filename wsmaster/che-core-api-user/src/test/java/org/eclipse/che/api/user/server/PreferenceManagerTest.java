@@ -11,26 +11,45 @@
 package org.eclipse.che.api.user.server;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.user.server.spi.PreferenceDao.NO_VERSION;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Tests for {@link PreferenceManager}.
@@ -43,12 +62,25 @@ public class PreferenceManagerTest {
     @Mock
     private PreferenceDao preferenceDao;
 
-    @InjectMocks
     private PreferenceManager preferenceManager;
 
     @Captor
     private ArgumentCaptor<Map<String, String>> preferencesCaptor;
 
+    @Captor
+    private ArgumentCaptor<Set<String>> removalsCaptor;
+
+    @BeforeMethod
+    public void setUp() {
+        // versions are checked on each read
+        preferenceManager = new PreferenceManager(preferenceDao, 0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        preferenceManager.shutdown();
+    }
+
     @Test
     public void shouldUseMergeStrategyForPreferencesUpdate() throws Exception {
         // Preparing preferences
@@ -57,6 +89,7 @@ public class PreferenceManagerTest {
         existingPreferences.put("pKey2", "pValue2");
         existingPreferences.put("pKey3", "pValue3");
         existingPreferences.put("pKey4", "pValue4");
+        when(preferenceDao.getVersion(any())).thenReturn(NO_VERSION);
         when(preferenceDao.getPreferences(any())).thenReturn(existingPreferences);
 
         // Updating preferences
@@ -83,6 +116,7 @@ public class PreferenceManagerTest {
         existingPreferences.put("pKey2", "pValue2");
         existingPreferences.put("pKey3", "pValue3");
         existingPreferences.put("pKey4", "pValue4");
+        when(preferenceDao.getVersion(any())).thenReturn(NO_VERSION);
         when(preferenceDao.getPreferences(any())).thenReturn(existingPreferences);
 
         // Removing
@@ -106,11 +140,207 @@ public class PreferenceManagerTest {
     @Test
     public void shouldGetPreferencesByUserAndFilter() throws Exception {
         final Map<String, String> preferences = ImmutableMap.of("name", "value");
+        when(preferenceDao.getVersion("user123")).thenReturn(NO_VERSION);
         when(preferenceDao.getPreferences("user123", "name.*")).thenReturn(preferences);
 
         assertEquals(preferenceManager.find("user123", "name.*"), preferences);
     }
 
+    @Test
+    public void shouldWriteOnlyChangedPreferencesOnceForBurstOfUpdates() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("pKey1", "pValue1",
+                                                                                                 "pKey2", "pValue2")));
+        when(preferenceDao.updatePreferences(anyString(), anyLong(), anyMapOf(String.class, String.class), anySetOf(String.class)))
+                .thenReturn(2L);
+
+        preferenceManager.update("user123", ImmutableMap.of("pKey3", "pValue3"));
+        preferenceManager.remove("user123", asList("pKey1", "pKey4"));
+        preferenceManager.update("user123", ImmutableMap.of("pKey3", "new-value", "pKey4", "pValue4"));
+        preferenceManager.remove("user123", asList("pKey4"));
+        final Map<String, String> result = preferenceManager.update("user123", ImmutableMap.of("pKey5", "pValue5"));
+        preferenceManager.flush("user123");
+
+        assertEquals(result, ImmutableMap.of("pKey2", "pValue2",
+                                             "pKey3", "new-value",
+                                             "pKey5", "pValue5"));
+        verify(preferenceDao).updatePreferences(eq("user123"),
+                                                eq(1L),
+                                                preferencesCaptor.capture(),
+                                                removalsCaptor.capture());
+        assertEquals(preferencesCaptor.getValue(), ImmutableMap.of("pKey3", "new-value", "pKey5", "pValue5"));
+        assertEquals(removalsCaptor.getValue(), ImmutableSet.of("pKey1", "pKey4"));
+        verify(preferenceDao, times(1)).getPreferences("user123");
+        verify(preferenceDao, never()).setPreferences(anyString(), anyMapOf(String.class, String.class));
+    }
+
+    @Test
+    public void shouldWritePendingUpdatesInBackground() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>());
+
+        preferenceManager.update("user123", ImmutableMap.of("pKey1", "pValue1"));
+
+        verify(preferenceDao, timeout(PreferenceManager.WRITE_DELAY_MS * 10)).updatePreferences("user123",
+                                                                                                1L,
+                                                                                                ImmutableMap.of("pKey1", "pValue1"),
+                                                                                                emptySet());
+    }
+
+    @Test
+    public void shouldReadPreferencesOnceWhileVersionIsNotChanged() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value",
+                                                                                                 "other", "value")));
+
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "value", "other", "value"));
+        assertEquals(preferenceManager.find("user123", "name.*"), ImmutableMap.of("name", "value"));
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "value", "other", "value"));
+
+        verify(preferenceDao, times(1)).getPreferences("user123");
+    }
+
+    @Test
+    public void shouldReloadPreferencesModifiedByAnotherNode() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L, 2L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value")),
+                                                                 new HashMap<>(ImmutableMap.of("name", "new-value")));
+
+        preferenceManager.find("user123");
+
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "new-value"));
+    }
+
+    @Test
+    public void shouldNotCheckVersionOfRecentlyCheckedPreferences() throws Exception {
+        final PreferenceManager manager = new PreferenceManager(preferenceDao);
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value")));
+
+        try {
+            manager.find("user123");
+            assertEquals(manager.find("user123"), ImmutableMap.of("name", "value"));
+        } finally {
+            manager.shutdown();
+        }
+
+        verify(preferenceDao, times(1)).getVersion("user123");
+    }
+
+    @Test
+    public void shouldWritePendingUpdatesBeforeReloadingPreferencesModifiedByAnotherNode() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L, 2L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value")),
+                                                                 new HashMap<>(ImmutableMap.of("name", "new-value",
+                                                                                               "other", "value")));
+        when(preferenceDao.updatePreferences(anyString(), anyLong(), anyMapOf(String.class, String.class), anySetOf(String.class)))
+                .thenReturn(NO_VERSION);
+
+        preferenceManager.update("user123", ImmutableMap.of("name", "new-value"));
+
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "new-value", "other", "value"));
+        verify(preferenceDao).updatePreferences("user123", 1L, ImmutableMap.of("name", "new-value"), emptySet());
+    }
+
+    @Test
+    public void shouldReloadPreferencesWhenTheyWereConcurrentlyModifiedBeforeWrite() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(),
+                                                                 new HashMap<>(ImmutableMap.of("name", "value",
+                                                                                               "other", "value")));
+        when(preferenceDao.updatePreferences(anyString(), anyLong(), anyMapOf(String.class, String.class), anySetOf(String.class)))
+                .thenReturn(NO_VERSION);
+
+        preferenceManager.update("user123", ImmutableMap.of("name", "value"));
+        preferenceManager.flush("user123");
+
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "value", "other", "value"));
+        verify(preferenceDao, times(2)).getPreferences("user123");
+    }
+
+    @Test
+    public void shouldKeepUpdateWhichCouldNotBeWritten() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value")));
+        when(preferenceDao.updatePreferences(anyString(), anyLong(), anyMapOf(String.class, String.class), anySetOf(String.class)))
+                .thenThrow(new ServerException("error"))
+                .thenThrow(new IllegalStateException("error"))
+                .thenReturn(2L);
+
+        preferenceManager.update("user123", ImmutableMap.of("name", "new-value"));
+        try {
+            preferenceManager.flush("user123");
+            fail("Expected ServerException");
+        } catch (ServerException ignored) {
+        }
+        try {
+            preferenceManager.flush("user123");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ignored) {
+        }
+        assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "new-value"));
+        preferenceManager.flush("user123");
+
+        verify(preferenceDao, times(3)).updatePreferences("user123", 1L, ImmutableMap.of("name", "new-value"), emptySet());
+    }
+
+    @Test
+    public void shouldDropPendingUpdatesWhenPreferencesAreSaved() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>());
+        preferenceManager.update("user123", ImmutableMap.of("name", "value"));
+
+        preferenceManager.save("user123", ImmutableMap.of("other", "value"));
+        preferenceManager.flush("user123");
+
+        verify(preferenceDao).setPreferences("user123", ImmutableMap.of("other", "value"));
+        verify(preferenceDao, never()).updatePreferences(anyString(),
+                                                         anyLong(),
+                                                         anyMapOf(String.class, String.class),
+                                                         anySetOf(String.class));
+    }
+
+    @Test
+    public void shouldWritePendingUpdatesOnShutdown() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>());
+        preferenceManager.update("user123", ImmutableMap.of("name", "value"));
+
+        preferenceManager.shutdown();
+
+        verify(preferenceDao).updatePreferences("user123", 1L, ImmutableMap.of("name", "value"), emptySet());
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldNotWaitForPreferencesWriteWhenReadingCachedPreferences() throws Exception {
+        when(preferenceDao.getVersion("user123")).thenReturn(1L);
+        when(preferenceDao.getPreferences("user123")).thenReturn(new HashMap<>(ImmutableMap.of("name", "value")));
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch written = new CountDownLatch(1);
+        when(preferenceDao.updatePreferences(anyString(), anyLong(), anyMapOf(String.class, String.class), anySetOf(String.class)))
+                .thenAnswer(invocation -> {
+                    writing.countDown();
+                    written.await();
+                    return 2L;
+                });
+        preferenceManager.update("user123", ImmutableMap.of("name", "new-value"));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                preferenceManager.flush("user123");
+                return null;
+            });
+            assertTrue(writing.await(5, SECONDS));
+
+            assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "new-value"));
+            assertEquals(preferenceManager.find("user123", "name"), ImmutableMap.of("name", "new-value"));
+        } finally {
+            written.countDown();
+            executor.shutdown();
+        }
+    }
+
     @Test(expectedExceptions = NullPointerException.class)
     public void getPreferencesShouldThrowNpeWhenUserIdIsNull() throws Exception {
         preferenceManager.find(null);
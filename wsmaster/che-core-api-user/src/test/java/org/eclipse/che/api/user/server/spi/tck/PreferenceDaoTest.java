@@ -11,12 +11,14 @@
 package org.eclipse.che.api.user.server.spi.tck;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.test.tck.TckModuleFactory;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Guice;
@@ -31,7 +33,10 @@ import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.user.server.spi.PreferenceDao.NO_VERSION;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -208,4 +213,59 @@ public class PreferenceDaoTest {
     public void shouldThrowNpeWhenRemovePreferenceUserNull() throws Exception {
         preferenceDao.remove(null);
     }
+
+    @Test
+    public void shouldUpdatePreferencesKeyByKey() throws Exception {
+        final String userId = userPreferences.get(0).first;
+
+        preferenceDao.updatePreferences(userId,
+                                        preferenceDao.getVersion(userId),
+                                        ImmutableMap.of("preference1", "new-value", "preference4", "value"),
+                                        ImmutableSet.of("preference2", "non-existing"));
+
+        assertEquals(preferenceDao.getPreferences(userId), ImmutableMap.of("preference1", "new-value",
+                                                                           "preference3", "value",
+                                                                           "preference4", "value"));
+    }
+
+    @Test
+    public void shouldCreatePreferencesOnUpdateWhenUserDoesNotHaveThem() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        preferenceDao.remove(userId);
+
+        preferenceDao.updatePreferences(userId, preferenceDao.getVersion(userId), ImmutableMap.of("key", "value"), emptySet());
+
+        assertEquals(preferenceDao.getPreferences(userId), ImmutableMap.of("key", "value"));
+    }
+
+    @Test
+    public void shouldChangeVersionWhenPreferencesAreModified() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        final long version = preferenceDao.getVersion(userId);
+        if (version == NO_VERSION) {
+            throw new SkipException("Implementation doesn't track versions of preferences");
+        }
+
+        final long updated = preferenceDao.updatePreferences(userId, version, ImmutableMap.of("key", "value"), emptySet());
+        assertNotEquals(updated, version);
+        assertEquals(preferenceDao.getVersion(userId), updated);
+
+        preferenceDao.setPreferences(userId, ImmutableMap.of("key", "value2"));
+        assertNotEquals(preferenceDao.getVersion(userId), updated);
+
+        preferenceDao.remove(userId);
+        assertNotEquals(preferenceDao.getVersion(userId), version);
+    }
+
+    @Test
+    public void shouldReturnNoVersionWhenUpdatedPreferencesWereModifiedSinceGivenVersion() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        final long version = preferenceDao.getVersion(userId);
+        preferenceDao.setPreferences(userId, ImmutableMap.of("key", "value"));
+
+        final long updated = preferenceDao.updatePreferences(userId, version, ImmutableMap.of("key2", "value"), emptySet());
+
+        assertEquals(updated, NO_VERSION);
+        assertEquals(preferenceDao.getPreferences(userId), ImmutableMap.of("key", "value", "key2", "value"));
+    }
 }
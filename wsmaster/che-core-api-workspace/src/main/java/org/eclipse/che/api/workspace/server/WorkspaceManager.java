@@ -35,6 +35,7 @@ import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
@@ -252,6 +253,32 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets a page of workspace summaries ordered by workspace identifiers.
+     *
+     * <p>Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param namespace
+     *         the namespace to find workspaces, {@code null} to list all the workspaces
+     * @param afterId
+     *         the id of the last workspace of the previous page, {@code null} to get the first page
+     * @param maxItems
+     *         the max number of summaries to return
+     * @return the list of summaries or empty list if there are no more workspaces
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummaries(String, String, int)}
+     */
+    public List<WorkspaceSummary> getSummaries(@Nullable String namespace,
+                                               @Nullable String afterId,
+                                               int maxItems) throws ServerException {
+        final List<WorkspaceSummary> summaries = workspaceDao.getSummaries(namespace, afterId, maxItems);
+        for (WorkspaceSummary summary : summaries) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+        return summaries;
+    }
+
     /**
      * Gets list of workspaces which has given namespace
      *
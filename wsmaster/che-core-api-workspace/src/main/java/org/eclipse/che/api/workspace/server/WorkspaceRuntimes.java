@@ -18,6 +18,7 @@ import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.server.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ApiException;
@@ -46,18 +47,26 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -101,6 +110,7 @@ public class WorkspaceRuntimes {
     private final AgentSorter                 agentSorter;
     private final AgentLauncherFactory        launcherFactory;
     private final AgentRegistry               agentRegistry;
+    private final ExecutorService             agentLauncherExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -116,6 +126,9 @@ public class WorkspaceRuntimes {
         this.launcherFactory = launcherFactory;
         this.agentRegistry = agentRegistry;
         this.workspaces = new HashMap<>();
+        this.agentLauncherExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentsLauncher-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
         // 16 - experimental value for stripes count, it comes from default hash map size
         this.stripedLocks = new StripedLocks(16);
     }
@@ -380,6 +393,21 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Returns the status of the workspace runtime, or {@link WorkspaceStatus#STOPPED}
+     * if workspace is not running. Unlike {@link #get(String)} it doesn't collect runtime machines.
+     *
+     * @param workspaceId
+     *         workspace identifier
+     * @return workspace status, never null
+     */
+    public WorkspaceStatus getStatus(String workspaceId) {
+        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            final WorkspaceState state = workspaces.get(workspaceId);
+            return state == null ? WorkspaceStatus.STOPPED : state.status;
+        }
+    }
+
     /**
      * Starts machine in running workspace.
      *
@@ -576,6 +604,7 @@ public class WorkspaceRuntimes {
             stopEnvExecutor.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        agentLauncherExecutor.shutdownNow();
     }
 
     @VisibleForTesting
@@ -604,18 +633,121 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Launches agents in the machine respecting dependencies between them.
+     *
+     * <p>Each agent is launched as soon as all its dependencies are launched,
+     * so agents which don't depend on each other (e.g. terminal, ssh, language servers)
+     * are launched concurrently and launching takes about as long as the slowest chain of dependent agents.
+     * Agent scripts serialize their own installation of system packages with a machine wide lock.
+     * Fails as soon as any of the agents fails, launches which are still running are stopped then.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
+        final List<AgentKey> sorted;
+        final Map<AgentKey, Agent> resolved = new HashMap<>();
+        final Map<AgentKey, AgentLauncher> launchers = new HashMap<>();
         try {
-            for (AgentKey agentKey : agentSorter.sort(agents)) {
-                LOG.info("Launching '{}' agent", agentKey.getName());
-                
-                Agent agent = agentRegistry.getAgent(agentKey);
-                AgentLauncher launcher = launcherFactory.find(agentKey.getName(), instance.getConfig().getType());
-                launcher.launch(instance, agent);
+            sorted = agentSorter.sort(agents);
+            for (AgentKey agentKey : sorted) {
+                resolved.put(agentKey, agentRegistry.getAgent(agentKey));
+                launchers.put(agentKey, launcherFactory.find(agentKey.getName(), instance.getConfig().getType()));
             }
         } catch (AgentException e) {
             throw new MachineException(e.getMessage(), e);
         }
+
+        final Map<String, CompletableFuture<Void>> launches = new HashMap<>();
+        final CompletableFuture<Void> failure = new CompletableFuture<>();
+        final LaunchingThreads launchingThreads = new LaunchingThreads();
+        for (AgentKey agentKey : sorted) {
+            final Agent agent = resolved.get(agentKey);
+            final AgentLauncher launcher = launchers.get(agentKey);
+            // dependencies precede the agent in the sorted list, so their launches are already created
+            final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+            for (String dependency : agent.getDependencies()) {
+                final CompletableFuture<Void> dependencyLaunch = launches.get(AgentKeyImpl.parse(dependency).getName());
+                if (dependencyLaunch != null) {
+                    dependencies.add(dependencyLaunch);
+                }
+            }
+            final CompletableFuture<Void> launch =
+                    CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[dependencies.size()]))
+                                     .thenRunAsync(ThreadLocalPropagateContext.wrap(() -> launchingThreads.run(() -> {
+                                         LOG.info("Launching '{}' agent", agentKey.getName());
+                                         launcher.launch(instance, agent);
+                                     })), agentLauncherExecutor);
+            launch.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    failure.completeExceptionally(error);
+                }
+            });
+            launches.put(agentKey.getName(), launch);
+        }
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(launches.values().toArray(new CompletableFuture[launches.size()])),
+                                    failure)
+                             .get();
+        } catch (ExecutionException e) {
+            launchingThreads.stop();
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new MachineException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            launchingThreads.stop();
+            Thread.currentThread().interrupt();
+            throw new MachineException(format("Launching agents of machine '%s' is interrupted", instance.getConfig().getName()));
+        }
+    }
+
+    /** An agent launch which may throw the exception of the launcher. */
+    private interface AgentLaunch {
+        void run() throws ServerException;
+    }
+
+    /**
+     * Threads which launch agents of one machine.
+     *
+     * <p>{@link CompletableFuture#cancel(boolean)} doesn't interrupt a task which is already running,
+     * so the launching threads are remembered and interrupted explicitly when the launching is stopped,
+     * launches which didn't start yet are not started at all.
+     */
+    private static class LaunchingThreads {
+        private final Set<Thread> threads = new HashSet<>();
+        private       boolean     stopped;
+
+        void run(AgentLaunch launch) {
+            final Thread current = Thread.currentThread();
+            synchronized (this) {
+                if (stopped) {
+                    throw new CancellationException("Launching agents is stopped");
+                }
+                threads.add(current);
+            }
+            try {
+                launch.run();
+            } catch (ServerException e) {
+                throw new CompletionException(e);
+            } finally {
+                synchronized (this) {
+                    threads.remove(current);
+                    // the thread is not interrupted after it is removed, so the flag belongs to this launch
+                    if (stopped) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            threads.forEach(Thread::interrupt);
+        }
     }
 
     public static class WorkspaceState {
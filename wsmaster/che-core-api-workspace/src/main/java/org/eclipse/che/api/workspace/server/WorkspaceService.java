@@ -37,6 +37,7 @@ import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
 import javax.inject.Inject;
@@ -218,6 +219,39 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of the workspaces, ordered by workspace ids",
+                  notes = "The summaries don't contain workspace configuration and runtime. " +
+                          "To get the next page pass the id of the last workspace of the current page as afterId",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public List<WorkspaceSummaryDto> getSummaries(@ApiParam("The namespace of the workspaces, the namespace of the current user is used if not set")
+                                                  @QueryParam("namespace")
+                                                  String namespace,
+                                                  @ApiParam("The id of the last workspace of the previous page")
+                                                  @QueryParam("afterId")
+                                                  String afterId,
+                                                  @ApiParam("The limit of the items in the response, default is 30")
+                                                  @DefaultValue("30")
+                                                  @QueryParam("maxItems")
+                                                  Integer maxItems) throws ServerException, BadRequestException {
+        if (maxItems < 0) {
+            throw new BadRequestException("The number of items to return can't be negative");
+        }
+        if (namespace == null) {
+            namespace = EnvironmentContext.getCurrent().getSubject().getUserName();
+        }
+        return workspaceManager.getSummaries(namespace, afterId, maxItems)
+                               .stream()
+                               .map(DtoConverter::asDto)
+                               .collect(toList());
+    }
+
     @PUT
     @Path("/{id}")
     @Consumes(APPLICATION_JSON)
@@ -29,6 +29,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
@@ -121,6 +122,31 @@ public class JpaStackDao implements StackDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<StackImpl> searchStacks(@Nullable String user,
+                                        @Nullable List<String> tags,
+                                        @Nullable String afterId,
+                                        int maxItems) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative");
+        final TypedQuery<StackImpl> query;
+        if (tags == null || tags.isEmpty()) {
+            query = managerProvider.get().createNamedQuery("Stack.getAllAfter", StackImpl.class);
+        } else {
+            query = managerProvider.get()
+                                   .createNamedQuery("Stack.getByTagsAfter", StackImpl.class)
+                                   .setParameter("tags", tags)
+                                   .setParameter("tagsSize", tags.size());
+        }
+        try {
+            return query.setParameter("afterId", afterId == null ? "" : afterId)
+                        .setMaxResults(maxItems)
+                        .getResultList();
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Transactional
     protected void doCreate(StackImpl stack) {
         managerProvider.get().persist(stack);
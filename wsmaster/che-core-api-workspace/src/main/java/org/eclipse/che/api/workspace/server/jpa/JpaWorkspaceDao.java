@@ -23,7 +23,9 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,10 +36,18 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -152,6 +162,58 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceSummary> getSummaries(@Nullable String namespace,
+                                               @Nullable String afterId,
+                                               int maxItems) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative");
+        try {
+            final EntityManager manager = this.manager.get();
+            final TypedQuery<WorkspaceSummary> query;
+            if (namespace == null) {
+                query = manager.createNamedQuery("Workspace.getSummaries", WorkspaceSummary.class);
+            } else {
+                query = manager.createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummary.class)
+                               .setParameter("namespace", namespace);
+            }
+            final List<WorkspaceSummary> summaries = query.setParameter("afterId", afterId == null ? "" : afterId)
+                                                          .setMaxResults(maxItems)
+                                                          .getResultList();
+            if (!summaries.isEmpty()) {
+                setUpdateTime(manager, summaries);
+            }
+            return summaries;
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    /**
+     * Fetches creation and update times of the page of workspaces with a single query,
+     * instead of loading the whole attributes map of each workspace.
+     */
+    private void setUpdateTime(EntityManager manager, List<WorkspaceSummary> summaries) {
+        final Map<String, WorkspaceSummary> byId = summaries.stream().collect(toMap(WorkspaceSummary::getId, identity()));
+        final List<Object[]> attributes = manager.createNamedQuery("Workspace.getAttributes", Object[].class)
+                                                 .setParameter("ids", byId.keySet())
+                                                 .setParameter("names", asList(CREATED_ATTRIBUTE_NAME, UPDATED_ATTRIBUTE_NAME))
+                                                 .getResultList();
+        for (Object[] attribute : attributes) {
+            final WorkspaceSummary summary = byId.get((String)attribute[0]);
+            final long time;
+            try {
+                time = Long.parseLong((String)attribute[2]);
+            } catch (NumberFormatException ignored) {
+                continue;
+            }
+            // the update time wins over the creation time
+            if (UPDATED_ATTRIBUTE_NAME.equals(attribute[1]) || summary.getUpdated() == 0) {
+                summary.setUpdated(time);
+            }
+        }
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         manager.get().persist(workspace);
@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.workspace.server.jpa.WorkspaceEntityListener;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
 
 import javax.persistence.Basic;
@@ -38,6 +39,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
@@ -56,11 +58,38 @@ import java.util.Objects;
 @NamedQueries(
         {
                 @NamedQuery(name = "Workspace.getByNamespace",
-                            query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace"),
+                            query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.attributes"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.commands"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.projects"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.environments")}),
                 @NamedQuery(name = "Workspace.getByName",
                             query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"),
                 @NamedQuery(name = "Workspace.getAll",
-                            query = "SELECT w FROM Workspace w")
+                            query = "SELECT w FROM Workspace w",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.account"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.attributes"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.commands"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.projects"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "w.config.environments")}),
+                @NamedQuery(name = "Workspace.getSummaries",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary(w.id, w.name, a.name) " +
+                                    "FROM Workspace w JOIN w.account a " +
+                                    "WHERE w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getSummariesByNamespace",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary(w.id, w.name, a.name) " +
+                                    "FROM Workspace w JOIN w.account a " +
+                                    "WHERE a.name = :namespace AND w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getAttributes",
+                            query = "SELECT w.id, KEY(attr), VALUE(attr) " +
+                                    "FROM Workspace w JOIN w.attributes attr " +
+                                    "WHERE w.id IN :ids AND KEY(attr) IN :names")
         }
 )
 @EntityListeners({WorkspaceEntityListener.class, WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class})
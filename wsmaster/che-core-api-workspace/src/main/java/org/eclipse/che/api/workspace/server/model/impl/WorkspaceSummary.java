@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+import java.util.Objects;
+
+/**
+ * Projection of {@link WorkspaceImpl} which contains only the data needed for listing workspaces.
+ * Instances are created by JPQL constructor queries, so neither workspace configuration
+ * nor its attributes are loaded.
+ *
+ * <p>The status is not persisted, it is defined by the workspace runtime
+ * and set by the workspace manager.
+ */
+public class WorkspaceSummary {
+
+    private final String id;
+    private final String name;
+    private final String namespace;
+
+    private long            updated;
+    private WorkspaceStatus status;
+
+    public WorkspaceSummary(String id, String name, String namespace) {
+        this.id = id;
+        this.name = name;
+        this.namespace = namespace;
+    }
+
+    public WorkspaceSummary(String id, String name, String namespace, long updated, WorkspaceStatus status) {
+        this(id, name, namespace);
+        this.updated = updated;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /** Returns time of the last workspace update(or creation if it wasn't updated) in milliseconds, or 0 if unknown. */
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public WorkspaceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WorkspaceStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WorkspaceSummary)) {
+            return false;
+        }
+        final WorkspaceSummary that = (WorkspaceSummary)obj;
+        return updated == that.updated
+               && Objects.equals(id, that.id)
+               && Objects.equals(name, that.name)
+               && Objects.equals(namespace, that.namespace)
+               && Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(id);
+        hash = 31 * hash + Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(namespace);
+        hash = 31 * hash + Long.hashCode(updated);
+        hash = 31 * hash + Objects.hashCode(status);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceSummary{" +
+               "id='" + id + '\'' +
+               ", name='" + name + '\'' +
+               ", namespace='" + namespace + '\'' +
+               ", updated=" + updated +
+               ", status=" + status +
+               '}';
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.api.workspace.shared.stack.StackComponent;
 import org.eclipse.che.api.workspace.shared.stack.StackSource;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.persistence.config.QueryHints;
 
 import javax.persistence.Basic;
 import javax.persistence.CascadeType;
@@ -32,6 +33,7 @@ import javax.persistence.Index;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
 import javax.persistence.OneToOne;
+import javax.persistence.QueryHint;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -52,9 +54,34 @@ import static java.util.stream.Collectors.toList;
                                     "FROM Stack stack, stack.tags tag " +
                                     "WHERE tag IN :tags " +
                                     "GROUP BY stack.id " +
-                                    "HAVING COUNT(tag) = :tagsSize"),
+                                    "HAVING COUNT(tag) = :tagsSize",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.tags"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.components"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.workspaceConfig")}),
                 @NamedQuery(name = "Stack.getAll",
-                            query = "SELECT stack FROM Stack stack")
+                            query = "SELECT stack FROM Stack stack",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.tags"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.components"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.workspaceConfig")}),
+                @NamedQuery(name = "Stack.getByTagsAfter",
+                            query = "SELECT stack " +
+                                    "FROM Stack stack, stack.tags tag " +
+                                    "WHERE tag IN :tags AND stack.id > :afterId " +
+                                    "GROUP BY stack.id " +
+                                    "HAVING COUNT(tag) = :tagsSize " +
+                                    "ORDER BY stack.id",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.tags"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.components"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.workspaceConfig")}),
+                @NamedQuery(name = "Stack.getAllAfter",
+                            query = "SELECT stack FROM Stack stack WHERE stack.id > :afterId ORDER BY stack.id",
+                            hints = {@QueryHint(name = QueryHints.BATCH_TYPE, value = "IN"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.tags"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.components"),
+                                     @QueryHint(name = QueryHints.BATCH, value = "stack.workspaceConfig")})
         }
 
 )
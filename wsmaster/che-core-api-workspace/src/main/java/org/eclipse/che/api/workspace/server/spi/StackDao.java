@@ -124,4 +124,30 @@ public interface StackDao {
      *         when {@code skipCount} or {@code maxItems} is negative
      */
     List<StackImpl> searchStacks(@Nullable String user, @Nullable List<String> tags, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Searches for stacks the same way as {@link #searchStacks(String, List, int, int)} does,
+     * but pages by the key of the last fetched stack rather than by the number of stacks to skip.
+     * Stacks are ordered by their identifiers, so the next page starts right after
+     * the last stack of the previous one, no matter how many stacks were created or removed in between.
+     *
+     * @param user
+     *         user id for permission checking
+     * @param tags
+     *         stack tags to search stacks, may be {@code null}
+     * @param afterId
+     *         identifier of the last stack of the previous page,
+     *         {@code null} to get the first page
+     * @param maxItems
+     *         max count of items to fetch
+     * @return list of stacks ordered by identifiers
+     * @throws ServerException
+     *         when any error occurs
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is negative
+     */
+    List<StackImpl> searchStacks(@Nullable String user,
+                                 @Nullable List<String> tags,
+                                 @Nullable String afterId,
+                                 int maxItems) throws ServerException;
 }
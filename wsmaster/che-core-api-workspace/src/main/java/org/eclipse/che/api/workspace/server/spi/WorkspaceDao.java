@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import java.util.List;
 
@@ -142,4 +144,27 @@ public interface WorkspaceDao {
      *         when any other error occurs during workspaces fetching
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
+
+    /**
+     * Gets a page of workspace summaries ordered by workspace identifiers.
+     *
+     * <p>Summaries don't contain workspace configuration, so fetching them is
+     * much cheaper than fetching workspaces. The status of the returned summaries is not set.
+     *
+     * @param namespace
+     *         namespace of workspaces, {@code null} to get summaries of all the workspaces
+     * @param afterId
+     *         identifier of the last workspace of the previous page,
+     *         {@code null} to get the first page
+     * @param maxItems
+     *         max count of items to fetch
+     * @return list of workspace summaries, never null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is negative
+     * @throws ServerException
+     *         when any other error occurs during summaries fetching
+     */
+    List<WorkspaceSummary> getSummaries(@Nullable String namespace,
+                                        @Nullable String afterId,
+                                        int maxItems) throws ServerException;
 }
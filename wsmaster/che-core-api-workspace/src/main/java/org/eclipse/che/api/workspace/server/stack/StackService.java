@@ -199,10 +199,15 @@ public class StackService extends Service {
                                        @ApiParam("The limit of the items in the response, default is 30")
                                        @DefaultValue("30")
                                        @QueryParam("maxItems")
-                                       final Integer maxItems) throws ServerException {
+                                       final Integer maxItems,
+                                       @ApiParam("The id of the last stack of the previous page, stacks are ordered by ids " +
+                                                 "and the page starts right after it. When set the skipCount is ignored")
+                                       @QueryParam("afterId")
+                                       final String afterId) throws ServerException {
         final String currentUser = EnvironmentContext.getCurrent().getSubject().getUserId();
-        return stackDao.searchStacks(currentUser, tags, skipCount, maxItems)
-                       .stream()
+        final List<StackImpl> stacks = afterId == null ? stackDao.searchStacks(currentUser, tags, skipCount, maxItems)
+                                                       : stackDao.searchStacks(currentUser, tags, afterId, maxItems);
+        return stacks.stream()
                        .map(this::asStackDto)
                        .collect(Collectors.toList());
     }
@@ -34,6 +34,7 @@ import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
@@ -266,6 +267,21 @@ public class WorkspaceManagerTest {
         assertFalse(res1.isTemporary(), "Workspace must be permanent");
     }
 
+    @Test
+    public void shouldSetRuntimeStatusToWorkspaceSummaries() throws Exception {
+        final WorkspaceSummary running = new WorkspaceSummary("workspace1", "name1", NAMESPACE);
+        final WorkspaceSummary stopped = new WorkspaceSummary("workspace2", "name2", NAMESPACE);
+        when(workspaceDao.getSummaries(NAMESPACE, "workspace0", 2)).thenReturn(asList(running, stopped));
+        when(runtimes.getStatus(running.getId())).thenReturn(RUNNING);
+        when(runtimes.getStatus(stopped.getId())).thenReturn(STOPPED);
+
+        final List<WorkspaceSummary> result = workspaceManager.getSummaries(NAMESPACE, "workspace0", 2);
+
+        assertEquals(result, asList(running, stopped));
+        assertEquals(running.getStatus(), RUNNING);
+        assertEquals(stopped.getStatus(), STOPPED);
+    }
+
     @Test
     public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), NAMESPACE);
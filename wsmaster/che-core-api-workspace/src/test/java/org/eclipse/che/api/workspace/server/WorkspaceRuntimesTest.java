@@ -13,7 +13,12 @@ package org.eclipse.che.api.workspace.server;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.impl.LocalAgentRegistryImpl;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.server.model.impl.AgentKeyImpl;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -45,6 +50,7 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -59,6 +65,8 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -68,6 +76,8 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Yevhenii Voevodin
@@ -572,6 +582,100 @@ public class WorkspaceRuntimesTest {
         assertEquals(actualWorkspaces, expectedWorkspaces);
     }
 
+    @Test
+    public void shouldLaunchIndependentAgentsConcurrently() throws Exception {
+        Instance instance = createMachine(false);
+        mockAgents(instance,
+                   new TestAgent("terminal", 500),
+                   new TestAgent("ssh", 500),
+                   new TestAgent("ls", 500));
+
+        long start = System.currentTimeMillis();
+        runtimes.launchAgents(instance, asList("terminal", "ssh", "ls"));
+        long launchTime = System.currentTimeMillis() - start;
+
+        // the slowest agent takes 500ms, launching them one by one would take 1500ms
+        assertTrue(launchTime < 1000, "Agents are launched in " + launchTime + "ms");
+    }
+
+    @Test
+    public void shouldLaunchAgentAfterItsDependenciesAreLaunched() throws Exception {
+        Instance instance = createMachine(false);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        mockAgents(instance,
+                   new TestAgent("base", 300, events),
+                   new TestAgent("dependent", 0, events, "base"),
+                   new TestAgent("independent", 0, events));
+
+        runtimes.launchAgents(instance, asList("base", "dependent", "independent"));
+
+        assertTrue(events.indexOf("base launched") < events.indexOf("dependent started"), events.toString());
+        assertTrue(events.indexOf("independent launched") < events.indexOf("base launched"), events.toString());
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Fail launching agent ls", timeOut = 2000)
+    public void shouldFailLaunchingAgentsWithoutWaitingForOthersWhenAgentFails() throws Exception {
+        Instance instance = createMachine(false);
+        TestAgent slow = new TestAgent("terminal", 5000);
+        TestAgent failing = new TestAgent("ls", 0);
+        mockAgents(instance, slow, failing);
+        doThrow(new ServerException("Fail launching agent ls")).when(failing.launcher).launch(instance, failing.agent);
+
+        runtimes.launchAgents(instance, asList("terminal", "ls"));
+    }
+
+    @Test
+    public void shouldLaunchShippedAgentsConcurrently() throws Exception {
+        // each shipped agent installs packages, its script serializes the installation itself
+        AgentRegistry shipped = new LocalAgentRegistryImpl();
+        Instance instance = createMachine(false);
+        List<AgentKey> sorted = new AgentSorter(shipped).sort(shipped.getAgents());
+        for (AgentKey key : sorted) {
+            Agent agent = shipped.getAgent(key);
+            TestAgent testAgent = new TestAgent(key.getName(), 500, agent.getDependencies().toArray(new String[0]));
+            when(testAgent.agent.getScript()).thenReturn(agent.getScript());
+            when(agentRegistry.getAgent(key)).thenReturn(testAgent.agent);
+            when(launcherFactory.find(key.getName(), instance.getConfig().getType())).thenReturn(testAgent.launcher);
+        }
+        when(agentSorter.sort(any())).thenReturn(sorted);
+
+        long start = System.currentTimeMillis();
+        runtimes.launchAgents(instance, shipped.getAgents());
+        long launchTime = System.currentTimeMillis() - start;
+
+        // the longest chain is terminal and ws-agent which takes 1000ms, launching agents one by one would take 3000ms
+        assertTrue(launchTime < 1500, sorted.size() + " agents are launched in " + launchTime + "ms");
+    }
+
+    @Test
+    public void shouldInterruptRunningLaunchesWhenAgentFails() throws Exception {
+        Instance instance = createMachine(false);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestAgent slow = new TestAgent("terminal", 5000, events);
+        TestAgent failing = new TestAgent("ls", 0);
+        mockAgents(instance, slow, failing);
+        doAnswer(invocation -> {
+            // fails once the slow agent is being launched
+            while (!events.contains("terminal started")) {
+                Thread.sleep(10);
+            }
+            throw new ServerException("Fail launching agent ls");
+        }).when(failing.launcher).launch(instance, failing.agent);
+
+        try {
+            runtimes.launchAgents(instance, asList("terminal", "ls"));
+            fail("Launching of agents is expected to fail");
+        } catch (ServerException ignored) {
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!events.contains("terminal interrupted") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(events.contains("terminal interrupted"), events.toString());
+        assertFalse(events.contains("terminal launched"), events.toString());
+    }
+
     private static Instance createMachine(boolean isDev) {
         return createMachine(createConfig(isDev));
     }
@@ -606,6 +710,47 @@ public class WorkspaceRuntimesTest {
         return new WorkspaceImpl(WORKSPACE_ID, new AccountImpl("accountId", "user123", "test"), wsConfig);
     }
 
+    private void mockAgents(Instance instance, TestAgent... agents) throws Exception {
+        List<AgentKey> keys = new ArrayList<>();
+        for (TestAgent testAgent : agents) {
+            AgentKey key = new AgentKeyImpl(testAgent.name);
+            keys.add(key);
+            when(agentRegistry.getAgent(key)).thenReturn(testAgent.agent);
+            when(launcherFactory.find(testAgent.name, instance.getConfig().getType())).thenReturn(testAgent.launcher);
+        }
+        when(agentSorter.sort(any())).thenReturn(keys);
+    }
+
+    /** Agent which launch takes the given time. */
+    private static class TestAgent {
+        final String        name;
+        final Agent         agent;
+        final AgentLauncher launcher;
+
+        TestAgent(String name, long launchTimeMs, String... dependencies) throws Exception {
+            this(name, launchTimeMs, new ArrayList<>(), dependencies);
+        }
+
+        TestAgent(String name, long launchTimeMs, List<String> events, String... dependencies) throws Exception {
+            this.name = name;
+            agent = mock(Agent.class);
+            when(agent.getName()).thenReturn(name);
+            when(agent.getDependencies()).thenReturn(asList(dependencies));
+            launcher = mock(AgentLauncher.class);
+            doAnswer(invocation -> {
+                events.add(name + " started");
+                try {
+                    Thread.sleep(launchTimeMs);
+                } catch (InterruptedException e) {
+                    events.add(name + " interrupted");
+                    throw new ServerException(name + " is interrupted");
+                }
+                events.add(name + " launched");
+                return null;
+            }).when(launcher).launch(any(Instance.class), eq(agent));
+        }
+    }
+
     private static class TestMachineInstance extends NoOpMachineInstance {
 
         MachineRuntimeInfoImpl runtime;
@@ -43,11 +43,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -301,6 +303,24 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetSummariesOfCurrentUserNamespaceWhenNamespaceIsNotSet() throws Exception {
+        final WorkspaceSummary summary = new WorkspaceSummary("workspace1", "name1", NAMESPACE);
+        summary.setStatus(RUNNING);
+        when(wsManager.getSummaries(NAMESPACE, null, 30)).thenReturn(singletonList(summary));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary");
+
+        assertEquals(response.getStatusCode(), 200);
+        final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+        assertEquals(summaries.size(), 1);
+        assertEquals(summaries.get(0).getId(), "workspace1");
+        assertEquals(summaries.get(0).getStatus(), RUNNING);
+    }
+
     @Test
     public void shouldGetWorkspacesByStatus() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -36,6 +36,8 @@ import java.util.HashSet;
 import java.util.List;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceConfig;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -225,6 +227,37 @@ public class StackDaoTest {
         assertEquals(new HashSet<>(found), new HashSet<>(asList(stacks)));
     }
 
+    @Test
+    public void shouldGetStacksPageByPage() throws Exception {
+        final List<StackImpl> firstPage = stackDao.searchStacks(null, null, null, 2);
+        final List<StackImpl> secondPage = stackDao.searchStacks(null, null, firstPage.get(1).getId(), 2);
+        final List<StackImpl> lastPage = stackDao.searchStacks(null, null, secondPage.get(1).getId(), 2);
+
+        assertEquals(ids(firstPage), asList("stack-0", "stack-1"));
+        assertEquals(ids(secondPage), asList("stack-2", "stack-3"));
+        assertEquals(ids(lastPage), asList("stack-4"));
+        assertTrue(stackDao.searchStacks(null, null, "stack-4", 2).isEmpty());
+    }
+
+    @Test(dependsOnMethods = "shouldUpdateStack")
+    public void shouldGetStacksWithSpecifiedTagsPageByPage() throws Exception {
+        stacks[0].getTags().add("search-tag");
+        stacks[2].getTags().add("search-tag");
+        stacks[3].getTags().add("search-tag");
+        updateAll();
+
+        final List<StackImpl> firstPage = stackDao.searchStacks(null, singletonList("search-tag"), null, 2);
+        final List<StackImpl> lastPage = stackDao.searchStacks(null, singletonList("search-tag"), firstPage.get(1).getId(), 2);
+
+        assertEquals(ids(firstPage), asList("stack-0", "stack-2"));
+        assertEquals(ids(lastPage), singletonList("stack-3"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenSearchingStacksWithNegativeMaxItems() throws Exception {
+        stackDao.searchStacks(null, null, null, -1);
+    }
+
     @Test
     public void shouldPublishStackPersistedEventAfterStackIsPersisted() throws Exception {
         final boolean[] isNotified = new boolean[] { false };
@@ -241,6 +274,10 @@ public class StackDaoTest {
         }
     }
 
+    private static List<String> ids(List<StackImpl> stacks) {
+        return stacks.stream().map(StackImpl::getId).collect(toList());
+    }
+
     private static StackImpl createStack(String id, String name) {
         return StackImpl.builder()
                         .setId(id)
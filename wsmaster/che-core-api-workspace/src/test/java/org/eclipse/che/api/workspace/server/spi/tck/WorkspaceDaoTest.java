@@ -25,6 +25,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckModuleFactory;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -44,6 +45,9 @@ import java.util.Optional;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -133,6 +137,52 @@ public class WorkspaceDaoTest {
         workspaceDao.getByNamespace(null);
     }
 
+    @Test
+    public void shouldGetSummariesPageByPage() throws Exception {
+        final List<WorkspaceSummary> firstPage = workspaceDao.getSummaries(null, null, 2);
+        final List<WorkspaceSummary> secondPage = workspaceDao.getSummaries(null, firstPage.get(1).getId(), 2);
+        final List<WorkspaceSummary> lastPage = workspaceDao.getSummaries(null, secondPage.get(1).getId(), 2);
+
+        assertEquals(ids(firstPage), asList("workspace-0", "workspace-1"));
+        assertEquals(ids(secondPage), asList("workspace-2", "workspace-3"));
+        assertEquals(ids(lastPage), asList("workspace-4"));
+        assertTrue(workspaceDao.getSummaries(null, "workspace-4", 2).isEmpty());
+    }
+
+    @Test
+    public void shouldGetSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace = workspaces[2];
+
+        final List<WorkspaceSummary> summaries = workspaceDao.getSummaries(workspace.getNamespace(), null, 30);
+
+        assertEquals(ids(summaries), asList("workspace-2", "workspace-3"));
+        final WorkspaceSummary summary = summaries.get(0);
+        assertEquals(summary.getName(), workspace.getConfig().getName());
+        assertEquals(summary.getNamespace(), workspace.getNamespace());
+    }
+
+    @Test
+    public void shouldSetUpdateTimeOfSummaries() throws Exception {
+        final WorkspaceImpl created = workspaces[0];
+        created.getAttributes().put(CREATED_ATTRIBUTE_NAME, "1000");
+        workspaceDao.update(created);
+        final WorkspaceImpl updated = workspaces[1];
+        updated.getAttributes().put(CREATED_ATTRIBUTE_NAME, "1000");
+        updated.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "2000");
+        workspaceDao.update(updated);
+
+        final List<WorkspaceSummary> summaries = workspaceDao.getSummaries(null, null, 3);
+
+        assertEquals(summaries.get(0).getUpdated(), 1000);
+        assertEquals(summaries.get(1).getUpdated(), 2000);
+        assertEquals(summaries.get(2).getUpdated(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeMaxItems() throws Exception {
+        workspaceDao.getSummaries(null, null, -1);
+    }
+
     @Test
     public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
         final WorkspaceImpl workspace = workspaces[0];
@@ -368,6 +418,10 @@ public class WorkspaceDaoTest {
         workspaceDao.update(null);
     }
 
+    private static List<String> ids(List<WorkspaceSummary> summaries) {
+        return summaries.stream().map(WorkspaceSummary::getId).collect(toList());
+    }
+
     public static WorkspaceConfigImpl createWorkspaceConfig(String name) {
         // Project Sources configuration
         final SourceStorageImpl source1 = new SourceStorageImpl();
@@ -16,12 +16,15 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.local.storage.stack.StackLocalStorage;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.server.model.impl.adapter.MachineSourceAdapter;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.machine.server.spi.RecipeDao;
@@ -40,6 +43,7 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.server.stack.StackJsonAdapter;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +56,7 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -59,6 +64,7 @@ import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 
 /**
@@ -68,7 +74,7 @@ import static java.util.Collections.singletonMap;
  *
  * <p>The migration strategy(for one entity type)
  * <ul>
- * <li>Load all the entity instances
+ * <li>Load all the entity instances, from both the old format files and the journals of local components
  * <li>For each entity instance check whether such entity exists in the jpa based storage.
  * There is no need to check by anything else except of identifier.
  * <li>If an entity with such identifier exists then it is already migrated, otherwise
@@ -108,8 +114,17 @@ public class LocalDataMigrator {
         migrations.add(new ProfileMigration(factory.create(LocalProfileDaoImpl.FILENAME), profileDao));
         migrations.add(new PreferencesMigration(factory.create(LocalPreferenceDaoImpl.FILENAME), preferenceDao));
         migrations.add(new SshKeyMigration(factory.create(LocalSshDaoImpl.FILENAME), sshDao));
-        migrations.add(new WorkspaceMigration(factory.create(LocalWorkspaceDaoImpl.FILENAME, adapters), workspaceDao, userDao));
-        migrations.add(new SnapshotMigration(factory.create(LocalSnapshotDaoImpl.FILENAME), snapshotDao));
+        migrations.add(new WorkspaceMigration(factory.create(LocalWorkspaceDaoImpl.FILENAME, adapters),
+                                              factory.createJournal(LocalWorkspaceDaoImpl.JOURNAL_FILENAME,
+                                                                    WorkspaceImpl.class,
+                                                                    LocalWorkspaceDaoImpl.adapters(cfgAdapter)),
+                                              workspaceDao,
+                                              userDao));
+        migrations.add(new SnapshotMigration(factory.create(LocalSnapshotDaoImpl.FILENAME),
+                                             factory.createJournal(LocalSnapshotDaoImpl.JOURNAL_FILENAME,
+                                                                   SnapshotImpl.class,
+                                                                   singletonMap(MachineSource.class, new MachineSourceAdapter())),
+                                             snapshotDao));
         migrations.add(new RecipeMigration(factory.create(LocalRecipeDaoImpl.FILENAME), recipeDao));
         migrations.add(new StackMigration(factory.create(StackLocalStorage.STACK_STORAGE_FILE,
                                                          singletonMap(StackImpl.class,
@@ -118,8 +133,12 @@ public class LocalDataMigrator {
         long globalMigrationStart = -1;
 
         for (Migration<?> migration : migrations) {
-            // If there is no file, then migration for this entity type is already done, skip it
-            if (!Files.exists(migration.getPath())) continue;
+            // If there are no files, then migration for this entity type is already done, skip it
+            final List<Path> dataFiles = migration.getPaths()
+                                                  .stream()
+                                                  .filter(Files::exists)
+                                                  .collect(Collectors.toList());
+            if (dataFiles.isEmpty()) continue;
 
             // Inform about the general migration start, if not informed
             if (globalMigrationStart == -1) {
@@ -137,17 +156,18 @@ public class LocalDataMigrator {
                      migrated,
                      migration.getAllEntities().size() - migrated);
 
-            // Backup the file, and remove the original one to avoid future migrations
+            // Backup the files, and remove the original ones to avoid future migrations
             // e.g. /storage/users.json becomes /storage/users.json.backup
-            final Path dataFile = migration.getPath();
-            try {
-                Files.move(dataFile, dataFile.resolveSibling(dataFile.getFileName().toString() + ".backup"));
-            } catch (IOException x) {
-                LOG.error("Couldn't move {} to {}.backup due to an error. Error: {}",
-                          dataFile.toString(),
-                          dataFile.toString(),
-                          x.getLocalizedMessage());
-                throw x;
+            for (Path dataFile : dataFiles) {
+                try {
+                    Files.move(dataFile, dataFile.resolveSibling(dataFile.getFileName().toString() + ".backup"));
+                } catch (IOException x) {
+                    LOG.error("Couldn't move {} to {}.backup due to an error. Error: {}",
+                              dataFile.toString(),
+                              dataFile.toString(),
+                              x.getLocalizedMessage());
+                    throw x;
+                }
             }
         }
 
@@ -214,6 +234,11 @@ public class LocalDataMigrator {
             return storage.getFile().toPath();
         }
 
+        /** Returns all the files which contain entities of this migration. */
+        public List<Path> getPaths() {
+            return singletonList(getPath());
+        }
+
         public abstract List<T> getAllEntities() throws Exception;
 
         public abstract void migrate(T entity) throws Exception;
@@ -346,18 +371,32 @@ public class LocalDataMigrator {
 
     public static class WorkspaceMigration extends Migration<WorkspaceImpl> {
 
-        private final WorkspaceDao workspaceDao;
-        private final UserDao userDao;
+        private final WorkspaceDao                workspaceDao;
+        private final UserDao                     userDao;
+        private final LocalJournal<WorkspaceImpl> journal;
 
         public WorkspaceMigration(LocalStorage localStorage, WorkspaceDao workspaceDao, UserDao userDao) {
+            this(localStorage, null, workspaceDao, userDao);
+        }
+
+        public WorkspaceMigration(LocalStorage localStorage,
+                                  @Nullable LocalJournal<WorkspaceImpl> journal,
+                                  WorkspaceDao workspaceDao,
+                                  UserDao userDao) {
             super("Workspace", localStorage);
+            this.journal = journal;
             this.workspaceDao = workspaceDao;
             this.userDao = userDao;
         }
 
+        @Override
+        public List<Path> getPaths() {
+            return journalPaths(this, journal);
+        }
+
         @Override
         public List<WorkspaceImpl> getAllEntities() throws Exception {
-            return new ArrayList<>(storage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}).values());
+            return loadAll(storage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}), journal);
         }
 
         @Override
@@ -374,16 +413,27 @@ public class LocalDataMigrator {
     }
 
     public static class SnapshotMigration extends Migration<SnapshotImpl> {
-        private final SnapshotDao snapshotDao;
+        private final SnapshotDao                snapshotDao;
+        private final LocalJournal<SnapshotImpl> journal;
 
         public SnapshotMigration(LocalStorage localStorage, SnapshotDao snapshotDao) {
+            this(localStorage, null, snapshotDao);
+        }
+
+        public SnapshotMigration(LocalStorage localStorage, @Nullable LocalJournal<SnapshotImpl> journal, SnapshotDao snapshotDao) {
             super("Snapshot", localStorage);
+            this.journal = journal;
             this.snapshotDao = snapshotDao;
         }
 
+        @Override
+        public List<Path> getPaths() {
+            return journalPaths(this, journal);
+        }
+
         @Override
         public List<SnapshotImpl> getAllEntities() throws Exception {
-            return new ArrayList<>(storage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}).values());
+            return loadAll(storage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}), journal);
         }
 
         @Override
@@ -447,6 +497,28 @@ public class LocalDataMigrator {
         }
     }
 
+    private static List<Path> journalPaths(Migration<?> migration, @Nullable LocalJournal<?> journal) {
+        final List<Path> paths = new ArrayList<>();
+        paths.add(migration.getPath());
+        if (journal != null) {
+            paths.add(journal.getFile());
+        }
+        return paths;
+    }
+
+    /**
+     * Returns entities stored in the old format file together with those stored in the journal,
+     * the journal entities win as the journal is written after the old format file is imported.
+     */
+    private static <T> List<T> loadAll(Map<String, T> stored, @Nullable LocalJournal<T> journal) throws IOException {
+        final Map<String, T> all = new LinkedHashMap<>(stored);
+        if (journal != null && Files.exists(journal.getFile())) {
+            all.putAll(journal.load());
+            journal.close();
+        }
+        return new ArrayList<>(all.values());
+    }
+
     public static boolean exists(Callable<?> action) throws Exception {
         try {
             action.call();
@@ -15,6 +15,7 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.MachineSource;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
@@ -27,12 +28,15 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.singletonMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -40,7 +44,11 @@ import static java.util.stream.Collectors.toList;
 /**
  * In-memory implementation of {@link SnapshotDao}.
  *
- * <p>The implementation is thread-safe guarded by this instance.
+ * <p>Each modification is appended to the {@link LocalJournal journal} and synced before the method returns,
+ * {@link #loadSnapshots() loading} replays the journal. Snapshots stored in the {@link #FILENAME old format}
+ * are imported into the journal when the component starts.
+ *
+ * <p>The implementation is thread-safe, modifications are guarded by this instance, reads don't lock.
  * Clients may use instance locking to perform extra, thread-safe operation.
  *
  * @author Yevhenii Voevodin
@@ -48,22 +56,26 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalSnapshotDaoImpl implements SnapshotDao {
 
-    public static final String FILENAME = "snapshots.json";
+    public static final String FILENAME         = "snapshots.json";
+    public static final String JOURNAL_FILENAME = "snapshots.journal";
 
     @VisibleForTesting
     final Map<String, SnapshotImpl> snapshots;
 
-    private final LocalStorage snapshotStorage;
+    private final LocalStorage               snapshotStorage;
+    private final LocalJournal<SnapshotImpl> journal;
 
     @Inject
     public LocalSnapshotDaoImpl(LocalStorageFactory storageFactory) throws IOException {
-        snapshots = new HashMap<>();
-        snapshotStorage = storageFactory.create("snapshots.json", singletonMap(MachineSource.class, new MachineSourceAdapter()));
+        final Map<Class<?>, Object> adapters = singletonMap(MachineSource.class, new MachineSourceAdapter());
+        snapshots = new ConcurrentHashMap<>();
+        snapshotStorage = storageFactory.create(FILENAME, adapters);
+        journal = storageFactory.createJournal(JOURNAL_FILENAME, SnapshotImpl.class, adapters);
     }
 
     @Override
-    public synchronized SnapshotImpl getSnapshot(String workspaceId, String envName, String machineName) throws NotFoundException,
-                                                                                                                SnapshotException {
+    public SnapshotImpl getSnapshot(String workspaceId, String envName, String machineName) throws NotFoundException,
+                                                                                                   SnapshotException {
         requireNonNull(workspaceId, "Required non-null workspace id");
         requireNonNull(envName, "Required non-null environment name");
         requireNonNull(machineName, "Required non-null machine name");
@@ -76,7 +88,7 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized SnapshotImpl getSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+    public SnapshotImpl getSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
         requireNonNull(snapshotId, "Required non-null snapshot id");
         final SnapshotImpl snapshot = snapshots.get(snapshotId);
         if (snapshot == null) {
@@ -86,23 +98,33 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
+    public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         requireNonNull(snapshot, "Required non-null snapshot");
-        if (snapshots.containsKey(snapshot.getWorkspaceId())) {
-            throw new SnapshotException(format("Snapshot with id '%s' already exists", snapshot.getId()));
-        }
-        final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
-        if (opt.isPresent()) {
-            throw new SnapshotException(format("Snapshot for machine '%s:%s:%s' already exists",
-                                               snapshot.getWorkspaceId(),
-                                               snapshot.getEnvName(),
-                                               snapshot.getMachineName()));
+        final long record;
+        synchronized (this) {
+            if (snapshots.containsKey(snapshot.getWorkspaceId())) {
+                throw new SnapshotException(format("Snapshot with id '%s' already exists", snapshot.getId()));
+            }
+            final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
+            if (opt.isPresent()) {
+                throw new SnapshotException(format("Snapshot for machine '%s:%s:%s' already exists",
+                                                   snapshot.getWorkspaceId(),
+                                                   snapshot.getEnvName(),
+                                                   snapshot.getMachineName()));
+            }
+            try {
+                record = journal.put(snapshot.getId(), snapshot);
+            } catch (IOException x) {
+                throw new SnapshotException(x.getLocalizedMessage(), x);
+            }
+            snapshots.put(snapshot.getId(), snapshot);
+            compactIfNeeded();
         }
-        snapshots.put(snapshot.getId(), snapshot);
+        sync(record);
     }
 
     @Override
-    public synchronized List<SnapshotImpl> findSnapshots(String workspaceId) throws SnapshotException {
+    public List<SnapshotImpl> findSnapshots(String workspaceId) throws SnapshotException {
         requireNonNull(workspaceId, "Required non-null workspace id");
         return snapshots.values()
                         .stream()
@@ -111,21 +133,63 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+    public void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
         requireNonNull(snapshotId, "Required non-null snapshot id");
-        if (!snapshots.containsKey(snapshotId)) {
-            throw new NotFoundException(format("Snapshot with id '%s' doesn't exist", snapshotId));
+        final long record;
+        synchronized (this) {
+            if (!snapshots.containsKey(snapshotId)) {
+                throw new NotFoundException(format("Snapshot with id '%s' doesn't exist", snapshotId));
+            }
+            try {
+                record = journal.remove(snapshotId);
+            } catch (IOException x) {
+                throw new SnapshotException(x.getLocalizedMessage(), x);
+            }
+            snapshots.remove(snapshotId);
+            compactIfNeeded();
         }
-        snapshots.remove(snapshotId);
+        sync(record);
     }
 
     @PostConstruct
-    public synchronized void loadSnapshots() {
-        snapshots.putAll(snapshotStorage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}));
+    public synchronized void loadSnapshots() throws IOException {
+        snapshots.putAll(journal.load());
+        final Map<String, SnapshotImpl> imported = snapshotStorage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {});
+        if (!imported.isEmpty()) {
+            long record = 0;
+            for (Map.Entry<String, SnapshotImpl> entry : imported.entrySet()) {
+                record = journal.put(entry.getKey(), entry.getValue());
+                snapshots.put(entry.getKey(), entry.getValue());
+            }
+            journal.sync(record);
+            final Path file = snapshotStorage.getFile().toPath();
+            Files.move(file, file.resolveSibling(file.getFileName() + ".backup"), REPLACE_EXISTING);
+        }
     }
 
+    /** Compacts the journal of snapshots. */
+    @PreDestroy
     public synchronized void saveSnapshots() throws IOException {
-        snapshotStorage.store(snapshots);
+        journal.compact(snapshots);
+        journal.close();
+    }
+
+    private void compactIfNeeded() throws SnapshotException {
+        if (journal.needsCompaction(snapshots.size())) {
+            try {
+                journal.compact(snapshots);
+            } catch (IOException x) {
+                throw new SnapshotException(x.getLocalizedMessage(), x);
+            }
+        }
+    }
+
+    private void sync(long record) throws SnapshotException {
+        try {
+            journal.sync(record);
+        } catch (IOException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
     }
 
     private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
@@ -33,7 +33,9 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -127,4 +129,20 @@ public class LocalStackDaoImpl implements StackDao {
         }
         return stream.map(StackImpl::new).collect(toList());
     }
+
+    @Override
+    public synchronized List<StackImpl> searchStacks(String user,
+                                                     @Nullable List<String> tags,
+                                                     @Nullable String afterId,
+                                                     int maxItems) {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative");
+        return stacks.values()
+                     .stream()
+                     .filter(s -> afterId == null || s.getId().compareTo(afterId) > 0)
+                     .filter(s -> tags == null || s.getTags().containsAll(tags))
+                     .sorted(comparing(StackImpl::getId))
+                     .limit(maxItems)
+                     .map(StackImpl::new)
+                     .collect(toList());
+    }
 }
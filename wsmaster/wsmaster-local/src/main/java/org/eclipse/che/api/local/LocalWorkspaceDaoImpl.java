@@ -20,114 +20,168 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.workspace.server.WorkspaceConfigJsonAdapter;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * In memory based implementation of {@link WorkspaceDao}.
  *
- * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * <p>Each modification is appended to the {@link LocalJournal journal} and synced before the method returns,
+ * {@link #loadWorkspaces() loading} replays the journal. Workspaces stored in the {@link #FILENAME old format}
+ * are imported into the journal when the component starts.
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
- * @implNote it is thread-safe, guarded by <i>this</i> instance
+ * @implNote it is thread-safe, modifications are guarded by <i>this</i> instance, reads don't lock
  */
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
-    public static final String FILENAME = "workspaces.json";
+    public static final String FILENAME         = "workspaces.json";
+    public static final String JOURNAL_FILENAME = "workspaces.journal";
 
     @VisibleForTesting
-    final         Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    final         Map<String, WorkspaceImpl>  workspaces;
+    private final LocalStorage                localStorage;
+    private final LocalJournal<WorkspaceImpl> journal;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory, WorkspaceConfigJsonAdapter cfgAdapter) throws IOException {
-        final Map<Class<?>, Object> adapters =
-                ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
-                                ProjectConfig.class, new ProjectConfigAdapter(),
-                                WorkspaceConfigImpl.class, new WorkspaceConfigDeserializer(cfgAdapter));
+        final Map<Class<?>, Object> adapters = adapters(cfgAdapter);
         this.localStorage = factory.create(FILENAME, adapters);
-        this.workspaces = new HashMap<>();
+        this.journal = factory.createJournal(JOURNAL_FILENAME, WorkspaceImpl.class, adapters);
+        this.workspaces = new ConcurrentHashMap<>();
+    }
+
+    /** Returns type adapters needed to read workspaces stored by this component. */
+    public static Map<Class<?>, Object> adapters(WorkspaceConfigJsonAdapter cfgAdapter) {
+        return ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
+                               ProjectConfig.class, new ProjectConfigAdapter(),
+                               WorkspaceConfigImpl.class, new WorkspaceConfigDeserializer(cfgAdapter));
     }
 
     @PostConstruct
-    public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
+    public synchronized void loadWorkspaces() throws IOException {
+        workspaces.putAll(journal.load());
+        final Map<String, WorkspaceImpl> imported = localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {});
+        if (!imported.isEmpty()) {
+            long record = 0;
+            for (Map.Entry<String, WorkspaceImpl> entry : imported.entrySet()) {
+                record = journal.put(entry.getKey(), entry.getValue());
+                workspaces.put(entry.getKey(), entry.getValue());
+            }
+            journal.sync(record);
+            final Path file = localStorage.getFile().toPath();
+            Files.move(file, file.resolveSibling(file.getFileName() + ".backup"), REPLACE_EXISTING);
+        }
         for (WorkspaceImpl workspace : workspaces.values()) {
             workspace.setRuntime(null);
         }
     }
 
+    /** Compacts the journal of workspaces. */
+    @PreDestroy
     public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+        journal.compact(workspaces);
+        journal.close();
     }
 
     @Override
-    public synchronized WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+    public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
         requireNonNull(workspace, "Required non-null workspace");
-        if (workspaces.containsKey(workspace.getId())) {
-            throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
-        }
+        final long record;
+        synchronized (this) {
+            if (workspaces.containsKey(workspace.getId())) {
+                throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
+            }
+            if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
 
-        workspace.setRuntime(null);
-        workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace, workspace.getAccount()));
+            workspace.setRuntime(null);
+            workspace.setStatus(WorkspaceStatus.STOPPED);
+            record = doPut(new WorkspaceImpl(workspace, workspace.getAccount()));
+        }
+        sync(record);
         return workspace;
     }
 
     @Override
-    public synchronized WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException,
-                                                                             ConflictException,
-                                                                             ServerException {
+    public WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException,
+                                                                ConflictException,
+                                                                ServerException {
         requireNonNull(workspace, "Required non-null workspace");
-        if (!workspaces.containsKey(workspace.getId())) {
-            throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
+        final long record;
+        synchronized (this) {
+            if (!workspaces.containsKey(workspace.getId())) {
+                throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+            }
+            if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
+            workspace.setStatus(null);
+            workspace.setRuntime(null);
+            record = doPut(new WorkspaceImpl(workspace, workspace.getAccount()));
         }
-        workspace.setStatus(null);
-        workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace, workspace.getAccount()));
+        sync(record);
         return workspace;
     }
 
     @Override
-    public synchronized void remove(String id) throws ConflictException, ServerException {
+    public void remove(String id) throws ConflictException, ServerException {
         requireNonNull(id, "Required non-null id");
-        workspaces.remove(id);
+        final long record;
+        synchronized (this) {
+            if (!workspaces.containsKey(id)) {
+                return;
+            }
+            try {
+                record = journal.remove(id);
+            } catch (IOException x) {
+                throw new ServerException(x.getLocalizedMessage(), x);
+            }
+            workspaces.remove(id);
+            compactIfNeeded();
+        }
+        sync(record);
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         final WorkspaceImpl workspace = workspaces.get(id);
         if (workspace == null) {
@@ -137,7 +191,7 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
         requireNonNull(namespace, "Required non-null namespace");
         final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
@@ -149,7 +203,7 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
     }
 
     @Override
-    public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
         requireNonNull(namespace, "Required non-null namespace");
         return workspaces.values()
                          .stream()
@@ -163,6 +217,68 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         return new ArrayList<>(workspaces.values());
     }
 
+    @Override
+    public List<WorkspaceSummary> getSummaries(@Nullable String namespace,
+                                               @Nullable String afterId,
+                                               int maxItems) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative");
+        return workspaces.values()
+                         .stream()
+                         .filter(ws -> namespace == null || ws.getNamespace().equals(namespace))
+                         .filter(ws -> afterId == null || ws.getId().compareTo(afterId) > 0)
+                         .sorted(comparing(WorkspaceImpl::getId))
+                         .limit(maxItems)
+                         .map(ws -> new WorkspaceSummary(ws.getId(),
+                                                         ws.getConfig().getName(),
+                                                         ws.getNamespace(),
+                                                         updateTime(ws),
+                                                         null))
+                         .collect(toList());
+    }
+
+    private static long updateTime(WorkspaceImpl workspace) {
+        String time = workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME);
+        if (time == null) {
+            time = workspace.getAttributes().get(CREATED_ATTRIBUTE_NAME);
+        }
+        try {
+            return time == null ? 0 : Long.parseLong(time);
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    /** Appends the workspace to the journal and puts it to the memory, must be called holding the instance lock. */
+    private long doPut(WorkspaceImpl workspace) throws ServerException {
+        final long record;
+        try {
+            record = journal.put(workspace.getId(), workspace);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+        workspaces.put(workspace.getId(), workspace);
+        compactIfNeeded();
+        return record;
+    }
+
+    private void compactIfNeeded() throws ServerException {
+        if (journal.needsCompaction(workspaces.size())) {
+            try {
+                journal.compact(workspaces);
+            } catch (IOException x) {
+                throw new ServerException(x.getLocalizedMessage(), x);
+            }
+        }
+    }
+
+    private void sync(long record) throws ServerException {
+        try {
+            journal.sync(record);
+        } catch (IOException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     private Optional<WorkspaceImpl> find(String name, String owner) {
         return workspaces.values()
                          .stream()
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.lang.Long.parseLong;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only file storage of keyed entities.
+ *
+ * <p>Each modification of an entity is appended to the journal file as a single record,
+ * so the cost of a write doesn't depend on the number of stored entities.
+ * Records are lines of the form {@code <crc32> <json>}, where the json is either
+ * <code>{"key":..., "value":...}</code> for an entity put or <code>{"key":...}</code> for an entity removal.
+ * The journal is replayed on {@link #load() load}, a torn or corrupted record
+ * (e.g. written when the process was killed) and everything after it are dropped.
+ *
+ * <p>Appending a record doesn't make it durable, {@link #sync(long)} does.
+ * Syncs requested concurrently are served by a single fsync, so writers which append
+ * under their own lock and sync outside of it share the cost of fsync.
+ *
+ * <p>When the journal holds much more records than there are live entities
+ * it is {@link #compact(Map) compacted}, that is rewritten with only the put records of live entities.
+ *
+ * @param <T>
+ *         the type of the stored entities
+ */
+public class LocalJournal<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalJournal.class);
+
+    /** The journal is not compacted while it holds less records than this. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private final Path   file;
+    private final Type   valueType;
+    private final Gson   gson;
+    private final int    compactionThreshold;
+    private final Object writeLock = new Object();
+    private final Object syncLock  = new Object();
+
+    // guarded by writeLock
+    private FileChannel channel;
+    private long        appended;
+    private int         records;
+
+    private volatile long synced;
+
+    public LocalJournal(Path file, Type valueType, Map<Class<?>, Object> typeAdapters, int compactionThreshold) {
+        this.file = file;
+        this.valueType = valueType;
+        this.compactionThreshold = compactionThreshold;
+        final GsonBuilder builder = new GsonBuilder();
+        for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
+            builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
+        }
+        this.gson = builder.create();
+    }
+
+    /**
+     * Replays the journal and opens it for appending.
+     * Records which follow the first invalid record are dropped from the journal.
+     *
+     * @return the entities stored in the journal, never null
+     * @throws IOException
+     *         when the journal can't be read or opened
+     */
+    public Map<String, T> load() throws IOException {
+        final Map<String, T> entities = new HashMap<>();
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                closeChannel();
+                records = 0;
+                long validLength = 0;
+                if (Files.exists(file)) {
+                    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+                        int b;
+                        while ((b = in.read()) != -1) {
+                            if (b != '\n') {
+                                line.write(b);
+                                continue;
+                            }
+                            if (!replay(line.toString(UTF_8.name()), entities)) {
+                                break;
+                            }
+                            validLength += line.size() + 1;
+                            records++;
+                            line.reset();
+                        }
+                    }
+                    if (validLength < Files.size(file)) {
+                        LOG.warn("Journal '{}' ends with an incomplete or corrupted record at offset {}, the rest of it is dropped",
+                                 file,
+                                 validLength);
+                    }
+                }
+                channel = FileChannel.open(file, CREATE, WRITE);
+                channel.truncate(validLength);
+                channel.position(validLength);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Appends a record of the entity put to the journal.
+     *
+     * @return the number of the record to {@link #sync(long) sync}
+     * @throws IOException
+     *         when the record can't be written
+     */
+    public long put(String key, T value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty("key", key);
+        record.add("value", gson.toJsonTree(value, valueType));
+        return append(encode(record));
+    }
+
+    /**
+     * Appends a record of the entity removal to the journal.
+     *
+     * @return the number of the record to {@link #sync(long) sync}
+     * @throws IOException
+     *         when the record can't be written
+     */
+    public long remove(String key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty("key", key);
+        return append(encode(record));
+    }
+
+    /**
+     * Makes the record and all the records appended before it durable.
+     * If another thread is syncing the journal, waits for it and
+     * returns without syncing again when that sync covered the record.
+     */
+    public void sync(long record) throws IOException {
+        if (synced >= record) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= record) {
+                return;
+            }
+            final FileChannel toSync;
+            final long target;
+            synchronized (writeLock) {
+                toSync = channel;
+                target = appended;
+            }
+            toSync.force(false);
+            synced = target;
+        }
+    }
+
+    /** Returns true when the journal holds much more records than the given number of live entities. */
+    public boolean needsCompaction(int liveEntities) {
+        synchronized (writeLock) {
+            return records >= compactionThreshold && records > liveEntities * 2;
+        }
+    }
+
+    /**
+     * Replaces the journal with the one which contains only put records of the given entities.
+     * The caller must guarantee that neither the entities nor the journal are modified while compacting,
+     * the entities must reflect all the records appended to the journal.
+     */
+    public void compact(Map<String, T> entities) throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                final Path compacted = file.resolveSibling(file.getFileName() + ".compacted");
+                try (FileChannel out = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                    for (Map.Entry<String, T> entry : entities.entrySet()) {
+                        final JsonObject record = new JsonObject();
+                        record.addProperty("key", entry.getKey());
+                        record.add("value", gson.toJsonTree(entry.getValue(), valueType));
+                        write(out, encode(record));
+                    }
+                    out.force(true);
+                }
+                Files.move(compacted, file, ATOMIC_MOVE, REPLACE_EXISTING);
+                channel.close();
+                channel = FileChannel.open(file, WRITE, APPEND);
+                records = entities.size();
+                synced = appended;
+            }
+        }
+    }
+
+    /** Syncs and closes the journal, it can be {@link #load() loaded} again. */
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                closeChannel();
+            }
+        }
+    }
+
+    /** Returns the journal file. */
+    public Path getFile() {
+        return file;
+    }
+
+    // must be called holding both sync and write locks
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+            synced = appended;
+        }
+    }
+
+    private long append(byte[] record) throws IOException {
+        synchronized (writeLock) {
+            if (channel == null) {
+                throw new IOException("Journal '" + file + "' is not loaded");
+            }
+            write(channel, record);
+            records++;
+            return ++appended;
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] encode(JsonObject record) {
+        final byte[] json = record.toString().getBytes(UTF_8);
+        final CRC32 crc = new CRC32();
+        crc.update(json);
+        final byte[] prefix = (Long.toHexString(crc.getValue()) + ' ').getBytes(UTF_8);
+        final byte[] line = new byte[prefix.length + json.length + 1];
+        System.arraycopy(prefix, 0, line, 0, prefix.length);
+        System.arraycopy(json, 0, line, prefix.length, json.length);
+        line[line.length - 1] = '\n';
+        return line;
+    }
+
+    /** Applies the record to the entities, returns false if the record is invalid. */
+    private boolean replay(String line, Map<String, T> entities) {
+        final int space = line.indexOf(' ');
+        if (space == -1) {
+            return false;
+        }
+        final byte[] json = line.substring(space + 1).getBytes(UTF_8);
+        final CRC32 crc = new CRC32();
+        crc.update(json);
+        try {
+            if (parseLong(line.substring(0, space), 16) != crc.getValue()) {
+                return false;
+            }
+            final JsonObject record = new JsonParser().parse(line.substring(space + 1)).getAsJsonObject();
+            if (!record.has("key")) {
+                return false;
+            }
+            final String key = record.get("key").getAsString();
+            final JsonElement value = record.get("value");
+            if (value == null) {
+                entities.remove(key);
+            } else {
+                entities.put(key, gson.fromJson(value, valueType));
+            }
+            return true;
+        } catch (NumberFormatException | JsonParseException | IllegalStateException x) {
+            return false;
+        }
+    }
+}
@@ -14,7 +14,9 @@ package org.eclipse.che.api.local.storage;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.Map;
 
 /**
@@ -56,4 +58,25 @@ public class LocalStorageFactory {
     public LocalStorage create(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
         return new LocalStorage(pathToStorage, fileName, typeAdapters);
     }
+
+    /**
+     * @param fileName
+     *         name of journal file in local storage.
+     * @param valueType
+     *         type of entities stored in the journal.
+     * @param typeAdapters
+     *         types and object adapters when need a special deserialization.
+     * @return instance of LocalJournal, it should be {@link LocalJournal#load() loaded} before use.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public <T> LocalJournal<T> createJournal(String fileName,
+                                             Type valueType,
+                                             Map<Class<?>, Object> typeAdapters) throws IOException {
+        final File rootDir = new File(pathToStorage);
+        if (!rootDir.exists() && !rootDir.mkdirs()) {
+            throw new IOException("Impossible to create root folder for local storage");
+        }
+        return new LocalJournal<>(rootDir.toPath().resolve(fileName), valueType, typeAdapters, LocalJournal.DEFAULT_COMPACTION_THRESHOLD);
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import com.google.gson.JsonSerializer;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.local.storage.stack.StackLocalStorage;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
@@ -62,6 +63,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertFalse;
@@ -152,6 +154,36 @@ public class LocalDataMigratorTest {
         assertTrue(Files.exists(baseDir.resolve(fileName + ".backup")));
     }
 
+    @Test
+    public void shouldMigrateEntitiesStoredInJournals() throws Exception {
+        final SnapshotImpl snapshot = new SnapshotImpl();
+        snapshot.setId("journaledSnapshotId");
+        snapshot.setWorkspaceId("id");
+        final LocalJournal<SnapshotImpl> journal = factory.createJournal(LocalSnapshotDaoImpl.JOURNAL_FILENAME,
+                                                                         SnapshotImpl.class,
+                                                                         emptyMap());
+        journal.load();
+        journal.sync(journal.put(snapshot.getId(), snapshot));
+        journal.close();
+
+        dataMigrator.performMigration(baseDir.toString(),
+                                      userDao,
+                                      profileDao,
+                                      preferenceDao,
+                                      sshDao,
+                                      workspaceDao,
+                                      snapshotDao,
+                                      recipeDao,
+                                      stackDao,
+                                      stackJsonAdapter,
+                                      workspaceCfgJsonAdapter);
+
+        verify(snapshotDao).saveSnapshot(snapshot);
+        verify(snapshotDao, times(2)).saveSnapshot(any());
+        assertFalse(Files.exists(baseDir.resolve(LocalSnapshotDaoImpl.JOURNAL_FILENAME)));
+        assertTrue(Files.exists(baseDir.resolve(LocalSnapshotDaoImpl.JOURNAL_FILENAME + ".backup")));
+    }
+
     @Test(expectedExceptions = Exception.class, dataProvider = "failOnMigrateAttempts")
     public void shouldFailIfMigrationOfAnyOfEntitiesFailed(TestAction failOnMigrate) throws Exception {
         failOnMigrate.perform();
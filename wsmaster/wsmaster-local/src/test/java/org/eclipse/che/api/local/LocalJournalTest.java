@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.local.storage.LocalJournal;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalJournal}.
+ */
+public class LocalJournalTest {
+
+    private Path                 journalFile;
+    private LocalJournal<String> journal;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        journalFile = Files.createTempDirectory("journal").resolve("test.journal");
+        journal = newJournal();
+        journal.load();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    public void shouldReplayPutsAndRemovals() throws Exception {
+        journal.put("a", "1");
+        journal.put("b", "2");
+        journal.put("a", "3");
+        journal.sync(journal.remove("b"));
+        journal.close();
+
+        assertEquals(newJournal().load(), ImmutableMap.of("a", "3"));
+    }
+
+    @Test
+    public void shouldDropTornRecordAndKeepAppendingAfterValidOnes() throws Exception {
+        journal.put("a", "1");
+        journal.close();
+        final byte[] torn = "1234abcd {\"key\":\"b\",\"val".getBytes(UTF_8);
+        Files.write(journalFile, concat(Files.readAllBytes(journalFile), torn));
+        final long validLength = Files.size(journalFile) - torn.length;
+
+        final LocalJournal<String> reopened = newJournal();
+        assertEquals(reopened.load(), ImmutableMap.of("a", "1"));
+        assertEquals(Files.size(journalFile), validLength);
+        reopened.put("c", "2");
+        reopened.close();
+
+        assertEquals(newJournal().load(), ImmutableMap.of("a", "1", "c", "2"));
+    }
+
+    @Test
+    public void shouldDropRecordsStartingFromCorruptedOne() throws Exception {
+        journal.put("a", "1");
+        journal.put("b", "2");
+        journal.put("c", "3");
+        journal.close();
+        final List<String> lines = Files.readAllLines(journalFile, UTF_8);
+        lines.set(1, lines.get(1).replace("\"2\"", "\"5\""));
+        Files.write(journalFile, lines, UTF_8);
+
+        assertEquals(newJournal().load(), ImmutableMap.of("a", "1"));
+    }
+
+    @Test
+    public void shouldCompactJournalKeepingLiveEntities() throws Exception {
+        final Map<String, String> live = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            journal.put("key", "value" + i);
+            live.put("key", "value" + i);
+        }
+        journal.put("other", "value");
+        live.put("other", "value");
+        final long sizeBefore = Files.size(journalFile);
+        assertTrue(journal.needsCompaction(live.size()));
+
+        journal.compact(live);
+
+        assertFalse(journal.needsCompaction(live.size()));
+        assertTrue(Files.size(journalFile) < sizeBefore);
+        journal.put("new", "value");
+        journal.close();
+        assertEquals(newJournal().load(), ImmutableMap.of("key", "value19", "other", "value", "new", "value"));
+    }
+
+    @Test
+    public void shouldPersistRecordsAppendedConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            final int t = thread;
+            futures.add(executor.submit((Callable<Void>)() -> {
+                for (int i = 0; i < 50; i++) {
+                    journal.sync(journal.put(t + "-" + i, "value"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        assertEquals(newJournal().load().size(), 200);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldNotAppendToJournalWhichIsNotLoaded() throws Exception {
+        newJournal().put("a", "1");
+    }
+
+    private LocalJournal<String> newJournal() {
+        return new LocalJournal<>(journalFile, String.class, emptyMap(), 10);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        final byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
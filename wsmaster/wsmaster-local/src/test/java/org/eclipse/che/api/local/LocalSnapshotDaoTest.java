@@ -21,15 +21,12 @@ import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.net.URL;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 
-import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.createTempDirectory;
 import static java.nio.file.Files.write;
 import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertNotNull;
 
 /**
  * Tests for {@link LocalSnapshotDaoImpl}
@@ -50,12 +47,10 @@ public class LocalSnapshotDaoTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
-        assertNotNull(url);
-        final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("snapshots");
+        final Path storageRoot = createTempDirectory("snapshots");
         snapshotsPath = storageRoot.resolve("snapshots.json");
         snapshotDao = new LocalSnapshotDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        snapshotDao.loadSnapshots();
     }
 
     @Test
@@ -65,7 +60,9 @@ public class LocalSnapshotDaoTest {
         snapshotDao.saveSnapshot(snapshot);
         snapshotDao.saveSnapshots();
 
-        assertEquals(GSON.toJson(singletonMap(snapshot.getId(), snapshot)), new String(readAllBytes(snapshotsPath)));
+        final LocalSnapshotDaoImpl restarted = new LocalSnapshotDaoImpl(new LocalStorageFactory(snapshotsPath.getParent().toString()));
+        restarted.loadSnapshots();
+        assertEquals(restarted.getSnapshot(snapshot.getId()), snapshot);
     }
 
     @Test
@@ -17,6 +17,7 @@ import com.google.inject.name.Names;
 import org.eclipse.che.account.spi.AccountDao;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.account.spi.jpa.JpaAccountDao;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.local.storage.stack.StackLocalStorage;
@@ -65,6 +66,7 @@ public class LocalTckModule extends TckModule {
         final LocalStorageFactory factory = mock(LocalStorageFactory.class);
         try {
             when(factory.create(any())).thenReturn(storage);
+            when(factory.createJournal(any(), any(), any())).thenReturn(mock(LocalJournal.class));
         } catch (IOException x) {
             throw new RuntimeException(x.getMessage(), x);
         }
@@ -36,7 +36,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.exists;
 import static java.nio.file.Files.write;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -45,6 +47,7 @@ import static java.util.Collections.singletonMap;
 import static org.eclipse.che.commons.lang.NameGenerator.generate;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 
 /**
@@ -59,13 +62,11 @@ public class LocalWorkspaceDaoTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
-        assertNotNull(url);
-        final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("workspaces");
+        final Path storageRoot = createTempDirectory("workspaces-old-format");
         workspacesPath = storageRoot.resolve("workspaces.json");
         final WorkspaceConfigJsonAdapter adapter = mock(WorkspaceConfigJsonAdapter.class);
         workspaceDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()), adapter);
+        workspaceDao.loadWorkspaces();
     }
 
     @Test
@@ -73,9 +74,24 @@ public class LocalWorkspaceDaoTest {
         final WorkspaceImpl workspace = createWorkspace();
 
         workspaceDao.create(workspace);
+
+        final LocalWorkspaceDaoImpl restarted = new LocalWorkspaceDaoImpl(new LocalStorageFactory(workspacesPath.getParent().toString()),
+                                                                          mock(WorkspaceConfigJsonAdapter.class));
+        restarted.loadWorkspaces();
+        assertEquals(restarted.get(workspace.getId()), workspace);
+    }
+
+    @Test
+    public void shouldNotLoadRemovedWorkspaces() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+        workspaceDao.remove(workspace.getId());
         workspaceDao.saveWorkspaces();
 
-        assertEquals(GSON.toJson(singletonMap(workspace.getId(), workspace)), new String(readAllBytes(workspacesPath)));
+        final LocalWorkspaceDaoImpl restarted = new LocalWorkspaceDaoImpl(new LocalStorageFactory(workspacesPath.getParent().toString()),
+                                                                          mock(WorkspaceConfigJsonAdapter.class));
+        restarted.loadWorkspaces();
+        assertFalse(restarted.workspaces.containsKey(workspace.getId()));
     }
 
     @Test
@@ -87,13 +103,17 @@ public class LocalWorkspaceDaoTest {
 
         final WorkspaceImpl result = workspaceDao.get(workspace.getId());
         assertEquals(result, workspace);
+        assertFalse(exists(workspacesPath), "Imported file must be moved to backup");
     }
 
     @Test
     public void testOldFormatIsAdaptedWhenWorkspaceIsLoaded() throws Exception {
-        final URL rootUrl = Thread.currentThread().getContextClassLoader().getResource(".");
+        final URL rootUrl = Thread.currentThread().getContextClassLoader().getResource(LocalWorkspaceDaoImpl.FILENAME);
         assertNotNull(rootUrl);
-        final String path = Paths.get(rootUrl.toURI()).toString();
+        // the old format file is moved to backup when imported, so import a copy of it
+        final Path storageRoot = createTempDirectory("workspaces-old-format");
+        copy(Paths.get(rootUrl.toURI()), storageRoot.resolve(LocalWorkspaceDaoImpl.FILENAME));
+        final String path = storageRoot.toString();
         final LocalStorageFactory storageFactory = new LocalStorageFactory(path);
         final WorkspaceConfigJsonAdapter workspaceAdapter = new WorkspaceConfigJsonAdapter();
         final LocalWorkspaceDaoImpl workspaceDao = new LocalWorkspaceDaoImpl(storageFactory, workspaceAdapter);